@@ -1,7 +1,11 @@
 package com.chatlabs.cdev.annotation;
 
+import com.chatlabs.cdev.page.ExportPageProvider;
+import com.chatlabs.cdev.page.PagingMode;
+import com.chatlabs.cdev.processor.ColumnWidthMode;
 import com.chatlabs.cdev.processor.DefaultExportProcessor;
 import com.chatlabs.cdev.processor.ExportDataProcessor;
+import com.chatlabs.cdev.processor.ExportFormat;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
@@ -43,6 +47,24 @@ public @interface ExcelExport {
      */
     Class<?> dataClass();
     
+    /**
+     * 导出格式
+     * XLSX: Excel 工作簿（默认）
+     * CSV/TSV: 分隔符文本，不经过 POI 直接写入响应，适合程序读取
+     * 通过 ExportDataProcessor#configure 交给处理器，自定义处理器未覆盖该方法时只支持 XLSX，其他格式导出失败
+     */
+    ExportFormat format() default ExportFormat.XLSX;
+    
+    /**
+     * 列宽策略
+     * DEFAULT: 使用全局配置 chatlabs.excel.io.column-width-mode（默认）
+     * DECLARED: 仅使用 @ColumnWidth 声明的列宽
+     * SAMPLED: 按表头及前 N 行测量
+     * LONGEST: 测量全部行，大数据量时开销明显
+     * 仅对 XLSX 格式生效；自定义处理器未覆盖 ExportDataProcessor#configure 时只支持 DEFAULT
+     */
+    ColumnWidthMode columnWidth() default ColumnWidthMode.DEFAULT;
+    
     /**
      * 自定义数据处理器，用于扩展导出逻辑（如邮件发送）
      * 默认使用 DefaultExportProcessor 直接响应文件
@@ -59,9 +81,44 @@ public @interface ExcelExport {
     
     /**
      * 是否异步导出
-     * true: 异步执行导出任务
+     * true: 异步执行导出任务；任务在请求结束后执行，返回值须为 List（或指定 pageProvider），
+     *       Stream/Iterator 等惰性返回值会被拒绝；导出线程池已满时响应 503；
+     *       需开启 chatlabs.excel.io.export-job-enabled，任务只能由提交方查询和下载
      * false: 同步执行（默认）
      */
     boolean async() default false;
+    
+    /**
+     * 导出结果缓存有效期（秒）
+     * 大于 0 时缓存生成的文件，有效期内同一方法、相同路径、方法参数及登录用户的 GET 导出请求直接返回缓存文件，
+     * 不再调用 Controller 方法，并支持 ETag/If-None-Match 返回 304；
+     * 方法参数含请求体或无法规范化的类型（如 HttpServletRequest、普通 Java Bean）时不缓存，
+     * 数据依赖参数以外的上下文（如线程变量）时不要开启。异步导出不使用缓存
+     */
+    long cacheSeconds() default 0;
+    
+    /**
+     * 分页导出模式
+     * NONE: 一次获取全部数据（默认）
+     * OFFSET: 按页码逐页获取，每页写入后再获取下一页
+     * KEYSET: 按游标逐页获取，游标取上一页最后一行的 cursorField 值
+     */
+    PagingMode pagingMode() default PagingMode.NONE;
+    
+    /**
+     * 分页导出时每页行数
+     */
+    int pageSize() default 1000;
+    
+    /**
+     * KEYSET 模式下作为游标的字段名
+     */
+    String cursorField() default "id";
+    
+    /**
+     * 分页数据提供者
+     * 默认为 ExportPageProvider.class，表示由 Controller 方法通过 ExportPageRequest 参数逐页提供数据
+     */
+    Class<? extends ExportPageProvider> pageProvider() default ExportPageProvider.class;
 }
 
@@ -1,8 +1,13 @@
 package com.chatlabs.cdev.annotation;
 
 import com.chatlabs.cdev.extractor.InputStreamExtractor;
+import com.chatlabs.cdev.job.ImportJob;
+import com.chatlabs.cdev.reader.BatchImportResult;
 import com.chatlabs.cdev.reader.DefaultExcelReader;
 import com.chatlabs.cdev.reader.ExcelReader;
+import com.chatlabs.cdev.reader.RowBatchHandler;
+import com.chatlabs.cdev.validation.ExcelImportResult;
+import com.chatlabs.cdev.validation.RowValidator;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
@@ -12,7 +17,9 @@ import java.lang.annotation.Target;
 
 /**
  * Excel 导入注解
- * 标注在 Controller 方法参数上，自动将上传的 Excel 文件转换为对象列表
+ * 标注在 Controller 方法参数上，自动将上传的 Excel 文件转换为对象列表；
+ * 参数声明为 {@code Stream<T>} 或 {@code Iterator<T>} 时边解析边交付，适合大文件逐行处理；
+ * 参数声明为 {@code Map<String, List<?>>} 时读取多个 Sheet，各 Sheet 并行解析
  * 
  * @author DD
  */
@@ -36,6 +43,12 @@ public @interface ExcelImport {
      */
     boolean required() default true;
     
+    /**
+     * 文件大小上限（字节），-1 表示使用配置 maxFileSize，0 表示不限制
+     * 读取的字节数（Base64 上传为解码后的字节数）超出上限时立即中止并抛出 ExcelFileSizeException
+     */
+    long maxFileSize() default -1;
+    
     /**
      * 自定义读取器，用于扩展读取逻辑
      * 默认使用 DefaultExcelReader
@@ -44,9 +57,54 @@ public @interface ExcelImport {
     
     /**
      * 自定义输入流提取器
-     * 默认为空，表示自动选择（按优先级尝试所有已注册的提取器）
-     * 可指定特定的提取器类来强制使用某种方式
+     * 默认为空，表示由所有已注册的提取器构建分发表，按请求内容类型选中一个
+     * 可指定特定的提取器类来强制使用某种方式，此时只在指定的提取器中按声明顺序分发
      */
     Class<? extends InputStreamExtractor>[] extractors() default {};
+    
+    /**
+     * 分批处理器，需注册为 Spring Bean
+     * 默认为 RowBatchHandler.class，表示不分批；指定后数据按批交给处理器，
+     * 解析与处理在不同线程中流水线进行，参数以 {@link BatchImportResult} 接收导入统计
+     */
+    Class<? extends RowBatchHandler> batchHandler() default RowBatchHandler.class;
+    
+    /**
+     * 每批行数，0 表示使用配置 importBatchSize
+     */
+    int batchSize() default 0;
+    
+    /**
+     * 是否异步导入，需同时指定 batchHandler
+     * true: 上传内容暂存后立即返回 202，参数以 {@link ImportJob} 接收任务信息，
+     * 解析与分批处理在导入线程池中执行，进度与结果通过 GET {importJobPath}/{jobId} 查询；
+     * 启用 validate 或 validators 时未通过校验的行不交给 batchHandler，错误随任务状态返回；导入线程池已满时响应 503
+     * false: 在请求线程中导入（默认）
+     */
+    boolean async() default false;
+    
+    /**
+     * 多 Sheet 导入时要读取的 Sheet，仅在参数类型为 Map 时生效
+     * 默认为空，表示读取全部 Sheet 并均映射为 dataClass
+     */
+    ExcelImportSheet[] sheets() default {};
+    
+    /**
+     * 是否对每行执行 Bean Validation（需引入 spring-boot-starter-validation）
+     * 校验在解析过程中进行，仅在参数类型为 List 或 {@link ExcelImportResult} 及异步导入时生效：
+     * List 参数校验失败时解析结束后抛出 ExcelValidationException，ExcelImportResult 参数由 Controller 处理错误报告，
+     * 异步导入的错误记入 {@link ImportJob}
+     */
+    boolean validate() default false;
+    
+    /**
+     * 自定义行校验器，需注册为 Spring Bean，生效范围同 validate
+     */
+    Class<? extends RowValidator>[] validators() default {};
+    
+    /**
+     * 错误数上限，达到后停止解析；-1 表示使用配置 importMaxErrors，0 表示不限制
+     */
+    int maxErrors() default -1;
 }
 
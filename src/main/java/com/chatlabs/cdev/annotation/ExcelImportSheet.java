@@ -0,0 +1,28 @@
+package com.chatlabs.cdev.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 多 Sheet 导入中的一个 Sheet
+ * 在 @ExcelImport(sheets) 中使用，指定要读取的 Sheet 及其数据类型
+ * 
+ * @author DD
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ExcelImportSheet {
+    
+    /**
+     * Sheet 名称
+     */
+    String value();
+    
+    /**
+     * 数据对应的实体类，默认使用 @ExcelImport 的 dataClass
+     */
+    Class<?> dataClass() default void.class;
+}
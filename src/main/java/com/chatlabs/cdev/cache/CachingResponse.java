@@ -0,0 +1,133 @@
+package com.chatlabs.cdev.cache;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 写入缓存文件的响应包装
+ * 响应体照常发送给客户端，同时复制一份写入缓存临时文件；
+ * ETag 与 Last-Modified 在响应体开始写出时才设置，写出前失败的响应不会带上缓存校验头
+ * 
+ * @author DD
+ */
+public class CachingResponse extends HttpServletResponseWrapper implements AutoCloseable {
+    
+    private final OutputStream fileOut;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private String etag;
+    private long lastModified;
+    
+    public CachingResponse(HttpServletResponse response, Path file) throws IOException {
+        super(response);
+        this.fileOut = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+    }
+    
+    /**
+     * 设置待写出的缓存校验头
+     *
+     * @param etag ETag
+     * @param lastModified 最后修改时间（毫秒）
+     */
+    public void setValidators(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+    
+    /**
+     * 设置缓存校验头，只生效一次；响应体开始写出时自动调用，导出成功但未写出内容时需手动调用
+     */
+    public void applyValidators() {
+        if (etag != null) {
+            setHeader(HttpHeaders.ETAG, etag);
+            setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            etag = null;
+        }
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            ServletOutputStream target = super.getOutputStream();
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return target.isReady();
+                }
+                
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+                
+                @Override
+                public void write(int b) throws IOException {
+                    applyValidators();
+                    target.write(b);
+                    fileOut.write(b);
+                }
+                
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    applyValidators();
+                    target.write(b, off, len);
+                    fileOut.write(b, off, len);
+                }
+                
+                @Override
+                public void flush() throws IOException {
+                    applyValidators();
+                    target.flush();
+                }
+            };
+        }
+        return outputStream;
+    }
+    
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            ServletOutputStream out = getOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(out, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+    
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        applyValidators();
+        super.flushBuffer();
+    }
+    
+    /**
+     * 刷出尚未写出的内容，并关闭缓存文件
+     */
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        fileOut.close();
+    }
+}
@@ -0,0 +1,358 @@
+package com.chatlabs.cdev.cache;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.page.ExportPageRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 导出结果缓存
+ * 以处理方法、规范化后的方法参数及当前登录用户为键，将生成完成的文件保存在本地目录，
+ * 按有效期过期，总大小超过上限时淘汰最久未访问的条目。缓存不跨进程保留，启动时清空目录
+ * 
+ * @author DD
+ */
+@Slf4j
+@Component
+public class ExportCache implements InitializingBean {
+    
+    private static final String DATA_SUFFIX = ".data";
+    private static final String PART_SUFFIX = ".part";
+    private static final int MAX_NORMALIZE_DEPTH = 8;
+    
+    private final ExcelIOProperties properties;
+    
+    /** 按访问顺序排列，最久未访问的在前 */
+    private final LinkedHashMap<String, ExportCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+    private Path directory;
+    
+    public ExportCache(ExcelIOProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        String configured = properties.getExportCacheDir();
+        directory = StringUtils.hasText(configured)
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "excel-export-cache");
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(DATA_SUFFIX) || name.endsWith(PART_SUFFIX);
+            }).forEach(this::deleteQuietly);
+        }
+        log.info("导出结果缓存: {}, 上限{}字节", directory, properties.getExportCacheMaxSize());
+    }
+    
+    /**
+     * 计算缓存键：处理方法签名、请求路径（含路径变量）、按名称排序的查询参数、
+     * 解析后的方法参数及当前登录用户。依赖请求头、Cookie、会话等的参数已包含在解析结果中
+     * 
+     * @param handlerMethod 处理方法
+     * @param request 导出请求
+     * @param arguments 处理方法本次请求解析出的参数
+     * @return 缓存键（SHA-256 十六进制），存在无法规范化的参数时为空
+     */
+    public Optional<String> key(HandlerMethod handlerMethod, HttpServletRequest request, Object[] arguments) {
+        StringBuilder source = new StringBuilder(256)
+                .append(handlerMethod.getMethod().toGenericString()).append('\n')
+                .append(request.getRequestURI()).append('\n');
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            source.append(parameter.getKey()).append('=');
+            for (String value : parameter.getValue()) {
+                source.append(value).append('\u0000');
+            }
+            source.append('\n');
+        }
+        for (Object argument : arguments) {
+            if (!normalize(argument, source, 0)) {
+                return Optional.empty();
+            }
+            source.append('\n');
+        }
+        Principal principal = request.getUserPrincipal();
+        source.append("principal=");
+        token(source, "P", principal != null ? principal.getName() : null);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Optional.of(HexFormat.of().formatHex(digest.digest(source.toString().getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new ExcelIOException("计算缓存键失败", e);
+        }
+    }
+    
+    /**
+     * 追加参数值的规范化表示：简单值、分页请求、Optional、数组、集合、Map 及 record，
+     * 其他类型（如 HttpServletRequest、普通 Java Bean）无法确定导出结果依赖的内容，返回 false
+     */
+    private static boolean normalize(Object value, StringBuilder out, int depth) {
+        if (depth > MAX_NORMALIZE_DEPTH) {
+            return false;
+        }
+        if (value == null) {
+            out.append('~');
+            return true;
+        }
+        if (value instanceof Principal principal) {
+            return token(out, "P", principal.getName());
+        }
+        if (value instanceof Date date) {
+            return token(out, value.getClass().getName(), String.valueOf(date.getTime()));
+        }
+        if (BeanUtils.isSimpleValueType(value.getClass())) {
+            return token(out, value.getClass().getName(), value.toString());
+        }
+        if (value instanceof Optional<?> optional) {
+            out.append("O(");
+            boolean normalized = normalize(optional.orElse(null), out, depth + 1);
+            out.append(')');
+            return normalized;
+        }
+        if (value instanceof ExportPageRequest pageRequest) {
+            out.append("R(").append(pageRequest.getPageNo()).append(',').append(pageRequest.getPageSize()).append(',');
+            boolean normalized = normalize(pageRequest.getCursor(), out, depth + 1);
+            out.append(')');
+            return normalized;
+        }
+        if (value.getClass().isArray()) {
+            List<Object> elements = new ArrayList<>();
+            for (int i = 0; i < Array.getLength(value); i++) {
+                elements.add(Array.get(value, i));
+            }
+            return normalizeAll(elements, false, out, depth);
+        }
+        if (value instanceof Collection<?> collection) {
+            // Set 的迭代顺序与内容无关，按规范化结果排序
+            return normalizeAll(collection, value instanceof Set, out, depth);
+        }
+        if (value instanceof Map<?, ?> map) {
+            List<Object> entries = new ArrayList<>(map.size());
+            map.forEach((k, v) -> entries.add(List.of(Optional.ofNullable(k), Optional.ofNullable(v))));
+            return normalizeAll(entries, true, out, depth);
+        }
+        if (value instanceof Record) {
+            List<Object> components = new ArrayList<>();
+            try {
+                for (RecordComponent component : value.getClass().getRecordComponents()) {
+                    Method accessor = component.getAccessor();
+                    accessor.setAccessible(true);
+                    components.add(Optional.ofNullable(accessor.invoke(value)));
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return false;
+            }
+            out.append(value.getClass().getName());
+            return normalizeAll(components, false, out, depth);
+        }
+        return false;
+    }
+    
+    private static boolean normalizeAll(Collection<?> elements, boolean sorted, StringBuilder out, int depth) {
+        List<String> normalized = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+            StringBuilder item = new StringBuilder();
+            if (!normalize(element, item, depth + 1)) {
+                return false;
+            }
+            normalized.add(item.toString());
+        }
+        if (sorted) {
+            Collections.sort(normalized);
+        }
+        out.append('[');
+        normalized.forEach(item -> out.append(item).append(','));
+        out.append(']');
+        return true;
+    }
+    
+    /**
+     * 以类型及长度前缀写入值，避免不同参数拼接后产生相同的文本
+     */
+    private static boolean token(StringBuilder out, String type, String value) {
+        if (value == null) {
+            out.append(type).append(":~");
+            return true;
+        }
+        out.append(type).append(':').append(value.length()).append(':').append(value);
+        return true;
+    }
+    
+    /**
+     * 查找未过期的缓存结果，命中时刷新其访问顺序
+     * 
+     * @param key 缓存键
+     * @return 缓存条目，不存在或已过期时为空
+     */
+    public synchronized Optional<ExportCacheEntry> find(String key) {
+        ExportCacheEntry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis()) || !Files.exists(entry.getFile())) {
+            remove(entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+    
+    /**
+     * 创建用于写入生成结果的临时文件
+     * 
+     * @param key 缓存键
+     * @return 临时文件
+     */
+    public Path createPart(String key) throws IOException {
+        return Files.createTempFile(directory, key + "-", PART_SUFFIX);
+    }
+    
+    /**
+     * 将生成完成的临时文件加入缓存，超过缓存上限的文件不缓存
+     * 
+     * @param key 缓存键
+     * @param part 临时文件
+     * @param lastModified 生成时间（毫秒）
+     * @param ttlSeconds 有效期（秒）
+     * @param contentType Content-Type
+     * @param contentDisposition Content-Disposition
+     * @return 缓存条目，未缓存时为空
+     */
+    public synchronized Optional<ExportCacheEntry> put(String key, Path part, long lastModified, long ttlSeconds,
+                                                       String contentType, String contentDisposition) throws IOException {
+        long size = Files.size(part);
+        if (size > properties.getExportCacheMaxSize()) {
+            log.debug("导出结果超过缓存上限，不缓存: {}字节", size);
+            deleteQuietly(part);
+            return Optional.empty();
+        }
+        ExportCacheEntry previous = entries.get(key);
+        if (previous != null) {
+            remove(previous);
+        }
+        evict(size);
+        
+        Path file = Files.move(part, directory.resolve(key + "-" + lastModified + DATA_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING);
+        ExportCacheEntry entry = new ExportCacheEntry(key, file, size, contentType, contentDisposition,
+                lastModified, lastModified + ttlSeconds * 1000);
+        entries.put(key, entry);
+        totalSize += size;
+        return Optional.of(entry);
+    }
+    
+    /**
+     * 丢弃未完成的临时文件
+     */
+    public void discard(Path part) {
+        deleteQuietly(part);
+    }
+    
+    /**
+     * 将缓存结果写入响应
+     * 文件已被删除时抛出 NoSuchFileException，此时尚未写入任何响应头
+     * 
+     * @param entry 缓存条目
+     * @param response HTTP 响应
+     */
+    public void write(ExportCacheEntry entry, HttpServletResponse response) throws IOException {
+        // 先打开文件，条目恰好被淘汰时在写入响应头之前失败
+        try (InputStream in = Files.newInputStream(entry.getFile())) {
+            if (entry.getContentType() != null) {
+                response.setContentType(entry.getContentType());
+            }
+            if (entry.getContentDisposition() != null) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, entry.getContentDisposition());
+            }
+            response.setHeader(HttpHeaders.ETAG, entry.getEtag());
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, entry.getLastModified());
+            response.setContentLengthLong(entry.getSize());
+            in.transferTo(response.getOutputStream());
+        }
+        response.flushBuffer();
+    }
+    
+    /**
+     * 当前缓存条目数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    /**
+     * 当前缓存文件总大小（字节）
+     */
+    public synchronized long getTotalSize() {
+        return totalSize;
+    }
+    
+    /**
+     * 先清除过期条目，仍超出上限时按最久未访问顺序淘汰
+     */
+    private void evict(long incoming) {
+        long now = System.currentTimeMillis();
+        entries.values().stream()
+                .filter(entry -> entry.isExpired(now))
+                .toList()
+                .forEach(this::remove);
+        Iterator<ExportCacheEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && totalSize + incoming > properties.getExportCacheMaxSize()) {
+            ExportCacheEntry eldest = iterator.next();
+            iterator.remove();
+            totalSize -= eldest.getSize();
+            deleteQuietly(eldest.getFile());
+            log.debug("淘汰导出缓存: {}", eldest.getKey());
+        }
+    }
+    
+    private void remove(ExportCacheEntry entry) {
+        if (entries.remove(entry.getKey(), entry)) {
+            totalSize -= entry.getSize();
+        }
+        deleteQuietly(entry.getFile());
+    }
+    
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除文件失败: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.chatlabs.cdev.cache;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 导出结果缓存条目
+ * 
+ * @author DD
+ */
+@Getter
+public class ExportCacheEntry {
+    
+    /** 缓存键 */
+    private final String key;
+    
+    /** 结果文件 */
+    private final Path file;
+    
+    /** 文件大小（字节） */
+    private final long size;
+    
+    /** 生成时的 Content-Type */
+    private final String contentType;
+    
+    /** 生成时的 Content-Disposition */
+    private final String contentDisposition;
+    
+    /** 生成时间（毫秒），即 Last-Modified */
+    private final long lastModified;
+    
+    /** 过期时间（毫秒） */
+    private final long expiresAt;
+    
+    ExportCacheEntry(String key, Path file, long size, String contentType, String contentDisposition,
+                     long lastModified, long expiresAt) {
+        this.key = key;
+        this.file = file;
+        this.size = size;
+        this.contentType = contentType;
+        this.contentDisposition = contentDisposition;
+        this.lastModified = lastModified;
+        this.expiresAt = expiresAt;
+    }
+    
+    /**
+     * 实体标签，由缓存键与生成时间确定，同一次生成的结果标签不变
+     */
+    public String getEtag() {
+        return etag(key, lastModified);
+    }
+    
+    /**
+     * 按缓存键与生成时间计算实体标签，生成开始时即可确定，便于流式写出前设置响应头
+     * 
+     * @param key 缓存键
+     * @param lastModified 生成时间（毫秒）
+     * @return 带引号的强实体标签
+     */
+    public static String etag(String key, long lastModified) {
+        return "\"" + key.substring(0, Math.min(16, key.length())) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+    
+    boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
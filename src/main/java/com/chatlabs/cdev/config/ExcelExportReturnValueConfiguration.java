@@ -0,0 +1,65 @@
+package com.chatlabs.cdev.config;
+
+import com.chatlabs.cdev.handler.ExcelExportHandler;
+import com.chatlabs.cdev.handler.ExcelExportReturnValueHandler;
+import com.chatlabs.cdev.handler.ResolvedExportArgumentResolver;
+import com.chatlabs.cdev.job.ExportJobManager;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Excel 导出返回值处理器配置
+ * 将导出返回值处理器放在所有内置处理器之前，使其先于 @ResponseBody 处理导出请求；
+ * 同时将已解析导出参数的解析器放在所有参数解析器之前，缓存未命中时复用查找缓存时解析的参数
+ * 
+ * @author DD
+ */
+@Slf4j
+@Component
+public class ExcelExportReturnValueConfiguration implements InitializingBean {
+    
+    @Resource
+    private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+    
+    @Resource
+    private ExcelExportHandler excelExportHandler;
+    
+    @Resource
+    private ExportJobManager exportJobManager;
+    
+    @Override
+    public void afterPropertiesSet() {
+        List<HandlerMethodReturnValueHandler> existing = requestMappingHandlerAdapter.getReturnValueHandlers();
+        if (existing == null) {
+            log.warn("未找到返回值处理器，跳过导出返回值处理器注册");
+            return;
+        }
+        
+        HandlerMethodReturnValueHandlerComposite delegate = new HandlerMethodReturnValueHandlerComposite()
+                .addHandlers(existing);
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(existing.size() + 1);
+        handlers.add(new ExcelExportReturnValueHandler(excelExportHandler, exportJobManager, delegate));
+        handlers.addAll(existing);
+        requestMappingHandlerAdapter.setReturnValueHandlers(handlers);
+        log.debug("已注册导出返回值处理器");
+        
+        List<HandlerMethodArgumentResolver> resolvers = requestMappingHandlerAdapter.getArgumentResolvers();
+        if (resolvers != null) {
+            List<HandlerMethodArgumentResolver> prepended = new ArrayList<>(resolvers.size() + 1);
+            prepended.add(new ResolvedExportArgumentResolver(
+                    new HandlerMethodArgumentResolverComposite().addResolvers(resolvers)));
+            prepended.addAll(resolvers);
+            requestMappingHandlerAdapter.setArgumentResolvers(prepended);
+        }
+    }
+}
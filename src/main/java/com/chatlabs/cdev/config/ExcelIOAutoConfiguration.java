@@ -2,6 +2,7 @@ package com.chatlabs.cdev.config;
 
 import com.chatlabs.cdev.interceptor.ExcelExportInterceptor;
 import com.chatlabs.cdev.resolver.ExcelImportArgumentResolver;
+import com.chatlabs.cdev.resolver.ExportPageRequestArgumentResolver;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -47,6 +48,7 @@ public class ExcelIOAutoConfiguration implements WebMvcConfigurer {
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(new ExcelImportArgumentResolver(applicationContext, properties));
+        resolvers.add(new ExportPageRequestArgumentResolver());
     }
     
     @Override
@@ -54,15 +56,19 @@ public class ExcelIOAutoConfiguration implements WebMvcConfigurer {
         registry.addInterceptor(excelExportInterceptor);
     }
     
+    /**
+     * 异步导出线程池，静态方法避免与依赖它的拦截器形成循环引用；
+     * 队列满时拒绝提交（响应 503）而不是回退到请求线程执行
+     */
     @Bean
-    @ConditionalOnMissingBean
-    public Executor excelExportExecutor() {
+    @ConditionalOnMissingBean(name = "excelExportExecutor")
+    public static Executor excelExportExecutor(ExcelIOProperties properties) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(properties.getAsyncCorePoolSize());
         executor.setMaxPoolSize(properties.getAsyncMaxPoolSize());
         executor.setQueueCapacity(properties.getAsyncQueueCapacity());
         executor.setThreadNamePrefix("excel-export-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
@@ -72,5 +78,63 @@ public class ExcelIOAutoConfiguration implements WebMvcConfigurer {
                 properties.getAsyncQueueCapacity());
         return executor;
     }
+    
+    /**
+     * 多 Sheet 并行生成与并行解析共用的线程池，线程数为 sheetParallelism（0 时为 CPU 核数），
+     * 所有导出共享，并发导出不会按请求成倍创建线程；
+     * 队列满时由提交的请求线程自行生成该 Sheet，请求线程本就在同步等待结果
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "excelSheetExecutor")
+    public static Executor excelSheetExecutor(ExcelIOProperties properties) {
+        int threads = properties.getSheetParallelism() > 0
+                ? properties.getSheetParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(properties.getAsyncQueueCapacity());
+        executor.setThreadNamePrefix("excel-sheet-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * 流式导入及分批导入的解析线程池，每个导入在被消费期间占用一个线程；
+     * 不排队，线程数达到 importParseThreads 时拒绝导入（响应 503），而不是为每个请求新建线程
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "excelParseExecutor")
+    public static Executor excelParseExecutor(ExcelIOProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getImportParseThreads());
+        executor.setMaxPoolSize(properties.getImportParseThreads());
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("excel-parse-");
+        executor.setDaemon(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * 导入线程池，执行 @ExcelImport(async = true) 的解析与分批处理，与导出线程池隔离；
+     * 队列满时拒绝提交而不是回退到请求线程执行
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "excelImportExecutor")
+    public static Executor excelImportExecutor(ExcelIOProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getAsyncCorePoolSize());
+        executor.setMaxPoolSize(properties.getAsyncMaxPoolSize());
+        executor.setQueueCapacity(properties.getAsyncQueueCapacity());
+        executor.setThreadNamePrefix("excel-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
 }
-
@@ -1,5 +1,7 @@
 package com.chatlabs.cdev.config;
 
+import com.chatlabs.cdev.processor.ColumnWidthMode;
+import com.chatlabs.cdev.reader.ReadCacheMode;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -24,7 +26,7 @@ public class ExcelIOProperties {
     /** 日期格式 */
     private String dateFormat = "yyyy-MM-dd HH:mm:ss";
     
-    /** 最大文件大小（字节），默认10MB */
+    /** 最大文件大小（字节），默认10MB；导入读取超出时立即中止，@ExcelImport(maxFileSize) 可单独指定 */
     private long maxFileSize = 10 * 1024 * 1024;
     
     /** 异步核心线程数 */
@@ -35,5 +37,114 @@ public class ExcelIOProperties {
     
     /** 异步队列容量 */
     private int asyncQueueCapacity = 100;
+    
+    /** 流式导入（Stream/Iterator 参数）及分批导入时，解析线程与控制器之间的缓冲行数 */
+    private int importQueueCapacity = 1000;
+    
+    /** 流式导入及分批导入同时进行的解析线程数上限（excelParseExecutor），已满时拒绝导入 */
+    private int importParseThreads = 16;
+    
+    /** 分批导入每批行数，@ExcelImport(batchSize) 未指定时使用 */
+    private int importBatchSize = 1000;
+    
+    /** 导入校验的错误数上限，达到后停止解析，@ExcelImport(maxErrors) 未指定时使用；0 表示不限制 */
+    private int importMaxErrors = 100;
+    
+    /** 导入列表在内存中保留的行数，超出的行溢写到临时文件，0 表示不溢写；仅作用于声明为 List/Collection 的参数 */
+    private int importSpillThreshold = 0;
+    
+    /** 导入临时文件目录（列表溢写、共享字符串映射缓存），为空时使用系统临时目录 */
+    private String importSpillDir;
+    
+    /** xlsx 导入的共享字符串缓存策略 */
+    private ReadCacheMode importReadCache = ReadCacheMode.AUTO;
+    
+    /** AUTO 策略下使用堆内缓存的 sharedStrings.xml 大小上限（解压后字节数），默认5MB */
+    private long importReadCacheHeapLimit = 5L * 1024 * 1024;
+    
+    /** AUTO 策略下使用内存映射缓存的 sharedStrings.xml 大小上限（解压后字节数），默认1GB，超出时使用磁盘缓存 */
+    private long importReadCacheMappedLimit = 1024L * 1024 * 1024;
+    
+    /** 是否在启动时预加载 @ExcelExport/@ExcelImport 声明的数据类元数据 */
+    private boolean preloadMetadata = true;
+    
+    /** 流式导出每批写入的行数 */
+    private int exportBatchSize = 5000;
+    
+    /** 是否启用流式写出，启用后按刷新间隔将已生成的数据分块发送给客户端；数据类使用了自定义转换器、样式注解或多级表头时仍由 EasyExcel 写入 */
+    private boolean streamingWrite = false;
+    
+    /** 流式写出的刷新间隔（行数） */
+    private int flushIntervalRows = 1000;
+    
+    /** 流式写出的刷新间隔（未压缩字节数），默认256KB */
+    private long flushIntervalBytes = 256 * 1024;
+    
+    /** CSV/TSV 导出是否写入 UTF-8 BOM，便于 Excel 直接打开 */
+    private boolean csvBom = false;
+    
+    /** CSV/TSV 导出时是否为以 = + - @ 及制表符、回车开头的文本单元格加 ' 前缀，防止在 Excel 中打开时被当作公式执行 */
+    private boolean csvEscapeFormula = true;
+    
+    /** 共享的多 Sheet 并行生成及多 Sheet 导入并行解析线程池（excelSheetExecutor）的线程数，0 表示使用 CPU 核数 */
+    private int sheetParallelism = 0;
+    
+    /**
+     * 导出列宽策略，@ExcelExport(columnWidth) 未指定时使用；
+     * 默认 DEFAULT 保持原有行为：导出处理器仅使用 @ColumnWidth 声明的列宽，ExcelUtils.write 测量全部行，
+     * 按需设置为 SAMPLED 等
+     */
+    private ColumnWidthMode columnWidthMode = ColumnWidthMode.DEFAULT;
+    
+    /** SAMPLED 列宽策略测量的数据行数 */
+    private int columnWidthSampleRows = 100;
+    
+    /** 导出结果缓存目录，为空时使用系统临时目录下的 excel-export-cache；@ExcelExport(cacheSeconds) 大于 0 时启用缓存 */
+    private String exportCacheDir;
+    
+    /** 导出结果缓存总大小上限（字节），默认512MB，超出时淘汰最久未访问的结果 */
+    private long exportCacheMaxSize = 512L * 1024 * 1024;
+    
+    /** 异步导出任务存储目录，为空时使用系统临时目录下的 excel-export-jobs */
+    private String jobStoreDir;
+    
+    /** 异步导出任务保留时间（小时），超时的已结束任务及文件会被清理 */
+    private long jobRetentionHours = 24;
+    
+    /** 异步导出任务接口路径 */
+    private String jobPath = "/excel/jobs";
+    
+    /**
+     * 是否启用异步导出（@ExcelExport(async = true)）及任务查询、下载接口，默认关闭；
+     * 任务绑定到提交它的登录用户（未登录时为会话），只有提交方可以查询和下载
+     */
+    private boolean exportJobEnabled = false;
+    
+    /** 异步导入任务暂存目录，为空时使用系统临时目录下的 excel-import-jobs；已结束任务的保留时间同 jobRetentionHours */
+    private String importJobDir;
+    
+    /** 异步导入任务接口路径 */
+    private String importJobPath = "/excel/import-jobs";
+    
+    /**
+     * 是否优先使用流式 multipart 提取器，边接收请求体边解析文件部分，不经 MultipartResolver 缓存整个上传；
+     * 需同时配置 spring.servlet.multipart.resolve-lazily=true（或关闭 spring.servlet.multipart.enabled），
+     * 否则请求在到达参数解析前已被解析，仍按已解析的文件读取
+     */
+    private boolean streamingMultipart = false;
+    
+    /**
+     * 是否启用分片上传接口及 Upload-Id 导入，默认关闭；
+     * 上传由服务端创建并绑定到当前登录用户（未登录时为会话）
+     */
+    private boolean chunkedUploadEnabled = false;
+    
+    /** 分片上传存储目录，为空时使用系统临时目录下的 excel-uploads */
+    private String uploadDir;
+    
+    /** 分片上传保留时间（小时），超过该时间未收到新分片的上传会被清理 */
+    private long uploadRetentionHours = 24;
+    
+    /** 分片上传接口路径 */
+    private String uploadPath = "/excel/uploads";
 }
-
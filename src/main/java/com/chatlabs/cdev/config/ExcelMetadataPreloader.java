@@ -0,0 +1,88 @@
+package com.chatlabs.cdev.config;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.annotation.ExcelImport;
+import com.chatlabs.cdev.annotation.ExcelImportSheet;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Excel 元数据预加载
+ * 启动时扫描已注册的处理器方法，收集 @ExcelExport 与 @ExcelImport 声明的数据类，
+ * 预先解析列元数据、编译字段访问器及导入转换属性，使首个请求不再承担这部分开销
+ * 
+ * @author DD
+ */
+@Slf4j
+@Component
+public class ExcelMetadataPreloader implements InitializingBean {
+    
+    @Resource
+    private RequestMappingHandlerMapping requestMappingHandlerMapping;
+    
+    @Resource
+    private ExcelIOProperties properties;
+    
+    private Set<Class<?>> dataClasses = Collections.emptySet();
+    
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isPreloadMetadata()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Set<Class<?>> classes = collectDataClasses();
+        Set<Class<?>> loaded = new LinkedHashSet<>();
+        for (Class<?> dataClass : classes) {
+            try {
+                ExcelClassMetadata.of(dataClass);
+                loaded.add(dataClass);
+            } catch (Exception e) {
+                log.warn("预加载Excel元数据失败: {}", dataClass.getName(), e);
+            }
+        }
+        this.dataClasses = Collections.unmodifiableSet(loaded);
+        log.info("预加载Excel元数据: {}个数据类, {}ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * 已预加载的数据类
+     */
+    public Set<Class<?>> getDataClasses() {
+        return dataClasses;
+    }
+    
+    private Set<Class<?>> collectDataClasses() {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (HandlerMethod handlerMethod : requestMappingHandlerMapping.getHandlerMethods().values()) {
+            ExcelExport excelExport = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), ExcelExport.class);
+            if (excelExport != null) {
+                classes.add(excelExport.dataClass());
+            }
+            for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+                ExcelImport excelImport = parameter.getParameterAnnotation(ExcelImport.class);
+                if (excelImport == null) {
+                    continue;
+                }
+                classes.add(excelImport.dataClass());
+                for (ExcelImportSheet sheet : excelImport.sheets()) {
+                    if (sheet.dataClass() != void.class) {
+                        classes.add(sheet.dataClass());
+                    }
+                }
+            }
+        }
+        return classes;
+    }
+}
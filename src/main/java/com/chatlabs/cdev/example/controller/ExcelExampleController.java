@@ -4,17 +4,28 @@ import com.chatlabs.cdev.annotation.ExcelExport;
 import com.chatlabs.cdev.annotation.ExcelImport;
 import com.chatlabs.cdev.example.dto.Response;
 import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.example.service.UserImportBatchHandler;
+import com.chatlabs.cdev.job.ImportJob;
+import com.chatlabs.cdev.page.ExportPageRequest;
+import com.chatlabs.cdev.page.PagingMode;
+import com.chatlabs.cdev.processor.ExportFormat;
+import com.chatlabs.cdev.reader.BatchImportResult;
+import com.chatlabs.cdev.validation.ExcelImportResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * Excel IO 示例 Controller
@@ -93,9 +104,11 @@ public class ExcelExampleController {
     /**
      * 示例 3：异步导出
      * 访问：GET /example/users/async - 返回 JSON
-     * 访问：GET /example/users/async/export - 异步导出 Excel
+     * 访问：GET /example/users/async/export - 提交异步导出任务，返回 202 及任务ID
+     * 访问：GET /excel/jobs/{jobId} - 查询任务状态与进度
+     * 访问：GET /excel/jobs/{jobId}/download - 下载已完成的 Excel
      * <p>
-     * 使用 async = true 启用异步导出
+     * 使用 async = true 启用异步导出，需开启 chatlabs.excel.io.export-job-enabled
      */
     @GetMapping("/users/async")
     @ExcelExport(
@@ -219,5 +232,189 @@ public class ExcelExampleController {
         
         return Response.success("成功导入 " + users.size() + " 条用户数据");
     }
+    
+    /**
+     * 示例 8：分页导出
+     * 访问：GET /example/users/paged?page=0&size=20 - 返回 JSON（单页）
+     * 访问：GET /example/users/paged/export - 按页导出 Excel
+     * <p>
+     * 使用 pagingMode 启用分页导出，导出时逐页调用该方法并在写入后再获取下一页，
+     * KEYSET 模式下游标为上一页最后一行的 id
+     */
+    @GetMapping("/users/paged")
+    @ExcelExport(
+        fileName = "分页用户列表",
+        sheetName = "用户数据",
+        dataClass = UserDTO.class,
+        pagingMode = PagingMode.KEYSET,
+        pageSize = 20,
+        cursorField = "id"
+    )
+    public List<UserDTO> listUsersPaged(ExportPageRequest pageRequest) {
+        // 模拟 where id > :cursor order by id limit :size
+        Long lastId = pageRequest.getCursor(Long.class);
+        long start = lastId == null ? 1 : lastId + 1;
+        long end = Math.min(start + pageRequest.getPageSize() - 1, 55);
+        
+        List<UserDTO> users = new ArrayList<>();
+        for (long i = start; i <= end; i++) {
+            UserDTO user = new UserDTO();
+            user.setId(i);
+            user.setUsername("paged_user" + i);
+            user.setEmail("paged" + i + "@example.com");
+            user.setAge(20 + (int) (i % 30));
+            user.setCreateTime(LocalDateTime.now());
+            users.add(user);
+        }
+        
+        log.info("分页查询用户，cursor={}，共 {} 条数据", lastId, users.size());
+        return users;
+    }
+    
+    /**
+     * 示例 9：CSV 导出
+     * 访问：GET /example/users/csv - 返回 JSON
+     * 访问：GET /example/users/csv/export - 导出 CSV
+     * <p>
+     * 使用 format = ExportFormat.CSV 输出分隔符文本，表头同样取自 @ExcelProperty
+     */
+    @GetMapping("/users/csv")
+    @ExcelExport(
+        fileName = "用户列表",
+        dataClass = UserDTO.class,
+        format = ExportFormat.CSV
+    )
+    public List<UserDTO> listUsersCsv() {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername("csv_user" + i);
+            user.setEmail("csv" + i + "@example.com");
+            user.setAge(20 + i);
+            user.setCreateTime(LocalDateTime.now());
+            users.add(user);
+        }
+        
+        log.info("查询用户列表（CSV），共 {} 条数据", users.size());
+        return users;
+    }
+    
+    /**
+     * 示例 10：缓存导出结果
+     * 访问：GET /example/users/report?dept=研发 - 返回 JSON
+     * 访问：GET /example/users/report/export?dept=研发 - 导出 Excel，5 分钟内相同参数的导出直接返回缓存文件
+     * <p>
+     * 使用 cacheSeconds 缓存生成的文件，响应携带 ETag/Last-Modified，
+     * 客户端带 If-None-Match 再次请求时返回 304；
+     * 缓存按解析后的方法参数（含 X-Tenant 请求头）及当前登录用户区分
+     */
+    @GetMapping("/users/report")
+    @ExcelExport(
+        fileName = "用户报表",
+        sheetName = "用户数据",
+        dataClass = UserDTO.class,
+        cacheSeconds = 300
+    )
+    public List<UserDTO> listUsersReport(@RequestParam(defaultValue = "all") String dept,
+                                         @RequestHeader(value = "X-Tenant", defaultValue = "default") String tenant) {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername(tenant + "_" + dept + "_user" + i);
+            user.setEmail("report" + i + "@example.com");
+            user.setAge(25 + i);
+            user.setCreateTime(LocalDateTime.now());
+            users.add(user);
+        }
+        
+        log.info("查询用户报表，租户 {}，部门 {}，共 {} 条数据", tenant, dept, users.size());
+        return users;
+    }
+    
+    /**
+     * 示例 11：流式导入
+     * 访问：POST /example/users/import/stream
+     * Content-Type: multipart/form-data
+     * <p>
+     * 参数声明为 Stream 时文件在后台解析，控制器逐行消费，内存中只保留有限的缓冲行
+     */
+    @PostMapping("/users/import/stream")
+    public String importUsersStream(@ExcelImport(value = "file", dataClass = UserDTO.class) Stream<UserDTO> users) {
+        AtomicLong count = new AtomicLong();
+        try (users) {
+            users.forEach(user -> {
+                log.debug("导入用户: {}", user);
+                // 这里可以逐行保存到数据库等操作
+                count.incrementAndGet();
+            });
+        }
+        
+        log.info("流式导入用户，共 {} 条数据", count.get());
+        return "成功导入 " + count.get() + " 条用户数据";
+    }
+    
+    /**
+     * 示例 12：分批导入
+     * 访问：POST /example/users/import/batch
+     * Content-Type: multipart/form-data
+     * <p>
+     * 数据每 500 行交给 UserImportBatchHandler 处理（如批量插入），处理当前批次时下一批继续解析
+     */
+    @PostMapping("/users/import/batch")
+    public String importUsersBatch(@ExcelImport(value = "file", dataClass = UserDTO.class,
+            batchHandler = UserImportBatchHandler.class, batchSize = 500) BatchImportResult result) {
+        log.info("分批导入用户，共 {} 条数据，{} 批，耗时 {}ms", result.getRows(), result.getBatches(), result.getElapsedMillis());
+        return "成功导入 " + result.getRows() + " 条用户数据，共 " + result.getBatches() + " 批";
+    }
+    
+    /**
+     * 示例 13：多 Sheet 导入
+     * 访问：POST /example/users/import/sheets
+     * Content-Type: multipart/form-data
+     * <p>
+     * 参数声明为 Map 时读取全部 Sheet（或 sheets 指定的 Sheet），文件只缓存一次，各 Sheet 并行解析
+     */
+    @PostMapping("/users/import/sheets")
+    public String importUserSheets(@ExcelImport(value = "file", dataClass = UserDTO.class) Map<String, List<UserDTO>> sheets) {
+        StringBuilder summary = new StringBuilder();
+        sheets.forEach((sheetName, users) -> {
+            log.info("导入 Sheet {}，共 {} 条数据", sheetName, users.size());
+            summary.append(summary.isEmpty() ? "" : ", ").append(sheetName).append(": ").append(users.size());
+        });
+        return "成功导入 " + sheets.size() + " 个Sheet（" + summary + "）";
+    }
+    
+    /**
+     * 示例 14：带校验的导入
+     * 访问：POST /example/users/import/validated
+     * Content-Type: multipart/form-data
+     * <p>
+     * 解析过程中逐行执行 Bean Validation，失败的行不返回给 Controller 而是记入错误报告，
+     * 错误达到 50 处时停止解析
+     */
+    @PostMapping("/users/import/validated")
+    public String importUsersValidated(@ExcelImport(value = "file", dataClass = UserDTO.class,
+            validate = true, maxErrors = 50) ExcelImportResult<UserDTO> result) {
+        result.getErrors().forEach(error -> log.warn("导入数据错误: {}", error));
+        log.info("校验导入用户，有效 {} 条，错误 {} 处", result.getRows().size(), result.getErrors().size());
+        return "成功导入 " + result.getRows().size() + " 条用户数据，" + result.getErrors().size() + " 处错误"
+                + (result.isTruncated() ? "（错误过多，已停止解析）" : "");
+    }
+    
+    /**
+     * 示例 15：异步导入
+     * 访问：POST /example/users/import/async
+     * Content-Type: multipart/form-data
+     * <p>
+     * 上传内容暂存后立即返回 202 及任务信息，解析与分批处理在导入线程池中进行，
+     * 通过 GET /excel/import-jobs/{jobId} 查询已处理行数与结果
+     */
+    @PostMapping("/users/import/async")
+    public ImportJob importUsersAsync(@ExcelImport(value = "file", dataClass = UserDTO.class,
+            batchHandler = UserImportBatchHandler.class, batchSize = 500, async = true) ImportJob job) {
+        log.info("提交异步导入用户，任务ID: {}", job.getJobId());
+        return job;
+    }
 }
-
@@ -1,6 +1,10 @@
 package com.chatlabs.cdev.example.dto;
 
 import com.alibaba.excel.annotation.ExcelProperty;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -16,12 +20,16 @@ public class UserDTO {
     @ExcelProperty("用户ID")
     private Long id;
     
+    @NotBlank
     @ExcelProperty("用户名")
     private String username;
     
+    @Email
     @ExcelProperty("邮箱")
     private String email;
     
+    @Min(0)
+    @Max(150)
     @ExcelProperty("年龄")
     private Integer age;
     
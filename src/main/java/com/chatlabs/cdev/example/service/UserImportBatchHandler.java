@@ -0,0 +1,27 @@
+package com.chatlabs.cdev.example.service;
+
+import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.reader.RowBatchHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 示例分批导入处理器
+ * 实际使用时可在此执行 JDBC 批量插入
+ * 
+ * @author DD
+ */
+@Component
+public class UserImportBatchHandler implements RowBatchHandler<UserDTO> {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserImportBatchHandler.class);
+    
+    @Override
+    public void handle(List<UserDTO> batch) {
+        log.debug("保存一批用户: {}条", batch.size());
+        // 这里可以使用 JdbcTemplate.batchUpdate 等批量写入
+    }
+}
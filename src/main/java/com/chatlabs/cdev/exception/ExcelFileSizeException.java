@@ -0,0 +1,21 @@
+package com.chatlabs.cdev.exception;
+
+import lombok.Getter;
+
+/**
+ * 上传文件超出大小限制异常
+ * 读取过程中一旦超出限制即抛出，不再继续读取剩余内容
+ * 
+ * @author DD
+ */
+@Getter
+public class ExcelFileSizeException extends ExcelParseException {
+    
+    /** 大小限制（字节） */
+    private final long limit;
+    
+    public ExcelFileSizeException(long limit) {
+        super("文件超出限制: " + limit + " bytes");
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,18 @@
+package com.chatlabs.cdev.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 异步任务提交被拒绝异常
+ * 任务线程池已满时抛出，响应 503，客户端应稍后重试
+ * 
+ * @author DD
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExcelJobRejectedException extends ExcelIOException {
+    
+    public ExcelJobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
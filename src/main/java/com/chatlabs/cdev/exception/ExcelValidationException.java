@@ -0,0 +1,26 @@
+package com.chatlabs.cdev.exception;
+
+import com.chatlabs.cdev.validation.ImportError;
+
+import java.util.List;
+
+/**
+ * Excel 导入数据校验异常
+ * 参数声明为 List 时校验失败在解析结束后抛出一次，携带全部（至多 maxErrors 条）错误
+ * 
+ * @author DD
+ */
+public class ExcelValidationException extends ExcelParseException {
+    
+    private final List<ImportError> errors;
+    
+    public ExcelValidationException(List<ImportError> errors, boolean truncated) {
+        super("数据校验失败: " + errors.size() + "处错误" + (truncated ? "（已达上限，停止解析）" : "")
+                + (errors.isEmpty() ? "" : ", " + errors.get(0)));
+        this.errors = errors;
+    }
+    
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+}
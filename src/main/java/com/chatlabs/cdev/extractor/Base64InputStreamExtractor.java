@@ -1,72 +1,225 @@
 package com.chatlabs.cdev.extractor;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Set;
 
 /**
  * Base64编码输入流提取器
  * 支持JSON请求体中包含Base64编码的文件数据
- * 
+ *
  * 请求格式示例:
  * {
  *   "file": "base64编码的文件内容"
  * }
- * 
+ *
+ * 使用 Jackson 流式解析定位到顶层字段，字段值不整体读入内存，
+ * 而是从请求体中按需读取并边读边解码；data: 前缀在读取时跳过。
+ * 只忽略 MIME 编码的换行，其余非 Base64 字符在读取时抛出 IOException，不会静默跳过
+ *
  * @author DD
  */
 @Slf4j
 @Component
 public class Base64InputStreamExtractor implements InputStreamExtractor {
-    
+
     private static final String APPLICATION_JSON = "application/json";
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
+    private static final byte[] DATA_URI_PREFIX = "data:".getBytes(StandardCharsets.US_ASCII);
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
     @Override
     public boolean supports(HttpServletRequest request, String fieldName) {
         String contentType = request.getContentType();
         return contentType != null && contentType.contains(APPLICATION_JSON);
     }
-    
+
     @Override
     public InputStream extract(HttpServletRequest request, String fieldName) {
         String contentType = request.getContentType();
         if (contentType == null || !contentType.contains(APPLICATION_JSON)) {
             return null;
         }
-        
+
         try {
-            JsonNode root = objectMapper.readTree(request.getInputStream());
-            JsonNode fieldNode = root.get(fieldName);
-            
-            if (fieldNode == null || fieldNode.isNull() || !fieldNode.isTextual()) {
+            InputStream body = request.getInputStream();
+            JsonParser parser = jsonFactory.createParser(body);
+            if (!seekField(parser, fieldName)) {
                 log.debug("JSON中未找到Base64字段: fieldName={}", fieldName);
                 return null;
             }
-            
-            String base64Content = fieldNode.asText();
-            // 移除可能的data:前缀 (如 data:application/vnd.ms-excel;base64,)
-            if (base64Content.contains(",")) {
-                base64Content = base64Content.substring(base64Content.indexOf(",") + 1);
+
+            // 解析器停在字符串起始引号之后，已预读的字节与剩余请求体拼接后即为字段值的原始内容
+            ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+            if (parser.releaseBuffered(buffered) < 0) {
+                // 非 UTF-8 编码的请求体由字符解析器处理，无法取回原始字节，退化为整体解码
+                String text = stripDataUriPrefix(parser.getText()).replace("\r", "").replace("\n", "");
+                return new ByteArrayInputStream(Base64.getDecoder().decode(text));
             }
-            
-            byte[] decoded = Base64.getDecoder().decode(base64Content);
-            log.debug("提取Base64文件: fieldName={}, size={}", fieldName, decoded.length);
-            return new ByteArrayInputStream(decoded);
+            InputStream raw = new BufferedInputStream(new SequenceInputStream(
+                    new ByteArrayInputStream(buffered.toByteArray()), body));
+            PushbackInputStream content = new PushbackInputStream(new JsonStringInputStream(raw), DATA_URI_PREFIX.length);
+            skipDataUriPrefix(content);
+
+            log.debug("提取Base64文件: fieldName={}", fieldName);
+            return Base64.getDecoder().wrap(content);
         } catch (Exception e) {
             log.debug("Base64解析失败: {}", e.getMessage());
             return null;
         }
     }
-    
+
+    @Override
+    public Set<MediaType> getSupportedMediaTypes() {
+        return Set.of(MediaType.APPLICATION_JSON);
+    }
+
     @Override
     public int getOrder() {
         return 200;
     }
+
+    /**
+     * 定位到顶层对象中字段值为字符串的指定字段，其余字段整体跳过
+     */
+    private boolean seekField(JsonParser parser, String fieldName) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (fieldName.equals(name)) {
+                return token == JsonToken.VALUE_STRING;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * 跳过 data:application/vnd.ms-excel;base64, 形式的前缀
+     */
+    private void skipDataUriPrefix(PushbackInputStream content) throws IOException {
+        byte[] head = content.readNBytes(DATA_URI_PREFIX.length);
+        if (!Arrays.equals(head, DATA_URI_PREFIX)) {
+            content.unread(head);
+            return;
+        }
+        int b;
+        while ((b = content.read()) != -1 && b != ',') {
+            // 前缀到第一个逗号为止
+        }
+    }
+
+    private String stripDataUriPrefix(String content) {
+        return content.contains(",") ? content.substring(content.indexOf(",") + 1) : content;
+    }
+
+    /**
+     * JSON 字符串内容输入流
+     * 从起始引号之后读取到结束引号为止，处理转义字符（如部分客户端输出的 \/ 与换行 \n），并去掉换行
+     */
+    private static class JsonStringInputStream extends InputStream {
+
+        private final InputStream in;
+        private boolean ended;
+
+        JsonStringInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b;
+            do {
+                if (ended) {
+                    return -1;
+                }
+                b = next();
+                if (b == '"') {
+                    ended = true;
+                    return -1;
+                }
+                if (b == '\\') {
+                    b = unescape(next());
+                }
+            } while (b == '\r' || b == '\n');
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < len) {
+                int c = read();
+                if (c == -1) {
+                    break;
+                }
+                b[off + count++] = (byte) c;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private int next() throws IOException {
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException("JSON字符串未结束");
+            }
+            return b;
+        }
+
+        private int unescape(int c) throws IOException {
+            return switch (c) {
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(next(), 16);
+                        if (digit < 0) {
+                            throw new IOException("无效的JSON转义字符");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    // Base64 内容只会转义 ASCII 字符
+                    if (code >= 0x80) {
+                        throw new IOException("Base64内容包含非法字符: \\u" + Integer.toHexString(code));
+                    }
+                    yield code;
+                }
+                default -> c;
+            };
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package com.chatlabs.cdev.extractor;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.upload.ChunkedUploadStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+
+/**
+ * 分片上传输入流提取器
+ * 请求携带 Upload-Id 请求头时读取已通过分片上传接口组装完成的文件；
+ * 请求同时携带 Content-Range 时先将请求体作为最后一个分片追加，
+ * 只能导入当前请求方创建的上传，文件在输入流关闭时删除
+ * 
+ * @author DD
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "chatlabs.excel.io", name = "chunked-upload-enabled", havingValue = "true")
+public class ChunkedUploadInputStreamExtractor implements InputStreamExtractor {
+    
+    /** 上传ID请求头 */
+    public static final String UPLOAD_ID_HEADER = "Upload-Id";
+    
+    private final ChunkedUploadStore uploadStore;
+    private final ExcelIOProperties properties;
+    
+    public ChunkedUploadInputStreamExtractor(ChunkedUploadStore uploadStore, ExcelIOProperties properties) {
+        this.uploadStore = uploadStore;
+        this.properties = properties;
+    }
+    
+    @Override
+    public boolean supports(HttpServletRequest request, String fieldName) {
+        return StringUtils.hasText(request.getHeader(UPLOAD_ID_HEADER));
+    }
+    
+    @Override
+    public InputStream extract(HttpServletRequest request, String fieldName) throws Exception {
+        return extract(request, fieldName, properties.getMaxFileSize());
+    }
+    
+    @Override
+    public InputStream extract(HttpServletRequest request, String fieldName, long maxFileSize) throws Exception {
+        String uploadId = request.getHeader(UPLOAD_ID_HEADER);
+        String owner = ChunkedUploadStore.ownerOf(request);
+        String contentRange = request.getHeader(HttpHeaders.CONTENT_RANGE);
+        if (StringUtils.hasText(contentRange)) {
+            uploadStore.append(uploadId, owner, contentRange, request.getInputStream(), maxFileSize);
+        }
+        log.debug("读取分片上传文件: {}", uploadId);
+        return uploadStore.open(uploadId, owner);
+    }
+    
+    @Override
+    public int getOrder() {
+        return 50;
+    }
+}
@@ -1,12 +1,15 @@
 package com.chatlabs.cdev.extractor;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
 
 import java.io.InputStream;
+import java.util.Set;
 
 /**
  * 输入流提取器接口
- * 用于从请求中提取Excel文件的输入流
+ * 用于从请求中提取Excel文件的输入流；
+ * 声明了 {@link #getSupportedMediaTypes()} 的提取器按内容类型直接选中，未声明的提取器通过 {@link #supports} 判断
  * 
  * @author DD
  */
@@ -31,6 +34,20 @@ public interface InputStreamExtractor {
      */
     InputStream extract(HttpServletRequest request, String fieldName) throws Exception;
     
+    /**
+     * 从请求中提取输入流，并传入本次导入的文件大小上限；
+     * 默认忽略上限，超出部分由调用方在读取时拒绝，提取时需要先写入文件的提取器可据此提前拒绝
+     * 
+     * @param request HTTP请求
+     * @param fieldName 字段名
+     * @param maxFileSize 文件大小上限（字节），0 表示不限制
+     * @return 输入流，如果无法提取则返回null
+     * @throws Exception 提取异常
+     */
+    default InputStream extract(HttpServletRequest request, String fieldName, long maxFileSize) throws Exception {
+        return extract(request, fieldName);
+    }
+    
     /**
      * 获取优先级，数值越小优先级越高
      * 
@@ -39,4 +56,15 @@ public interface InputStreamExtractor {
     default int getOrder() {
         return Integer.MAX_VALUE;
     }
+    
+    /**
+     * 支持的请求内容类型（不含参数），用于预先构建提取器分发表，请求按内容类型直接选中一个提取器；
+     * multipart 类型匹配所有已解析为 MultipartHttpServletRequest 的请求。
+     * 默认为空，表示不按内容类型分发，每次请求调用 {@link #supports} 判断，此时 supports 不应读取请求体
+     * 
+     * @return 内容类型
+     */
+    default Set<MediaType> getSupportedMediaTypes() {
+        return Set.of();
+    }
 }
@@ -0,0 +1,85 @@
+package com.chatlabs.cdev.extractor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 输入流提取器分发表
+ * 由一组按优先级排列的提取器预先构建：声明了内容类型的提取器按 type/subtype 建立索引，
+ * multipart 类型对应 MultipartHttpServletRequest 及内容类型为 multipart/* 的请求（未经 MultipartResolver 包装时）；每个请求只选中一个提取器，
+ * 不再逐个调用 extract 试探（试探可能已读取请求体）。
+ * 未声明内容类型的提取器（如按请求头判断的分片上传）在优先级高于命中项时通过 supports 判断
+ *
+ * @author DD
+ */
+public final class InputStreamExtractorTable {
+
+    private final Map<String, Route> byMediaType = new HashMap<>();
+    private final List<Route> conditional = new ArrayList<>();
+    private Route multipart;
+
+    /**
+     * @param extractors 提取器，按优先级从高到低排列
+     */
+    public InputStreamExtractorTable(List<? extends InputStreamExtractor> extractors) {
+        for (int rank = 0; rank < extractors.size(); rank++) {
+            Route route = new Route(extractors.get(rank), rank);
+            if (route.extractor.getSupportedMediaTypes().isEmpty()) {
+                conditional.add(route);
+                continue;
+            }
+            for (MediaType mediaType : route.extractor.getSupportedMediaTypes()) {
+                if ("multipart".equalsIgnoreCase(mediaType.getType())) {
+                    if (multipart == null) {
+                        multipart = route;
+                    }
+                } else {
+                    byMediaType.putIfAbsent(key(mediaType.getType() + "/" + mediaType.getSubtype()), route);
+                }
+            }
+        }
+    }
+
+    /**
+     * 选择处理该请求的提取器
+     *
+     * @param request HTTP请求
+     * @param fieldName 字段名
+     * @return 提取器，没有匹配的提取器时为 null
+     */
+    public InputStreamExtractor select(HttpServletRequest request, String fieldName) {
+        Route routed = request instanceof MultipartHttpServletRequest || key(request.getContentType()).startsWith("multipart/")
+                ? multipart
+                : byMediaType.get(key(request.getContentType()));
+        for (Route route : conditional) {
+            if (routed != null && route.rank > routed.rank) {
+                break;
+            }
+            if (route.extractor.supports(request, fieldName)) {
+                return route.extractor;
+            }
+        }
+        return routed != null ? routed.extractor : null;
+    }
+
+    /**
+     * 内容类型去掉参数后转为小写，如 application/json;charset=UTF-8 对应 application/json
+     */
+    private static String key(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int end = contentType.indexOf(';');
+        return (end >= 0 ? contentType.substring(0, end) : contentType).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Route(InputStreamExtractor extractor, int rank) {
+    }
+}
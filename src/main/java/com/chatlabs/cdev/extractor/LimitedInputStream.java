@@ -0,0 +1,92 @@
+package com.chatlabs.cdev.extractor;
+
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 限制读取字节数的输入流
+ * 包装提取器返回的输入流（Base64 提取器为解码后的内容），读取的字节数一旦超出限制即抛出
+ * {@link ExcelFileSizeException}，不依赖 Content-Length，分块传输的请求同样生效；
+ * 每次最多向底层流多读取 1 个字节用于判断是否超出
+ *
+ * @author DD
+ */
+public class LimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private long count;
+    private long mark = -1;
+
+    /**
+     * @param in 输入流
+     * @param limit 允许读取的最大字节数
+     */
+    public LimitedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    /**
+     * 按限制包装输入流，limit 不大于 0 时表示不限制，返回原输入流
+     */
+    public static InputStream wrap(InputStream in, long limit) {
+        return in == null || limit <= 0 ? in : new LimitedInputStream(in, limit);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, (int) Math.min(len, limit - count + 1));
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(Math.min(n, limit - count + 1));
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        in.mark(readlimit);
+        mark = count;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        if (mark < 0) {
+            throw new IOException("未设置标记");
+        }
+        in.reset();
+        count = mark;
+    }
+
+    /**
+     * 已读取的字节数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void count(long n) {
+        count += n;
+        if (count > limit) {
+            throw new ExcelFileSizeException(limit);
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.chatlabs.cdev.extractor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import java.io.InputStream;
+import java.util.Set;
 
 /**
  * Multipart表单输入流提取器
@@ -39,6 +41,11 @@ public class MultipartInputStreamExtractor implements InputStreamExtractor {
         return file.getInputStream();
     }
     
+    @Override
+    public Set<MediaType> getSupportedMediaTypes() {
+        return Set.of(MediaType.MULTIPART_FORM_DATA);
+    }
+    
     @Override
     public int getOrder() {
         return 100;
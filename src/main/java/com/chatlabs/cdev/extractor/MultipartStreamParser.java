@@ -0,0 +1,260 @@
+package com.chatlabs.cdev.extractor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * multipart/form-data 流式解析器
+ * 直接从请求体中按边界切分各部分，跳过不需要的部分，目标部分以输入流形式交付，
+ * 读取该输入流时才继续从请求体读取，不缓存整个上传内容
+ *
+ * @author DD
+ */
+final class MultipartStreamParser {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_HEADER_SIZE = 8 * 1024;
+    private static final Pattern NAME = Pattern.compile("(?:^|;)\\s*name\\s*=\\s*(?:\"([^\"]*)\"|([^;\\s]+))",
+            Pattern.CASE_INSENSITIVE);
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+    private boolean eof;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * @param in 请求体
+     * @param boundary Content-Type 中的 boundary 参数
+     */
+    MultipartStreamParser(InputStream in, String boundary) {
+        this.in = in;
+        // 各部分之间的分隔为 CRLF--boundary，请求体开头的分隔前没有 CRLF，预置一个使两者一致
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        this.tail = 2;
+    }
+
+    /**
+     * 从 Content-Type 中取出 boundary 参数
+     *
+     * @return boundary，不存在时为 null
+     */
+    static String boundary(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String parameter : contentType.split(";")) {
+            int eq = parameter.indexOf('=');
+            if (eq > 0 && "boundary".equals(parameter.substring(0, eq).trim().toLowerCase(Locale.ROOT))) {
+                String value = parameter.substring(eq + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 定位到指定表单字段，之前的部分被读取并丢弃；可在上一个字段的输入流关闭后继续定位之后的字段
+     *
+     * @param fieldName 表单字段名
+     * @return 该字段内容的输入流，读到部分结束时返回 -1；字段不存在时为 null
+     * @throws IOException 读取异常或 multipart 格式错误
+     */
+    InputStream seek(String fieldName) throws IOException {
+        if (!started) {
+            // 跳过首个分隔之前的前导内容
+            started = true;
+            new PartInputStream().transferTo(OutputStream.nullOutputStream());
+        }
+        while (!finished && nextPart()) {
+            String name = readHeaders();
+            PartInputStream part = new PartInputStream();
+            if (fieldName.equals(name)) {
+                return part;
+            }
+            part.transferTo(OutputStream.nullOutputStream());
+        }
+        return null;
+    }
+
+    /**
+     * 读取分隔之后的两个字节：-- 表示结束，CRLF 表示下一部分
+     */
+    private boolean nextPart() throws IOException {
+        if (!ensure(2)) {
+            throw new EOFException("multipart 内容不完整");
+        }
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            return false;
+        }
+        // 分隔行末尾可能有空白（transport padding）
+        String line = readLine();
+        if (!line.isBlank()) {
+            throw new IOException("multipart 分隔格式错误");
+        }
+        return true;
+    }
+
+    /**
+     * 读取部分头，返回 Content-Disposition 中的 name
+     */
+    private String readHeaders() throws IOException {
+        String name = null;
+        int size = 0;
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            size += line.length();
+            if (size > MAX_HEADER_SIZE) {
+                throw new IOException("multipart 部分头过长");
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0 && "content-disposition".equals(line.substring(0, colon).trim().toLowerCase(Locale.ROOT))) {
+                Matcher matcher = NAME.matcher(line.substring(colon + 1));
+                if (matcher.find()) {
+                    name = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                }
+            }
+        }
+        return name;
+    }
+
+    private String readLine() throws IOException {
+        // 相对 head 的已扫描长度，fill 整理缓冲区后仍然有效
+        int scanned = 0;
+        while (true) {
+            for (int i = head + scanned; i + 1 < tail; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, head, i - head, StandardCharsets.UTF_8);
+                    head = i + 2;
+                    return line;
+                }
+            }
+            if (tail - head >= MAX_HEADER_SIZE) {
+                throw new IOException("multipart 部分头过长");
+            }
+            scanned = Math.max(0, tail - head - 1);
+            if (!fill()) {
+                throw new EOFException("multipart 内容不完整");
+            }
+        }
+    }
+
+    /**
+     * 确保缓冲区中至少有 n 个字节，到达末尾时返回 false
+     */
+    private boolean ensure(int n) throws IOException {
+        while (tail - head < n) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 整理缓冲区并从请求体继续读取
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int n = in.read(buffer, tail, buffer.length - tail);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        tail += n;
+        return true;
+    }
+
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        outer:
+        for (int i = head; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 单个部分的内容，读到下一个分隔为止；关闭时只跳过该部分的剩余内容，不关闭请求体
+     */
+    private class PartInputStream extends InputStream {
+
+        private final byte[] single = new byte[1];
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                int index = indexOfDelimiter();
+                if (index == head) {
+                    head += delimiter.length;
+                    ended = true;
+                    return -1;
+                }
+                // 分隔之前的内容可以交付；未找到分隔时保留可能是分隔开头的末尾字节
+                int available = index >= 0 ? index - head : tail - head - (delimiter.length - 1);
+                if (available > 0) {
+                    int n = Math.min(available, len);
+                    System.arraycopy(buffer, head, b, off, n);
+                    head += n;
+                    return n;
+                }
+                if (!fill()) {
+                    throw new EOFException("multipart 内容不完整，未找到结束分隔");
+                }
+            }
+        }
+
+        @Override
+        public int available() {
+            int index = ended ? head : indexOfDelimiter();
+            return Math.max(0, (index >= 0 ? index : tail - delimiter.length + 1) - head);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!ended) {
+                transferTo(OutputStream.nullOutputStream());
+            }
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.chatlabs.cdev.extractor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
+import java.util.Set;
 
 /**
  * 原始请求体输入流提取器
@@ -46,6 +48,13 @@ public class RawBodyInputStreamExtractor implements InputStreamExtractor {
         return request.getInputStream();
     }
     
+    @Override
+    public Set<MediaType> getSupportedMediaTypes() {
+        return Set.of(MediaType.parseMediaType(EXCEL_CONTENT_TYPE),
+                MediaType.parseMediaType(XLS_CONTENT_TYPE),
+                MediaType.APPLICATION_OCTET_STREAM);
+    }
+    
     @Override
     public int getOrder() {
         return 300;
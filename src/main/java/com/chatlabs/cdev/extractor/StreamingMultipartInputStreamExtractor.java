@@ -0,0 +1,97 @@
+package com.chatlabs.cdev.extractor;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.support.AbstractMultipartHttpServletRequest;
+
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 流式 Multipart 表单输入流提取器
+ * 直接从请求体解析 multipart 边界，文件部分边接收边交给读取器：
+ * CSV 按行解析时无需等待上传完成，xlsx 由 EasyExcel 一次写入其随机读取所需的临时文件，
+ * 省去 MultipartResolver 先行缓存整个上传的一次复制
+ *
+ * 请求已被 MultipartResolver 解析时（未配置 spring.servlet.multipart.resolve-lazily=true）
+ * 请求体已读取完毕，此时按已解析的文件读取。
+ * 默认优先级低于 {@link MultipartInputStreamExtractor}，
+ * 开启 chatlabs.excel.io.streaming-multipart 或在 @ExcelImport(extractors) 中指定时使用
+ *
+ * @author DD
+ */
+@Slf4j
+@Component
+public class StreamingMultipartInputStreamExtractor implements InputStreamExtractor {
+
+    private final ExcelIOProperties properties;
+
+    public StreamingMultipartInputStreamExtractor(ExcelIOProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(HttpServletRequest request, String fieldName) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    @Override
+    public InputStream extract(HttpServletRequest request, String fieldName) throws Exception {
+        if (request instanceof MultipartHttpServletRequest multipartRequest && isResolved(multipartRequest)) {
+            MultipartFile file = multipartRequest.getFile(fieldName);
+            if (file == null || file.isEmpty()) {
+                log.debug("Multipart文件为空: fieldName={}", fieldName);
+                return null;
+            }
+            log.debug("请求已解析，读取Multipart文件: fieldName={}, size={}", fieldName, file.getSize());
+            return file.getInputStream();
+        }
+
+        String boundary = MultipartStreamParser.boundary(request.getContentType());
+        if (boundary == null) {
+            log.debug("Multipart请求缺少boundary: contentType={}", request.getContentType());
+            return null;
+        }
+        InputStream part = new MultipartStreamParser(request.getInputStream(), boundary).seek(fieldName);
+        if (part == null) {
+            log.debug("Multipart中未找到文件字段: fieldName={}", fieldName);
+            return null;
+        }
+
+        // 与已解析的请求一致，空文件视为未上传
+        PushbackInputStream content = new PushbackInputStream(part);
+        int first = content.read();
+        if (first == -1) {
+            log.debug("Multipart文件为空: fieldName={}", fieldName);
+            return null;
+        }
+        content.unread(first);
+        log.debug("流式读取Multipart文件: fieldName={}", fieldName);
+        return content;
+    }
+
+    @Override
+    public Set<MediaType> getSupportedMediaTypes() {
+        return Set.of(MediaType.MULTIPART_FORM_DATA);
+    }
+
+    @Override
+    public int getOrder() {
+        return properties.isStreamingMultipart() ? 90 : 110;
+    }
+
+    /**
+     * 延迟解析的请求在访问文件前不会读取请求体
+     */
+    private boolean isResolved(MultipartHttpServletRequest request) {
+        return !(request instanceof AbstractMultipartHttpServletRequest lazyRequest) || lazyRequest.isResolved();
+    }
+}
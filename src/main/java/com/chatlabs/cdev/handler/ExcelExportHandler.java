@@ -1,22 +1,52 @@
 package com.chatlabs.cdev.handler;
 
 import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.annotation.ExcelImport;
+import com.chatlabs.cdev.cache.CachingResponse;
+import com.chatlabs.cdev.cache.ExportCache;
+import com.chatlabs.cdev.cache.ExportCacheEntry;
 import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.page.ExportPageProvider;
+import com.chatlabs.cdev.page.ExportPageRequest;
+import com.chatlabs.cdev.page.PagingMode;
 import com.chatlabs.cdev.processor.ExportDataProcessor;
 import com.chatlabs.cdev.wrapper.ResponseWrapper;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
 
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 /**
  * Excel导出处理器
@@ -27,62 +57,421 @@ import java.util.List;
 @Component
 public class ExcelExportHandler {
 
+    private static final String CACHE_KEY_ATTRIBUTE = "_excel_export_cache_key";
+
     @Resource
     private ApplicationContext applicationContext;
 
     @Resource
     private List<ResponseWrapper> responseWrappers;
 
+    @Resource
+    private ExportCache exportCache;
+
+    private final Map<HandlerMethod, ExportHandlerMethod> invocables = new ConcurrentHashMap<>();
+
+    /**
+     * 处理导出
+     *
+     * @param handlerMethod 标注 @ExcelExport 的处理方法
+     * @param returnValue 处理方法本次请求的返回值，reuseMethod=false 时为 null
+     * @param request HTTP 请求
+     * @param response HTTP 响应
+     * @throws Exception 导出异常
+     */
     public void handleExport(HandlerMethod handlerMethod,
-                             Object[] args,
+                             Object returnValue,
                              HttpServletRequest request,
                              HttpServletResponse response) throws Exception {
+        handleExport(handlerMethod, returnValue, request, response, rows -> { });
+    }
+
+    /**
+     * 处理导出并报告进度
+     *
+     * @param handlerMethod 标注 @ExcelExport 的处理方法
+     * @param returnValue 处理方法本次请求的返回值，reuseMethod=false 时为 null
+     * @param request HTTP 请求，异步任务中请求已结束时为 null
+     * @param response HTTP 响应
+     * @param progress 进度回调，参数为新交给处理器的行数
+     * @throws Exception 导出异常
+     */
+    public void handleExport(HandlerMethod handlerMethod,
+                             Object returnValue,
+                             HttpServletRequest request,
+                             HttpServletResponse response,
+                             LongConsumer progress) throws Exception {
         ExcelExport annotation = handlerMethod.getMethod().getAnnotation(ExcelExport.class);
         if (annotation == null) {
             throw new ExcelIOException("未找到 @ExcelExport 注解");
         }
+        String cacheKey = request != null ? (String) request.getAttribute(CACHE_KEY_ATTRIBUTE) : null;
+        if (cacheKey == null) {
+            export(handlerMethod, annotation, returnValue, request, response, progress);
+            return;
+        }
+
+        // 响应体在发送给客户端的同时写入缓存临时文件，导出成功后加入缓存
+        long lastModified = System.currentTimeMillis() / 1000 * 1000;
+        Path part = exportCache.createPart(cacheKey);
+        boolean cached = false;
+        try (CachingResponse caching = new CachingResponse(response, part)) {
+            // 校验头在开始写出导出结果时才设置，写出前失败的响应不带 ETag
+            caching.setValidators(ExportCacheEntry.etag(cacheKey, lastModified), lastModified);
+            export(handlerMethod, annotation, returnValue, request, caching, progress);
+            caching.applyValidators();
+            caching.close();
+            cached = exportCache.put(cacheKey, part, lastModified, annotation.cacheSeconds(),
+                    response.getContentType(), response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isPresent();
+        } finally {
+            if (!cached) {
+                exportCache.discard(part);
+            }
+        }
+    }
+
+    /**
+     * 以缓存的导出结果响应请求，在调用 Controller 方法之前使用
+     * 仅对声明了 cacheSeconds 的同步 GET 导出生效；缓存键由解析后的方法参数及当前登录用户计算，
+     * 参数无法规范化时不使用缓存。未命中时记录缓存键，由 handleExport 在导出成功后写入缓存；
+     * 已解析的参数同时记录在请求中，随后调用方法时直接使用，不再重复解析
+     *
+     * @param handlerMethod 标注 @ExcelExport 的处理方法
+     * @param request HTTP 请求
+     * @param response HTTP 响应
+     * @return 已通过缓存响应（含 304）时返回 true
+     * @throws IOException 写出缓存文件失败
+     */
+    public boolean serveCached(HandlerMethod handlerMethod, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        ExcelExport annotation = handlerMethod.getMethodAnnotation(ExcelExport.class);
+        if (annotation == null || annotation.cacheSeconds() <= 0 || annotation.async()
+                || !HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+        Object[] arguments = resolveArguments(handlerMethod, request, response);
+        String key = arguments != null ? exportCache.key(handlerMethod, request, arguments).orElse(null) : null;
+        if (key == null) {
+            log.debug("导出参数无法作为缓存键，不使用缓存: {}", handlerMethod.getMethod().getName());
+            return false;
+        }
+        request.setAttribute(CACHE_KEY_ATTRIBUTE, key);
+        ResolvedExportArgumentResolver.store(request, handlerMethod.getMethod(), arguments);
+        ExportCacheEntry entry = exportCache.find(key).orElse(null);
+        if (entry == null) {
+            return false;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(entry.getEtag(), entry.getLastModified())) {
+            log.debug("导出结果未变化: {}", request.getRequestURI());
+            return true;
+        }
+        try {
+            exportCache.write(entry, response);
+        } catch (NoSuchFileException e) {
+            // 读取前恰好被淘汰，按未命中处理
+            return false;
+        }
+        log.debug("命中导出缓存: {}", request.getRequestURI());
+        return true;
+    }
+
+    private void export(HandlerMethod handlerMethod, ExcelExport annotation, Object returnValue,
+                        HttpServletRequest request, HttpServletResponse response,
+                        LongConsumer progress) throws Exception {
+
+        ExportDataProcessor processor = applicationContext.getBean(annotation.processor())
+                .configure(annotation.format(), annotation.columnWidth());
+        if (isPaging(annotation)) {
+            checkPageable(handlerMethod, annotation);
+            Iterator<List<?>> pages = new PageIterator(annotation, pageRequest -> fetchPage(
+                    handlerMethod, annotation, pageRequest, returnValue, request, response));
+            processor.processPages(counting(pages, List::size, progress), annotation.dataClass(),
+                    annotation.fileName(), annotation.sheetName(), response);
+            return;
+        }
 
-        List<?> data = obtainData(handlerMethod, args, annotation);
-        ExportDataProcessor processor = applicationContext.getBean(annotation.processor());
-        processor.process(data, annotation.dataClass(), annotation.fileName(), annotation.sheetName(), response);
+        Object data = obtainData(returnValue, annotation);
+        if (data instanceof List<?> list) {
+            processor.process(list, annotation.dataClass(), annotation.fileName(), annotation.sheetName(), response);
+            progress.accept(list.size());
+            return;
+        }
+
+        // Stream/Iterable/Iterator 逐批写入，写入结束后关闭数据源
+        Iterator<?> iterator = toIterator(data);
+        try {
+            processor.processStream(counting(iterator, row -> 1, progress), annotation.dataClass(),
+                    annotation.fileName(), annotation.sheetName(), response);
+        } finally {
+            closeQuietly(data);
+            if (iterator != data) {
+                closeQuietly(iterator);
+            }
+        }
     }
 
-    @Async("excelExportExecutor")
-    public void handleExportAsync(HandlerMethod handlerMethod, Object[] args,
-                                  HttpServletRequest request, HttpServletResponse response) throws Exception {
-        log.info("异步导出: {}", handlerMethod.getMethod().getName());
-        handleExport(handlerMethod, args, request, response);
+    /**
+     * 检查返回值能否在请求结束后导出
+     * Stream、Iterator 及非集合的 Iterable 通常依赖请求内的事务或持久化会话，不能交给异步任务在请求结束后消费
+     *
+     * @param returnValue 处理方法的返回值
+     * @throws ExcelIOException 返回值需要在请求内消费，此时数据源已关闭
+     */
+    public void checkDetached(Object returnValue) {
+        if (returnValue == null) {
+            return;
+        }
+        Object data = unwrapResponse(returnValue);
+        if (data instanceof Stream || data instanceof Iterator
+                || (data instanceof Iterable && !(data instanceof Collection))) {
+            closeQuietly(data);
+            throw new ExcelIOException("异步导出不支持Stream、Iterator等惰性返回值，请返回List或指定pageProvider");
+        }
     }
 
-    private List<?> obtainData(HandlerMethod handlerMethod, Object[] args, ExcelExport annotation) throws Exception {
-        if (!annotation.reuseMethod()) {
+    private Object obtainData(Object returnValue, ExcelExport annotation) {
+        if (!annotation.reuseMethod() || returnValue == null) {
             return Collections.emptyList();
         }
 
-        Method method = handlerMethod.getMethod();
-        Object result = method.invoke(handlerMethod.getBean(), args);
+        Object unwrapped = unwrapResponse(returnValue);
+        if (unwrapped instanceof List || unwrapped instanceof Stream
+                || unwrapped instanceof Iterable || unwrapped instanceof Iterator) {
+            return unwrapped;
+        }
+        closeQuietly(unwrapped);
+        throw new ExcelIOException("返回值必须是List、Stream、Iterable或Iterator类型");
+    }
+
+    private boolean isPaging(ExcelExport annotation) {
+        return annotation.pagingMode() != PagingMode.NONE
+                && (annotation.reuseMethod() || annotation.pageProvider() != ExportPageProvider.class);
+    }
+
+    private void checkPageable(HandlerMethod handlerMethod, ExcelExport annotation) {
+        if (annotation.pageProvider() != ExportPageProvider.class) {
+            return;
+        }
+        boolean pageable = Arrays.stream(handlerMethod.getMethodParameters())
+                .anyMatch(parameter -> ExportPageRequest.class.equals(parameter.getParameterType()));
+        if (!pageable) {
+            throw new ExcelIOException("分页导出需要在方法参数中声明 ExportPageRequest: "
+                    + handlerMethod.getMethod().getName());
+        }
+    }
+
+    /**
+     * 获取一页数据
+     * 指定了 pageProvider 时由其提供；否则第一页为本次请求的返回值，后续页以当前页请求重新调用 Controller 方法
+     */
+    private List<?> fetchPage(HandlerMethod handlerMethod, ExcelExport annotation, ExportPageRequest pageRequest,
+                              Object firstPage, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        Object result;
+        if (annotation.pageProvider() != ExportPageProvider.class) {
+            result = applicationContext.getBean(annotation.pageProvider()).fetchPage(pageRequest);
+        } else if (pageRequest.isFirst()) {
+            result = firstPage;
+        } else {
+            result = invokeForPage(handlerMethod, pageRequest, request, response);
+        }
         if (result == null) {
             return Collections.emptyList();
         }
 
+        // 分页结果可能还有一层外层包装（如 Response<Page<T>>），外层解封装后再解封装一次取出当前页内容
         Object unwrapped = unwrapResponse(result);
-        if (unwrapped instanceof List) {
-            return (List<?>) unwrapped;
+        if (unwrapped != result && unwrapped != null && !(unwrapped instanceof List)) {
+            unwrapped = unwrapResponse(unwrapped);
+        }
+        if (unwrapped instanceof List<?> list) {
+            return list;
+        }
+        if (unwrapped instanceof Iterable<?> iterable) {
+            List<Object> list = new ArrayList<>();
+            iterable.forEach(list::add);
+            return list;
+        }
+        throw new ExcelIOException("分页返回值必须是List或Iterable类型");
+    }
+
+    private Object invokeForPage(HandlerMethod handlerMethod, ExportPageRequest pageRequest,
+                                 HttpServletRequest request, HttpServletResponse response) throws Exception {
+        // 当前页请求作为预置参数，优先于参数解析器
+        return invocable(handlerMethod).invokeForRequest(new ServletWebRequest(request, response),
+                new ModelAndViewContainer(), pageRequest);
+    }
+
+    /**
+     * 解析用于计算缓存键的 Controller 方法参数
+     * 参数含请求体、上传文件或解析失败时返回 null，不使用缓存
+     */
+    private Object[] resolveArguments(HandlerMethod handlerMethod, HttpServletRequest request,
+                                      HttpServletResponse response) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            // 在方法调用前读取请求体会使方法本身无法再读取
+            if (parameter.hasParameterAnnotation(RequestBody.class)
+                    || parameter.hasParameterAnnotation(RequestPart.class)
+                    || parameter.hasParameterAnnotation(ExcelImport.class)) {
+                return null;
+            }
+        }
+        try {
+            return invocable(handlerMethod).resolveArguments(new ServletWebRequest(request, response));
+        } catch (Exception e) {
+            log.debug("解析导出参数失败，不使用缓存: {}", handlerMethod.getMethod().getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 按处理方法缓存，参数解析器及数据绑定工厂只在首次使用时创建
+     */
+    private ExportHandlerMethod invocable(HandlerMethod handlerMethod) {
+        return invocables.computeIfAbsent(handlerMethod, this::createInvocable);
+    }
+
+    private ExportHandlerMethod createInvocable(HandlerMethod handlerMethod) {
+        RequestMappingHandlerAdapter adapter = applicationContext.getBean(RequestMappingHandlerAdapter.class);
+        HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
+        if (adapter.getArgumentResolvers() != null) {
+            resolvers.addResolvers(adapter.getArgumentResolvers());
+        }
+
+        ExportHandlerMethod invocable = new ExportHandlerMethod(handlerMethod);
+        invocable.setHandlerMethodArgumentResolvers(resolvers);
+        invocable.setDataBinderFactory(new ServletRequestDataBinderFactory(null, adapter.getWebBindingInitializer()));
+        return invocable;
+    }
+
+    private static <T> Iterator<T> counting(Iterator<T> iterator, ToLongFunction<? super T> rows,
+                                            LongConsumer progress) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T next = iterator.next();
+                progress.accept(rows.applyAsLong(next));
+                return next;
+            }
+        };
+    }
+
+    private Iterator<?> toIterator(Object data) {
+        if (data instanceof Stream<?> stream) {
+            return stream.iterator();
+        }
+        if (data instanceof Iterable<?> iterable) {
+            return iterable.iterator();
+        }
+        return (Iterator<?>) data;
+    }
+
+    private void closeQuietly(Object source) {
+        if (source instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("关闭导出数据源失败: {}", e.getMessage());
+            }
         }
-        throw new ExcelIOException("返回值必须是List类型");
     }
 
     private Object unwrapResponse(Object result) {
         if (responseWrappers == null || responseWrappers.isEmpty()) {
             return result;
         }
-        responseWrappers.sort(Comparator.comparingInt(ResponseWrapper::getOrder));
-        for (ResponseWrapper wrapper : responseWrappers) {
-            if (wrapper.supports(result.getClass())) {
-                return wrapper.unwrap(result);
+        // 只使用优先级最高的匹配包装器
+        return responseWrappers.stream()
+                .sorted(Comparator.comparingInt(ResponseWrapper::getOrder))
+                .filter(wrapper -> wrapper.supports(result.getClass()))
+                .findFirst()
+                .map(wrapper -> wrapper.unwrap(result))
+                .orElse(result);
+    }
+
+    /**
+     * 逐页获取数据的迭代器，上一页写入后才会获取下一页
+     */
+    private static class PageIterator implements Iterator<List<?>> {
+
+        private final ExcelExport annotation;
+        private final PageFetcher fetcher;
+        private ExportPageRequest nextRequest;
+        private List<?> nextPage;
+
+        PageIterator(ExcelExport annotation, PageFetcher fetcher) {
+            this.annotation = annotation;
+            this.fetcher = fetcher;
+            this.nextRequest = ExportPageRequest.first(annotation.pageSize());
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextPage == null && nextRequest != null) {
+                fetchNext();
+            }
+            return nextPage != null && !nextPage.isEmpty();
+        }
+
+        @Override
+        public List<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<?> page = nextPage;
+            nextPage = null;
+            return page;
+        }
+
+        private void fetchNext() {
+            ExportPageRequest current = nextRequest;
+            try {
+                nextPage = fetcher.fetch(current);
+            } catch (ExcelIOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ExcelIOException("获取分页数据失败: page=" + current.getPageNo(), e);
+            }
+            log.debug("获取分页数据: page={}, rows={}", current.getPageNo(), nextPage.size());
+
+            // 不足一页视为最后一页
+            if (nextPage.size() < current.getPageSize()) {
+                nextRequest = null;
+                return;
+            }
+            Object cursor = null;
+            if (annotation.pagingMode() == PagingMode.KEYSET) {
+                Object lastRow = nextPage.get(nextPage.size() - 1);
+                cursor = PropertyAccessorFactory.forBeanPropertyAccess(lastRow)
+                        .getPropertyValue(annotation.cursorField());
+                if (cursor == null || cursor.equals(current.getCursor())) {
+                    throw new ExcelIOException("游标字段为空或未推进: " + annotation.cursorField());
+                }
             }
+            nextRequest = current.next(cursor);
         }
-        return result;
     }
-}
 
+    @FunctionalInterface
+    private interface PageFetcher {
+        List<?> fetch(ExportPageRequest request) throws Exception;
+    }
+
+    /**
+     * 计算缓存键时解析参数，分页导出时以当前页请求重新调用方法
+     */
+    private static class ExportHandlerMethod extends InvocableHandlerMethod {
+
+        ExportHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+
+        Object[] resolveArguments(ServletWebRequest webRequest) throws Exception {
+            return getMethodArgumentValues(webRequest, new ModelAndViewContainer());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.chatlabs.cdev.handler;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.interceptor.ExcelExportInterceptor;
+import com.chatlabs.cdev.job.ExportJob;
+import com.chatlabs.cdev.job.ExportJobManager;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Excel导出返回值处理器
+ * 导出请求直接将 Controller 方法的返回值写入 Excel，不再序列化响应体，也不会重复调用方法；
+ * 普通请求交给原有的返回值处理器处理；异步导出提交任务后返回任务信息
+ *
+ * @author DD
+ */
+@Slf4j
+public class ExcelExportReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final ExcelExportHandler exportHandler;
+    private final ExportJobManager jobManager;
+    private final HandlerMethodReturnValueHandler delegate;
+
+    public ExcelExportReturnValueHandler(ExcelExportHandler exportHandler, ExportJobManager jobManager,
+                                         HandlerMethodReturnValueHandler delegate) {
+        this.exportHandler = exportHandler;
+        this.jobManager = jobManager;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supportsReturnType(@NonNull MethodParameter returnType) {
+        return returnType.hasMethodAnnotation(ExcelExport.class);
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request == null || !ExcelExportInterceptor.isExportRequest(request)) {
+            delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod)
+                || response == null) {
+            throw new ExcelIOException("无法获取导出处理方法或HttpServletResponse");
+        }
+
+        mavContainer.setRequestHandled(true);
+        // 映射中保存的可能是 bean 名称，分页导出重新调用方法前需要解析为实例
+        HandlerMethod resolved = handlerMethod.createWithResolvedBean();
+        ExcelExport annotation = returnType.getMethodAnnotation(ExcelExport.class);
+        if (annotation != null && annotation.async()) {
+            ExportJob job = jobManager.submit(resolved, returnValue, request);
+            jobManager.writeSubmitted(job, request, response);
+        } else {
+            exportHandler.handleExport(resolved, returnValue, request, response);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.chatlabs.cdev.handler;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.lang.reflect.Method;
+
+/**
+ * 已解析导出参数的参数解析器
+ * 声明了 cacheSeconds 的导出在查找缓存时已解析过方法参数，缓存未命中而调用方法时直接使用这些参数，不再重复解析；
+ * 没有已解析的参数时交给其余参数解析器
+ *
+ * @author DD
+ */
+public class ResolvedExportArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String RESOLVED_ARGUMENTS_ATTRIBUTE = "_excel_export_resolved_arguments";
+
+    private final HandlerMethodArgumentResolver delegate;
+
+    /**
+     * @param delegate 其余参数解析器
+     */
+    public ResolvedExportArgumentResolver(HandlerMethodArgumentResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 记录本次请求已解析的方法参数
+     */
+    static void store(HttpServletRequest request, Method method, Object[] arguments) {
+        request.setAttribute(RESOLVED_ARGUMENTS_ATTRIBUTE, new ResolvedArguments(method, arguments));
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        ExcelExport annotation = parameter.getMethodAnnotation(ExcelExport.class);
+        return annotation != null && annotation.cacheSeconds() > 0 && delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        if (webRequest.getAttribute(RESOLVED_ARGUMENTS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof ResolvedArguments resolved && resolved.method().equals(parameter.getMethod())) {
+            return resolved.values()[parameter.getParameterIndex()];
+        }
+        return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+    }
+
+    private record ResolvedArguments(Method method, Object[] values) {
+    }
+}
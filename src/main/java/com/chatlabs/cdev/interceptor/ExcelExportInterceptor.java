@@ -1,7 +1,11 @@
 package com.chatlabs.cdev.interceptor;
 
 import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.exception.ExcelWriteException;
 import com.chatlabs.cdev.handler.ExcelExportHandler;
+import com.chatlabs.cdev.job.ExportJob;
+import com.chatlabs.cdev.job.ExportJobManager;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -10,7 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
 
 /**
  * Excel导出拦截器
@@ -22,11 +27,13 @@ import org.springframework.web.servlet.ModelAndView;
 public class ExcelExportInterceptor implements HandlerInterceptor {
 
     private static final String EXPORT_FLAG = "_excel_export_flag";
-    private static final String EXPORT_ARGS = "_excel_export_args";
 
     @Resource
     private ExcelExportHandler exportHandler;
 
+    @Resource
+    private ExportJobManager jobManager;
+
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request,
                              @NonNull HttpServletResponse response,
@@ -41,12 +48,48 @@ public class ExcelExportInterceptor implements HandlerInterceptor {
         }
 
         String path = request.getRequestURI();
-        if (path.endsWith("/export") || isCustomExportPath(path, annotation)) {
-            request.setAttribute(EXPORT_FLAG, true);
-            log.debug("导出请求: {}", path);
+        if (!path.endsWith("/export") && !isCustomExportPath(path, annotation)) {
+            return true;
+        }
+        request.setAttribute(EXPORT_FLAG, true);
+        log.debug("导出请求: {}", path);
+
+        // 命中导出结果缓存时直接返回，不再调用方法获取数据
+        if (serveCached(handlerMethod, request, response)) {
+            return false;
+        }
+
+        // 不复用方法逻辑时直接导出，跳过方法调用；否则由 ExcelExportReturnValueHandler 处理返回值
+        if (!annotation.reuseMethod()) {
+            export(handlerMethod, annotation, request, response);
+            return false;
         }
         return true;
     }
+
+    private void export(HandlerMethod handlerMethod, ExcelExport annotation,
+                        HttpServletRequest request, HttpServletResponse response) {
+        try {
+            if (annotation.async()) {
+                ExportJob job = jobManager.submit(handlerMethod, null, request);
+                jobManager.writeSubmitted(job, request, response);
+                return;
+            }
+            exportHandler.handleExport(handlerMethod, null, request, response);
+        } catch (ExcelIOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExcelWriteException("导出失败: " + handlerMethod.getMethod().getName(), e);
+        }
+    }
+    
+    private boolean serveCached(HandlerMethod handlerMethod, HttpServletRequest request, HttpServletResponse response) {
+        try {
+            return exportHandler.serveCached(handlerMethod, request, response);
+        } catch (IOException e) {
+            throw new ExcelWriteException("返回缓存的导出结果失败: " + handlerMethod.getMethod().getName(), e);
+        }
+    }
     
     private boolean isCustomExportPath(String requestPath, ExcelExport annotation) {
         String customPath = annotation.value();
@@ -57,31 +100,10 @@ public class ExcelExportInterceptor implements HandlerInterceptor {
         return false;
     }
 
-    @Override
-    public void postHandle(@NonNull HttpServletRequest request,
-                           @NonNull HttpServletResponse response,
-                           @NonNull Object handler,
-                           ModelAndView modelAndView) throws Exception {
-        Boolean isExport = (Boolean) request.getAttribute(EXPORT_FLAG);
-        if (isExport == null || !isExport || !(handler instanceof HandlerMethod handlerMethod)) {
-            return;
-        }
-
-        ExcelExport annotation = handlerMethod.getMethodAnnotation(ExcelExport.class);
-        if (annotation == null) {
-            return;
-        }
-
-        Object[] args = (Object[]) request.getAttribute(EXPORT_ARGS);
-        if (annotation.async()) {
-            exportHandler.handleExportAsync(handlerMethod, args, request, response);
-        } else {
-            exportHandler.handleExport(handlerMethod, args, request, response);
-        }
-
-        if (modelAndView != null) {
-            modelAndView.clear();
-        }
+    /**
+     * 判断当前请求是否为导出请求
+     */
+    public static boolean isExportRequest(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(EXPORT_FLAG));
     }
 }
-
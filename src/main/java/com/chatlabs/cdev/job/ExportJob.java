@@ -0,0 +1,70 @@
+package com.chatlabs.cdev.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 异步导出任务
+ * 任务元数据以 JSON 保存在任务存储目录中，服务重启后重新加载
+ * 
+ * @author DD
+ */
+@Data
+@NoArgsConstructor
+public class ExportJob {
+    
+    /** 任务ID */
+    private String jobId;
+    
+    /** 导出文件名（不含扩展名） */
+    private String fileName;
+    
+    /** 提交任务的请求方，单独保存在 {jobId}.owner 文件中，不随任务状态返回 */
+    @JsonIgnore
+    private String owner;
+    
+    /** 任务状态 */
+    private volatile ExportJobStatus status;
+    
+    /** 已写入行数 */
+    private volatile long processedRows;
+    
+    /** 文件大小（字节），完成后设置 */
+    private long fileSize;
+    
+    /** 文件类型，来自导出处理器设置的 Content-Type */
+    private String contentType;
+    
+    /** 下载时使用的 Content-Disposition，来自导出处理器 */
+    private String contentDisposition;
+    
+    /** 失败原因 */
+    private String errorMessage;
+    
+    /** 提交时间 */
+    private LocalDateTime createTime;
+    
+    /** 开始执行时间 */
+    private LocalDateTime startTime;
+    
+    /** 结束时间 */
+    private LocalDateTime finishTime;
+    
+    ExportJob(String jobId, String fileName, String owner) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.owner = owner;
+        this.status = ExportJobStatus.PENDING;
+        this.createTime = LocalDateTime.now();
+    }
+    
+    /**
+     * 累加已写入行数，仅由执行任务的线程调用
+     */
+    void addProcessedRows(long rows) {
+        processedRows += rows;
+    }
+}
@@ -0,0 +1,61 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.upload.ChunkedUploadStore;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 异步导出任务接口，需开启 chatlabs.excel.io.export-job-enabled
+ * GET {jobPath}/{jobId} 查询状态与进度，GET {jobPath}/{jobId}/download 下载已完成的文件；
+ * 任务只属于提交它的用户（未登录时为会话），任务不存在或不属于当前请求方时返回 404
+ * 
+ * @author DD
+ */
+@RestController
+@RequestMapping("${chatlabs.excel.io.job-path:/excel/jobs}")
+@ConditionalOnProperty(prefix = "chatlabs.excel.io", name = "export-job-enabled", havingValue = "true")
+public class ExportJobController {
+    
+    @Resource
+    private ExportJobStore jobStore;
+    
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ExportJob> status(@PathVariable String jobId, HttpServletRequest request) {
+        return jobStore.find(jobId, ChunkedUploadStore.ownerOf(request))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<FileSystemResource> download(@PathVariable String jobId, HttpServletRequest request) {
+        ExportJob job = jobStore.find(jobId, ChunkedUploadStore.ownerOf(request)).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != ExportJobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        
+        MediaType contentType = StringUtils.hasText(job.getContentType())
+                ? MediaType.parseMediaType(job.getContentType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+        String disposition = StringUtils.hasText(job.getContentDisposition())
+                ? job.getContentDisposition()
+                : "attachment; filename=\"" + job.getJobId() + "\"";
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition)
+                .body(new FileSystemResource(jobStore.dataFile(job)));
+    }
+}
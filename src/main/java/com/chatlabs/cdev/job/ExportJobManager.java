@@ -0,0 +1,138 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.exception.ExcelJobRejectedException;
+import com.chatlabs.cdev.handler.ExcelExportHandler;
+import com.chatlabs.cdev.page.ExportPageProvider;
+import com.chatlabs.cdev.page.PagingMode;
+import com.chatlabs.cdev.upload.ChunkedUploadStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 异步导出任务管理器
+ * 提交导出后立即返回任务ID，导出在 excelExportExecutor 中执行并写入任务存储，
+ * 不再持有已结束请求的 HttpServletResponse
+ * 
+ * @author DD
+ */
+@Slf4j
+@Component
+public class ExportJobManager {
+    
+    private final ExcelExportHandler exportHandler;
+    private final ExportJobStore jobStore;
+    private final Executor executor;
+    private final ExcelIOProperties properties;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    
+    public ExportJobManager(ExcelExportHandler exportHandler,
+                            ExportJobStore jobStore,
+                            @Qualifier("excelExportExecutor") Executor executor,
+                            ExcelIOProperties properties) {
+        this.exportHandler = exportHandler;
+        this.jobStore = jobStore;
+        this.executor = executor;
+        this.properties = properties;
+    }
+    
+    /**
+     * 提交异步导出任务
+     * 
+     * @param handlerMethod 标注 @ExcelExport 的处理方法
+     * @param returnValue 处理方法本次请求的返回值，reuseMethod=false 时为 null
+     * @param request 提交任务的请求，任务绑定到其登录用户（未登录时为会话）
+     * @return 已提交的任务
+     * @throws ExcelIOException 未开启异步导出，或返回值为 Stream/Iterator 等需在请求内消费的数据源
+     * @throws ExcelJobRejectedException 导出线程池已满
+     */
+    public ExportJob submit(HandlerMethod handlerMethod, Object returnValue, HttpServletRequest request) {
+        ExcelExport annotation = handlerMethod.getMethodAnnotation(ExcelExport.class);
+        if (annotation == null) {
+            throw new ExcelIOException("未找到 @ExcelExport 注解");
+        }
+        // 未注册任务接口时提交的任务无法查询和下载
+        if (!properties.isExportJobEnabled()) {
+            throw new ExcelIOException("异步导出需开启 chatlabs.excel.io.export-job-enabled: "
+                    + handlerMethod.getMethod().getName());
+        }
+        // 后续页需要以当前请求重新调用 Controller 方法，请求结束后无法再调用
+        if (annotation.pagingMode() != PagingMode.NONE && annotation.pageProvider() == ExportPageProvider.class) {
+            throw new ExcelIOException("异步分页导出需要指定 pageProvider: " + handlerMethod.getMethod().getName());
+        }
+        
+        // 任务在请求结束后执行，请求内的事务及持久化会话已关闭，不能再消费惰性数据源
+        if (annotation.reuseMethod() && annotation.pagingMode() == PagingMode.NONE) {
+            exportHandler.checkDetached(returnValue);
+        }
+        
+        jobStore.cleanExpired();
+        ExportJob job = jobStore.create(annotation.fileName(), ChunkedUploadStore.ownerOf(request));
+        log.info("提交异步导出: {}, jobId={}", handlerMethod.getMethod().getName(), job.getJobId());
+        try {
+            executor.execute(() -> run(job, handlerMethod, returnValue));
+        } catch (RejectedExecutionException e) {
+            jobStore.fail(job, "导出任务过多，请稍后重试");
+            throw new ExcelJobRejectedException("导出任务过多，请稍后重试", e);
+        }
+        return job;
+    }
+    
+    /**
+     * 以 202 响应返回任务信息，Location 指向任务状态地址
+     * 
+     * @param job 已提交的任务
+     * @param request HTTP 请求
+     * @param response HTTP 响应
+     * @throws IOException 写入异常
+     */
+    public void writeSubmitted(ExportJob job, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String statusUrl = request.getContextPath() + properties.getJobPath() + "/" + job.getJobId();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("jobId", job.getJobId());
+        body.put("status", job.getStatus());
+        body.put("statusUrl", statusUrl);
+        body.put("downloadUrl", statusUrl + "/download");
+        
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        response.setHeader(HttpHeaders.LOCATION, statusUrl);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+    
+    private void run(ExportJob job, HandlerMethod handlerMethod, Object returnValue) {
+        jobStore.start(job);
+        try {
+            try (ExportJobResponse response = new ExportJobResponse(jobStore.partFile(job))) {
+                // 请求已结束，不再传入 HttpServletRequest
+                exportHandler.handleExport(handlerMethod, returnValue, null, response, job::addProcessedRows);
+                job.setContentType(response.getContentType());
+                job.setContentDisposition(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+            }
+            jobStore.complete(job);
+            log.info("异步导出完成: jobId={}, {}条", job.getJobId(), job.getProcessedRows());
+        } catch (Exception e) {
+            log.error("异步导出失败: jobId={}", job.getJobId(), e);
+            jobStore.fail(job, e.getMessage());
+        }
+    }
+}
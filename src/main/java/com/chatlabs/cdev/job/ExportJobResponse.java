@@ -0,0 +1,279 @@
+package com.chatlabs.cdev.job;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 写入任务结果文件的响应对象
+ * 异步导出时交给导出处理器代替真实的 HttpServletResponse，响应体写入文件，
+ * Content-Type 与 Content-Disposition 等响应头保留下来供下载时回放
+ * 
+ * @author DD
+ */
+class ExportJobResponse implements HttpServletResponse, AutoCloseable {
+    
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final OutputStream fileOut;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private String characterEncoding = StandardCharsets.UTF_8.name();
+    private String contentType;
+    private Locale locale = Locale.getDefault();
+    private int status = SC_OK;
+    private boolean committed;
+    
+    ExportJobResponse(Path file) throws IOException {
+        this.fileOut = new BufferedOutputStream(Files.newOutputStream(file));
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+                
+                @Override
+                public void write(int b) throws IOException {
+                    committed = true;
+                    fileOut.write(b);
+                }
+                
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    committed = true;
+                    fileOut.write(b, off, len);
+                }
+                
+                @Override
+                public void flush() throws IOException {
+                    fileOut.flush();
+                }
+                
+                @Override
+                public void close() {
+                    // 由任务结束时统一关闭
+                }
+            };
+        }
+        return outputStream;
+    }
+    
+    @Override
+    public PrintWriter getWriter() {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            committed = true;
+            writer = new PrintWriter(new OutputStreamWriter(fileOut, Charset.forName(characterEncoding)));
+        }
+        return writer;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        fileOut.close();
+    }
+    
+    @Override
+    public void flushBuffer() throws IOException {
+        committed = true;
+        if (writer != null) {
+            writer.flush();
+        }
+        fileOut.flush();
+    }
+    
+    @Override
+    public boolean isCommitted() {
+        return committed;
+    }
+    
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        contentType = null;
+        status = SC_OK;
+    }
+    
+    @Override
+    public void resetBuffer() {
+        if (committed) {
+            throw new IllegalStateException("Response already committed");
+        }
+    }
+    
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+    
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (charset != null && writer == null) {
+            this.characterEncoding = charset;
+        }
+    }
+    
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+    
+    @Override
+    public void setContentType(String type) {
+        this.contentType = type;
+    }
+    
+    @Override
+    public void setContentLength(int len) {
+    }
+    
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+    
+    @Override
+    public void setBufferSize(int size) {
+    }
+    
+    @Override
+    public int getBufferSize() {
+        return 8192;
+    }
+    
+    @Override
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+    
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+    
+    @Override
+    public void addCookie(Cookie cookie) {
+    }
+    
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+    
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+    
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+    
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        throw new IOException("导出处理器返回错误: " + sc + (msg != null ? " " + msg : ""));
+    }
+    
+    @Override
+    public void sendError(int sc) throws IOException {
+        sendError(sc, null);
+    }
+    
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        throw new IOException("异步导出不支持重定向: " + location);
+    }
+    
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, String.valueOf(date));
+    }
+    
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, String.valueOf(date));
+    }
+    
+    @Override
+    public void setHeader(String name, String value) {
+        List<String> values = new ArrayList<>(1);
+        values.add(value);
+        headers.put(name, values);
+    }
+    
+    @Override
+    public void addHeader(String name, String value) {
+        headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+    }
+    
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+    
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+    
+    @Override
+    public void setStatus(int sc) {
+        this.status = sc;
+    }
+    
+    @Override
+    public int getStatus() {
+        return status;
+    }
+    
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+    
+    @Override
+    public Collection<String> getHeaders(String name) {
+        return headers.getOrDefault(name, List.of());
+    }
+    
+    @Override
+    public Collection<String> getHeaderNames() {
+        return headers.keySet();
+    }
+}
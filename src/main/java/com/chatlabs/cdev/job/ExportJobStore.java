@@ -0,0 +1,243 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 异步导出任务存储
+ * 每个任务在存储目录中对应一个元数据文件 {jobId}.json 和一个结果文件 {jobId}.data，
+ * 执行中的结果写入 {jobId}.part，完成后改名；提交方记录在 {jobId}.owner 文件中，只有提交方可以查询任务。
+ * 启动时扫描目录恢复任务，未完成的任务标记为失败
+ * 
+ * @author DD
+ */
+@Slf4j
+@Component
+public class ExportJobStore implements InitializingBean {
+    
+    private static final String META_SUFFIX = ".json";
+    private static final String DATA_SUFFIX = ".data";
+    private static final String PART_SUFFIX = ".part";
+    private static final String OWNER_SUFFIX = ".owner";
+    
+    private final ExcelIOProperties properties;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private Path directory;
+    
+    public ExportJobStore(ExcelIOProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        String configured = properties.getJobStoreDir();
+        directory = StringUtils.hasText(configured)
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "excel-export-jobs");
+        Files.createDirectories(directory);
+        recover();
+        log.info("导出任务存储: {}, 已恢复{}个任务", directory, jobs.size());
+    }
+    
+    /**
+     * 创建任务并保存元数据
+     * 
+     * @param fileName 导出文件名
+     * @param owner 提交方，见 {@link com.chatlabs.cdev.upload.ChunkedUploadStore#ownerOf}
+     * @return 新任务
+     */
+    public ExportJob create(String fileName, String owner) {
+        ExportJob job = new ExportJob(UUID.randomUUID().toString().replace("-", ""), fileName, owner);
+        try {
+            Files.writeString(ownerFile(job.getJobId()), owner);
+        } catch (IOException e) {
+            throw new ExcelIOException("保存导出任务失败: " + job.getJobId(), e);
+        }
+        jobs.put(job.getJobId(), job);
+        save(job);
+        return job;
+    }
+    
+    /**
+     * 查询任务
+     * 
+     * @param jobId 任务ID
+     * @return 任务，不存在时为空
+     */
+    public Optional<ExportJob> find(String jobId) {
+        return Optional.ofNullable(jobId).map(jobs::get);
+    }
+    
+    /**
+     * 查询属于指定提交方的任务
+     * 
+     * @param jobId 任务ID
+     * @param owner 提交方
+     * @return 任务，不存在或不属于该提交方时为空
+     */
+    public Optional<ExportJob> find(String jobId, String owner) {
+        return find(jobId).filter(job -> owner != null && owner.equals(job.getOwner()));
+    }
+    
+    /**
+     * 执行中结果文件路径
+     */
+    public Path partFile(ExportJob job) {
+        return directory.resolve(job.getJobId() + PART_SUFFIX);
+    }
+    
+    /**
+     * 已完成结果文件路径
+     */
+    public Path dataFile(ExportJob job) {
+        return directory.resolve(job.getJobId() + DATA_SUFFIX);
+    }
+    
+    /**
+     * 标记任务开始执行
+     */
+    public void start(ExportJob job) {
+        job.setStatus(ExportJobStatus.RUNNING);
+        job.setStartTime(LocalDateTime.now());
+        save(job);
+    }
+    
+    /**
+     * 标记任务完成，将执行中结果文件改为正式结果文件
+     */
+    public void complete(ExportJob job) throws IOException {
+        Path data = Files.move(partFile(job), dataFile(job), StandardCopyOption.REPLACE_EXISTING);
+        job.setFileSize(Files.size(data));
+        job.setStatus(ExportJobStatus.COMPLETED);
+        job.setFinishTime(LocalDateTime.now());
+        save(job);
+    }
+    
+    /**
+     * 标记任务失败，删除未完成的结果文件
+     */
+    public void fail(ExportJob job, String errorMessage) {
+        deleteQuietly(partFile(job));
+        job.setStatus(ExportJobStatus.FAILED);
+        job.setErrorMessage(errorMessage);
+        job.setFinishTime(LocalDateTime.now());
+        save(job);
+    }
+    
+    /**
+     * 删除超过保留时间的已结束任务
+     */
+    public void cleanExpired() {
+        LocalDateTime deadline = LocalDateTime.now().minusHours(properties.getJobRetentionHours());
+        jobs.values().stream()
+                .filter(job -> job.getStatus().isFinished())
+                .filter(job -> finishedAt(job).isBefore(deadline))
+                .toList()
+                .forEach(this::delete);
+    }
+    
+    /**
+     * 删除任务及其文件
+     */
+    public void delete(ExportJob job) {
+        jobs.remove(job.getJobId());
+        deleteQuietly(dataFile(job));
+        deleteQuietly(partFile(job));
+        deleteQuietly(metaFile(job.getJobId()));
+        deleteQuietly(ownerFile(job.getJobId()));
+        log.debug("删除导出任务: {}", job.getJobId());
+    }
+    
+    /**
+     * 保存任务元数据，先写临时文件再替换，避免中途中断留下不完整的元数据
+     */
+    void save(ExportJob job) {
+        Path meta = metaFile(job.getJobId());
+        Path temp = directory.resolve(job.getJobId() + META_SUFFIX + ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), job);
+            Files.move(temp, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ExcelIOException("保存导出任务失败: " + job.getJobId(), e);
+        }
+    }
+    
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(META_SUFFIX))
+                    .forEach(this::load);
+        }
+        cleanExpired();
+    }
+    
+    private void load(Path meta) {
+        ExportJob job;
+        try {
+            job = objectMapper.readValue(meta.toFile(), ExportJob.class);
+        } catch (IOException e) {
+            log.warn("无法读取导出任务元数据，已忽略: {}", meta, e);
+            return;
+        }
+        if (job.getJobId() == null || job.getStatus() == null) {
+            log.warn("导出任务元数据不完整，已忽略: {}", meta);
+            return;
+        }
+        Path ownerFile = ownerFile(job.getJobId());
+        try {
+            // 没有所有者文件的任务无法再被查询，随过期清理删除
+            job.setOwner(Files.exists(ownerFile) ? Files.readString(ownerFile) : null);
+        } catch (IOException e) {
+            log.warn("读取导出任务所有者失败: {}", ownerFile, e);
+        }
+        jobs.put(job.getJobId(), job);
+        
+        // 执行中的任务随进程中断，无法续写
+        if (!job.getStatus().isFinished()) {
+            fail(job, "服务重启，任务已中断");
+        } else if (job.getStatus() == ExportJobStatus.COMPLETED && !Files.exists(dataFile(job))) {
+            fail(job, "导出文件已丢失");
+        }
+    }
+    
+    private Path metaFile(String jobId) {
+        return directory.resolve(jobId + META_SUFFIX);
+    }
+    
+    private Path ownerFile(String jobId) {
+        return directory.resolve(jobId + OWNER_SUFFIX);
+    }
+    
+    private LocalDateTime finishedAt(ExportJob job) {
+        if (job.getFinishTime() != null) {
+            return job.getFinishTime();
+        }
+        return job.getCreateTime() != null ? job.getCreateTime() : LocalDateTime.now();
+    }
+    
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除文件失败: {}", file, e);
+        }
+    }
+}
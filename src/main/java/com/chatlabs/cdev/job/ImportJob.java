@@ -0,0 +1,67 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.validation.ImportError;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 异步导入任务
+ * 上传内容暂存后即返回，解析与分批处理在导入线程池中执行，通过任务状态接口查询进度、校验错误与结果
+ *
+ * @author DD
+ */
+@Data
+@NoArgsConstructor
+public class ImportJob {
+
+    /** 任务ID */
+    private String jobId;
+
+    /** 数据类型名称 */
+    private String dataClass;
+
+    /** 任务状态 */
+    private volatile ImportJobStatus status;
+
+    /** 已交给处理器的行数 */
+    private volatile long processedRows;
+
+    /** 已处理的批次数 */
+    private volatile int batches;
+
+    /** 未通过校验的行的错误，启用校验时在任务结束后填入，最多 maxErrors 条 */
+    private volatile List<ImportError> errors = List.of();
+
+    /** 是否因错误数达到上限而提前停止解析 */
+    private volatile boolean truncated;
+
+    /** 失败原因 */
+    private String errorMessage;
+
+    /** 提交时间 */
+    private LocalDateTime createTime;
+
+    /** 开始执行时间 */
+    private LocalDateTime startTime;
+
+    /** 结束时间 */
+    private LocalDateTime finishTime;
+
+    ImportJob(String jobId, Class<?> dataClass) {
+        this.jobId = jobId;
+        this.dataClass = dataClass.getSimpleName();
+        this.status = ImportJobStatus.PENDING;
+        this.createTime = LocalDateTime.now();
+    }
+
+    /**
+     * 记录处理完成的一批，仅由执行任务的线程调用
+     */
+    void addBatch(int rows) {
+        processedRows += rows;
+        batches++;
+    }
+}
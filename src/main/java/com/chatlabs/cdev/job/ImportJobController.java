@@ -0,0 +1,29 @@
+package com.chatlabs.cdev.job;
+
+import jakarta.annotation.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 异步导入任务接口
+ * GET {importJobPath}/{jobId} 查询状态、已处理行数、校验错误及失败原因
+ *
+ * @author DD
+ */
+@RestController
+@RequestMapping("${chatlabs.excel.io.import-job-path:/excel/import-jobs}")
+public class ImportJobController {
+
+    @Resource
+    private ImportJobStore jobStore;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> status(@PathVariable String jobId) {
+        return jobStore.find(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
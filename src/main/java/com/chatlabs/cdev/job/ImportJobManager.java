@@ -0,0 +1,146 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelJobRejectedException;
+import com.chatlabs.cdev.exception.ExcelReadException;
+import com.chatlabs.cdev.reader.ExcelReader;
+import com.chatlabs.cdev.reader.RowBatchHandler;
+import com.chatlabs.cdev.validation.RowValidation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * 异步导入任务管理器
+ * 请求线程只负责将上传内容暂存到任务存储，随即返回任务ID；
+ * 解析、逐行校验与分批处理在 excelImportExecutor 中执行，不再占用容器线程
+ *
+ * @author DD
+ */
+@Slf4j
+@Component
+public class ImportJobManager {
+
+    private final ImportJobStore jobStore;
+    private final Executor executor;
+    private final ExcelIOProperties properties;
+
+    public ImportJobManager(ImportJobStore jobStore,
+                            @Qualifier("excelImportExecutor") Executor executor,
+                            ExcelIOProperties properties) {
+        this.jobStore = jobStore;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * 暂存上传内容并提交异步导入任务
+     *
+     * @param reader 读取器
+     * @param upload 上传内容，暂存完成后关闭
+     * @param dataClass 数据类型
+     * @param handler 分批处理器
+     * @param batchSize 每批行数
+     * @return 已提交的任务
+     * @throws IOException 暂存失败
+     * @throws ExcelJobRejectedException 导入线程池已满
+     */
+    public ImportJob submit(ExcelReader reader, InputStream upload, Class<?> dataClass,
+                            RowBatchHandler<Object> handler, int batchSize) throws IOException {
+        return submit(reader, upload, dataClass, handler, batchSize, null);
+    }
+
+    /**
+     * 暂存上传内容并提交异步导入任务，逐行校验后只将通过校验的行交给处理器，错误记入任务
+     *
+     * @param reader 读取器
+     * @param upload 上传内容，暂存完成后关闭
+     * @param dataClass 数据类型
+     * @param handler 分批处理器
+     * @param batchSize 每批行数
+     * @param validation 本次导入的逐行校验，为 null 时不校验
+     * @return 已提交的任务
+     * @throws IOException 暂存失败
+     * @throws ExcelJobRejectedException 导入线程池已满
+     */
+    public ImportJob submit(ExcelReader reader, InputStream upload, Class<?> dataClass,
+                            RowBatchHandler<Object> handler, int batchSize,
+                            RowValidation<Object> validation) throws IOException {
+        jobStore.cleanExpired();
+        ImportJob job;
+        try (upload) {
+            job = jobStore.create(dataClass, upload);
+        }
+        log.info("提交异步导入: {}, jobId={}", dataClass.getSimpleName(), job.getJobId());
+        try {
+            executor.execute(() -> run(job, reader, dataClass, handler, batchSize, validation));
+        } catch (RejectedExecutionException e) {
+            jobStore.fail(job, "导入任务过多，请稍后重试");
+            throw new ExcelJobRejectedException("导入任务过多，请稍后重试", e);
+        }
+        return job;
+    }
+
+    /**
+     * 在任务线程中边解析边分批处理，不再另占解析线程
+     */
+    private void run(ImportJob job, ExcelReader reader, Class<?> dataClass,
+                     RowBatchHandler<Object> handler, int batchSize, RowValidation<Object> validation) {
+        jobStore.start(job);
+        try (InputStream inputStream = Files.newInputStream(jobStore.uploadFile(job))) {
+            List<Object> batch = new ArrayList<>(batchSize);
+            Consumer<Object> sink = row -> {
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    handle(job, handler, batch);
+                }
+            };
+            if (validation != null) {
+                reader.read(inputStream, dataClass, validation, sink);
+            } else {
+                reader.read(inputStream, dataClass, sink);
+            }
+            if (!batch.isEmpty()) {
+                handle(job, handler, batch);
+            }
+            recordErrors(job, validation);
+            jobStore.complete(job);
+            log.info("异步导入完成: jobId={}, {}条, {}批, {}处错误", job.getJobId(), job.getProcessedRows(),
+                    job.getBatches(), job.getErrors().size());
+        } catch (Exception e) {
+            log.error("异步导入失败: jobId={}", job.getJobId(), e);
+            recordErrors(job, validation);
+            jobStore.fail(job, e.getMessage());
+        }
+    }
+
+    /**
+     * 任务结束时将校验错误写入任务，之后状态接口可见
+     */
+    private void recordErrors(ImportJob job, RowValidation<Object> validation) {
+        if (validation != null) {
+            job.setErrors(List.copyOf(validation.getErrors()));
+            job.setTruncated(validation.isExhausted());
+        }
+    }
+
+    private void handle(ImportJob job, RowBatchHandler<Object> handler, List<Object> batch) {
+        try {
+            handler.handle(new ArrayList<>(batch));
+        } catch (Exception e) {
+            // 任务状态中只保留异常信息，附上处理器抛出的原因
+            throw new ExcelReadException("批量处理失败: 第" + (job.getBatches() + 1) + "批: " + e.getMessage(), e);
+        }
+        job.addBatch(batch.size());
+        batch.clear();
+    }
+}
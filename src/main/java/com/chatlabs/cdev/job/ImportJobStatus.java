@@ -0,0 +1,28 @@
+package com.chatlabs.cdev.job;
+
+/**
+ * 异步导入任务状态
+ * 
+ * @author DD
+ */
+public enum ImportJobStatus {
+    
+    /** 已提交，等待执行 */
+    PENDING,
+    
+    /** 执行中 */
+    RUNNING,
+    
+    /** 已完成，未通过校验的行见任务的 errors */
+    COMPLETED,
+    
+    /** 执行失败 */
+    FAILED;
+    
+    /**
+     * 是否已结束
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,138 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 异步导入任务存储
+ * 任务状态只保存在内存中，上传内容暂存为存储目录中的 {jobId}.upload 文件，任务结束后删除；
+ * 服务重启后未执行完的任务无法恢复（处理器可能已处理部分批次），启动时清理遗留的暂存文件
+ *
+ * @author DD
+ */
+@Slf4j
+@Component
+public class ImportJobStore implements InitializingBean {
+
+    private static final String UPLOAD_SUFFIX = ".upload";
+
+    private final ExcelIOProperties properties;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private Path directory;
+
+    public ImportJobStore(ExcelIOProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        String configured = properties.getImportJobDir();
+        directory = StringUtils.hasText(configured)
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "excel-import-jobs");
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(UPLOAD_SUFFIX))
+                    .forEach(this::deleteQuietly);
+        }
+        log.info("导入任务存储: {}", directory);
+    }
+
+    /**
+     * 创建任务并暂存上传内容
+     *
+     * @param dataClass 数据类型
+     * @param upload 上传内容，由调用方关闭
+     * @return 新任务
+     * @throws IOException 暂存失败
+     */
+    public ImportJob create(Class<?> dataClass, InputStream upload) throws IOException {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString().replace("-", ""), dataClass);
+        try {
+            Files.copy(upload, uploadFile(job), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            // 超出大小限制等原因中途失败时删除不完整的暂存文件
+            deleteQuietly(uploadFile(job));
+            throw e;
+        }
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    /**
+     * 查询任务
+     *
+     * @param jobId 任务ID
+     * @return 任务，不存在时为空
+     */
+    public Optional<ImportJob> find(String jobId) {
+        return Optional.ofNullable(jobId).map(jobs::get);
+    }
+
+    /**
+     * 暂存的上传文件路径
+     */
+    public Path uploadFile(ImportJob job) {
+        return directory.resolve(job.getJobId() + UPLOAD_SUFFIX);
+    }
+
+    /**
+     * 标记任务开始执行
+     */
+    public void start(ImportJob job) {
+        job.setStartTime(LocalDateTime.now());
+        job.setStatus(ImportJobStatus.RUNNING);
+    }
+
+    /**
+     * 标记任务完成，删除暂存文件
+     */
+    public void complete(ImportJob job) {
+        deleteQuietly(uploadFile(job));
+        job.setFinishTime(LocalDateTime.now());
+        job.setStatus(ImportJobStatus.COMPLETED);
+    }
+
+    /**
+     * 标记任务失败，删除暂存文件
+     */
+    public void fail(ImportJob job, String errorMessage) {
+        deleteQuietly(uploadFile(job));
+        job.setErrorMessage(errorMessage);
+        job.setFinishTime(LocalDateTime.now());
+        job.setStatus(ImportJobStatus.FAILED);
+    }
+
+    /**
+     * 删除超过保留时间的已结束任务
+     */
+    public void cleanExpired() {
+        LocalDateTime deadline = LocalDateTime.now().minusHours(properties.getJobRetentionHours());
+        jobs.values().removeIf(job -> job.getStatus().isFinished()
+                && job.getFinishTime() != null && job.getFinishTime().isBefore(deadline));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除文件失败: {}", file, e);
+        }
+    }
+}
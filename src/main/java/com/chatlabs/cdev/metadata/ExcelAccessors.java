@@ -0,0 +1,190 @@
+package com.chatlabs.cdev.metadata;
+
+import com.chatlabs.cdev.exception.ExcelIOException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 字段访问器编译
+ * 优先将 getter/setter/无参构造器通过 LambdaMetafactory 绑定为函数接口，
+ * 无对应方法时退化为字段 MethodHandle，使逐行读写不再经过反射
+ *
+ * @author DD
+ */
+@Slf4j
+final class ExcelAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private ExcelAccessors() {
+    }
+
+    /**
+     * 编译字段读取器
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Class<?> dataClass, Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(dataClass, LOOKUP);
+            Method method = findGetter(dataClass, field);
+            if (method != null) {
+                MethodHandle handle = lookup.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(wrap(field.getType()), dataClass));
+                return (Function<Object, Object>) site.getTarget().invoke();
+            }
+            MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP)
+                    .unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return row -> {
+                try {
+                    return handle.invokeExact(row);
+                } catch (Throwable e) {
+                    throw new ExcelIOException("读取字段失败: " + field.getName(), e);
+                }
+            };
+        } catch (Throwable e) {
+            log.debug("字段读取器编译失败，使用反射: {}.{}", dataClass.getSimpleName(), field.getName(), e);
+            return reflectiveGetter(field);
+        }
+    }
+
+    /**
+     * 编译字段写入器，final 字段返回 null
+     */
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Class<?> dataClass, Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(dataClass, LOOKUP);
+            Method method = findSetter(dataClass, field);
+            if (method != null) {
+                MethodHandle handle = lookup.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, dataClass, wrap(field.getType())));
+                return (BiConsumer<Object, Object>) site.getTarget().invoke();
+            }
+            MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP)
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (row, value) -> {
+                try {
+                    handle.invokeExact(row, value);
+                } catch (Throwable e) {
+                    throw new ExcelIOException("写入字段失败: " + field.getName(), e);
+                }
+            };
+        } catch (Throwable e) {
+            log.debug("字段写入器编译失败，使用反射: {}.{}", dataClass.getSimpleName(), field.getName(), e);
+            return reflectiveSetter(field);
+        }
+    }
+
+    /**
+     * 编译无参构造器，没有无参构造器时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    static Supplier<Object> constructor(Class<?> dataClass) {
+        if (dataClass.isInterface() || Modifier.isAbstract(dataClass.getModifiers())) {
+            return null;
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = dataClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(dataClass, LOOKUP);
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle,
+                    MethodType.methodType(dataClass));
+            return (Supplier<Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("构造器编译失败，使用反射: {}", dataClass.getSimpleName(), e);
+            constructor.setAccessible(true);
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException ex) {
+                    throw new ExcelIOException("创建实例失败: " + dataClass.getSimpleName(), ex);
+                }
+            };
+        }
+    }
+
+    private static Method findGetter(Class<?> dataClass, Field field) {
+        String suffix = capitalize(field.getName());
+        Method method = publicMethod(dataClass, "get" + suffix);
+        if (method == null && field.getType() == boolean.class) {
+            method = publicMethod(dataClass, "is" + suffix);
+        }
+        return method != null && method.getReturnType() == field.getType() ? method : null;
+    }
+
+    private static Method findSetter(Class<?> dataClass, Field field) {
+        return publicMethod(dataClass, "set" + capitalize(field.getName()), field.getType());
+    }
+
+    private static Method publicMethod(Class<?> dataClass, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = dataClass.getMethod(name, parameterTypes);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Function<Object, Object> reflectiveGetter(Field field) {
+        field.setAccessible(true);
+        return row -> {
+            try {
+                return field.get(row);
+            } catch (IllegalAccessException e) {
+                throw new ExcelIOException("读取字段失败: " + field.getName(), e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> reflectiveSetter(Field field) {
+        field.setAccessible(true);
+        return (row, value) -> {
+            try {
+                field.set(row, value);
+            } catch (IllegalAccessException e) {
+                throw new ExcelIOException("写入字段失败: " + field.getName(), e);
+            }
+        };
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
@@ -0,0 +1,199 @@
+package com.chatlabs.cdev.metadata;
+
+import com.alibaba.excel.annotation.ExcelIgnore;
+import com.alibaba.excel.annotation.ExcelIgnoreUnannotated;
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Excel 数据类元数据
+ * 按 EasyExcel 的规则解析 @ExcelProperty/@ExcelIgnore 等注解，并预编译字段读写器与构造器，
+ * 每个类只解析一次，导出与导入逐行处理时不再经过反射；缓存通过 ClassValue 挂在数据类上，
+ * 不会阻止数据类及其类加载器在重新部署后被回收
+ * 
+ * @author DD
+ */
+@Getter
+public final class ExcelClassMetadata {
+    
+    private static final ClassValue<ExcelClassMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected ExcelClassMetadata computeValue(Class<?> type) {
+            return new ExcelClassMetadata(type);
+        }
+    };
+    
+    private static final String STYLE_PACKAGE = ColumnWidth.class.getPackageName();
+    
+    private final Class<?> dataClass;
+    
+    private final List<ExcelColumn> columns;
+    
+    private final List<String> headers;
+    
+    /** 列数，显式 index 留有空列时大于字段数 */
+    private final int columnCount;
+    
+    /** 表头行数，多级表头时为最大层级数 */
+    private final int headRowNumber;
+    
+    /** 是否使用了自定义转换器、样式注解或多级表头，内置的 XLSX 写入器不支持这些特性，需由 EasyExcel 写入 */
+    private final boolean easyExcelRequired;
+    
+    @Getter(lombok.AccessLevel.NONE)
+    private final Supplier<Object> constructor;
+    
+    private ExcelClassMetadata(Class<?> dataClass) {
+        this.dataClass = dataClass;
+        this.columns = Collections.unmodifiableList(resolveColumns(dataClass));
+        this.headers = columns.stream().map(ExcelColumn::getHeader).toList();
+        this.columnCount = columns.isEmpty() ? 0 : columns.get(columns.size() - 1).getIndex() + 1;
+        this.headRowNumber = columns.stream()
+                .map(column -> column.getField().getAnnotation(ExcelProperty.class))
+                .mapToInt(property -> property != null ? property.value().length : 1)
+                .reduce(1, Math::max);
+        this.easyExcelRequired = headRowNumber > 1 || hasStyle(dataClass)
+                || columns.stream().anyMatch(column -> column.getContentProperty().getConverter() != null
+                        || hasStyle(column.getField()));
+        this.constructor = ExcelAccessors.constructor(dataClass);
+    }
+    
+    /**
+     * 获取数据类元数据
+     * 
+     * @param dataClass 数据类
+     * @return 元数据
+     */
+    public static ExcelClassMetadata of(Class<?> dataClass) {
+        return CACHE.get(dataClass);
+    }
+    
+    /**
+     * 通过预编译的无参构造器创建数据类实例
+     * 
+     * @return 新实例
+     */
+    public Object newInstance() {
+        if (constructor == null) {
+            throw new ExcelIOException("数据类缺少无参构造器: " + dataClass.getName());
+        }
+        return constructor.get();
+    }
+    
+    /**
+     * 按 EasyExcel 的规则确定列序号：先子类后父类收集字段，
+     * 声明了 index 的字段固定在该列，其余字段按 order 及收集顺序依次填入空闲列
+     */
+    private static List<ExcelColumn> resolveColumns(Class<?> dataClass) {
+        boolean ignoreUnannotated = dataClass.isAnnotationPresent(ExcelIgnoreUnannotated.class);
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> clazz = dataClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            Collections.addAll(fields, clazz.getDeclaredFields());
+        }
+        
+        Map<Integer, Field> indexed = new TreeMap<>();
+        Map<Integer, List<Field>> ordered = new TreeMap<>();
+        for (Field field : fields) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                    || field.isAnnotationPresent(ExcelIgnore.class)) {
+                continue;
+            }
+            if (ignoreUnannotated && !field.isAnnotationPresent(ExcelProperty.class)) {
+                continue;
+            }
+            int index = explicitIndex(field);
+            if (index >= 0) {
+                Field existing = indexed.putIfAbsent(index, field);
+                if (existing != null) {
+                    throw new ExcelIOException("列序号重复: index=" + index + ", "
+                            + existing.getName() + " / " + field.getName());
+                }
+            } else {
+                ordered.computeIfAbsent(order(field), key -> new ArrayList<>()).add(field);
+            }
+        }
+        
+        Map<Integer, Field> sorted = new TreeMap<>(indexed);
+        int next = 0;
+        for (List<Field> group : ordered.values()) {
+            for (Field field : group) {
+                while (sorted.containsKey(next)) {
+                    next++;
+                }
+                sorted.put(next, field);
+            }
+        }
+        
+        List<ExcelColumn> columns = new ArrayList<>(sorted.size());
+        for (Map.Entry<Integer, Field> entry : sorted.entrySet()) {
+            Field field = entry.getValue();
+            DateTimeFormat dateTimeFormat = field.getAnnotation(DateTimeFormat.class);
+            NumberFormat numberFormat = field.getAnnotation(NumberFormat.class);
+            columns.add(new ExcelColumn(field, header(field), entry.getKey(),
+                    indexed.containsKey(entry.getKey()), declaresHeader(field),
+                    dateTimeFormat != null ? dateTimeFormat.value() : null,
+                    numberFormat != null ? numberFormat.value() : null));
+        }
+        return columns;
+    }
+    
+    /**
+     * 是否声明了 EasyExcel 样式注解，@ColumnWidth 由内置写入器处理，不计入
+     */
+    private static boolean hasStyle(AnnotatedElement element) {
+        for (Annotation annotation : element.getAnnotations()) {
+            Class<?> type = annotation.annotationType();
+            if (type != ColumnWidth.class && STYLE_PACKAGE.equals(type.getPackageName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean declaresHeader(Field field) {
+        ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+        if (property == null || property.value().length == 0) {
+            return false;
+        }
+        return property.value().length > 1 || StringUtils.hasText(property.value()[0]);
+    }
+    
+    private static String header(Field field) {
+        ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+        if (property != null && property.value().length > 0) {
+            // 多级表头取最后一级
+            String last = property.value()[property.value().length - 1];
+            if (StringUtils.hasText(last)) {
+                return last;
+            }
+        }
+        return field.getName();
+    }
+    
+    private static int explicitIndex(Field field) {
+        ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+        return property != null ? property.index() : -1;
+    }
+    
+    private static int order(Field field) {
+        ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+        return property != null ? property.order() : Integer.MAX_VALUE;
+    }
+}
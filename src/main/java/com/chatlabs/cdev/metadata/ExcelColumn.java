@@ -0,0 +1,108 @@
+package com.chatlabs.cdev.metadata;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import com.alibaba.excel.converters.AutoConverter;
+import com.alibaba.excel.metadata.property.DateTimeFormatProperty;
+import com.alibaba.excel.metadata.property.ExcelContentProperty;
+import com.alibaba.excel.metadata.property.NumberFormatProperty;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import lombok.Getter;
+
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Excel 列元数据
+ * 描述数据类中一个字段对应的表头、列序号及格式，并持有预编译的字段读写器及导入转换所需的内容属性
+ *
+ * @author DD
+ */
+@Getter
+public class ExcelColumn {
+
+    /** 对应字段 */
+    private final Field field;
+
+    /** 表头名称 */
+    private final String header;
+
+    /** 列序号，从 0 开始；与 EasyExcel 一致，显式 index 之间可能留有空列 */
+    private final int index;
+
+    /** 是否通过 @ExcelProperty(index) 固定了列序号 */
+    private final boolean forceIndex;
+
+    /** 是否通过 @ExcelProperty(value) 声明了表头，导入时按表头名称匹配列 */
+    private final boolean forceName;
+
+    /** 日期格式，来自 @DateTimeFormat，未声明时为 null */
+    private final String dateFormat;
+
+    /** 数字格式，来自 @NumberFormat，未声明时为 null */
+    private final String numberFormat;
+
+    /** 导入时交给 EasyExcel 转换器的内容属性（自定义转换器、日期及数字格式），与 EasyExcel 按字段解析的结果一致 */
+    private final ExcelContentProperty contentProperty;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final Function<Object, Object> getter;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final BiConsumer<Object, Object> setter;
+
+    ExcelColumn(Field field, String header, int index, boolean forceIndex, boolean forceName,
+                String dateFormat, String numberFormat) {
+        this.field = field;
+        this.header = header;
+        this.index = index;
+        this.forceIndex = forceIndex;
+        this.forceName = forceName;
+        this.dateFormat = dateFormat;
+        this.numberFormat = numberFormat;
+        this.getter = ExcelAccessors.getter(field.getDeclaringClass(), field);
+        this.setter = ExcelAccessors.setter(field.getDeclaringClass(), field);
+        this.contentProperty = contentProperty(field);
+    }
+
+    /**
+     * 读取行对象中该列的值
+     *
+     * @param row 行对象
+     * @return 字段值
+     */
+    public Object getValue(Object row) {
+        return getter.apply(row);
+    }
+
+    /**
+     * 设置行对象中该列的值，final 字段及基本类型字段的 null 值会被忽略
+     *
+     * @param row 行对象
+     * @param value 字段值
+     */
+    public void setValue(Object row, Object value) {
+        if (setter == null || (value == null && field.getType().isPrimitive())) {
+            return;
+        }
+        setter.accept(row, value);
+    }
+
+    private static ExcelContentProperty contentProperty(Field field) {
+        ExcelContentProperty property = new ExcelContentProperty();
+        property.setField(field);
+        ExcelProperty excelProperty = field.getAnnotation(ExcelProperty.class);
+        if (excelProperty != null && excelProperty.converter() != AutoConverter.class) {
+            try {
+                property.setConverter(excelProperty.converter().getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new ExcelIOException("创建转换器失败: " + excelProperty.converter().getName(), e);
+            }
+        }
+        property.setDateTimeFormatProperty(DateTimeFormatProperty.build(field.getAnnotation(DateTimeFormat.class)));
+        property.setNumberFormatProperty(NumberFormatProperty.build(field.getAnnotation(NumberFormat.class)));
+        return property;
+    }
+}
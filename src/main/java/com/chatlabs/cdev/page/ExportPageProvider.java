@@ -0,0 +1,21 @@
+package com.chatlabs.cdev.page;
+
+/**
+ * 分页导出数据提供者
+ * 在 @ExcelExport 中通过 pageProvider 指定，替代 Controller 方法逐页提供数据
+ * 
+ * @author DD
+ */
+public interface ExportPageProvider {
+    
+    /**
+     * 获取一页数据
+     * 返回的行数小于 pageSize 时视为最后一页，
+     * 返回值同样会经过 ResponseWrapper 解封装（如 Spring Data Page/Slice）
+     * 
+     * @param request 分页请求
+     * @return 当前页数据
+     * @throws Exception 查询异常
+     */
+    Object fetchPage(ExportPageRequest request) throws Exception;
+}
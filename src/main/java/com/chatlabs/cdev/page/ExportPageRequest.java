@@ -0,0 +1,81 @@
+package com.chatlabs.cdev.page;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+/**
+ * 分页导出请求
+ * 在 Controller 方法中声明该类型参数即可获取当前页信息，
+ * 导出时由 ExcelExportHandler 逐页传入，普通请求从 page/size/cursor 参数中解析
+ * 
+ * @author DD
+ */
+@Getter
+@ToString
+public final class ExportPageRequest {
+    
+    /** 页码，从 0 开始 */
+    private final int pageNo;
+    
+    /** 每页行数 */
+    private final int pageSize;
+    
+    /** 游标，KEYSET 模式下为上一页最后一行的游标字段值，第一页为 null */
+    private final Object cursor;
+    
+    private ExportPageRequest(int pageNo, int pageSize, Object cursor) {
+        this.pageNo = pageNo;
+        this.pageSize = pageSize;
+        this.cursor = cursor;
+    }
+    
+    public static ExportPageRequest of(int pageNo, int pageSize, Object cursor) {
+        if (pageNo < 0) {
+            throw new IllegalArgumentException("pageNo不能小于0");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize必须大于0");
+        }
+        return new ExportPageRequest(pageNo, pageSize, cursor);
+    }
+    
+    public static ExportPageRequest first(int pageSize) {
+        return of(0, pageSize, null);
+    }
+    
+    /**
+     * 下一页请求
+     * 
+     * @param nextCursor 下一页游标，OFFSET 模式传 null
+     * @return 下一页请求
+     */
+    public ExportPageRequest next(Object nextCursor) {
+        return new ExportPageRequest(pageNo + 1, pageSize, nextCursor);
+    }
+    
+    /**
+     * 当前页起始偏移量
+     */
+    public long getOffset() {
+        return (long) pageNo * pageSize;
+    }
+    
+    /**
+     * 是否为第一页
+     */
+    public boolean isFirst() {
+        return pageNo == 0;
+    }
+    
+    /**
+     * 按指定类型获取游标
+     * 
+     * @param type 游标类型
+     * @param <C> 游标类型泛型
+     * @return 转换后的游标，第一页返回 null
+     */
+    public <C> C getCursor(Class<C> type) {
+        return cursor == null ? null : DefaultConversionService.getSharedInstance().convert(cursor, type);
+    }
+}
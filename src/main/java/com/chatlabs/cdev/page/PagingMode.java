@@ -0,0 +1,24 @@
+package com.chatlabs.cdev.page;
+
+/**
+ * 分页导出模式
+ * 
+ * @author DD
+ */
+public enum PagingMode {
+    
+    /**
+     * 不分页，一次获取全部数据
+     */
+    NONE,
+    
+    /**
+     * 按页码/偏移量分页
+     */
+    OFFSET,
+    
+    /**
+     * 按游标分页，游标为上一页最后一行的指定字段值
+     */
+    KEYSET
+}
@@ -0,0 +1,156 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.converters.Converter;
+import com.alibaba.excel.converters.WriteConverterContext;
+import com.alibaba.excel.metadata.GlobalConfiguration;
+import com.alibaba.excel.metadata.data.WriteCellData;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 单元格值格式化
+ * 按列的 @DateTimeFormat / @NumberFormat 将字段值转换为文本，未声明格式的日期使用默认日期格式；
+ * 声明了 @ExcelProperty(converter) 的列先经转换器转换为单元格值
+ *
+ * @author DD
+ */
+class CellFormatter {
+
+    private static final GlobalConfiguration GLOBAL_CONFIGURATION = new GlobalConfiguration();
+
+    private final List<ExcelColumn> columns;
+    private final String defaultDateFormat;
+    private final DateTimeFormatter[] dateFormatters;
+
+    CellFormatter(ExcelClassMetadata metadata, String defaultDateFormat) {
+        this.columns = metadata.getColumns();
+        this.defaultDateFormat = defaultDateFormat;
+        this.dateFormatters = new DateTimeFormatter[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            String pattern = columns.get(i).getDateFormat();
+            dateFormatters[i] = pattern != null ? DateTimeFormatter.ofPattern(pattern) : null;
+        }
+    }
+
+    /**
+     * 经列的自定义转换器转换为单元格值（文本、数值、布尔或日期），未声明转换器时原样返回
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Object convert(int column, Object value) {
+        ExcelColumn excelColumn = columns.get(column);
+        Converter converter = excelColumn.getContentProperty().getConverter();
+        if (converter == null || value == null) {
+            return value;
+        }
+        WriteCellData<?> cell;
+        try {
+            try {
+                cell = converter.convertToExcelData(value, excelColumn.getContentProperty(), GLOBAL_CONFIGURATION);
+            } catch (UnsupportedOperationException e) {
+                // 只实现了新版接口的转换器，没有 EasyExcel 写入上下文
+                cell = converter.convertToExcelData(
+                        new WriteConverterContext<>(value, excelColumn.getContentProperty(), null));
+            }
+        } catch (ExcelWriteException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExcelWriteException("转换单元格失败: " + excelColumn.getField().getName(), e);
+        }
+        if (cell == null || cell.getType() == null) {
+            return null;
+        }
+        return switch (cell.getType()) {
+            case STRING, DIRECT_STRING, ERROR -> cell.getStringValue();
+            case NUMBER -> cell.getNumberValue();
+            case BOOLEAN -> cell.getBooleanValue();
+            case DATE -> cell.getDateValue();
+            case RICH_TEXT_STRING -> cell.getRichTextStringDataValue() != null
+                    ? cell.getRichTextStringDataValue().getTextString() : null;
+            case EMPTY -> null;
+        };
+    }
+
+    /**
+     * 是否按数值输出：数值类型、未声明数字格式且为有限值
+     */
+    boolean isPlainNumber(int column, Object value) {
+        return value instanceof Number number && columns.get(column).getNumberFormat() == null && isFinite(number);
+    }
+
+    /**
+     * 数值的文本表示，不使用科学计数法
+     */
+    String numberText(Number number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (number instanceof BigInteger || number instanceof Long || number instanceof Integer
+                || number instanceof Short || number instanceof Byte) {
+            return number.toString();
+        }
+        return BigDecimal.valueOf(number.doubleValue()).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * 按列格式转换为文本
+     */
+    String text(int column, Object value) {
+        if (isPlainNumber(column, value)) {
+            return numberText((Number) value);
+        }
+        String numberFormat = columns.get(column).getNumberFormat();
+        if (value instanceof Number number && numberFormat != null) {
+            return new DecimalFormat(numberFormat).format(number);
+        }
+        if (value instanceof Date date) {
+            value = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        }
+        if (value instanceof TemporalAccessor temporal) {
+            DateTimeFormatter formatter = dateFormatters[column];
+            if (formatter == null) {
+                formatter = defaultFormatter(temporal);
+                dateFormatters[column] = formatter;
+            }
+            return formatter.format(temporal);
+        }
+        return value.toString();
+    }
+
+    private DateTimeFormatter defaultFormatter(TemporalAccessor temporal) {
+        if (temporal instanceof LocalDate) {
+            return DateTimeFormatter.ISO_LOCAL_DATE;
+        }
+        if (temporal instanceof LocalTime) {
+            return DateTimeFormatter.ISO_LOCAL_TIME;
+        }
+        if (temporal instanceof LocalDateTime || temporal instanceof OffsetDateTime || temporal instanceof ZonedDateTime) {
+            return DateTimeFormatter.ofPattern(defaultDateFormat);
+        }
+        return DateTimeFormatter.ISO_DATE_TIME;
+    }
+
+    private boolean isFinite(Number number) {
+        if (number instanceof Double d) {
+            return Double.isFinite(d);
+        }
+        if (number instanceof Float f) {
+            return Float.isFinite(f);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.write.handler.WriteHandler;
+import com.alibaba.excel.write.style.column.LongestMatchColumnWidthStyleStrategy;
+
+/**
+ * 列宽策略
+ * 
+ * @author DD
+ */
+public enum ColumnWidthMode {
+    
+    /**
+     * 注解上表示使用全局配置（chatlabs.excel.io.column-width-mode）；
+     * 全局配置为 DEFAULT（默认）时保持各写入入口原有的列宽行为，见 {@link #resolve(ColumnWidthMode, ColumnWidthMode)}
+     */
+    DEFAULT,
+    
+    /**
+     * 仅使用数据类上 @ColumnWidth 声明的列宽，不测量单元格内容
+     */
+    DECLARED,
+    
+    /**
+     * 按表头及前 N 行数据测量列宽，声明了 @ColumnWidth 的列使用声明值
+     */
+    SAMPLED,
+    
+    /**
+     * 测量全部行取最长值（EasyExcel 的 LongestMatchColumnWidthStyleStrategy），大数据量时开销明显
+     */
+    LONGEST;
+    
+    /**
+     * 解析实际生效的策略，DEFAULT 时使用全局配置，全局配置也为 DEFAULT 时使用写入入口原有的策略
+     * （导出处理器及流式、多 Sheet 写入器为 DECLARED，ExcelUtils.write 为 LONGEST）
+     * 
+     * @param configured 全局配置的策略
+     * @param fallback 写入入口原有的策略
+     * @return 实际策略
+     */
+    public ColumnWidthMode resolve(ColumnWidthMode configured, ColumnWidthMode fallback) {
+        if (this != DEFAULT) {
+            return this;
+        }
+        return configured == null || configured == DEFAULT ? fallback : configured;
+    }
+    
+    /**
+     * 创建 EasyExcel 写入时使用的列宽处理器
+     * 
+     * @param sampleRows SAMPLED 模式下测量的数据行数
+     * @return 列宽处理器，DEFAULT/DECLARED 时返回 null（@ColumnWidth 由 EasyExcel 自行处理）
+     */
+    public WriteHandler writeHandler(int sampleRows) {
+        return switch (this) {
+            case DEFAULT, DECLARED -> null;
+            case LONGEST -> new LongestMatchColumnWidthStyleStrategy();
+            case SAMPLED -> new SampledColumnWidthStyleStrategy(sampleRows);
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 列宽计算
+ * 供不经过 POI 的写入器使用，规则与 {@link SampledColumnWidthStyleStrategy} 一致
+ *
+ * @author DD
+ */
+final class ColumnWidths {
+
+    /** Excel 允许的最大列宽（字符数） */
+    static final int MAX_WIDTH = 255;
+
+    private static final int PADDING = 2;
+
+    private ColumnWidths() {
+    }
+
+    /**
+     * 计算各列宽度（字符数），0 表示该列不设置宽度；无需设置任何列宽时返回 null
+     *
+     * @param metadata 数据类元数据
+     * @param mode 列宽策略
+     * @param sampleRows SAMPLED 模式下测量的数据行数
+     * @param rows 可用于测量的数据行
+     * @param defaultDateFormat 默认日期格式
+     * @return 列宽数组，与 metadata.getColumns() 一一对应
+     */
+    static int[] resolve(ExcelClassMetadata metadata, ColumnWidthMode mode, int sampleRows, Iterable<?> rows,
+                         String defaultDateFormat) {
+        List<ExcelColumn> columns = metadata.getColumns();
+        int[] widths = new int[columns.size()];
+        boolean[] measured = new boolean[columns.size()];
+        boolean anyDeclared = false;
+        boolean anyMeasured = false;
+        ColumnWidth classWidth = metadata.getDataClass().getAnnotation(ColumnWidth.class);
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnWidth declared = columns.get(i).getField().getAnnotation(ColumnWidth.class);
+            if (declared == null) {
+                declared = classWidth;
+            }
+            if (declared != null && declared.value() >= 0) {
+                widths[i] = Math.min(MAX_WIDTH, declared.value());
+                anyDeclared = true;
+            } else if (mode != ColumnWidthMode.DECLARED) {
+                widths[i] = fit(columns.get(i).getHeader());
+                measured[i] = true;
+                anyMeasured = true;
+            }
+        }
+        if (!anyMeasured) {
+            return anyDeclared ? widths : null;
+        }
+
+        int limit = mode == ColumnWidthMode.LONGEST ? Integer.MAX_VALUE : Math.max(0, sampleRows);
+        if (rows == null) {
+            return widths;
+        }
+        CellFormatter formatter = new CellFormatter(metadata, defaultDateFormat);
+        Iterator<?> iterator = rows.iterator();
+        for (int r = 0; r < limit && iterator.hasNext(); r++) {
+            Object row = iterator.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (!measured[i] || widths[i] == MAX_WIDTH) {
+                    continue;
+                }
+                Object value = columns.get(i).getValue(row);
+                if (value != null) {
+                    widths[i] = Math.max(widths[i], fit(formatter.text(i, value)));
+                }
+            }
+        }
+        return widths;
+    }
+
+    /**
+     * 文本对应的列宽（字符数），非 ASCII 字符按两个字符宽度计算
+     */
+    static int fit(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int width = PADDING;
+        for (int i = 0; i < text.length() && width < MAX_WIDTH; i++) {
+            width += text.charAt(i) < 0x80 ? 1 : 2;
+        }
+        return Math.min(MAX_WIDTH, width);
+    }
+}
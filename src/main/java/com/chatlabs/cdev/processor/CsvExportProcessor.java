@@ -0,0 +1,76 @@
+package com.chatlabs.cdev.processor;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * CSV/TSV 导出处理器 - 不经过 POI，直接将行数据编码写入响应
+ * 由 {@link DefaultExportProcessor#forFormat} 按 @ExcelExport 的 format 获取
+ *
+ * @author DD
+ */
+@Slf4j
+public class CsvExportProcessor implements ExportDataProcessor {
+
+    private final ExportFormat format;
+    private final ExcelIOProperties properties;
+
+    public CsvExportProcessor(ExportFormat format, ExcelIOProperties properties) {
+        if (format == ExportFormat.XLSX) {
+            throw new ExcelWriteException("CsvExportProcessor 不支持 XLSX 格式");
+        }
+        this.format = format;
+        this.properties = properties;
+    }
+
+    /**
+     * 文本格式没有列宽，列宽策略不影响输出
+     */
+    @Override
+    public ExportDataProcessor configure(ExportFormat format, ColumnWidthMode columnWidth) {
+        if (format != this.format) {
+            throw new ExcelWriteException("CsvExportProcessor 不支持切换导出格式: " + this.format + " -> " + format);
+        }
+        return this;
+    }
+
+    @Override
+    public void process(List<?> data, Class<?> dataClass, String fileName, String sheetName,
+                        HttpServletResponse response) {
+        processStream(data != null ? data.iterator() : List.of().iterator(), dataClass, fileName, sheetName, response);
+    }
+
+    @Override
+    public void processStream(Iterator<?> data, Class<?> dataClass, String fileName, String sheetName,
+                              HttpServletResponse response) {
+        try {
+            DefaultExportProcessor.prepareResponse(fileName, format, response);
+
+            CsvWriter writer = new CsvWriter(response.getOutputStream(), format, ExcelClassMetadata.of(dataClass),
+                    properties.getDateFormat(), properties.isCsvEscapeFormula());
+            if (properties.isCsvBom()) {
+                writer.writeBom();
+            }
+            writer.writeHeader();
+            while (data.hasNext()) {
+                writer.writeRow(data.next());
+            }
+            writer.flush();
+
+            log.info("导出完成: {}.{}, {}条", fileName, format.getExtension(), writer.getTotalRows());
+        } catch (Exception e) {
+            log.error("导出失败: {}", fileName, e);
+            throw new ExcelWriteException("导出失败: " + fileName, e);
+        }
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,239 @@
+package com.chatlabs.cdev.processor;
+
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CSV/TSV 写入器
+ * 表头取自数据类的 @ExcelProperty，行数据先写入可复用的字符缓冲区，满后编码到可复用的字节缓冲区再写出，
+ * 字段包含分隔符、引号或换行时按 RFC 4180 加引号；以 = + - @ 等字符开头的文本单元格默认加 ' 前缀，
+ * 避免在 Excel 中打开时被当作公式执行（CSV 注入）
+ *
+ * @author DD
+ */
+public class CsvWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final OutputStream out;
+    private final char delimiter;
+    private final List<ExcelColumn> columns;
+    private final CellFormatter formatter;
+    private final boolean escapeFormula;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+    private long totalRows;
+
+    public CsvWriter(OutputStream out, ExportFormat format, ExcelClassMetadata metadata, String defaultDateFormat) {
+        this(out, format, metadata, defaultDateFormat, true);
+    }
+
+    /**
+     * @param out 输出流
+     * @param format 导出格式，CSV 或 TSV
+     * @param metadata 数据类元数据
+     * @param defaultDateFormat 未声明 @DateTimeFormat 时的日期格式
+     * @param escapeFormula 是否为以公式字符开头的文本单元格加 ' 前缀
+     */
+    public CsvWriter(OutputStream out, ExportFormat format, ExcelClassMetadata metadata, String defaultDateFormat,
+                     boolean escapeFormula) {
+        if (format == ExportFormat.XLSX) {
+            throw new ExcelWriteException("CsvWriter 不支持 XLSX 格式");
+        }
+        this.out = out;
+        this.delimiter = format.getDelimiter();
+        this.columns = metadata.getColumns();
+        this.formatter = new CellFormatter(metadata, defaultDateFormat);
+        this.escapeFormula = escapeFormula;
+    }
+
+    /**
+     * 写入 UTF-8 BOM，便于 Excel 直接打开时识别编码
+     */
+    public void writeBom() {
+        try {
+            out.write(UTF8_BOM);
+        } catch (IOException e) {
+            throw new ExcelWriteException("写入CSV失败", e);
+        }
+    }
+
+    /**
+     * 写入表头行
+     */
+    public void writeHeader() {
+        int position = 0;
+        for (ExcelColumn column : columns) {
+            position = skipTo(position, column.getIndex());
+            appendField(column.getHeader());
+        }
+        endLine();
+    }
+
+    /**
+     * 写入多行数据
+     */
+    public void writeRows(Collection<?> rows) {
+        for (Object row : rows) {
+            writeRow(row);
+        }
+    }
+
+    /**
+     * 写入一行数据
+     */
+    public void writeRow(Object row) {
+        int position = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            position = skipTo(position, columns.get(i).getIndex());
+            Object value = formatter.convert(i, columns.get(i).getValue(row));
+            if (value == null) {
+                continue;
+            }
+            if (formatter.isPlainNumber(i, value)) {
+                append(formatter.numberText((Number) value));
+            } else {
+                appendCell(formatter.text(i, value));
+            }
+        }
+        endLine();
+        totalRows++;
+    }
+
+    /**
+     * 将缓冲区内容编码并写出到输出流，不关闭输出流
+     */
+    public void flush() {
+        try {
+            encode(true);
+            out.flush();
+        } catch (IOException e) {
+            throw new ExcelWriteException("写入CSV失败", e);
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * 输出分隔符直到目标列，显式 index 之间的空列输出为空字段
+     */
+    private int skipTo(int position, int index) {
+        int count = index - position + (position > 0 ? 1 : 0);
+        for (int i = 0; i < count; i++) {
+            append(delimiter);
+        }
+        return index + 1;
+    }
+
+    private void endLine() {
+        append('\r');
+        append('\n');
+    }
+
+    /**
+     * 写入文本单元格，以公式字符开头时加 ' 前缀
+     */
+    private void appendCell(String value) {
+        if (escapeFormula && isFormulaLike(value)) {
+            value = "'" + value;
+        }
+        appendField(value);
+    }
+
+    private static boolean isFormulaLike(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private void appendField(String value) {
+        if (!needsQuote(value)) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    private boolean needsQuote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void append(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            append(value.charAt(i));
+        }
+    }
+
+    private void append(char c) {
+        if (!chars.hasRemaining()) {
+            try {
+                encode(false);
+            } catch (IOException e) {
+                throw new ExcelWriteException("写入CSV失败", e);
+            }
+        }
+        chars.put(c);
+    }
+
+    /**
+     * 编码字符缓冲区，未结束时保留末尾不完整的代理对
+     */
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            writeBytes();
+            if (!result.isOverflow()) {
+                break;
+            }
+        }
+        if (endOfInput) {
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+            encoder.reset();
+        }
+        chars.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        out.write(bytes.array(), 0, bytes.limit());
+        bytes.clear();
+    }
+}
@@ -1,14 +1,30 @@
 package com.chatlabs.cdev.processor;
 
 import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.builder.ExcelWriterBuilder;
+import com.alibaba.excel.write.handler.WriteHandler;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import com.chatlabs.cdev.config.ExcelIOProperties;
 import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * 默认导出处理器 - 直接响应Excel文件
@@ -19,17 +35,88 @@ import java.util.List;
 @Component
 public class DefaultExportProcessor implements ExportDataProcessor {
 
-    private static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    private final ExcelIOProperties properties;
+    private final Executor sheetExecutor;
+    private final ColumnWidthMode columnWidthMode;
+    private final Map<ExportFormat, ExportDataProcessor> textProcessors = new EnumMap<>(ExportFormat.class);
+    private final Map<ColumnWidthMode, DefaultExportProcessor> columnWidthVariants = new ConcurrentHashMap<>();
+
+    public DefaultExportProcessor() {
+        this(new ExcelIOProperties());
+    }
+
+    /**
+     * 多 Sheet 在当前线程依次生成
+     */
+    public DefaultExportProcessor(ExcelIOProperties properties) {
+        this(properties, Runnable::run);
+    }
+
+    /**
+     * @param sheetExecutor 多 Sheet 并行生成使用的共享线程池
+     */
+    @Autowired
+    public DefaultExportProcessor(ExcelIOProperties properties, @Qualifier("excelSheetExecutor") Executor sheetExecutor) {
+        this(properties, sheetExecutor, ColumnWidthMode.DEFAULT);
+    }
+
+    private DefaultExportProcessor(ExcelIOProperties properties, Executor sheetExecutor,
+                                   ColumnWidthMode columnWidthMode) {
+        this.properties = properties;
+        this.sheetExecutor = sheetExecutor;
+        this.columnWidthMode = columnWidthMode;
+        textProcessors.put(ExportFormat.CSV, new CsvExportProcessor(ExportFormat.CSV, properties));
+        textProcessors.put(ExportFormat.TSV, new CsvExportProcessor(ExportFormat.TSV, properties));
+    }
+
+    /**
+     * 按格式与列宽策略选择处理器，列宽策略只作用于 XLSX，CSV/TSV 没有列宽
+     */
+    @Override
+    public ExportDataProcessor configure(ExportFormat format, ColumnWidthMode columnWidth) {
+        return withColumnWidth(columnWidth).forFormat(format);
+    }
+
+    /**
+     * 获取指定格式的处理器，XLSX 为当前处理器，CSV/TSV 为共享同一配置的文本处理器
+     *
+     * @param format 导出格式
+     * @return 处理器
+     */
+    public ExportDataProcessor forFormat(ExportFormat format) {
+        return format == ExportFormat.XLSX ? this : textProcessors.get(format);
+    }
+
+    /**
+     * 获取使用指定列宽策略的处理器，DEFAULT 为当前处理器
+     *
+     * @param mode 列宽策略
+     * @return 处理器
+     */
+    public DefaultExportProcessor withColumnWidth(ColumnWidthMode mode) {
+        if (mode == ColumnWidthMode.DEFAULT || mode == columnWidthMode) {
+            return this;
+        }
+        return columnWidthVariants.computeIfAbsent(mode, key -> new DefaultExportProcessor(properties, sheetExecutor, key));
+    }
 
     @Override
     public void process(List<?> data, Class<?> dataClass, String fileName, String sheetName, HttpServletResponse response) {
+        if (streamingWrite(dataClass)) {
+            List<?> rows = data != null ? data : Collections.emptyList();
+            processPages(Collections.singletonList(rows).iterator(), dataClass, fileName, sheetName, response);
+            return;
+        }
+        // 超过单 Sheet 行数上限时拆分为多个 Sheet，仍由 EasyExcel 写入以保留样式与转换器
+        if (data != null && data.size() >= StreamingXlsxWriter.MAX_ROWS_PER_SHEET) {
+            processSplit(data, dataClass, fileName, sheetName, response);
+            return;
+        }
         try {
-            response.setContentType(CONTENT_TYPE);
-            response.setCharacterEncoding("utf-8");
-            String encoded = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20");
-            response.setHeader("Content-Disposition", "attachment; filename=\"" + encoded + ".xlsx\"");
+            prepareResponse(fileName, response);
 
-            EasyExcel.write(response.getOutputStream(), dataClass).sheet(sheetName).doWrite(data);
+            writerBuilder(response.getOutputStream(), dataClass).sheet(sheetName)
+                    .doWrite(data != null ? data : Collections.emptyList());
             
             log.info("导出完成: {}.xlsx, {}条", fileName, data != null ? data.size() : 0);
         } catch (Exception e) {
@@ -37,5 +124,168 @@ public class DefaultExportProcessor implements ExportDataProcessor {
             throw new ExcelWriteException("导出失败: " + fileName, e);
         }
     }
-}
 
+    /**
+     * 按单 Sheet 行数上限拆分写入，后续 Sheet 名称依次加序号
+     */
+    private void processSplit(List<?> data, Class<?> dataClass, String fileName, String sheetName,
+                              HttpServletResponse response) {
+        ExcelWriter writer = null;
+        try {
+            prepareResponse(fileName, response);
+
+            writer = writerBuilder(response.getOutputStream(), dataClass).build();
+            int rowsPerSheet = StreamingXlsxWriter.MAX_ROWS_PER_SHEET - 1;
+            List<String> names = new ArrayList<>();
+            for (int from = 0; from < data.size(); from += rowsPerSheet) {
+                String name = XlsxParts.uniqueSheetName(names, sheetName);
+                names.add(name);
+                List<?> rows = data.subList(from, Math.min(data.size(), from + rowsPerSheet));
+                writer.write(rows, EasyExcel.writerSheet(names.size() - 1, name).build());
+            }
+
+            log.info("导出完成: {}.xlsx, {}条, {}个Sheet", fileName, data.size(), names.size());
+        } catch (Exception e) {
+            log.error("导出失败: {}", fileName, e);
+            throw new ExcelWriteException("导出失败: " + fileName, e);
+        } finally {
+            if (writer != null) {
+                writer.finish();
+            }
+        }
+    }
+
+    @Override
+    public void processStream(Iterator<?> data, Class<?> dataClass, String fileName, String sheetName,
+                              HttpServletResponse response) {
+        int batchSize = Math.max(1, properties.getExportBatchSize());
+        Iterator<List<?>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return data.hasNext();
+            }
+
+            @Override
+            public List<?> next() {
+                List<Object> batch = new ArrayList<>(batchSize);
+                while (data.hasNext() && batch.size() < batchSize) {
+                    batch.add(data.next());
+                }
+                return batch;
+            }
+        };
+        processPages(batches, dataClass, fileName, sheetName, response);
+    }
+
+    @Override
+    public void processPages(Iterator<? extends List<?>> pages, Class<?> dataClass, String fileName,
+                             String sheetName, HttpServletResponse response) {
+        if (streamingWrite(dataClass)) {
+            writeStreaming(pages, dataClass, fileName, sheetName, response);
+            return;
+        }
+        ExcelWriter writer = null;
+        try {
+            prepareResponse(fileName, response);
+
+            writer = writerBuilder(response.getOutputStream(), dataClass).build();
+            WriteSheet sheet = EasyExcel.writerSheet(sheetName).build();
+            long total = 0;
+            int pageCount = 0;
+            while (pages.hasNext()) {
+                List<?> page = pages.next();
+                if (page.isEmpty()) {
+                    continue;
+                }
+                writer.write(page, sheet);
+                total += page.size();
+                pageCount++;
+            }
+            // 无数据时也需写入以生成表头
+            if (pageCount == 0) {
+                writer.write(Collections.emptyList(), sheet);
+            }
+
+            log.info("分批导出完成: {}.xlsx, {}条, {}批", fileName, total, pageCount);
+        } catch (Exception e) {
+            log.error("导出失败: {}", fileName, e);
+            throw new ExcelWriteException("导出失败: " + fileName, e);
+        } finally {
+            if (writer != null) {
+                writer.finish();
+            }
+        }
+    }
+
+    @Override
+    public void processSheets(List<ExcelSheet> sheets, String fileName, HttpServletResponse response) {
+        try {
+            prepareResponse(fileName, response);
+
+            new ParallelXlsxWriter(properties, columnWidthMode, sheetExecutor).write(sheets, response.getOutputStream());
+
+            log.info("多Sheet导出完成: {}.xlsx, {}个Sheet", fileName, sheets.size());
+        } catch (Exception e) {
+            log.error("导出失败: {}", fileName, e);
+            throw new ExcelWriteException("导出失败: " + fileName, e);
+        }
+    }
+
+    /**
+     * 是否使用内置的流式写入器，数据类使用了自定义转换器、样式注解或多级表头时回退到 EasyExcel
+     */
+    private boolean streamingWrite(Class<?> dataClass) {
+        if (!properties.isStreamingWrite()) {
+            return false;
+        }
+        if (ExcelClassMetadata.of(dataClass).isEasyExcelRequired()) {
+            log.debug("数据类使用了自定义转换器、样式注解或多级表头，改由 EasyExcel 写入: {}", dataClass.getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 流式写出：不设置 Content-Length，先提交响应头，再按刷新间隔分块发送已生成的数据
+     */
+    private void writeStreaming(Iterator<? extends List<?>> pages, Class<?> dataClass, String fileName,
+                                String sheetName, HttpServletResponse response) {
+        try {
+            prepareResponse(fileName, response);
+            response.flushBuffer();
+
+            StreamingXlsxWriter writer = new StreamingXlsxWriter(response.getOutputStream(), properties, columnWidthMode);
+            writer.startSheet(sheetName, ExcelClassMetadata.of(dataClass));
+            while (pages.hasNext()) {
+                writer.writeRows(pages.next());
+            }
+            writer.finish();
+
+            log.info("流式写出完成: {}.xlsx, {}条", fileName, writer.getTotalRows());
+        } catch (Exception e) {
+            log.error("导出失败: {}", fileName, e);
+            throw new ExcelWriteException("导出失败: " + fileName, e);
+        }
+    }
+
+    private ExcelWriterBuilder writerBuilder(OutputStream out, Class<?> dataClass) {
+        ExcelWriterBuilder builder = EasyExcel.write(out, dataClass);
+        WriteHandler columnWidth = columnWidthMode.resolve(properties.getColumnWidthMode(), ColumnWidthMode.DECLARED)
+                .writeHandler(properties.getColumnWidthSampleRows());
+        if (columnWidth != null) {
+            builder.registerWriteHandler(columnWidth);
+        }
+        return builder;
+    }
+
+    private void prepareResponse(String fileName, HttpServletResponse response) {
+        prepareResponse(fileName, ExportFormat.XLSX, response);
+    }
+
+    static void prepareResponse(String fileName, ExportFormat format, HttpServletResponse response) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("utf-8");
+        String encoded = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + encoded + "." + format.getExtension() + "\"");
+    }
+}
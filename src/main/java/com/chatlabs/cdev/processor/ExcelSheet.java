@@ -0,0 +1,33 @@
+package com.chatlabs.cdev.processor;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 多 Sheet 导出中的一个 Sheet
+ *
+ * @author DD
+ */
+@Getter
+public class ExcelSheet {
+
+    /** Sheet 名称，超过单 Sheet 行数上限时拆分的后续 Sheet 追加序号 */
+    private final String sheetName;
+
+    /** 数据类型 */
+    private final Class<?> dataClass;
+
+    /** 数据 */
+    private final List<?> data;
+
+    private ExcelSheet(String sheetName, Class<?> dataClass, List<?> data) {
+        this.sheetName = sheetName;
+        this.dataClass = dataClass;
+        this.data = data != null ? data : List.of();
+    }
+
+    public static ExcelSheet of(String sheetName, Class<?> dataClass, List<?> data) {
+        return new ExcelSheet(sheetName, dataClass, data);
+    }
+}
@@ -1,7 +1,13 @@
 package com.chatlabs.cdev.processor;
 
+import com.chatlabs.cdev.exception.ExcelWriteException;
 import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * 导出数据处理器接口
@@ -11,6 +17,26 @@ import java.util.List;
  */
 public interface ExportDataProcessor {
     
+    /**
+     * 获取按指定导出格式与列宽策略输出的处理器，导出前以 @ExcelExport 的 format 与 columnWidth 调用
+     * 默认实现只支持 XLSX 与 DEFAULT 列宽，其余设置直接抛出异常而不是静默忽略，
+     * 支持其他格式或列宽策略的处理器应覆盖此方法
+     * 
+     * @param format 导出格式
+     * @param columnWidth 列宽策略
+     * @return 处理器
+     * @throws ExcelWriteException 处理器不支持该格式或列宽策略
+     */
+    default ExportDataProcessor configure(ExportFormat format, ColumnWidthMode columnWidth) {
+        if (format != ExportFormat.XLSX) {
+            throw new ExcelWriteException("当前处理器不支持导出格式 " + format + ": " + getClass().getSimpleName());
+        }
+        if (columnWidth != ColumnWidthMode.DEFAULT) {
+            throw new ExcelWriteException("当前处理器不支持列宽策略 " + columnWidth + ": " + getClass().getSimpleName());
+        }
+        return this;
+    }
+    
     /**
      * 处理导出数据
      * 
@@ -23,5 +49,76 @@ public interface ExportDataProcessor {
      */
     void process(List<?> data, Class<?> dataClass, String fileName, 
                  String sheetName, HttpServletResponse response) throws Exception;
+    
+    /**
+     * 流式处理导出数据
+     * 数据来源为 Stream/Iterable/Iterator 时调用，默认实现收集为列表后交给 {@link #process}，
+     * 需要控制内存的处理器应覆盖此方法分批写入
+     * 
+     * @param data 要导出的数据迭代器
+     * @param dataClass 数据类型
+     * @param fileName 文件名
+     * @param sheetName Sheet 名称
+     * @param response HTTP 响应对象
+     * @throws Exception 处理异常
+     */
+    default void processStream(Iterator<?> data, Class<?> dataClass, String fileName,
+                               String sheetName, HttpServletResponse response) throws Exception {
+        List<Object> list = new ArrayList<>();
+        data.forEachRemaining(list::add);
+        process(list, dataClass, fileName, sheetName, response);
+    }
+    
+    /**
+     * 分页处理导出数据
+     * 分页导出时调用，每个元素为一页数据，默认实现逐行展开后交给 {@link #processStream}
+     * 
+     * @param pages 按页获取的数据迭代器
+     * @param dataClass 数据类型
+     * @param fileName 文件名
+     * @param sheetName Sheet 名称
+     * @param response HTTP 响应对象
+     * @throws Exception 处理异常
+     */
+    default void processPages(Iterator<? extends List<?>> pages, Class<?> dataClass, String fileName,
+                              String sheetName, HttpServletResponse response) throws Exception {
+        Iterator<Object> rows = new Iterator<>() {
+            private Iterator<?> current = Collections.emptyIterator();
+            
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && pages.hasNext()) {
+                    current = pages.next().iterator();
+                }
+                return current.hasNext();
+            }
+            
+            @Override
+            public Object next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+        processStream(rows, dataClass, fileName, sheetName, response);
+    }
+    
+    /**
+     * 多 Sheet 导出
+     * 默认实现只支持单个 Sheet 并交给 {@link #process}，支持多 Sheet 的处理器应覆盖此方法
+     * 
+     * @param sheets Sheet 列表
+     * @param fileName 文件名
+     * @param response HTTP 响应对象
+     * @throws Exception 处理异常
+     */
+    default void processSheets(List<ExcelSheet> sheets, String fileName,
+                               HttpServletResponse response) throws Exception {
+        if (sheets.size() != 1) {
+            throw new ExcelWriteException("当前处理器不支持多Sheet导出: " + getClass().getSimpleName());
+        }
+        ExcelSheet sheet = sheets.get(0);
+        process(sheet.getData(), sheet.getDataClass(), fileName, sheet.getSheetName(), response);
+    }
 }
-
@@ -0,0 +1,46 @@
+package com.chatlabs.cdev.processor;
+
+/**
+ * 导出文件格式
+ * 
+ * @author DD
+ */
+public enum ExportFormat {
+    
+    /** Excel 2007+ 工作簿 */
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", (char) 0),
+    
+    /** 逗号分隔文本 */
+    CSV("csv", "text/csv", ','),
+    
+    /** 制表符分隔文本 */
+    TSV("tsv", "text/tab-separated-values", '\t');
+    
+    private final String extension;
+    private final String contentType;
+    private final char delimiter;
+    
+    ExportFormat(String extension, String contentType, char delimiter) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.delimiter = delimiter;
+    }
+    
+    /**
+     * 文件扩展名（不含点）
+     */
+    public String getExtension() {
+        return extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    /**
+     * 文本格式的字段分隔符
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+}
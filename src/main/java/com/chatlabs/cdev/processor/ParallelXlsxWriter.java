@@ -0,0 +1,261 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.builder.ExcelWriterBuilder;
+import com.alibaba.excel.write.handler.WriteHandler;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 并行多 Sheet xlsx 写入器
+ * 每个 Sheet 作为一个任务交给共享线程池生成工作表 XML 并压缩到临时文件，全部完成后按顺序拼装为 xlsx，
+ * 超过单 Sheet 行数上限的数据自动拆分为多个 Sheet 并行生成；未指定线程池时在当前线程依次生成。
+ * 任一 Sheet 的数据类使用了自定义转换器、样式注解或多级表头时，整个工作簿改由 EasyExcel 依次写入
+ *
+ * @author DD
+ */
+@Slf4j
+public class ParallelXlsxWriter {
+
+    private final String defaultDateFormat;
+    private final Executor executor;
+    private final ColumnWidthMode columnWidthMode;
+    private final int columnWidthSampleRows;
+
+    public ParallelXlsxWriter(ExcelIOProperties properties) {
+        this(properties, ColumnWidthMode.DEFAULT, Runnable::run);
+    }
+
+    /**
+     * @param properties 配置
+     * @param columnWidthMode 列宽策略，DEFAULT 时使用配置中的策略
+     * @param executor 生成 Sheet 的线程池，通常为共享的 excelSheetExecutor
+     */
+    public ParallelXlsxWriter(ExcelIOProperties properties, ColumnWidthMode columnWidthMode, Executor executor) {
+        this.defaultDateFormat = properties.getDateFormat();
+        this.columnWidthMode = columnWidthMode.resolve(properties.getColumnWidthMode(), ColumnWidthMode.DECLARED);
+        this.columnWidthSampleRows = properties.getColumnWidthSampleRows();
+        this.executor = executor;
+    }
+
+    /**
+     * 写入多 Sheet 工作簿，不关闭输出流
+     *
+     * @param sheets Sheet 列表
+     * @param out 输出流
+     */
+    public void write(List<ExcelSheet> sheets, OutputStream out) {
+        if (sheets == null || sheets.isEmpty()) {
+            throw new ExcelWriteException("工作簿至少需要一个Sheet");
+        }
+        if (sheets.stream().anyMatch(sheet -> ExcelClassMetadata.of(sheet.getDataClass()).isEasyExcelRequired())) {
+            writeWithEasyExcel(sheets, out);
+            return;
+        }
+
+        List<SheetPart> parts = new ArrayList<>();
+        List<Future<RenderedSheet>> futures = new ArrayList<>();
+        try {
+            split(sheets, parts);
+            for (SheetPart part : parts) {
+                FutureTask<RenderedSheet> task = new FutureTask<>(() -> render(part));
+                futures.add(task);
+                executor.execute(task);
+            }
+            // 按 Sheet 顺序拼装，先完成的 Sheet 等待前面的 Sheet
+            PrecompressedZipWriter zip = new PrecompressedZipWriter(out);
+            List<String> sheetNames = new ArrayList<>(parts.size());
+            for (int i = 0; i < parts.size(); i++) {
+                RenderedSheet rendered = await(futures.get(i), parts.get(i));
+                try (InputStream in = Files.newInputStream(parts.get(i).file())) {
+                    zip.writeEntry(XlsxParts.sheetEntryName(i + 1), in, rendered.crc(), rendered.size(),
+                            rendered.compressedSize());
+                } finally {
+                    Files.deleteIfExists(parts.get(i).file());
+                }
+                sheetNames.add(parts.get(i).name());
+            }
+            for (Map.Entry<String, String> part : XlsxParts.packageParts(sheetNames).entrySet()) {
+                writeSmallEntry(zip, part.getKey(), part.getValue());
+            }
+            zip.finish();
+            log.debug("并行写入完成: {}个Sheet", parts.size());
+        } catch (IOException e) {
+            throw new ExcelWriteException("写入工作簿失败", e);
+        } finally {
+            // 失败时取消尚未完成的 Sheet
+            futures.forEach(future -> future.cancel(true));
+            cleanUp(parts);
+        }
+    }
+
+    /**
+     * 由 EasyExcel 依次写入各 Sheet，保留转换器、样式与多级表头，超过行数上限时同样拆分
+     */
+    private void writeWithEasyExcel(List<ExcelSheet> sheets, OutputStream out) {
+        ExcelWriterBuilder builder = EasyExcel.write(out).autoCloseStream(false);
+        WriteHandler columnWidth = columnWidthMode.writeHandler(columnWidthSampleRows);
+        if (columnWidth != null) {
+            builder.registerWriteHandler(columnWidth);
+        }
+        int rowsPerSheet = XlsxParts.MAX_ROWS_PER_SHEET - 1;
+        List<String> names = new ArrayList<>();
+        ExcelWriter writer = builder.build();
+        try {
+            for (ExcelSheet sheet : sheets) {
+                List<?> data = sheet.getData();
+                int from = 0;
+                do {
+                    int to = Math.min(data.size(), from + rowsPerSheet);
+                    String name = XlsxParts.uniqueSheetName(names, sheet.getSheetName());
+                    names.add(name);
+                    writer.write(data.subList(from, to),
+                            EasyExcel.writerSheet(names.size() - 1, name).head(sheet.getDataClass()).build());
+                    from = to;
+                } while (from < data.size());
+            }
+        } finally {
+            writer.finish();
+        }
+        log.debug("EasyExcel写入完成: {}个Sheet", names.size());
+    }
+
+    private void split(List<ExcelSheet> sheets, List<SheetPart> parts) throws IOException {
+        int rowsPerSheet = XlsxParts.MAX_ROWS_PER_SHEET - 1;
+        List<String> names = new ArrayList<>();
+        for (ExcelSheet sheet : sheets) {
+            ExcelClassMetadata metadata = ExcelClassMetadata.of(sheet.getDataClass());
+            List<?> data = sheet.getData();
+            int from = 0;
+            do {
+                int to = Math.min(data.size(), from + rowsPerSheet);
+                String name = XlsxParts.uniqueSheetName(names, sheet.getSheetName());
+                names.add(name);
+                parts.add(new SheetPart(name, metadata, data.subList(from, to),
+                        Files.createTempFile("excel-sheet-", ".deflate")));
+                from = to;
+            } while (from < data.size());
+        }
+    }
+
+    private RenderedSheet render(SheetPart part) throws IOException {
+        CRC32 crc = new CRC32();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        CheckedCountingOutputStream checked;
+        try {
+            DeflaterOutputStream deflated = new DeflaterOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(part.file())), deflater, 64 * 1024);
+            checked = new CheckedCountingOutputStream(deflated, crc);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(checked, StandardCharsets.UTF_8), 64 * 1024)) {
+                SheetXmlWriter sheet = new SheetXmlWriter(writer, part.metadata(), defaultDateFormat);
+                sheet.start(ColumnWidths.resolve(part.metadata(), columnWidthMode, columnWidthSampleRows,
+                        part.rows(), defaultDateFormat));
+                for (Object row : part.rows()) {
+                    sheet.writeRow(row);
+                }
+                sheet.end();
+            }
+        } finally {
+            deflater.end();
+        }
+        log.debug("Sheet生成完成: {}, {}行", part.name(), part.rows().size());
+        return new RenderedSheet(crc.getValue(), checked.count, Files.size(part.file()));
+    }
+
+    private RenderedSheet await(Future<RenderedSheet> future, SheetPart part) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelWriteException("写入Sheet被中断: " + part.name(), e);
+        } catch (ExecutionException e) {
+            throw new ExcelWriteException("写入Sheet失败: " + part.name(), e.getCause());
+        }
+    }
+
+    private void writeSmallEntry(PrecompressedZipWriter zip, String name, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            out.write(bytes);
+        } finally {
+            deflater.end();
+        }
+        zip.writeEntry(name, new ByteArrayInputStream(compressed.toByteArray()), crc.getValue(), bytes.length,
+                compressed.size());
+    }
+
+    private void cleanUp(List<SheetPart> parts) {
+        for (SheetPart part : parts) {
+            try {
+                Files.deleteIfExists(part.file());
+            } catch (IOException e) {
+                log.warn("删除临时文件失败: {}", part.file(), e);
+            }
+        }
+    }
+
+    private record SheetPart(String name, ExcelClassMetadata metadata, List<?> rows, Path file) {
+    }
+
+    private record RenderedSheet(long crc, long size, long compressedSize) {
+    }
+
+    /**
+     * 计算未压缩数据的 CRC32 与长度
+     */
+    private static class CheckedCountingOutputStream extends FilterOutputStream {
+
+        private final CRC32 crc;
+        private long count;
+
+        CheckedCountingOutputStream(OutputStream out, CRC32 crc) {
+            super(out);
+            this.crc = crc;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            crc.update(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            crc.update(b, off, len);
+            count += len;
+        }
+    }
+}
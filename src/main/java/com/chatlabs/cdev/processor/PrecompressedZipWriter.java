@@ -0,0 +1,185 @@
+package com.chatlabs.cdev.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 写入已压缩条目的 zip 输出
+ * 条目数据为预先生成的原始 deflate 数据，CRC 与长度已知，直接写入本地文件头后拷贝数据，
+ * 超出 32 位范围时使用 ZIP64 扩展
+ *
+ * @author DD
+ */
+class PrecompressedZipWriter {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int ZIP64_END = 0x06064b50;
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+    private static final int END = 0x06054b50;
+    private static final long LIMIT = 0xFFFFFFFFL;
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int METHOD_DEFLATED = 8;
+
+    private final OutputStream out;
+    private final List<Entry> entries = new ArrayList<>();
+    private final int dosTime;
+    private final int dosDate;
+    private final byte[] buffer = new byte[64 * 1024];
+    private long written;
+
+    PrecompressedZipWriter(OutputStream out) {
+        this.out = out;
+        LocalDateTime now = LocalDateTime.now();
+        this.dosTime = (now.getHour() << 11) | (now.getMinute() << 5) | (now.getSecond() >> 1);
+        this.dosDate = ((now.getYear() - 1980) << 9) | (now.getMonthValue() << 5) | now.getDayOfMonth();
+    }
+
+    /**
+     * 写入一个条目
+     *
+     * @param name 条目名
+     * @param deflated 原始 deflate 数据（nowrap）
+     * @param crc 未压缩数据的 CRC32
+     * @param size 未压缩长度
+     * @param compressedSize 压缩后长度
+     */
+    void writeEntry(String name, InputStream deflated, long crc, long size, long compressedSize) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        Entry entry = new Entry(nameBytes, crc, size, compressedSize, written);
+        boolean zip64 = size >= LIMIT || compressedSize >= LIMIT;
+
+        writeInt(LOCAL_HEADER);
+        writeShort(zip64 ? 45 : 20);
+        writeShort(FLAG_UTF8);
+        writeShort(METHOD_DEFLATED);
+        writeShort(dosTime);
+        writeShort(dosDate);
+        writeInt(crc);
+        writeInt(zip64 ? LIMIT : compressedSize);
+        writeInt(zip64 ? LIMIT : size);
+        writeShort(nameBytes.length);
+        writeShort(zip64 ? 20 : 0);
+        writeBytes(nameBytes);
+        if (zip64) {
+            writeShort(0x0001);
+            writeShort(16);
+            writeLong(size);
+            writeLong(compressedSize);
+        }
+
+        long copied = 0;
+        int len;
+        while ((len = deflated.read(buffer)) > 0) {
+            out.write(buffer, 0, len);
+            copied += len;
+        }
+        if (copied != compressedSize) {
+            throw new IOException("压缩数据长度不一致: " + name);
+        }
+        written += copied;
+        entries.add(entry);
+    }
+
+    /**
+     * 写入中央目录并结束 zip，不关闭底层输出流
+     */
+    void finish() throws IOException {
+        long centralStart = written;
+        for (Entry entry : entries) {
+            boolean sizes64 = entry.size >= LIMIT || entry.compressedSize >= LIMIT;
+            boolean offset64 = entry.offset >= LIMIT;
+            int extraLength = (sizes64 ? 16 : 0) + (offset64 ? 8 : 0);
+
+            writeInt(CENTRAL_HEADER);
+            writeShort(45);
+            writeShort(sizes64 || offset64 ? 45 : 20);
+            writeShort(FLAG_UTF8);
+            writeShort(METHOD_DEFLATED);
+            writeShort(dosTime);
+            writeShort(dosDate);
+            writeInt(entry.crc);
+            writeInt(sizes64 ? LIMIT : entry.compressedSize);
+            writeInt(sizes64 ? LIMIT : entry.size);
+            writeShort(entry.name.length);
+            writeShort(extraLength > 0 ? extraLength + 4 : 0);
+            writeShort(0);
+            writeShort(0);
+            writeShort(0);
+            writeInt(0);
+            writeInt(offset64 ? LIMIT : entry.offset);
+            writeBytes(entry.name);
+            if (extraLength > 0) {
+                writeShort(0x0001);
+                writeShort(extraLength);
+                if (sizes64) {
+                    writeLong(entry.size);
+                    writeLong(entry.compressedSize);
+                }
+                if (offset64) {
+                    writeLong(entry.offset);
+                }
+            }
+        }
+        long centralSize = written - centralStart;
+
+        boolean zip64 = entries.size() >= 0xFFFF || centralStart >= LIMIT || centralSize >= LIMIT;
+        if (zip64) {
+            long zip64EndOffset = written;
+            writeInt(ZIP64_END);
+            writeLong(44);
+            writeShort(45);
+            writeShort(45);
+            writeInt(0);
+            writeInt(0);
+            writeLong(entries.size());
+            writeLong(entries.size());
+            writeLong(centralSize);
+            writeLong(centralStart);
+
+            writeInt(ZIP64_LOCATOR);
+            writeInt(0);
+            writeLong(zip64EndOffset);
+            writeInt(1);
+        }
+
+        writeInt(END);
+        writeShort(0);
+        writeShort(0);
+        writeShort(zip64 ? 0xFFFF : entries.size());
+        writeShort(zip64 ? 0xFFFF : entries.size());
+        writeInt(zip64 ? LIMIT : centralSize);
+        writeInt(zip64 ? LIMIT : centralStart);
+        writeShort(0);
+        out.flush();
+    }
+
+    private void writeShort(int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+        written += 2;
+    }
+
+    private void writeInt(long value) throws IOException {
+        writeShort((int) (value & 0xFFFF));
+        writeShort((int) ((value >>> 16) & 0xFFFF));
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt(value & LIMIT);
+        writeInt(value >>> 32);
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        out.write(bytes);
+        written += bytes.length;
+    }
+
+    private record Entry(byte[] name, long crc, long size, long compressedSize, long offset) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.enums.CellDataTypeEnum;
+import com.alibaba.excel.metadata.Head;
+import com.alibaba.excel.metadata.data.WriteCellData;
+import com.alibaba.excel.write.metadata.holder.WriteSheetHolder;
+import com.alibaba.excel.write.style.column.AbstractColumnWidthStyleStrategy;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 抽样列宽策略
+ * 仅测量表头及前 N 行数据，之后的行直接跳过；声明了 @ColumnWidth 的列保留声明值
+ * 
+ * @author DD
+ */
+public class SampledColumnWidthStyleStrategy extends AbstractColumnWidthStyleStrategy {
+    
+    private final int sampleRows;
+    
+    /** Sheet 序号 -> 列序号 -> 已设置的宽度（字符数） */
+    private final Map<Integer, Map<Integer, Integer>> widths = new HashMap<>();
+    
+    public SampledColumnWidthStyleStrategy(int sampleRows) {
+        this.sampleRows = Math.max(0, sampleRows);
+    }
+    
+    @Override
+    protected void setColumnWidth(WriteSheetHolder writeSheetHolder, List<WriteCellData<?>> cellDataList, Cell cell,
+                                  Head head, Integer relativeRowIndex, Boolean isHead) {
+        boolean header = Boolean.TRUE.equals(isHead);
+        if (!header && cell.getRowIndex() >= headRowNumber(writeSheetHolder) + sampleRows) {
+            return;
+        }
+        if (head != null && head.getColumnWidthProperty() != null) {
+            return;
+        }
+        int width = ColumnWidths.fit(header ? cell.getStringCellValue() : text(cellDataList, cell));
+        if (width <= 0) {
+            return;
+        }
+        Map<Integer, Integer> sheetWidths = widths.computeIfAbsent(writeSheetHolder.getSheetNo(), key -> new HashMap<>());
+        Integer current = sheetWidths.get(cell.getColumnIndex());
+        if (current == null || width > current) {
+            sheetWidths.put(cell.getColumnIndex(), width);
+            writeSheetHolder.getSheet().setColumnWidth(cell.getColumnIndex(), width * 256);
+        }
+    }
+    
+    private static int headRowNumber(WriteSheetHolder writeSheetHolder) {
+        return writeSheetHolder.excelWriteHeadProperty() != null
+                ? writeSheetHolder.excelWriteHeadProperty().getHeadRowNumber()
+                : 0;
+    }
+    
+    private static String text(List<WriteCellData<?>> cellDataList, Cell cell) {
+        if (cellDataList == null || cellDataList.isEmpty()) {
+            return null;
+        }
+        WriteCellData<?> cellData = cellDataList.get(0);
+        CellDataTypeEnum type = cellData.getType();
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case STRING -> cellData.getStringValue();
+            case NUMBER -> cellData.getNumberValue() != null ? cellData.getNumberValue().toPlainString() : null;
+            case BOOLEAN -> String.valueOf(cellData.getBooleanValue());
+            // 日期按单元格格式的长度估算
+            case DATE -> cell.getCellStyle() != null ? cell.getCellStyle().getDataFormatString() : null;
+            default -> null;
+        };
+    }
+}
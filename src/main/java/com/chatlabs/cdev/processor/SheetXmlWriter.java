@@ -0,0 +1,171 @@
+package com.chatlabs.cdev.processor;
+
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * 工作表 XML 生成器
+ * 将一个 Sheet 的表头与数据行写为 SpreadsheetML，字符串使用内联字符串（inlineStr）
+ *
+ * @author DD
+ */
+class SheetXmlWriter {
+
+    private static final String STYLE_HEADER = "1";
+
+    private final Writer writer;
+    private final ExcelClassMetadata metadata;
+    private final List<ExcelColumn> columns;
+    private final CellFormatter formatter;
+    private final String[] columnRefs;
+    private int rowNum;
+
+    SheetXmlWriter(Writer writer, ExcelClassMetadata metadata, String defaultDateFormat) {
+        this.writer = writer;
+        this.metadata = metadata;
+        this.columns = metadata.getColumns();
+        this.formatter = new CellFormatter(metadata, defaultDateFormat);
+        this.columnRefs = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            columnRefs[i] = columnName(columns.get(i).getIndex());
+        }
+    }
+
+    /**
+     * 写入工作表开始部分及表头行
+     */
+    void start() throws IOException {
+        start(null);
+    }
+
+    /**
+     * 写入工作表开始部分、列宽及表头行
+     *
+     * @param widths 各列宽度（字符数），与列一一对应，0 表示不设置；为 null 时不写入列宽
+     */
+    void start(int[] widths) throws IOException {
+        writer.write(XlsxParts.XML_HEADER);
+        writer.write("<worksheet xmlns=\"" + XlsxParts.NS_MAIN + "\" xmlns:r=\"" + XlsxParts.NS_REL + "\">");
+        writeCols(widths);
+        writer.write("<sheetData>");
+        rowNum = 1;
+        writer.write("<row r=\"1\">");
+        List<String> headers = metadata.getHeaders();
+        for (int i = 0; i < headers.size(); i++) {
+            writeCell(i, headers.get(i), STYLE_HEADER);
+        }
+        writer.write("</row>");
+    }
+
+    /**
+     * 写入一行数据
+     */
+    void writeRow(Object row) throws IOException {
+        rowNum++;
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(rowNum));
+        writer.write("\">");
+        for (int i = 0; i < columns.size(); i++) {
+            writeCell(i, columns.get(i).getValue(row), null);
+        }
+        writer.write("</row>");
+    }
+
+    /**
+     * 写入工作表结束部分
+     */
+    void end() throws IOException {
+        writer.write("</sheetData></worksheet>");
+    }
+
+    /**
+     * 已写入的行数（含表头）
+     */
+    int getRowCount() {
+        return rowNum;
+    }
+
+    private void writeCols(int[] widths) throws IOException {
+        if (widths == null) {
+            return;
+        }
+        boolean open = false;
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] <= 0) {
+                continue;
+            }
+            if (!open) {
+                writer.write("<cols>");
+                open = true;
+            }
+            String number = Integer.toString(columns.get(i).getIndex() + 1);
+            writer.write("<col min=\"" + number + "\" max=\"" + number + "\" width=\"" + widths[i]
+                    + "\" customWidth=\"1\"/>");
+        }
+        if (open) {
+            writer.write("</cols>");
+        }
+    }
+
+    private void writeCell(int column, Object value, String style) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write("<c r=\"");
+        writer.write(columnRefs[column]);
+        writer.write(Integer.toString(rowNum));
+        writer.write('"');
+        if (style != null) {
+            writer.write(" s=\"");
+            writer.write(style);
+            writer.write('"');
+        }
+
+        if (formatter.isPlainNumber(column, value)) {
+            writer.write("><v>");
+            writer.write(formatter.numberText((Number) value));
+            writer.write("</v></c>");
+        } else if (value instanceof Boolean bool) {
+            writer.write(" t=\"b\"><v>");
+            writer.write(bool ? "1" : "0");
+            writer.write("</v></c>");
+        } else {
+            writer.write(" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            writeEscaped(formatter.text(column, value));
+            writer.write("</t></is></c>");
+        }
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    // 跳过 XML 不允许的控制字符
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String columnName(int index) {
+        StringBuilder sb = new StringBuilder();
+        int n = index + 1;
+        while (n > 0) {
+            int rem = (n - 1) % 26;
+            sb.insert(0, (char) ('A' + rem));
+            n = (n - 1) / 26;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,300 @@
+package com.chatlabs.cdev.processor;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 流式 xlsx 写入器
+ * 不经过 POI，直接将工作表 XML 压缩写入输出流，行数据产生后按行数/字节数间隔同步刷出，
+ * 字符串使用内联字符串（inlineStr），无需在内存中维护共享字符串表
+ *
+ * @author DD
+ */
+@Slf4j
+public class StreamingXlsxWriter implements Closeable {
+
+    /** 单个 Sheet 最大行数（含表头） */
+    public static final int MAX_ROWS_PER_SHEET = XlsxParts.MAX_ROWS_PER_SHEET;
+
+    private final FlushableZipOutputStream zip;
+    private final CountingOutputStream counter;
+    private final Writer writer;
+    private final int flushIntervalRows;
+    private final long flushIntervalBytes;
+    private final String defaultDateFormat;
+    private final ColumnWidthMode columnWidthMode;
+    private final int columnWidthSampleRows;
+    private final List<String> sheetNames = new ArrayList<>();
+
+    private ExcelClassMetadata metadata;
+    private SheetXmlWriter sheet;
+    private String baseSheetName;
+    private int[] widths;
+    private boolean widthsResolved;
+    private boolean headerPending;
+    private long totalRows;
+    private int rowsSinceFlush;
+    private long bytesAtLastFlush;
+    private boolean finished;
+
+    public StreamingXlsxWriter(OutputStream out, ExcelIOProperties properties) {
+        this(out, properties, ColumnWidthMode.DEFAULT);
+    }
+
+    /**
+     * @param out 输出流
+     * @param properties 配置
+     * @param columnWidthMode 列宽策略，DEFAULT 时使用配置中的策略；按每个 Sheet 的第一批数据测量
+     */
+    public StreamingXlsxWriter(OutputStream out, ExcelIOProperties properties, ColumnWidthMode columnWidthMode) {
+        this.zip = new FlushableZipOutputStream(out);
+        this.counter = new CountingOutputStream(zip);
+        this.writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8), 8192);
+        this.flushIntervalRows = Math.max(1, properties.getFlushIntervalRows());
+        this.flushIntervalBytes = Math.max(1, properties.getFlushIntervalBytes());
+        this.defaultDateFormat = properties.getDateFormat();
+        this.columnWidthMode = columnWidthMode.resolve(properties.getColumnWidthMode(), ColumnWidthMode.DECLARED);
+        this.columnWidthSampleRows = properties.getColumnWidthSampleRows();
+    }
+
+    /**
+     * 开始一个新的 Sheet，表头与列宽在第一批数据写入（或 Sheet 结束）时写出；
+     * 不支持自定义转换器、样式注解与多级表头，数据类使用了这些特性时直接失败，需改由 EasyExcel 写入
+     *
+     * @param sheetName Sheet 名称
+     * @param metadata 数据类元数据
+     */
+    public void startSheet(String sheetName, ExcelClassMetadata metadata) {
+        if (metadata.isEasyExcelRequired()) {
+            throw new ExcelWriteException("数据类使用了自定义转换器、样式注解或多级表头，需由 EasyExcel 写入: "
+                    + metadata.getDataClass().getName());
+        }
+        endSheet();
+        this.baseSheetName = sheetName;
+        this.widths = null;
+        this.widthsResolved = false;
+        openSheet(sheetName, metadata);
+    }
+
+    private void openSheet(String sheetName, ExcelClassMetadata metadata) {
+        if (sheet != null) {
+            endSheet();
+        }
+        this.metadata = metadata;
+        sheetNames.add(XlsxParts.uniqueSheetName(sheetNames, sheetName));
+        try {
+            zip.putNextEntry(new ZipEntry(XlsxParts.sheetEntryName(sheetNames.size())));
+            sheet = new SheetXmlWriter(writer, metadata, defaultDateFormat);
+            // 列宽需在表头之前写入，首个 Sheet 等待第一批数据用于测量，续写的 Sheet 沿用已有列宽
+            headerPending = true;
+            if (widthsResolved) {
+                startPending(null);
+            }
+        } catch (IOException e) {
+            throw new ExcelWriteException("写入Sheet失败: " + sheetName, e);
+        }
+    }
+
+    /**
+     * 写入多行数据
+     */
+    public void writeRows(Collection<?> rows) {
+        if (headerPending) {
+            startPending(rows);
+        }
+        for (Object row : rows) {
+            writeRow(row);
+        }
+    }
+
+    /**
+     * 写入一行数据，超过单 Sheet 行数上限时自动续写到新 Sheet
+     */
+    public void writeRow(Object row) {
+        if (sheet == null) {
+            throw new ExcelWriteException("写入数据前需要先调用 startSheet");
+        }
+        if (sheet.getRowCount() >= MAX_ROWS_PER_SHEET) {
+            openSheet(baseSheetName, metadata);
+        }
+        if (headerPending) {
+            startPending(Collections.singletonList(row));
+        }
+        try {
+            sheet.writeRow(row);
+            totalRows++;
+            rowsSinceFlush++;
+            if (rowsSinceFlush >= flushIntervalRows
+                    || counter.getCount() - bytesAtLastFlush >= flushIntervalBytes) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new ExcelWriteException("写入数据行失败: row=" + sheet.getRowCount(), e);
+        }
+    }
+
+    /**
+     * 结束当前 Sheet
+     */
+    public void endSheet() {
+        if (sheet == null) {
+            return;
+        }
+        if (headerPending) {
+            startPending(Collections.emptyList());
+        }
+        try {
+            sheet.end();
+            writer.flush();
+            zip.closeEntry();
+            sheet = null;
+        } catch (IOException e) {
+            throw new ExcelWriteException("结束Sheet失败", e);
+        }
+    }
+
+    private void startPending(Collection<?> sample) {
+        if (!widthsResolved) {
+            widths = ColumnWidths.resolve(metadata, columnWidthMode, columnWidthSampleRows, sample, defaultDateFormat);
+            widthsResolved = true;
+        }
+        try {
+            sheet.start(widths);
+            headerPending = false;
+        } catch (IOException e) {
+            throw new ExcelWriteException("写入表头失败", e);
+        }
+    }
+
+    /**
+     * 将已产生的压缩数据同步刷出到底层输出流
+     */
+    public void flush() {
+        try {
+            writer.flush();
+            zip.syncFlush();
+            rowsSinceFlush = 0;
+            bytesAtLastFlush = counter.getCount();
+        } catch (IOException e) {
+            throw new ExcelWriteException("刷新输出失败", e);
+        }
+    }
+
+    /**
+     * 写入工作簿其余部件并结束 zip，不关闭底层输出流
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        endSheet();
+        if (sheetNames.isEmpty()) {
+            throw new ExcelWriteException("工作簿至少需要一个Sheet");
+        }
+        try {
+            for (Map.Entry<String, String> part : XlsxParts.packageParts(sheetNames).entrySet()) {
+                zip.putNextEntry(new ZipEntry(part.getKey()));
+                zip.write(part.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.syncFlush();
+            finished = true;
+            log.debug("流式写入完成: {}个Sheet, {}行", sheetNames.size(), totalRows);
+        } catch (IOException e) {
+            throw new ExcelWriteException("写入工作簿失败", e);
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    @Override
+    public void close() {
+        finish();
+    }
+
+    /**
+     * 支持同步刷新的 zip 输出流
+     * ZipOutputStream 的 flush 不会刷出 Deflater 内部缓冲，这里使用 SYNC_FLUSH 强制输出已压缩的数据
+     */
+    private static class FlushableZipOutputStream extends ZipOutputStream {
+
+        private boolean entryOpen;
+
+        FlushableZipOutputStream(OutputStream out) {
+            super(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void putNextEntry(ZipEntry e) throws IOException {
+            super.putNextEntry(e);
+            entryOpen = true;
+        }
+
+        @Override
+        public void closeEntry() throws IOException {
+            super.closeEntry();
+            entryOpen = false;
+        }
+
+        void syncFlush() throws IOException {
+            // 条目之间不能写入空的压缩块，否则会破坏 zip 结构
+            if (entryOpen && !def.finished()) {
+                int len;
+                while ((len = def.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH)) > 0) {
+                    out.write(buf, 0, len);
+                }
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * 统计写入的未压缩字节数
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
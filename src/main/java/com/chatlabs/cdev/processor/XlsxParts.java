@@ -0,0 +1,123 @@
+package com.chatlabs.cdev.processor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * xlsx 包中除工作表外的固定部件
+ *
+ * @author DD
+ */
+final class XlsxParts {
+
+    /** 单个 Sheet 最大行数（含表头） */
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    static final String NS_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NS_PKG_REL = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    private XlsxParts() {
+    }
+
+    /**
+     * 第 index 个工作表（从 1 开始）的部件名
+     */
+    static String sheetEntryName(int index) {
+        return "xl/worksheets/sheet" + index + ".xml";
+    }
+
+    /**
+     * 生成不重复且符合 Excel 规则的 Sheet 名称
+     */
+    static String uniqueSheetName(List<String> existing, String sheetName) {
+        String base = sheetName == null || sheetName.isBlank() ? "Sheet" : sheetName.replaceAll("[\\\\/?*\\[\\]:]", "_");
+        if (base.length() > 31) {
+            base = base.substring(0, 31);
+        }
+        String name = base;
+        int suffix = 2;
+        while (existing.contains(name)) {
+            String tail = "_" + suffix++;
+            name = (base.length() + tail.length() > 31 ? base.substring(0, 31 - tail.length()) : base) + tail;
+        }
+        return name;
+    }
+
+    /**
+     * 工作表之后写入的其余部件，按写入顺序排列
+     */
+    static Map<String, String> packageParts(List<String> sheetNames) {
+        Map<String, String> parts = new LinkedHashMap<>();
+        parts.put("xl/workbook.xml", workbookXml(sheetNames));
+        parts.put("xl/_rels/workbook.xml.rels", workbookRelsXml(sheetNames.size()));
+        parts.put("xl/styles.xml", stylesXml());
+        parts.put("_rels/.rels", rootRelsXml());
+        parts.put("[Content_Types].xml", contentTypesXml(sheetNames.size()));
+        return parts;
+    }
+
+    private static String workbookXml(List<String> sheetNames) {
+        StringBuilder sb = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"").append(NS_MAIN).append("\" xmlns:r=\"").append(NS_REL).append("\"><sheets>");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            sb.append("<sheet name=\"").append(escapeAttribute(sheetNames.get(i)))
+                    .append("\" sheetId=\"").append(i + 1).append("\" r:id=\"rId").append(i + 1).append("\"/>");
+        }
+        return sb.append("</sheets></workbook>").toString();
+    }
+
+    private static String workbookRelsXml(int sheetCount) {
+        StringBuilder sb = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"").append(NS_PKG_REL).append("\">");
+        for (int i = 0; i < sheetCount; i++) {
+            sb.append("<Relationship Id=\"rId").append(i + 1)
+                    .append("\" Type=\"").append(NS_REL).append("/worksheet\" Target=\"worksheets/sheet")
+                    .append(i + 1).append(".xml\"/>");
+        }
+        sb.append("<Relationship Id=\"rId").append(sheetCount + 1)
+                .append("\" Type=\"").append(NS_REL).append("/styles\" Target=\"styles.xml\"/>");
+        return sb.append("</Relationships>").toString();
+    }
+
+    private static String stylesXml() {
+        return XML_HEADER
+                + "<styleSheet xmlns=\"" + NS_MAIN + "\">"
+                + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"
+                + "</styleSheet>";
+    }
+
+    private static String rootRelsXml() {
+        return XML_HEADER
+                + "<Relationships xmlns=\"" + NS_PKG_REL + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + NS_REL + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>";
+    }
+
+    private static String contentTypesXml(int sheetCount) {
+        StringBuilder sb = new StringBuilder(XML_HEADER)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 0; i < sheetCount; i++) {
+            sb.append("<Override PartName=\"/xl/worksheets/sheet").append(i + 1)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return sb.append("</Types>").toString();
+    }
+
+    private static String escapeAttribute(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
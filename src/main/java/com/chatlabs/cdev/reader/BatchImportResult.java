@@ -0,0 +1,28 @@
+package com.chatlabs.cdev.reader;
+
+import lombok.Getter;
+
+/**
+ * 分批导入结果
+ * 指定了 batchHandler 的 @ExcelImport 参数以此类型接收导入统计
+ *
+ * @author DD
+ */
+@Getter
+public class BatchImportResult {
+
+    /** 导入行数 */
+    private final long rows;
+
+    /** 批次数 */
+    private final int batches;
+
+    /** 耗时（毫秒），包含解析与处理 */
+    private final long elapsedMillis;
+
+    public BatchImportResult(long rows, int batches, long elapsedMillis) {
+        this.rows = rows;
+        this.batches = batches;
+        this.elapsedMillis = elapsedMillis;
+    }
+}
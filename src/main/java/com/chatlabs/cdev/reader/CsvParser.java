@@ -0,0 +1,211 @@
+package com.chatlabs.cdev.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式 CSV 解析器（RFC 4180）
+ * 字符解码到复用的缓冲区，非引号字段按区间整段追加；支持引号内的分隔符、换行及双写引号，
+ * 编码按 BOM 识别，无 BOM 时首段内容不是合法 UTF-8 则按 GB18030 解码，分隔符从首行推断（逗号、制表符或分号）
+ *
+ * @author DD
+ */
+final class CsvParser {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int SNIFF_SIZE = 8 * 1024;
+    private static final int END_OF_RECORD = '\n';
+    private static final int END_OF_INPUT = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(64);
+    private final List<String> row = new ArrayList<>();
+    private int position;
+    private int limit;
+    private boolean eof;
+    private long recordNumber;
+
+    CsvParser(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * 识别编码与分隔符并创建解析器
+     *
+     * @param inputStream 支持 mark/reset 的输入流
+     */
+    static CsvParser open(InputStream inputStream) throws IOException {
+        inputStream.mark(SNIFF_SIZE);
+        byte[] head = inputStream.readNBytes(SNIFF_SIZE);
+        inputStream.reset();
+
+        Charset charset;
+        int bom = 0;
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            charset = StandardCharsets.UTF_8;
+            bom = 3;
+        } else if (head.length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+            charset = StandardCharsets.UTF_16BE;
+            bom = 2;
+        } else if (head.length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+            charset = StandardCharsets.UTF_16LE;
+            bom = 2;
+        } else {
+            charset = isUtf8(head) ? StandardCharsets.UTF_8 : Charset.forName("GB18030");
+        }
+        inputStream.skipNBytes(bom);
+        char delimiter = detectDelimiter(new String(head, bom, head.length - bom, charset));
+        return new CsvParser(new InputStreamReader(inputStream, charset), delimiter);
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 字段列表，下次调用时复用；输入结束返回 null
+     */
+    List<String> next() throws IOException {
+        row.clear();
+        if (!ensure()) {
+            return null;
+        }
+        int end;
+        do {
+            end = readField();
+            row.add(field.toString());
+        } while (end == delimiter);
+        recordNumber++;
+        return row;
+    }
+
+    /**
+     * 已读取的记录数，即最近一条记录的序号（从 1 开始）
+     */
+    long getRecordNumber() {
+        return recordNumber;
+    }
+
+    char getDelimiter() {
+        return delimiter;
+    }
+
+    private int readField() throws IOException {
+        field.setLength(0);
+        if (!ensure()) {
+            return END_OF_INPUT;
+        }
+        if (buffer[position] == '"') {
+            position++;
+            readQuoted();
+        }
+        // 非引号字段（或闭合引号后的剩余内容）
+        while (ensure()) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == delimiter || c == '\n' || c == '\r') {
+                    field.append(buffer, start, position - start);
+                    position++;
+                    if (c == delimiter) {
+                        return c;
+                    }
+                    if (c == '\r' && ensure() && buffer[position] == '\n') {
+                        position++;
+                    }
+                    return END_OF_RECORD;
+                }
+                position++;
+            }
+            field.append(buffer, start, position - start);
+        }
+        return END_OF_INPUT;
+    }
+
+    private void readQuoted() throws IOException {
+        while (ensure()) {
+            int start = position;
+            while (position < limit) {
+                if (buffer[position] == '"') {
+                    field.append(buffer, start, position - start);
+                    position++;
+                    if (!ensure() || buffer[position] != '"') {
+                        return;
+                    }
+                    // 双写引号表示一个引号字符
+                    field.append('"');
+                    position++;
+                    start = position;
+                    continue;
+                }
+                position++;
+            }
+            field.append(buffer, start, position - start);
+        }
+    }
+
+    private boolean ensure() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            eof = true;
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private static boolean isUtf8(byte[] head) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // 末尾可能截断在多字节字符中间，按未结束输入解码
+        return !decoder.decode(ByteBuffer.wrap(head), CharBuffer.allocate(head.length), false).isError();
+    }
+
+    private static char detectDelimiter(String head) {
+        int commas = 0;
+        int tabs = 0;
+        int semicolons = 0;
+        boolean quoted = false;
+        for (int i = 0; i < head.length(); i++) {
+            char c = head.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                if (c == '\n' || c == '\r') {
+                    break;
+                }
+                if (c == ',') {
+                    commas++;
+                } else if (c == '\t') {
+                    tabs++;
+                } else if (c == ';') {
+                    semicolons++;
+                }
+            }
+        }
+        if (tabs > commas && tabs >= semicolons) {
+            return '\t';
+        }
+        return semicolons > commas ? ';' : ',';
+    }
+}
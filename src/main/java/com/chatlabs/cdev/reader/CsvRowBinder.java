@@ -0,0 +1,147 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.exception.ExcelReadException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+import com.chatlabs.cdev.validation.RowErrors;
+import com.chatlabs.cdev.validation.RowValidation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CSV 行绑定
+ * 表头匹配规则与 {@link RowBindingListener} 一致，字段值由 {@link CsvValueParser} 直接从文本转换，
+ * 不经过 EasyExcel/POI；值与表头均去除首尾空白，空字段及空行忽略
+ *
+ * @author DD
+ */
+final class CsvRowBinder<T> {
+
+    private final ExcelClassMetadata metadata;
+    private final Consumer<? super T> sink;
+    private final RowValidation<? super T> validation;
+    private final List<ExcelColumn> columns;
+    private final CsvValueParser[] parsers;
+
+    private int[] cellIndexes;
+    private ExcelColumn[] boundColumns;
+    private CsvValueParser[] boundParsers;
+
+    private CsvRowBinder(ExcelClassMetadata metadata, CsvValueParser[] parsers, Consumer<? super T> sink,
+                         RowValidation<? super T> validation) {
+        this.metadata = metadata;
+        this.columns = metadata.getColumns();
+        this.parsers = parsers;
+        this.sink = sink;
+        this.validation = validation;
+    }
+
+    /**
+     * 创建绑定器
+     *
+     * @return 绑定器，存在不支持直接转换的列时返回 null，由调用方改用 EasyExcel 读取
+     */
+    static <T> CsvRowBinder<T> of(ExcelClassMetadata metadata, String defaultDateFormat,
+                                  Consumer<? super T> sink, RowValidation<? super T> validation) {
+        List<ExcelColumn> columns = metadata.getColumns();
+        CsvValueParser[] parsers = new CsvValueParser[columns.size()];
+        for (int i = 0; i < parsers.length; i++) {
+            parsers[i] = CsvValueParser.forColumn(columns.get(i), defaultDateFormat);
+            if (parsers[i] == null) {
+                return null;
+            }
+        }
+        return new CsvRowBinder<>(metadata, parsers, sink, validation);
+    }
+
+    /**
+     * 读取全部记录
+     */
+    @SuppressWarnings("unchecked")
+    void read(CsvParser parser) throws IOException {
+        int headRows = metadata.getHeadRowNumber();
+        List<String> record = List.of();
+        for (int i = 0; i < headRows; i++) {
+            record = parser.next();
+            if (record == null) {
+                return;
+            }
+        }
+        bindHeader(record);
+
+        while ((validation == null || !validation.isExhausted()) && (record = parser.next()) != null) {
+            if (isBlank(record)) {
+                continue;
+            }
+            int rowNumber = (int) parser.getRecordNumber();
+            Object row = metadata.newInstance();
+            RowErrors errors = validation != null ? validation.begin(null, rowNumber) : null;
+            for (int i = 0; i < boundColumns.length; i++) {
+                int cellIndex = cellIndexes[i];
+                if (cellIndex >= record.size()) {
+                    continue;
+                }
+                String text = record.get(cellIndex).strip();
+                if (text.isEmpty()) {
+                    continue;
+                }
+                ExcelColumn column = boundColumns[i];
+                Object value;
+                try {
+                    value = boundParsers[i].parse(text);
+                } catch (Exception e) {
+                    String type = column.getField().getType().getSimpleName();
+                    if (errors == null) {
+                        throw new ExcelReadException("第" + rowNumber + "行[" + column.getHeader() + "] 无法转换为"
+                                + type + ": " + text, e);
+                    }
+                    errors.reject(column.getHeader(), RowBindingListener.TYPE_MISMATCH, "无法转换为" + type);
+                    continue;
+                }
+                column.setValue(row, value);
+            }
+            if (validation == null || validation.complete((T) row)) {
+                sink.accept((T) row);
+            }
+        }
+    }
+
+    private void bindHeader(List<String> header) {
+        // 多级表头以最后一行匹配
+        Map<Integer, String> headers = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            headers.put(i, header.get(i).strip());
+        }
+        List<Integer> indexes = new ArrayList<>(columns.size());
+        List<ExcelColumn> bound = new ArrayList<>(columns.size());
+        List<CsvValueParser> boundParserList = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelColumn column = columns.get(i);
+            int cellIndex = column.isForceIndex() || !column.isForceName()
+                    ? column.getIndex()
+                    : RowBindingListener.findHeader(headers, column.getHeader(), false);
+            if (cellIndex >= 0) {
+                indexes.add(cellIndex);
+                bound.add(column);
+                boundParserList.add(parsers[i]);
+            }
+        }
+        this.cellIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        this.boundColumns = bound.toArray(new ExcelColumn[0]);
+        this.boundParsers = boundParserList.toArray(new CsvValueParser[0]);
+    }
+
+    private static boolean isBlank(List<String> record) {
+        for (String value : record) {
+            if (!value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,178 @@
+package com.chatlabs.cdev.reader;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.converters.AutoConverter;
+import com.alibaba.excel.util.DateUtils;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * CSV 文本到字段值的转换
+ * 按列的 @DateTimeFormat / @NumberFormat 解析，与导出时 CellFormatter 的格式对应；
+ * 未声明格式的日期先按默认日期格式解析，失败时按 EasyExcel 的规则推断格式
+ *
+ * @author DD
+ */
+@FunctionalInterface
+interface CsvValueParser {
+
+    /**
+     * 转换非空文本
+     */
+    Object parse(String text) throws Exception;
+
+    /**
+     * 创建列的转换器
+     *
+     * @param column 列元数据
+     * @param defaultDateFormat 默认日期格式
+     * @return 转换器，字段类型不支持或声明了自定义转换器时返回 null
+     */
+    static CsvValueParser forColumn(ExcelColumn column, String defaultDateFormat) {
+        ExcelProperty property = column.getField().getAnnotation(ExcelProperty.class);
+        if (property != null && property.converter() != AutoConverter.class) {
+            return null;
+        }
+        Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(column.getField().getType());
+        if (type == String.class) {
+            return text -> text;
+        }
+        if (type == Boolean.class) {
+            return CsvValueParser::parseBoolean;
+        }
+        if (Number.class.isAssignableFrom(type)) {
+            return numberParser(type, column.getNumberFormat());
+        }
+        if (type == LocalDateTime.class || type == Date.class || type == LocalDate.class || type == LocalTime.class) {
+            return dateParser(type, column.getDateFormat(), defaultDateFormat);
+        }
+        return null;
+    }
+
+    private static CsvValueParser numberParser(Class<?> type, String numberFormat) {
+        if (type != Integer.class && type != Long.class && type != Short.class && type != Byte.class
+                && type != Double.class && type != Float.class && type != BigDecimal.class && type != BigInteger.class) {
+            return null;
+        }
+        if (numberFormat != null) {
+            DecimalFormat format = new DecimalFormat(numberFormat);
+            format.setParseBigDecimal(true);
+            return text -> {
+                ParsePosition position = new ParsePosition(0);
+                Object parsed = format.parse(text, position);
+                if (parsed == null || position.getIndex() != text.length()) {
+                    throw new ParseException(text, position.getErrorIndex());
+                }
+                return toNumber((BigDecimal) parsed, type);
+            };
+        }
+        if (type == Integer.class) {
+            return text -> {
+                try {
+                    return Integer.valueOf(text);
+                } catch (NumberFormatException e) {
+                    return new BigDecimal(text).intValue();
+                }
+            };
+        }
+        if (type == Long.class) {
+            return text -> {
+                try {
+                    return Long.valueOf(text);
+                } catch (NumberFormatException e) {
+                    return new BigDecimal(text).longValue();
+                }
+            };
+        }
+        if (type == Double.class) {
+            return Double::valueOf;
+        }
+        return text -> toNumber(new BigDecimal(text), type);
+    }
+
+    private static Object toNumber(BigDecimal value, Class<?> type) {
+        if (type == Integer.class) {
+            return value.intValue();
+        }
+        if (type == Long.class) {
+            return value.longValue();
+        }
+        if (type == Short.class) {
+            return value.shortValue();
+        }
+        if (type == Byte.class) {
+            return value.byteValue();
+        }
+        if (type == Double.class) {
+            return value.doubleValue();
+        }
+        if (type == Float.class) {
+            return value.floatValue();
+        }
+        if (type == BigInteger.class) {
+            return value.toBigInteger();
+        }
+        return value;
+    }
+
+    private static Boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text) || "1".equals(text)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(text) || "0".equals(text)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException(text);
+    }
+
+    private static CsvValueParser dateParser(Class<?> type, String dateFormat, String defaultDateFormat) {
+        if (type == LocalTime.class) {
+            DateTimeFormatter formatter = dateFormat != null
+                    ? DateTimeFormatter.ofPattern(dateFormat) : DateTimeFormatter.ISO_LOCAL_TIME;
+            return text -> LocalTime.parse(text, formatter);
+        }
+        if (type == LocalDate.class) {
+            if (dateFormat != null) {
+                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
+                return text -> LocalDate.parse(text, formatter);
+            }
+            return text -> {
+                try {
+                    return LocalDate.parse(text);
+                } catch (RuntimeException e) {
+                    return DateUtils.parseLocalDate(text, null, null);
+                }
+            };
+        }
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat != null ? dateFormat : defaultDateFormat);
+        boolean inferFormat = dateFormat == null;
+        CsvValueParser localDateTime = text -> {
+            try {
+                TemporalAccessor parsed = formatter.parseBest(text, LocalDateTime::from, LocalDate::from);
+                return parsed instanceof LocalDate date ? date.atStartOfDay() : (LocalDateTime) parsed;
+            } catch (RuntimeException e) {
+                if (!inferFormat) {
+                    throw e;
+                }
+                return DateUtils.parseLocalDateTime(text, null, null);
+            }
+        };
+        if (type == LocalDateTime.class) {
+            return localDateTime;
+        }
+        return text -> Date.from(((LocalDateTime) localDateTime.parse(text)).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -1,15 +1,44 @@
 package com.chatlabs.cdev.reader;
 
 import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.cache.selector.ReadCacheSelector;
+import com.alibaba.excel.enums.ReadDefaultReturnEnum;
+import com.alibaba.excel.read.metadata.ReadSheet;
+import com.alibaba.excel.util.DateUtils;
+import com.chatlabs.cdev.config.ExcelIOProperties;
 import com.chatlabs.cdev.exception.ExcelReadException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.validation.ExcelImportResult;
+import com.chatlabs.cdev.validation.RowValidation;
+import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
 
 /**
  * 默认Excel读取器
+ * 行数据通过 {@link ExcelClassMetadata} 预编译的构造器与字段写入器绑定，校验在解析过程中逐行进行；
+ * 按文件头识别格式，CSV/TSV 使用内置的流式解析器，不经过 EasyExcel/POI；
+ * xlsx 的共享字符串缓存按配置的策略选择，大文件可放到映射文件或磁盘缓存中；
+ * 多 Sheet 读取时先将输入落盘，各 Sheet 直接定位到对应的工作表，在共享的 excelSheetExecutor 中并行解析；
+ * 未注入线程池时所有 Sheet 在同一次打开的工作簿中依次解析，共享字符串只解析一次
  * 
  * @author DD
  */
@@ -17,21 +46,294 @@ import java.util.List;
 @Component
 public class DefaultExcelReader implements ExcelReader {
     
+    @Resource
+    private ExcelIOProperties properties;
+    
+    /** 多 Sheet 并行解析的共享线程池，未注入时在当前线程依次解析 */
+    @Resource(name = "excelSheetExecutor")
+    private Executor sheetExecutor;
+    
+    public DefaultExcelReader() {
+    }
+    
+    /**
+     * 不经 Spring 注入时使用
+     *
+     * @param properties 配置，用于日期格式与共享字符串缓存策略，为 null 时使用默认值
+     * @param sheetExecutor 多 Sheet 并行解析的线程池，为 null 时在当前线程依次解析
+     */
+    public DefaultExcelReader(ExcelIOProperties properties, Executor sheetExecutor) {
+        this.properties = properties;
+        this.sheetExecutor = sheetExecutor;
+    }
+    
     @Override
     public <T> List<T> read(InputStream inputStream, Class<T> dataClass) {
+        List<T> data = new ArrayList<>();
+        read(inputStream, dataClass, data::add);
+        return data;
+    }
+    
+    @Override
+    public <T> void read(InputStream inputStream, Class<T> dataClass, Consumer<? super T> rowHandler) {
+        readRows(inputStream, dataClass, null, rowHandler);
+    }
+    
+    @Override
+    public <T> void read(InputStream inputStream, Class<T> dataClass, RowValidation<? super T> validation,
+                         Consumer<? super T> rowHandler) {
+        readRows(inputStream, dataClass, validation, rowHandler);
+    }
+    
+    /**
+     * 边解析边回调，validation 不为 null 时只回调通过校验的行
+     */
+    private <T> void readRows(InputStream inputStream, Class<T> dataClass, RowValidation<? super T> validation,
+                              Consumer<? super T> rowHandler) {
+        if (inputStream == null) {
+            throw new ExcelReadException("输入流不能为空");
+        }
+        
+        long start = System.currentTimeMillis();
+        long[] count = new long[1];
+        try {
+            parse(inputStream, dataClass, row -> {
+                try {
+                    rowHandler.accept(row);
+                } catch (RuntimeException e) {
+                    throw new RowHandlerException(e);
+                }
+                count[0]++;
+            }, validation);
+            if (validation != null) {
+                log.info("读取完成: {}, {}条, {}处错误{}, {}ms", dataClass.getSimpleName(), count[0],
+                        validation.getErrors().size(), validation.isExhausted() ? "（已达上限）" : "",
+                        System.currentTimeMillis() - start);
+            } else {
+                log.info("读取完成: {}, {}条, {}ms", dataClass.getSimpleName(), count[0], System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            // 行回调抛出的异常原样交还调用方
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof RowHandlerException handlerException) {
+                    throw handlerException.getCause();
+                }
+            }
+            log.error("读取失败: {}", dataClass.getSimpleName(), e);
+            throw new ExcelReadException("读取失败: " + dataClass.getSimpleName(), e);
+        }
+    }
+    
+    @Override
+    public <T> ExcelImportResult<T> read(InputStream inputStream, Class<T> dataClass, RowValidation<? super T> validation) {
         if (inputStream == null) {
             throw new ExcelReadException("输入流不能为空");
         }
         
         long start = System.currentTimeMillis();
         try {
-            List<T> data = EasyExcel.read(inputStream).head(dataClass).sheet().doReadSync();
-            log.info("读取完成: {}, {}条, {}ms", dataClass.getSimpleName(), data.size(), System.currentTimeMillis() - start);
-            return data;
+            List<T> rows = new ArrayList<>();
+            parse(inputStream, dataClass, rows::add, validation);
+            ExcelImportResult<T> result = validation.result(rows);
+            log.info("读取完成: {}, {}条, {}处错误{}, {}ms", dataClass.getSimpleName(), result.getTotalRows(),
+                    result.getErrors().size(), result.isTruncated() ? "（已达上限）" : "", System.currentTimeMillis() - start);
+            return result;
         } catch (Exception e) {
             log.error("读取失败: {}", dataClass.getSimpleName(), e);
             throw new ExcelReadException("读取失败: " + dataClass.getSimpleName(), e);
         }
     }
+    
+    /**
+     * 按文件头识别格式：CSV 且各列均可直接转换时使用内置 CSV 解析器，否则交给 EasyExcel
+     */
+    private <T> void parse(InputStream inputStream, Class<T> dataClass, Consumer<? super T> sink,
+                           RowValidation<? super T> validation) throws IOException {
+        InputStream source = ImportFormat.markable(inputStream);
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(dataClass);
+        if (ImportFormat.detect(source) == ImportFormat.CSV) {
+            CsvRowBinder<T> binder = CsvRowBinder.of(metadata, dateFormat(), sink, validation);
+            if (binder != null) {
+                binder.read(CsvParser.open(source));
+                return;
+            }
+            log.debug("存在无法直接转换的列，CSV 使用 EasyExcel 读取: {}", dataClass.getSimpleName());
+        }
+        EasyExcel.read(source, new RowBindingListener<T>(metadata, sink, validation))
+                .readDefaultReturn(ReadDefaultReturnEnum.READ_CELL_DATA)
+                .readCacheSelector(readCacheSelector())
+                .headRowNumber(metadata.getHeadRowNumber())
+                .sheet()
+                .doRead();
+    }
+    
+    @Override
+    public Map<String, List<?>> readSheets(InputStream inputStream, Class<?> dataClass,
+                                           Map<String, Class<?>> sheetClasses) {
+        if (inputStream == null) {
+            throw new ExcelReadException("输入流不能为空");
+        }
+        
+        long start = System.currentTimeMillis();
+        Path file = null;
+        List<Future<List<Object>>> futures = new ArrayList<>();
+        try {
+            file = Files.createTempFile("excel-import-", ".tmp");
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            File source = file.toFile();
+            List<SheetTask> tasks;
+            boolean parallel;
+            Map<String, List<?>> result = new LinkedHashMap<>();
+            try (com.alibaba.excel.ExcelReader excelReader = openWorkbook(source)) {
+                tasks = selectSheets(excelReader, dataClass, sheetClasses);
+                parallel = sheetExecutor != null && tasks.size() > 1;
+                if (!parallel) {
+                    readSheets(excelReader, tasks, result);
+                }
+            }
+            
+            if (parallel) {
+                // 并行时每个 Sheet 各自打开工作簿，共享字符串在各任务中分别解析
+                for (SheetTask task : tasks) {
+                    FutureTask<List<Object>> future = new FutureTask<>(() -> readSheet(source, task));
+                    futures.add(future);
+                    sheetExecutor.execute(future);
+                }
+                for (int i = 0; i < tasks.size(); i++) {
+                    result.put(tasks.get(i).name(), await(futures.get(i), tasks.get(i)));
+                }
+            }
+            log.info("多Sheet读取完成: {}个Sheet, {}ms", tasks.size(), System.currentTimeMillis() - start);
+            return result;
+        } catch (IOException e) {
+            throw new ExcelReadException("读取失败: 无法缓存输入文件", e);
+        } finally {
+            // 失败时取消尚未完成的 Sheet，之后再删除临时文件
+            futures.forEach(future -> future.cancel(true));
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("删除临时文件失败: {}", file, e);
+                }
+            }
+        }
+    }
+    
+    private com.alibaba.excel.ExcelReader openWorkbook(File file) {
+        try {
+            return EasyExcel.read(file)
+                    .readDefaultReturn(ReadDefaultReturnEnum.READ_CELL_DATA)
+                    .readCacheSelector(readCacheSelector())
+                    .build();
+        } catch (Exception e) {
+            throw new ExcelReadException("读取Sheet列表失败", e);
+        }
+    }
+    
+    private List<SheetTask> selectSheets(com.alibaba.excel.ExcelReader excelReader, Class<?> dataClass,
+                                         Map<String, Class<?>> sheetClasses) {
+        List<ReadSheet> sheets;
+        try {
+            sheets = excelReader.excelExecutor().sheetList();
+        } catch (Exception e) {
+            throw new ExcelReadException("读取Sheet列表失败", e);
+        }
+        
+        boolean all = sheetClasses == null || sheetClasses.isEmpty();
+        Set<String> missing = all ? Set.of() : new LinkedHashSet<>(sheetClasses.keySet());
+        List<SheetTask> tasks = new ArrayList<>();
+        for (ReadSheet sheet : sheets) {
+            String name = sheet.getSheetName();
+            if (!all && !missing.remove(name)) {
+                continue;
+            }
+            Class<?> sheetClass = all ? null : sheetClasses.get(name);
+            tasks.add(new SheetTask(sheet.getSheetNo(), name, sheetClass != null ? sheetClass : dataClass));
+        }
+        if (!missing.isEmpty()) {
+            throw new ExcelReadException("Sheet不存在: " + String.join(", ", missing));
+        }
+        return tasks;
+    }
+    
+    /**
+     * 在已打开的工作簿中依次解析各 Sheet，共享字符串只解析一次
+     */
+    private void readSheets(com.alibaba.excel.ExcelReader excelReader, List<SheetTask> tasks,
+                            Map<String, List<?>> result) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<ReadSheet> readSheets = new ArrayList<>();
+        for (SheetTask task : tasks) {
+            ExcelClassMetadata metadata = ExcelClassMetadata.of(task.dataClass());
+            List<Object> rows = new ArrayList<>();
+            result.put(task.name(), rows);
+            readSheets.add(EasyExcel.readSheet(task.sheetNo())
+                    .registerReadListener(new RowBindingListener<>(metadata, rows::add))
+                    .headRowNumber(metadata.getHeadRowNumber())
+                    .build());
+        }
+        try {
+            excelReader.read(readSheets);
+        } catch (Exception e) {
+            log.error("读取Sheet失败", e);
+            throw new ExcelReadException("读取Sheet失败", e);
+        }
+    }
+    
+    private List<Object> readSheet(File file, SheetTask task) {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(task.dataClass());
+        List<Object> rows = new ArrayList<>();
+        EasyExcel.read(file, new RowBindingListener<>(metadata, rows::add))
+                .readDefaultReturn(ReadDefaultReturnEnum.READ_CELL_DATA)
+                .readCacheSelector(readCacheSelector())
+                .headRowNumber(metadata.getHeadRowNumber())
+                .sheet(task.sheetNo())
+                .doRead();
+        log.debug("Sheet读取完成: {}, {}条", task.name(), rows.size());
+        return rows;
+    }
+    
+    private List<Object> await(Future<List<Object>> future, SheetTask task) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelReadException("读取Sheet被中断: " + task.name(), e);
+        } catch (ExecutionException e) {
+            log.error("读取Sheet失败: {}", task.name(), e.getCause());
+            throw new ExcelReadException("读取Sheet失败: " + task.name(), e.getCause());
+        }
+    }
+    
+    private String dateFormat() {
+        return properties != null ? properties.getDateFormat() : DateUtils.DATE_FORMAT_19;
+    }
+    
+    /**
+     * 未注入配置时返回 null，使用 EasyExcel 默认的缓存选择
+     */
+    private ReadCacheSelector readCacheSelector() {
+        return properties != null ? SharedStringsCacheSelector.of(properties) : null;
+    }
+    
+    private record SheetTask(int sheetNo, String name, Class<?> dataClass) {
+    }
+    
+    /**
+     * 包装行回调异常，与解析异常区分
+     */
+    private static class RowHandlerException extends RuntimeException {
+        
+        RowHandlerException(RuntimeException cause) {
+            super(cause);
+        }
+        
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
 }
-
@@ -1,7 +1,14 @@
 package com.chatlabs.cdev.reader;
 
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.validation.ExcelImportResult;
+import com.chatlabs.cdev.validation.RowValidation;
+
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Excel 读取器接口
@@ -21,5 +28,76 @@ public interface ExcelReader {
      * @throws Exception 读取异常
      */
     <T> List<T> read(InputStream inputStream, Class<T> dataClass) throws Exception;
+    
+    /**
+     * 流式读取 Excel 数据，每解析完一行即回调 rowHandler
+     * 默认实现先读取完整列表再逐行回调，支持边解析边处理的读取器应覆盖此方法
+     * 
+     * @param inputStream Excel 文件输入流
+     * @param dataClass 目标数据类型
+     * @param rowHandler 行回调，抛出的异常会中止读取
+     * @param <T> 数据类型泛型
+     * @throws Exception 读取异常
+     */
+    default <T> void read(InputStream inputStream, Class<T> dataClass, Consumer<? super T> rowHandler) throws Exception {
+        read(inputStream, dataClass).forEach(rowHandler);
+    }
+    
+    /**
+     * 读取并逐行校验 Excel 数据，校验失败记入结果而不抛出异常
+     * 默认实现先读取完整列表再逐行校验，行号按表头行数推算；支持在解析过程中校验的读取器应覆盖此方法，
+     * 以便在错误数达到上限时停止解析
+     * 
+     * @param inputStream Excel 文件输入流
+     * @param dataClass 目标数据类型
+     * @param validation 逐行校验
+     * @param <T> 数据类型泛型
+     * @return 通过校验的行及错误报告
+     * @throws Exception 读取异常
+     */
+    default <T> ExcelImportResult<T> read(InputStream inputStream, Class<T> dataClass,
+                                          RowValidation<? super T> validation) throws Exception {
+        int row = ExcelClassMetadata.of(dataClass).getHeadRowNumber();
+        List<T> rows = new ArrayList<>();
+        for (T item : read(inputStream, dataClass)) {
+            if (validation.isExhausted()) {
+                break;
+            }
+            validation.begin(null, ++row);
+            if (validation.complete(item)) {
+                rows.add(item);
+            }
+        }
+        return validation.result(rows);
+    }
+    
+    /**
+     * 流式读取并逐行校验，通过校验的行回调 rowHandler，失败的行记入 validation
+     * 默认实现先完成带校验的读取再逐行回调；支持在解析过程中校验的读取器应覆盖此方法
+     * 
+     * @param inputStream Excel 文件输入流
+     * @param dataClass 目标数据类型
+     * @param validation 逐行校验
+     * @param rowHandler 通过校验的行回调，抛出的异常会中止读取
+     * @param <T> 数据类型泛型
+     * @throws Exception 读取异常
+     */
+    default <T> void read(InputStream inputStream, Class<T> dataClass, RowValidation<? super T> validation,
+                          Consumer<? super T> rowHandler) throws Exception {
+        read(inputStream, dataClass, validation).getRows().forEach(rowHandler);
+    }
+    
+    /**
+     * 读取多个 Sheet，每个 Sheet 映射到各自的数据类型
+     * 
+     * @param inputStream Excel 文件输入流
+     * @param dataClass sheetClasses 未指定类型时使用的数据类型
+     * @param sheetClasses Sheet 名称到数据类型的映射，为空时读取全部 Sheet；值为 null 时使用 dataClass
+     * @return Sheet 名称到数据列表的映射，按工作簿中的 Sheet 顺序
+     * @throws Exception 读取异常
+     */
+    default Map<String, List<?>> readSheets(InputStream inputStream, Class<?> dataClass,
+                                            Map<String, Class<?>> sheetClasses) throws Exception {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " 不支持多 Sheet 读取");
+    }
 }
-
@@ -0,0 +1,208 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.exception.ExcelJobRejectedException;
+import com.chatlabs.cdev.exception.ExcelReadException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 边解析边消费的行迭代器
+ * 解析在有界线程池（excelParseExecutor）中通过 {@link ExcelReader} 的行回调进行，解析出的行经有界队列交给消费方，
+ * 队列满时解析线程等待，内存中最多保留 capacity 个元素；关闭后解析线程在下一行时中止并关闭输入流。
+ * 线程池已满时不启动解析，直接拒绝导入。
+ * 按批启动时队列中的元素为固定行数的批次（List），最后一批可能不足
+ *
+ * @author DD
+ */
+@Slf4j
+public class ExcelRowIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private static final Object END = new Object();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final String name;
+    private final BlockingQueue<Object> queue;
+    private volatile boolean closed;
+    private volatile Throwable failure;
+    private Object next;
+
+    private ExcelRowIterator(String name, int capacity) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /**
+     * 在解析线程池中启动解析
+     *
+     * @param reader 读取器
+     * @param inputStream 输入流，解析结束或中止后关闭
+     * @param dataClass 数据类型
+     * @param capacity 队列容量（行数）
+     * @param executor 解析线程池，通常为共享的 excelParseExecutor
+     * @param <T> 数据类型泛型
+     * @return 行迭代器
+     * @throws ExcelJobRejectedException 解析线程池已满，此时输入流已关闭
+     */
+    public static <T> ExcelRowIterator<T> start(ExcelReader reader, InputStream inputStream,
+                                                Class<T> dataClass, int capacity, Executor executor) {
+        ExcelRowIterator<T> iterator = new ExcelRowIterator<>(dataClass.getSimpleName(), capacity);
+        iterator.startProducer(reader, inputStream, dataClass, 0, executor);
+        return iterator;
+    }
+
+    /**
+     * 在解析线程池中启动按批交付的解析
+     *
+     * @param reader 读取器
+     * @param inputStream 输入流，解析结束或中止后关闭
+     * @param dataClass 数据类型
+     * @param batchSize 每批行数
+     * @param capacity 队列容量（批数）
+     * @param executor 解析线程池，通常为共享的 excelParseExecutor
+     * @param <T> 数据类型泛型
+     * @return 批次迭代器
+     * @throws ExcelJobRejectedException 解析线程池已满，此时输入流已关闭
+     */
+    public static <T> ExcelRowIterator<List<T>> startBatches(ExcelReader reader, InputStream inputStream,
+                                                             Class<T> dataClass, int batchSize, int capacity,
+                                                             Executor executor) {
+        ExcelRowIterator<List<T>> iterator = new ExcelRowIterator<>(dataClass.getSimpleName(), capacity);
+        iterator.startProducer(reader, inputStream, dataClass, Math.max(1, batchSize), executor);
+        return iterator;
+    }
+
+    private void startProducer(ExcelReader reader, InputStream inputStream, Class<?> dataClass, int batchSize,
+                               Executor executor) {
+        try {
+            executor.execute(() -> produce(reader, inputStream, dataClass, batchSize));
+        } catch (RejectedExecutionException e) {
+            closed = true;
+            closeQuietly(inputStream);
+            throw new ExcelJobRejectedException("导入解析任务过多，请稍后重试", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void produce(ExcelReader reader, InputStream inputStream, Class<?> dataClass, int batchSize) {
+        try {
+            if (batchSize > 0) {
+                List<Object>[] batch = new List[]{new ArrayList<>(batchSize)};
+                reader.read(inputStream, dataClass, row -> {
+                    batch[0].add(row);
+                    if (batch[0].size() >= batchSize) {
+                        offer(batch[0]);
+                        batch[0] = new ArrayList<>(batchSize);
+                    }
+                });
+                if (!batch[0].isEmpty()) {
+                    offer(batch[0]);
+                }
+            } else {
+                reader.read(inputStream, dataClass, this::offer);
+            }
+        } catch (Throwable e) {
+            if (!closed) {
+                failure = e;
+            }
+        } finally {
+            closeQuietly(inputStream);
+            try {
+                offer(END);
+            } catch (CancellationException ignored) {
+                // 已关闭，无需结束标记
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.debug("关闭输入流失败", e);
+        }
+    }
+
+    private void offer(Object row) {
+        try {
+            while (!closed) {
+                if (queue.offer(row, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new CancellationException("读取已关闭");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new ExcelReadException("读取被中断: " + name, e);
+            }
+        }
+        if (next == END) {
+            Throwable error = failure;
+            if (error != null) {
+                failure = null;
+                throw new ExcelReadException("读取失败: " + name, error);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T row = (T) next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * 以 Stream 形式消费，关闭 Stream 即关闭迭代器
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    /**
+     * 停止解析并丢弃尚未消费的行，可重复调用
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.exception.ExcelReadException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 导入文件格式
+ * 通过文件头的魔数识别，不依赖 Content-Type 或文件名；不是 Excel 的内容只有看起来是文本时才按 CSV 处理
+ *
+ * @author DD
+ */
+public enum ImportFormat {
+
+    /** Office Open XML（zip 容器） */
+    XLSX,
+
+    /** Excel 97-2003（OLE2 复合文档） */
+    XLS,
+
+    /** 文本，按 CSV/TSV 解析 */
+    CSV;
+
+    private static final byte[] ZIP_MAGIC = {0x50, 0x4B, 0x03, 0x04};
+    private static final byte[] OLE2_MAGIC = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    /** 判断是否为文本时检查的字节数 */
+    private static final int SNIFF_SIZE = 4 * 1024;
+
+    /**
+     * 识别输入流的格式，读取的字节会被回退
+     *
+     * @param inputStream 支持 mark/reset 的输入流，可通过 {@link #markable} 包装
+     * @return 文件格式，不是 Excel 的文本内容视为 CSV
+     * @throws IOException 读取异常
+     * @throws ExcelReadException 既不是 Excel 也不是文本，如 PDF、图片
+     */
+    public static ImportFormat detect(InputStream inputStream) throws IOException {
+        if (!inputStream.markSupported()) {
+            throw new IllegalArgumentException("输入流需要支持 mark/reset");
+        }
+        inputStream.mark(SNIFF_SIZE);
+        byte[] head;
+        try {
+            head = inputStream.readNBytes(SNIFF_SIZE);
+        } finally {
+            inputStream.reset();
+        }
+        if (startsWith(head, ZIP_MAGIC)) {
+            return XLSX;
+        }
+        if (startsWith(head, OLE2_MAGIC)) {
+            return XLS;
+        }
+        if (isText(head)) {
+            return CSV;
+        }
+        throw new ExcelReadException("不支持的文件格式");
+    }
+
+    /**
+     * 包装为支持 mark/reset 的输入流
+     */
+    public static InputStream markable(InputStream inputStream) {
+        return inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream, 64 * 1024);
+    }
+
+    /**
+     * 带 UTF-16 BOM，或不含 NUL 及制表、换行以外的控制字符且能按 UTF-8 或 GB18030 解码
+     */
+    private static boolean isText(byte[] head) {
+        if (head.length >= 2 && ((head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF
+                || (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE)) {
+            return true;
+        }
+        for (byte b : head) {
+            if (b >= 0 && b < 0x20 && b != '\t' && b != '\n' && b != '\r') {
+                return false;
+            }
+        }
+        return decodes(head, StandardCharsets.UTF_8) || decodes(head, Charset.forName("GB18030"));
+    }
+
+    private static boolean decodes(byte[] head, Charset charset) {
+        // 末尾可能截断在多字节字符中间，按未结束输入解码
+        return !charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(head), CharBuffer.allocate(head.length), false)
+                .isError();
+    }
+
+    private static boolean startsWith(byte[] head, byte[] magic) {
+        if (head.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (head[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
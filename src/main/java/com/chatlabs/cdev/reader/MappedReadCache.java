@@ -0,0 +1,85 @@
+package com.chatlabs.cdev.reader;
+
+import com.alibaba.excel.cache.ReadCache;
+import com.alibaba.excel.context.AnalysisContext;
+import com.chatlabs.cdev.exception.ExcelReadException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * 内存映射文件的共享字符串缓存
+ * 解析共享字符串表时按序号追加到临时文件，读取单元格时按偏移从映射区域解码，
+ * 堆内只保留每个字符串 8 字节的偏移索引
+ *
+ * @author DD
+ */
+class MappedReadCache implements ReadCache {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+
+    private final SpillFile file;
+    private byte[] buffer = new byte[256];
+
+    MappedReadCache(Path directory) {
+        this(directory, SpillFile.MAX_SEGMENT_SIZE);
+    }
+
+    MappedReadCache(Path directory, long segmentSize) {
+        this.file = new SpillFile(directory, "excel-shared-strings-", segmentSize);
+    }
+
+    @Override
+    public void init(AnalysisContext analysisContext) {
+    }
+
+    @Override
+    public void put(String value) {
+        try {
+            if (value == null) {
+                buffer[0] = NULL;
+                file.append(buffer, 1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length + 1 > buffer.length) {
+                buffer = new byte[Math.max(bytes.length + 1, buffer.length * 2)];
+            }
+            buffer[0] = STRING;
+            System.arraycopy(bytes, 0, buffer, 1, bytes.length);
+            file.append(buffer, bytes.length + 1);
+        } catch (IOException e) {
+            throw new ExcelReadException("写入共享字符串缓存失败", e);
+        }
+    }
+
+    @Override
+    public String get(Integer key) {
+        if (key == null || key < 0 || key >= file.size()) {
+            return null;
+        }
+        try {
+            ByteBuffer record = file.read(key);
+            if (record.get() == NULL) {
+                return null;
+            }
+            byte[] bytes = new byte[record.remaining()];
+            record.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ExcelReadException("读取共享字符串缓存失败", e);
+        }
+    }
+
+    @Override
+    public void putFinished() {
+    }
+
+    @Override
+    public void destroy() {
+        file.close();
+    }
+}
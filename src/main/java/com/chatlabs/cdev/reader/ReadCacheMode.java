@@ -0,0 +1,30 @@
+package com.chatlabs.cdev.reader;
+
+/**
+ * xlsx 导入的共享字符串缓存策略
+ * 
+ * @author DD
+ */
+public enum ReadCacheMode {
+    
+    /**
+     * 按 xl/sharedStrings.xml 的大小自动选择：不超过堆内上限时使用 HEAP，
+     * 不超过映射上限（或大小未知）时使用 MAPPED，否则使用 DISK
+     */
+    AUTO,
+    
+    /**
+     * 全部共享字符串保存在堆内（EasyExcel 的 MapCache），小文件最快
+     */
+    HEAP,
+    
+    /**
+     * 共享字符串写入临时文件，以内存映射方式按偏移读取，堆内只保留偏移索引
+     */
+    MAPPED,
+    
+    /**
+     * 共享字符串分批存放在 Ehcache 磁盘缓存中，堆内只保留最近访问的批次（EasyExcel 的 Ehcache）
+     */
+    DISK
+}
@@ -0,0 +1,22 @@
+package com.chatlabs.cdev.reader;
+
+import java.util.List;
+
+/**
+ * 分批导入处理器
+ * 在 @ExcelImport 中通过 batchHandler 指定（需注册为 Spring Bean），
+ * 解析线程每凑满 batchSize 行交给处理器一次，适合 JDBC 批量插入等场景；
+ * 处理在请求线程中进行（异步导入时在导入线程池中进行），与后续批次的解析并行
+ * 
+ * @author DD
+ */
+public interface RowBatchHandler<T> {
+    
+    /**
+     * 处理一批数据
+     * 
+     * @param batch 本批数据，最后一批可能不足 batchSize 行
+     * @throws Exception 处理异常，抛出后中止导入
+     */
+    void handle(List<T> batch) throws Exception;
+}
@@ -0,0 +1,141 @@
+package com.chatlabs.cdev.reader;
+
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.converters.Converter;
+import com.alibaba.excel.converters.ConverterKeyBuild;
+import com.alibaba.excel.metadata.data.ReadCellData;
+import com.alibaba.excel.metadata.property.ExcelContentProperty;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.alibaba.excel.util.ConverterUtils;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+import com.chatlabs.cdev.validation.RowErrors;
+import com.chatlabs.cdev.validation.RowValidation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 按预编译元数据绑定行数据的读取监听器
+ * 表头行确定每列对应的字段（与 EasyExcel 规则一致：固定 index 的列按序号，声明表头的列按名称匹配），
+ * 转换器与格式取自元数据中预先解析的内容属性，
+ * 数据行通过预编译构造器创建实例、预编译写入器设置字段，转换仍交给 EasyExcel 的转换器，
+ * 每解析完一行即交给 sink，不在监听器中累积
+ *
+ * @author DD
+ */
+class RowBindingListener<T> implements ReadListener<Map<Integer, ReadCellData<?>>> {
+
+    /** 单元格无法转换为字段类型的错误代码 */
+    static final String TYPE_MISMATCH = "TYPE_MISMATCH";
+
+    private final ExcelClassMetadata metadata;
+    private final Consumer<? super T> sink;
+    private final RowValidation<? super T> validation;
+
+    private Map<ConverterKeyBuild.ConverterKey, Converter<?>> converters;
+    private int[] cellIndexes;
+    private ExcelColumn[] boundColumns;
+    private ExcelContentProperty[] contentProperties;
+
+    RowBindingListener(ExcelClassMetadata metadata, Consumer<? super T> sink) {
+        this(metadata, sink, null);
+    }
+
+    /**
+     * @param validation 逐行校验，为 null 时不校验；转换失败记为 TYPE_MISMATCH，未通过校验的行不交给 sink
+     */
+    RowBindingListener(ExcelClassMetadata metadata, Consumer<? super T> sink, RowValidation<? super T> validation) {
+        this.metadata = metadata;
+        this.sink = sink;
+        this.validation = validation;
+    }
+
+    @Override
+    public void invokeHead(Map<Integer, ReadCellData<?>> headMap, AnalysisContext context) {
+        // 多级表头以最后一行匹配
+        Map<Integer, String> headers = ConverterUtils.convertToStringMap(headMap, context);
+        boolean autoTrim = Boolean.TRUE.equals(context.currentReadHolder().globalConfiguration().getAutoTrim());
+        List<ExcelColumn> columns = metadata.getColumns();
+        List<Integer> indexes = new ArrayList<>(columns.size());
+        List<ExcelColumn> bound = new ArrayList<>(columns.size());
+        for (ExcelColumn column : columns) {
+            int cellIndex = column.isForceIndex() || !column.isForceName()
+                    ? column.getIndex()
+                    : findHeader(headers, column.getHeader(), autoTrim);
+            if (cellIndex >= 0) {
+                indexes.add(cellIndex);
+                bound.add(column);
+            }
+        }
+
+        this.cellIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        this.boundColumns = bound.toArray(new ExcelColumn[0]);
+        this.contentProperties = new ExcelContentProperty[boundColumns.length];
+        for (int i = 0; i < boundColumns.length; i++) {
+            contentProperties[i] = boundColumns[i].getContentProperty();
+        }
+        this.converters = context.currentReadHolder().converterMap();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void invoke(Map<Integer, ReadCellData<?>> cells, AnalysisContext context) {
+        if (boundColumns == null) {
+            return;
+        }
+        Object row = metadata.newInstance();
+        Integer rowIndex = context.readRowHolder().getRowIndex();
+        RowErrors errors = validation != null
+                ? validation.begin(context.readSheetHolder().getSheetName(), rowIndex + 1)
+                : null;
+        for (int i = 0; i < boundColumns.length; i++) {
+            ReadCellData<?> cell = cells.get(cellIndexes[i]);
+            if (cell == null) {
+                continue;
+            }
+            ExcelColumn column = boundColumns[i];
+            Object value;
+            try {
+                value = ConverterUtils.convertToJavaObject(cell, column.getField(), contentProperties[i],
+                        converters, context, rowIndex, cellIndexes[i]);
+            } catch (RuntimeException e) {
+                if (errors == null) {
+                    throw e;
+                }
+                errors.reject(column.getHeader(), TYPE_MISMATCH,
+                        "无法转换为" + column.getField().getType().getSimpleName());
+                continue;
+            }
+            column.setValue(row, value);
+        }
+        if (validation == null || validation.complete((T) row)) {
+            sink.accept((T) row);
+        }
+    }
+
+    @Override
+    public boolean hasNext(AnalysisContext context) {
+        // 错误数达到上限后停止解析
+        return validation == null || !validation.isExhausted();
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+    }
+
+    static int findHeader(Map<Integer, String> headers, String header, boolean autoTrim) {
+        for (Map.Entry<Integer, String> entry : headers.entrySet()) {
+            String value = entry.getValue();
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            if (header.equals(autoTrim ? value.trim() : value)) {
+                return entry.getKey();
+            }
+        }
+        return -1;
+    }
+}
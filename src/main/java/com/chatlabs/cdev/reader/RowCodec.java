@@ -0,0 +1,232 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 行数据的紧凑二进制编码
+ * 只编码 Excel 列对应的字段（导入的行只有这些字段有值），每个值以类型标记开头；
+ * 常用类型直接编码，其余可序列化类型使用 Java 序列化
+ *
+ * @author DD
+ */
+final class RowCodec {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte BOOLEAN = 8;
+    private static final byte BIG_DECIMAL = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte LOCAL_DATE_TIME = 11;
+    private static final byte LOCAL_DATE = 12;
+    private static final byte LOCAL_TIME = 13;
+    private static final byte DATE = 14;
+    private static final byte SERIALIZED = 15;
+
+    private static final Set<Class<?>> DIRECT_TYPES = Set.of(String.class, Integer.class, Long.class, Double.class,
+            Float.class, Short.class, Byte.class, Boolean.class, BigDecimal.class, BigInteger.class,
+            LocalDateTime.class, LocalDate.class, LocalTime.class, Date.class);
+
+    private final ExcelClassMetadata metadata;
+    private final List<ExcelColumn> columns;
+    private final Buffer bytes = new Buffer();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    RowCodec(ExcelClassMetadata metadata) {
+        this.metadata = metadata;
+        this.columns = metadata.getColumns();
+    }
+
+    /**
+     * 数据类的各列是否都可以编码并在解码时写回（final 字段无法写回）
+     */
+    static boolean supports(ExcelClassMetadata metadata) {
+        for (ExcelColumn column : metadata.getColumns()) {
+            if (Modifier.isFinal(column.getField().getModifiers())) {
+                return false;
+            }
+            Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(column.getField().getType());
+            if (!DIRECT_TYPES.contains(type) && !Serializable.class.isAssignableFrom(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 编码一行，结果保留在 {@link #buffer()} 中直到下次编码
+     *
+     * @return 编码后的字节数
+     */
+    int encode(Object row) {
+        bytes.reset();
+        try {
+            for (ExcelColumn column : columns) {
+                writeValue(column.getValue(row));
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new ExcelIOException("行数据编码失败", e);
+        }
+        return bytes.size();
+    }
+
+    /**
+     * 最近一次编码结果所在的数组，有效长度为 {@link #encode} 的返回值
+     */
+    byte[] buffer() {
+        return bytes.array();
+    }
+
+    /**
+     * 从缓冲区当前位置解码一行
+     */
+    Object decode(ByteBuffer buffer) {
+        Object row = metadata.newInstance();
+        for (ExcelColumn column : columns) {
+            column.setValue(row, readValue(buffer));
+        }
+        return row;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            writeBytes(s.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Integer i) {
+            out.writeByte(INTEGER);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Float f) {
+            out.writeByte(FLOAT);
+            out.writeFloat(f);
+        } else if (value instanceof Short s) {
+            out.writeByte(SHORT);
+            out.writeShort(s);
+        } else if (value instanceof Byte b) {
+            out.writeByte(BYTE);
+            out.writeByte(b);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(BIG_DECIMAL);
+            writeBytes(d.toString().getBytes(StandardCharsets.US_ASCII));
+        } else if (value instanceof BigInteger i) {
+            out.writeByte(BIG_INTEGER);
+            writeBytes(i.toByteArray());
+        } else if (value instanceof LocalDateTime t) {
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeLong(t.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(t.getNano());
+        } else if (value instanceof LocalDate d) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(d.toEpochDay());
+        } else if (value instanceof LocalTime t) {
+            out.writeByte(LOCAL_TIME);
+            out.writeLong(t.toNanoOfDay());
+        } else if (value instanceof Date d) {
+            out.writeByte(DATE);
+            out.writeLong(d.getTime());
+        } else {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(value);
+            }
+            writeBytes(serialized.toByteArray());
+        }
+    }
+
+    private void writeBytes(byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        byte type = buffer.get();
+        return switch (type) {
+            case NULL -> null;
+            case STRING -> new String(readBytes(buffer), StandardCharsets.UTF_8);
+            case INTEGER -> buffer.getInt();
+            case LONG -> buffer.getLong();
+            case DOUBLE -> buffer.getDouble();
+            case FLOAT -> buffer.getFloat();
+            case SHORT -> buffer.getShort();
+            case BYTE -> buffer.get();
+            case BOOLEAN -> buffer.get() != 0;
+            case BIG_DECIMAL -> new BigDecimal(new String(readBytes(buffer), StandardCharsets.US_ASCII));
+            case BIG_INTEGER -> new BigInteger(readBytes(buffer));
+            case LOCAL_DATE_TIME -> LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            case LOCAL_DATE -> LocalDate.ofEpochDay(buffer.getLong());
+            case LOCAL_TIME -> LocalTime.ofNanoOfDay(buffer.getLong());
+            case DATE -> Date.from(Instant.ofEpochMilli(buffer.getLong()));
+            case SERIALIZED -> deserialize(readBytes(buffer));
+            default -> throw new ExcelIOException("无法识别的数据类型标记: " + type);
+        };
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] value = new byte[buffer.getInt()];
+        buffer.get(value);
+        return value;
+    }
+
+    private static Object deserialize(byte[] value) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(value))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new ExcelIOException("行数据解码失败", e);
+        }
+    }
+
+    /**
+     * 可直接访问内部数组的字节缓冲
+     */
+    private static class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(256);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.chatlabs.cdev.reader;
+
+import com.alibaba.excel.cache.Ehcache;
+import com.alibaba.excel.cache.MapCache;
+import com.alibaba.excel.cache.ReadCache;
+import com.alibaba.excel.cache.selector.ReadCacheSelector;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.PackagePart;
+
+import java.nio.file.Path;
+
+/**
+ * 共享字符串缓存选择器
+ * 在解析共享字符串表之前按配置的策略创建缓存，AUTO 时以 xl/sharedStrings.xml 的解压后大小选择
+ *
+ * @author DD
+ */
+@Slf4j
+class SharedStringsCacheSelector implements ReadCacheSelector {
+
+    /** DISK 策略堆内保留的批次数（每批 100 个字符串），与 EasyExcel 默认值一致 */
+    static final int DISK_ACTIVE_BATCHES = 20;
+
+    private final ReadCacheMode mode;
+    private final long heapLimit;
+    private final long mappedLimit;
+    private final Path directory;
+
+    SharedStringsCacheSelector(ReadCacheMode mode, long heapLimit, long mappedLimit, Path directory) {
+        this.mode = mode;
+        this.heapLimit = heapLimit;
+        this.mappedLimit = mappedLimit;
+        this.directory = directory;
+    }
+
+    static SharedStringsCacheSelector of(ExcelIOProperties properties) {
+        String directory = properties.getImportSpillDir();
+        return new SharedStringsCacheSelector(properties.getImportReadCache(), properties.getImportReadCacheHeapLimit(),
+                properties.getImportReadCacheMappedLimit(),
+                directory == null || directory.isEmpty() ? null : Path.of(directory));
+    }
+
+    @Override
+    public ReadCache readCache(PackagePart sharedStringsPart) {
+        long size = sharedStringsPart != null ? sharedStringsPart.getSize() : -1;
+        ReadCacheMode selected = select(size);
+        log.debug("共享字符串缓存: {}, sharedStrings.xml={} bytes", selected, size);
+        return switch (selected) {
+            case MAPPED -> new MappedReadCache(directory);
+            case DISK -> new Ehcache(null, DISK_ACTIVE_BATCHES);
+            default -> new MapCache();
+        };
+    }
+
+    /**
+     * @param size 共享字符串表解压后的字节数，未知时为负数
+     */
+    ReadCacheMode select(long size) {
+        if (mode != ReadCacheMode.AUTO) {
+            return mode;
+        }
+        if (size >= 0 && size <= heapLimit) {
+            return ReadCacheMode.HEAP;
+        }
+        return size < 0 || size <= mappedLimit ? ReadCacheMode.MAPPED : ReadCacheMode.DISK;
+    }
+}
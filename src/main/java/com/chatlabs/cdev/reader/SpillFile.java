@@ -0,0 +1,157 @@
+package com.chatlabs.cdev.reader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 只追加的记录文件
+ * 记录顺序写入临时文件并按序号记录偏移，读取时以只读内存映射访问；
+ * 文件按记录边界分段映射，每段不超过 segmentSize，新追加的记录在下次读取时从最后一段起重新映射。
+ * 非线程安全
+ *
+ * @author DD
+ */
+@Slf4j
+final class SpillFile implements Closeable {
+
+    /** 单个映射区域的最大字节数 */
+    static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private final Path directory;
+    private final String prefix;
+    private final long segmentSize;
+
+    private Path file;
+    private OutputStream out;
+    private long position;
+    private long[] offsets = new long[1024];
+    private int records;
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private int[] segmentFirstRecords = new int[4];
+    private int mappedRecords;
+
+    /**
+     * @param directory 临时文件目录，为 null 时使用系统临时目录
+     * @param prefix 临时文件名前缀
+     * @param segmentSize 单个映射区域的最大字节数
+     */
+    SpillFile(Path directory, String prefix, long segmentSize) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * 追加一条记录
+     */
+    void append(byte[] data, int length) throws IOException {
+        if (out == null) {
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            file = directory != null
+                    ? Files.createTempFile(directory, prefix, ".bin")
+                    : Files.createTempFile(prefix, ".bin");
+            out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.WRITE), 64 * 1024);
+        }
+        out.write(data, 0, length);
+        if (records == offsets.length) {
+            offsets = Arrays.copyOf(offsets, records * 2);
+        }
+        offsets[records++] = position;
+        position += length;
+    }
+
+    /**
+     * 读取第 index 条记录，返回的缓冲区从记录起始位置到记录结束
+     */
+    ByteBuffer read(int index) throws IOException {
+        if (index >= mappedRecords) {
+            map();
+        }
+        int segment = Arrays.binarySearch(segmentFirstRecords, 0, segments.size(), index);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        long base = offsets[segmentFirstRecords[segment]];
+        return segments.get(segment).duplicate()
+                .limit((int) (end(index) - base))
+                .position((int) (offsets[index] - base));
+    }
+
+    int size() {
+        return records;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    private void map() throws IOException {
+        out.flush();
+        int first = 0;
+        if (!segments.isEmpty()) {
+            first = segmentFirstRecords[segments.size() - 1];
+            segments.remove(segments.size() - 1);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (first < records) {
+                long start = offsets[first];
+                int end = first + 1;
+                while (end < records && end(end) - start <= segmentSize) {
+                    end++;
+                }
+                if (segments.size() == segmentFirstRecords.length) {
+                    segmentFirstRecords = Arrays.copyOf(segmentFirstRecords, segments.size() * 2);
+                }
+                segmentFirstRecords[segments.size()] = first;
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end(end - 1) - start));
+                first = end;
+            }
+        }
+        mappedRecords = records;
+    }
+
+    /**
+     * 第 index 条记录的结束偏移
+     */
+    private long end(int index) {
+        return index + 1 < records ? offsets[index + 1] : position;
+    }
+
+    /**
+     * 删除临时文件，映射区域随缓冲区回收释放
+     */
+    @Override
+    public void close() {
+        segments.clear();
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.debug("关闭临时文件失败: {}", file, e);
+            }
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除临时文件失败: {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.exception.ExcelReadException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 可溢写到磁盘的导入结果列表
+ * 前 threshold 行保存在内存中，之后的行编码后追加到临时文件，按偏移量索引；
+ * 读取时以内存映射方式访问文件，随机访问按偏移定位，顺序迭代即顺序读取文件
+ * <p>
+ * 溢写部分的行每次读取都会解码出新的实例，对其修改不会写回列表；列表只支持追加，不支持修改或删除。
+ * 数据类存在无法编码的列（非可序列化类型或 final 字段）时不溢写，等同于普通列表。
+ * 使用完毕后需调用 {@link #close()} 删除临时文件，非线程安全
+ *
+ * @author DD
+ */
+@Slf4j
+public class SpillableList<T> extends AbstractList<T> implements RandomAccess, AutoCloseable {
+
+    private final Class<T> dataClass;
+    private final int threshold;
+    private final List<T> memory = new ArrayList<>();
+    private final RowCodec codec;
+    private final SpillFile spillFile;
+
+    private boolean closed;
+
+    /**
+     * @param dataClass 数据类
+     * @param threshold 内存中保留的行数，小于等于 0 时不溢写
+     * @param directory 临时文件目录，为 null 时使用系统临时目录
+     */
+    public SpillableList(Class<T> dataClass, int threshold, Path directory) {
+        this(dataClass, threshold, directory, SpillFile.MAX_SEGMENT_SIZE);
+    }
+
+    SpillableList(Class<T> dataClass, int threshold, Path directory, long segmentSize) {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(dataClass);
+        this.dataClass = dataClass;
+        if (threshold > 0 && !RowCodec.supports(metadata)) {
+            log.debug("数据类存在无法编码的列，导入结果不溢写: {}", dataClass.getName());
+            threshold = 0;
+        }
+        this.threshold = threshold;
+        this.codec = threshold > 0 ? new RowCodec(metadata) : null;
+        this.spillFile = threshold > 0 ? new SpillFile(directory, "excel-import-", segmentSize) : null;
+    }
+
+    @Override
+    public boolean add(T row) {
+        ensureOpen();
+        if (codec == null || memory.size() < threshold) {
+            memory.add(row);
+        } else {
+            spill(row);
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        ensureOpen();
+        if (index < memory.size()) {
+            return memory.get(index);
+        }
+        if (index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        try {
+            return (T) codec.decode(spillFile.read(index - memory.size()));
+        } catch (IOException e) {
+            throw new ExcelReadException("读取溢写文件失败: " + spillFile.getFile(), e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return memory.size() + getSpilledRows();
+    }
+
+    /**
+     * 是否已有行溢写到磁盘
+     */
+    public boolean isSpilled() {
+        return getSpilledRows() > 0;
+    }
+
+    /**
+     * 溢写的行数
+     */
+    public int getSpilledRows() {
+        return spillFile != null ? spillFile.size() : 0;
+    }
+
+    /**
+     * 删除临时文件，之后不能再访问列表
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        memory.clear();
+        if (spillFile != null) {
+            spillFile.close();
+        }
+    }
+
+    private void spill(T row) {
+        try {
+            if (spillFile.size() == 0) {
+                log.debug("导入结果超过{}行，溢写到临时文件", threshold);
+            }
+            int length = codec.encode(row);
+            spillFile.append(codec.buffer(), length);
+        } catch (IOException e) {
+            throw new ExcelReadException("导入结果溢写失败", e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new ExcelIOException("导入结果已关闭: " + dataClass.getSimpleName());
+        }
+    }
+}
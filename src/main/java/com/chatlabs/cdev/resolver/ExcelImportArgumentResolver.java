@@ -1,31 +1,64 @@
 package com.chatlabs.cdev.resolver;
 
 import com.chatlabs.cdev.annotation.ExcelImport;
+import com.chatlabs.cdev.annotation.ExcelImportSheet;
 import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
 import com.chatlabs.cdev.exception.ExcelIOException;
 import com.chatlabs.cdev.exception.ExcelParseException;
+import com.chatlabs.cdev.exception.ExcelReadException;
+import com.chatlabs.cdev.exception.ExcelValidationException;
 import com.chatlabs.cdev.extractor.InputStreamExtractor;
+import com.chatlabs.cdev.extractor.InputStreamExtractorTable;
+import com.chatlabs.cdev.extractor.LimitedInputStream;
+import com.chatlabs.cdev.job.ImportJob;
+import com.chatlabs.cdev.job.ImportJobManager;
+import com.chatlabs.cdev.reader.BatchImportResult;
 import com.chatlabs.cdev.reader.ExcelReader;
+import com.chatlabs.cdev.reader.ExcelRowIterator;
+import com.chatlabs.cdev.reader.RowBatchHandler;
+import com.chatlabs.cdev.reader.SpillableList;
+import com.chatlabs.cdev.validation.BeanValidationRowValidator;
+import com.chatlabs.cdev.validation.ExcelImportResult;
+import com.chatlabs.cdev.validation.RowValidator;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Excel导入参数解析器
- * 支持多种输入流获取方式，可通过注解指定或自动选择
+ * 支持多种输入流获取方式，按请求内容类型经分发表选中一个提取器，可通过注解指定参与分发的提取器；
+ * 参数声明为 Stream 或 Iterator 时在后台线程解析，控制器可在解析过程中逐行消费；
+ * 指定 batchHandler 时按批交给处理器，解析与处理流水线进行，开启 async 时在导入线程池中执行；
+ * 参数声明为 Map 时读取多个 Sheet；开启校验时在解析过程中逐行校验；
+ * 配置了溢写阈值时列表参数超出阈值的行存放在临时文件中
  * 
  * @author DD
  */
@@ -34,7 +67,9 @@ public class ExcelImportArgumentResolver implements HandlerMethodArgumentResolve
     
     private final ApplicationContext applicationContext;
     private final ExcelIOProperties properties;
-    private List<InputStreamExtractor> extractors;
+    private final Map<List<Class<? extends InputStreamExtractor>>, InputStreamExtractorTable> extractorTables =
+            new ConcurrentHashMap<>();
+    private final Map<MethodParameter, ImportPlan> plans = new ConcurrentHashMap<>();
     
     public ExcelImportArgumentResolver(ApplicationContext applicationContext, ExcelIOProperties properties) {
         this.applicationContext = applicationContext;
@@ -51,99 +86,363 @@ public class ExcelImportArgumentResolver implements HandlerMethodArgumentResolve
                                   ModelAndViewContainer mavContainer,
                                   @NonNull NativeWebRequest webRequest,
                                   WebDataBinderFactory binderFactory) {
-        ExcelImport annotation = parameter.getParameterAnnotation(ExcelImport.class);
-        if (annotation == null) return null;
-        
         HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
         if (request == null) throw new ExcelIOException("无法获取HttpServletRequest");
         
         try {
-            // 获取输入流
-            InputStream inputStream = extractInputStream(request, annotation);
-            if (inputStream == null) {
-                if (annotation.required()) {
-                    throw new ExcelParseException("未找到文件: " + annotation.value());
-                }
-                return null;
-            }
+            ImportPlan plan = plan(parameter);
+            long maxFileSize = plan.maxFileSize();
             
-            // 检查文件大小
-            if (request.getContentLength() > properties.getMaxFileSize()) {
-                throw new ExcelParseException("文件超出限制: " + properties.getMaxFileSize() + " bytes");
+            // 声明了长度的请求在提取前检查，避免读取请求体
+            if (maxFileSize > 0 && request.getContentLengthLong() > maxFileSize) {
+                throw new ExcelFileSizeException(maxFileSize);
             }
             
-            // 根据参数类型处理
-            Class<?> paramType = parameter.getParameterType();
-            if (MultipartFile.class.isAssignableFrom(paramType)) {
-                return getMultipartFile(request, annotation.value());
-            }
-            if (InputStream.class.isAssignableFrom(paramType)) {
-                return inputStream;
+            // MultipartFile 参数直接取已解析的文件，不经提取器，避免流式 multipart 提取器先行消费请求体
+            if (plan.target() == ImportPlan.Target.MULTIPART_FILE) {
+                return multipartFile(request, plan);
             }
-            if (byte[].class.isAssignableFrom(paramType)) {
-                return inputStream.readAllBytes();
+            
+            // 获取输入流，读取超出限制时中止
+            InputStream inputStream = LimitedInputStream.wrap(extractInputStream(request, plan), maxFileSize);
+            if (inputStream == null) {
+                if (plan.required()) {
+                    throw new ExcelParseException("未找到文件: " + plan.fieldName());
+                }
+                return null;
             }
             
-            // 解析为对象列表
-            ExcelReader reader = applicationContext.getBean(annotation.reader());
-            List<?> result = reader.read(inputStream, annotation.dataClass());
-            log.debug("解析完成: {}条", result.size());
-            return result;
+            ExcelReader reader = plan.reader();
+            Class<?> dataClass = plan.dataClass();
+            switch (plan.target()) {
+                case INPUT_STREAM -> {
+                    return inputStream;
+                }
+                case BYTES -> {
+                    return inputStream.readAllBytes();
+                }
+                // 异步导入：暂存上传内容后立即返回任务，解析与分批处理在导入线程池中执行
+                case ASYNC -> {
+                    return submitImport(webRequest, request, plan, inputStream);
+                }
+                // 分批导入：解析与批处理流水线进行
+                case BATCHES -> {
+                    return importBatches(plan, inputStream);
+                }
+                // 多 Sheet：Sheet 名称到数据列表
+                case SHEETS -> {
+                    return reader.readSheets(inputStream, dataClass, plan.sheetClasses());
+                }
+                // 流式参数：后台解析，控制器边消费边解析
+                case STREAM, ITERATOR -> {
+                    ExcelRowIterator<?> rows = ExcelRowIterator.start(reader, inputStream, dataClass,
+                            properties.getImportQueueCapacity(), parseExecutor());
+                    closeOnCompletion(parameter, rows::close);
+                    return plan.target() == ImportPlan.Target.STREAM ? rows.stream() : rows;
+                }
+                // 逐行校验，失败的行记入错误报告
+                case VALIDATED -> {
+                    return reader.read(inputStream, dataClass, plan.rowValidation());
+                }
+                case VALIDATED_LIST -> {
+                    ExcelImportResult<?> result = reader.read(inputStream, dataClass, plan.rowValidation());
+                    if (result.hasErrors()) {
+                        throw new ExcelValidationException(result.getErrors(), result.isTruncated());
+                    }
+                    return result.getRows();
+                }
+                // 超过阈值的行溢写到临时文件，请求结束时删除
+                case SPILLABLE -> {
+                    return readSpillable(parameter, reader, inputStream, dataClass);
+                }
+                // 解析为对象列表
+                default -> {
+                    List<?> result = reader.read(inputStream, dataClass);
+                    log.debug("解析完成: {}条", result.size());
+                    return result;
+                }
+            }
         } catch (ExcelIOException e) {
-            throw e;
+            throw sizeLimitCause(e).orElse(e);
         } catch (Exception e) {
-            throw new ExcelParseException("解析失败", e);
+            throw sizeLimitCause(e).orElseGet(() -> new ExcelParseException("解析失败", e));
         }
     }
     
     /**
-     * 提取输入流
-     * 优先使用注解指定的提取器，否则自动选择
+     * 流式及分批导入的共享解析线程池
      */
-    private InputStream extractInputStream(HttpServletRequest request, ExcelImport annotation) throws Exception {
-        String fieldName = annotation.value();
-        Class<? extends InputStreamExtractor>[] specifiedExtractors = annotation.extractors();
+    private Executor parseExecutor() {
+        return applicationContext.getBean("excelParseExecutor", Executor.class);
+    }
+    
+    /**
+     * 获取参数的解析计划，首次解析时编译并缓存
+     */
+    private ImportPlan plan(MethodParameter parameter) {
+        ImportPlan plan = plans.get(parameter);
+        if (plan == null) {
+            plan = compile(parameter);
+            plans.putIfAbsent(parameter, plan);
+        }
+        return plan;
+    }
+    
+    /**
+     * 按注解、参数类型与配置编译解析计划，依赖的 Bean 在此一次性获取
+     */
+    @SuppressWarnings("unchecked")
+    private ImportPlan compile(MethodParameter parameter) {
+        ExcelImport annotation = parameter.getParameterAnnotation(ExcelImport.class);
+        if (annotation == null) {
+            throw new ExcelIOException("未找到 @ExcelImport 注解");
+        }
+        InputStreamExtractorTable extractors = extractorTable(annotation.extractors());
+        long maxFileSize = annotation.maxFileSize() >= 0 ? annotation.maxFileSize() : properties.getMaxFileSize();
+        ImportPlan.Target target = target(parameter.getParameterType(), annotation);
         
-        // 如果注解指定了提取器，只使用指定的
-        if (specifiedExtractors.length > 0) {
-            for (Class<? extends InputStreamExtractor> extractorClass : specifiedExtractors) {
-                InputStreamExtractor extractor = applicationContext.getBean(extractorClass);
-                if (extractor.supports(request, fieldName)) {
-                    InputStream is = extractor.extract(request, fieldName);
-                    if (is != null) {
-                        log.debug("使用指定提取器: {}", extractorClass.getSimpleName());
-                        return is;
-                    }
+        // 直接交付上传内容的参数不需要读取器
+        ExcelReader reader = target == ImportPlan.Target.MULTIPART_FILE || target == ImportPlan.Target.INPUT_STREAM
+                || target == ImportPlan.Target.BYTES ? null : applicationContext.getBean(annotation.reader());
+        RowBatchHandler<Object> batchHandler = null;
+        ImportJobManager jobManager = null;
+        List<RowValidator<Object>> validators = null;
+        Map<String, Class<?>> sheetClasses = null;
+        switch (target) {
+            case MULTIPART_FILE, INPUT_STREAM, BYTES -> {
+            }
+            case ASYNC -> {
+                if (annotation.batchHandler() == RowBatchHandler.class) {
+                    throw new ExcelIOException("异步导入需要指定 batchHandler");
+                }
+                if (!parameter.getParameterType().isAssignableFrom(ImportJob.class)) {
+                    throw new ExcelIOException("异步导入参数需声明为 ImportJob: "
+                            + parameter.getParameterType().getSimpleName());
+                }
+                batchHandler = applicationContext.getBean(annotation.batchHandler());
+                jobManager = applicationContext.getBean(ImportJobManager.class);
+                if (annotation.validate() || annotation.validators().length > 0) {
+                    validators = validators(annotation);
                 }
             }
+            case BATCHES -> batchHandler = applicationContext.getBean(annotation.batchHandler());
+            case SHEETS -> sheetClasses = sheetClasses(annotation);
+            case VALIDATED, VALIDATED_LIST -> validators = validators(annotation);
+            default -> {
+            }
+        }
+        
+        int batchSize = annotation.batchSize() > 0 ? annotation.batchSize() : properties.getImportBatchSize();
+        int maxErrors = annotation.maxErrors() >= 0 ? annotation.maxErrors() : properties.getImportMaxErrors();
+        log.debug("编译导入计划: {}#{}, target={}", parameter.getExecutable().getName(),
+                parameter.getParameterIndex(), target);
+        return new ImportPlan(annotation.value(), annotation.required(), annotation.dataClass(), target, extractors,
+                maxFileSize, reader, batchHandler, batchSize, jobManager,
+                validators != null ? List.copyOf(validators) : null, maxErrors, sheetClasses);
+    }
+    
+    /**
+     * 按参数类型及注解属性确定交付方式，优先级与各类型的说明一致
+     */
+    private ImportPlan.Target target(Class<?> paramType, ExcelImport annotation) {
+        if (MultipartFile.class.isAssignableFrom(paramType)) {
+            return ImportPlan.Target.MULTIPART_FILE;
+        }
+        if (InputStream.class.isAssignableFrom(paramType)) {
+            return ImportPlan.Target.INPUT_STREAM;
+        }
+        if (byte[].class.isAssignableFrom(paramType)) {
+            return ImportPlan.Target.BYTES;
+        }
+        if (annotation.async()) {
+            return ImportPlan.Target.ASYNC;
+        }
+        if (annotation.batchHandler() != RowBatchHandler.class) {
+            return ImportPlan.Target.BATCHES;
+        }
+        if (Map.class.isAssignableFrom(paramType)) {
+            return ImportPlan.Target.SHEETS;
+        }
+        if (paramType == Stream.class) {
+            return ImportPlan.Target.STREAM;
+        }
+        if (paramType == Iterator.class || paramType == ExcelRowIterator.class) {
+            return ImportPlan.Target.ITERATOR;
+        }
+        if (ExcelImportResult.class.isAssignableFrom(paramType)) {
+            return ImportPlan.Target.VALIDATED;
+        }
+        if (annotation.validate() || annotation.validators().length > 0) {
+            return ImportPlan.Target.VALIDATED_LIST;
+        }
+        if (properties.getImportSpillThreshold() > 0
+                && (paramType == List.class || paramType == Collection.class || paramType == Iterable.class)) {
+            return ImportPlan.Target.SPILLABLE;
+        }
+        return ImportPlan.Target.LIST;
+    }
+    
+    /**
+     * 读取中途超出大小限制的异常可能被读取器包装，取出后直接抛出，便于调用方识别
+     */
+    private Optional<ExcelIOException> sizeLimitCause(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ExcelFileSizeException sizeException) {
+                return Optional.of(sizeException);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * 提取输入流
+     * 按分发表为请求选中一个提取器；注解指定了提取器时使用由指定提取器构建的分发表
+     */
+    private InputStream extractInputStream(HttpServletRequest request, ImportPlan plan) throws Exception {
+        String fieldName = plan.fieldName();
+        InputStreamExtractor extractor = plan.extractors().select(request, fieldName);
+        if (extractor == null) {
+            log.debug("没有匹配的输入流提取器: contentType={}", request.getContentType());
             return null;
         }
+        log.debug("选中提取器: {}", extractor.getClass().getSimpleName());
+        return extractor.extract(request, fieldName, plan.maxFileSize());
+    }
+    
+    /**
+     * 获取提取器分发表，首次使用时构建
+     * 未指定提取器时由所有已注册的提取器按优先级构建；指定时按注解中的顺序构建，按提取器组合缓存
+     */
+    private InputStreamExtractorTable extractorTable(Class<? extends InputStreamExtractor>[] specified) {
+        return extractorTables.computeIfAbsent(List.of(specified), classes -> {
+            List<InputStreamExtractor> extractors = new ArrayList<>();
+            if (classes.isEmpty()) {
+                extractors.addAll(applicationContext.getBeansOfType(InputStreamExtractor.class).values());
+                extractors.sort(Comparator.comparingInt(InputStreamExtractor::getOrder));
+                log.debug("已注册{}个输入流提取器", extractors.size());
+            } else {
+                classes.forEach(extractorClass -> extractors.add(applicationContext.getBean(extractorClass)));
+            }
+            return new InputStreamExtractorTable(extractors);
+        });
+    }
+    
+    /**
+     * 分批导入
+     * 解析线程按批放入有界队列，请求线程依次交给处理器，处理第 N 批时第 N+1 批继续解析
+     */
+    @SuppressWarnings("unchecked")
+    private BatchImportResult importBatches(ImportPlan plan, InputStream inputStream) {
+        RowBatchHandler<Object> handler = plan.batchHandler();
+        int batchSize = plan.batchSize();
+        int capacity = Math.max(1, properties.getImportQueueCapacity() / batchSize);
         
-        // 自动选择：按优先级尝试所有已注册的提取器
-        List<InputStreamExtractor> allExtractors = getAllExtractors();
-        for (InputStreamExtractor extractor : allExtractors) {
-            if (extractor.supports(request, fieldName)) {
-                InputStream is = extractor.extract(request, fieldName);
-                if (is != null) {
-                    log.debug("自动选择提取器: {}", extractor.getClass().getSimpleName());
-                    return is;
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        int batches = 0;
+        try (ExcelRowIterator<? extends List<?>> iterator = ExcelRowIterator.startBatches(
+                plan.reader(), inputStream, plan.dataClass(), batchSize, capacity, parseExecutor())) {
+            while (iterator.hasNext()) {
+                List<?> batch = iterator.next();
+                try {
+                    handler.handle((List<Object>) batch);
+                } catch (Exception e) {
+                    throw new ExcelReadException("批量处理失败: 第" + (batches + 1) + "批", e);
                 }
+                rows += batch.size();
+                batches++;
             }
         }
+        BatchImportResult result = new BatchImportResult(rows, batches, System.currentTimeMillis() - start);
+        log.debug("分批导入完成: {}条, {}批, {}ms", rows, batches, result.getElapsedMillis());
+        return result;
+    }
+    
+    /**
+     * 提交异步导入任务，响应状态设为 202，Location 指向任务状态地址
+     */
+    private ImportJob submitImport(NativeWebRequest webRequest, HttpServletRequest request, ImportPlan plan,
+                                   InputStream inputStream) throws IOException {
+        ImportJob job = plan.jobManager().submit(plan.reader(), inputStream, plan.dataClass(), plan.batchHandler(),
+                plan.batchSize(), plan.validators() != null ? plan.rowValidation() : null);
         
-        return null;
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            response.setHeader(HttpHeaders.LOCATION,
+                    request.getContextPath() + properties.getImportJobPath() + "/" + job.getJobId());
+        }
+        return job;
+    }
+    
+    /**
+     * 读取为可溢写列表，内存中只保留前 importSpillThreshold 行
+     */
+    @SuppressWarnings("unchecked")
+    private SpillableList<Object> readSpillable(MethodParameter parameter, ExcelReader reader,
+                                                InputStream inputStream, Class<?> dataClass) throws Exception {
+        String directory = properties.getImportSpillDir();
+        SpillableList<Object> rows = new SpillableList<>((Class<Object>) dataClass, properties.getImportSpillThreshold(),
+                directory == null || directory.isEmpty() ? null : Path.of(directory));
+        try {
+            reader.read(inputStream, (Class<Object>) dataClass, rows::add);
+        } catch (Exception e) {
+            rows.close();
+            throw e;
+        }
+        closeOnCompletion(parameter, rows::close);
+        log.debug("解析完成: {}条, 溢写{}条", rows.size(), rows.getSpilledRows());
+        return rows;
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<RowValidator<Object>> validators(ExcelImport annotation) {
+        List<RowValidator<Object>> validators = new ArrayList<>();
+        if (annotation.validate()) {
+            validators.add(applicationContext.getBeanProvider(BeanValidationRowValidator.class).getIfAvailable(() -> {
+                throw new ExcelIOException("未找到 Bean Validation 实现，请引入 spring-boot-starter-validation");
+            }));
+        }
+        for (Class<? extends RowValidator> validatorClass : annotation.validators()) {
+            validators.add(applicationContext.getBean(validatorClass));
+        }
+        return validators;
+    }
+    
+    private Map<String, Class<?>> sheetClasses(ExcelImport annotation) {
+        Map<String, Class<?>> sheetClasses = new LinkedHashMap<>();
+        for (ExcelImportSheet sheet : annotation.sheets()) {
+            sheetClasses.put(sheet.value(), sheet.dataClass() != void.class ? sheet.dataClass() : annotation.dataClass());
+        }
+        return sheetClasses;
     }
     
     /**
-     * 获取所有已注册的提取器，按优先级排序
+     * 请求结束时释放导入结果：中止未消费完的后台解析，删除溢写文件
      */
-    private List<InputStreamExtractor> getAllExtractors() {
-        if (extractors == null) {
-            extractors = new ArrayList<>(applicationContext.getBeansOfType(InputStreamExtractor.class).values());
-            extractors.sort(Comparator.comparingInt(InputStreamExtractor::getOrder));
-            log.debug("已注册{}个输入流提取器", extractors.size());
+    private void closeOnCompletion(MethodParameter parameter, Runnable close) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.registerDestructionCallback(ExcelImport.class.getName() + "#" + parameter.getParameterIndex(),
+                    close, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+    
+    /**
+     * 取已解析的 MultipartFile，空文件视为未上传
+     */
+    private MultipartFile multipartFile(HttpServletRequest request, ImportPlan plan) {
+        MultipartFile file = getMultipartFile(request, plan.fieldName());
+        if (file == null || file.isEmpty()) {
+            if (plan.required()) {
+                throw new ExcelParseException("未找到文件: " + plan.fieldName());
+            }
+            return null;
+        }
+        if (plan.maxFileSize() > 0 && file.getSize() > plan.maxFileSize()) {
+            throw new ExcelFileSizeException(plan.maxFileSize());
         }
-        return extractors;
+        return file;
     }
     
     private MultipartFile getMultipartFile(HttpServletRequest request, String fieldName) {
@@ -0,0 +1,65 @@
+package com.chatlabs.cdev.resolver;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.interceptor.ExcelExportInterceptor;
+import com.chatlabs.cdev.page.ExportPageRequest;
+import com.chatlabs.cdev.page.PagingMode;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.NonNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 分页导出请求参数解析器
+ * 导出请求返回第一页，后续页由 ExcelExportHandler 直接传入；
+ * 普通请求从 page/size/cursor 参数中解析
+ * 
+ * @author DD
+ */
+public class ExportPageRequestArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    private static final String PAGE_PARAM = "page";
+    private static final String SIZE_PARAM = "size";
+    private static final String CURSOR_PARAM = "cursor";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return ExportPageRequest.class.equals(parameter.getParameterType());
+    }
+    
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        ExcelExport annotation = parameter.getMethodAnnotation(ExcelExport.class);
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (annotation != null && annotation.pagingMode() != PagingMode.NONE
+                && request != null && ExcelExportInterceptor.isExportRequest(request)) {
+            return ExportPageRequest.first(annotation.pageSize());
+        }
+        
+        int defaultSize = annotation != null ? annotation.pageSize() : DEFAULT_PAGE_SIZE;
+        int page = parseInt(webRequest.getParameter(PAGE_PARAM), 0);
+        int size = parseInt(webRequest.getParameter(SIZE_PARAM), defaultSize);
+        String cursor = webRequest.getParameter(CURSOR_PARAM);
+        return ExportPageRequest.of(Math.max(page, 0), size > 0 ? size : defaultSize,
+                StringUtils.hasText(cursor) ? cursor : null);
+    }
+    
+    private int parseInt(String value, int defaultValue) {
+        if (!StringUtils.hasText(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.chatlabs.cdev.resolver;
+
+import com.chatlabs.cdev.extractor.InputStreamExtractorTable;
+import com.chatlabs.cdev.job.ImportJobManager;
+import com.chatlabs.cdev.reader.ExcelReader;
+import com.chatlabs.cdev.reader.RowBatchHandler;
+import com.chatlabs.cdev.validation.RowValidation;
+import com.chatlabs.cdev.validation.RowValidator;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导入参数的解析计划
+ * 首次解析某个 @ExcelImport 参数时根据注解、参数类型与配置编译，之后按参数缓存复用，
+ * 请求时不再读取注解、查找 Bean 或按参数类型分支判断；与请求相关的状态（如逐行校验）每次重新创建
+ *
+ * @param fieldName 表单字段名
+ * @param required 文件是否必需
+ * @param dataClass 数据类型
+ * @param target 参数的交付方式
+ * @param extractors 提取器分发表
+ * @param maxFileSize 文件大小上限（字节），0 表示不限制
+ * @param reader 读取器，仅在需要解析时非 null
+ * @param batchHandler 分批处理器，仅 BATCHES 与 ASYNC 时非 null
+ * @param batchSize 每批行数
+ * @param jobManager 异步导入任务管理器，仅 ASYNC 时非 null
+ * @param validators 行校验器，仅 VALIDATED、VALIDATED_LIST 及启用校验的 ASYNC 时非 null
+ * @param maxErrors 错误数上限
+ * @param sheetClasses Sheet 名称到数据类型的映射，仅 SHEETS 时非 null
+ * @author DD
+ */
+record ImportPlan(String fieldName,
+                  boolean required,
+                  Class<?> dataClass,
+                  Target target,
+                  InputStreamExtractorTable extractors,
+                  long maxFileSize,
+                  ExcelReader reader,
+                  RowBatchHandler<Object> batchHandler,
+                  int batchSize,
+                  ImportJobManager jobManager,
+                  List<RowValidator<Object>> validators,
+                  int maxErrors,
+                  Map<String, Class<?>> sheetClasses) {
+
+    /**
+     * 创建本次请求的逐行校验
+     */
+    RowValidation<Object> rowValidation() {
+        return new RowValidation<>(validators, maxErrors);
+    }
+
+    /**
+     * 参数的交付方式，由参数类型及注解属性决定
+     */
+    enum Target {
+
+        /** 原始 MultipartFile */
+        MULTIPART_FILE,
+
+        /** 原始输入流 */
+        INPUT_STREAM,
+
+        /** 文件字节 */
+        BYTES,
+
+        /** 异步导入任务 */
+        ASYNC,
+
+        /** 分批导入统计 */
+        BATCHES,
+
+        /** 多 Sheet 数据 */
+        SHEETS,
+
+        /** 后台解析的 Stream */
+        STREAM,
+
+        /** 后台解析的 Iterator */
+        ITERATOR,
+
+        /** 带错误报告的导入结果 */
+        VALIDATED,
+
+        /** 校验通过的列表，存在错误时抛出异常 */
+        VALIDATED_LIST,
+
+        /** 超出阈值后溢写到临时文件的列表 */
+        SPILLABLE,
+
+        /** 对象列表 */
+        LIST
+    }
+}
@@ -0,0 +1,133 @@
+package com.chatlabs.cdev.upload;
+
+import com.chatlabs.cdev.annotation.ExcelImport;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
+import com.chatlabs.cdev.exception.ExcelParseException;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * 分片上传接口，需开启 chatlabs.excel.io.chunked-upload-enabled
+ * POST {uploadPath} 创建上传，返回 201 及服务端生成的上传ID，上传只属于创建它的用户（未登录时为会话）；
+ * PUT {uploadPath}/{uploadId} 携带 Content-Range 上传分片，未完成时返回 202，全部接收后返回 200；
+ * 分片不连续时返回 409 及已接收的范围，文件超出大小限制时返回 413。GET 查询已接收字节数用于续传，DELETE 放弃上传；
+ * 上传不存在或不属于当前请求方时返回 404。
+ * 全部接收后在 @ExcelImport 接口的请求中携带 Upload-Id 请求头即可导入，最后一个分片也可以直接发给导入接口
+ *
+ * @author DD
+ */
+@RestController
+@RequestMapping("${chatlabs.excel.io.upload-path:/excel/uploads}")
+@ConditionalOnProperty(prefix = "chatlabs.excel.io", name = "chunked-upload-enabled", havingValue = "true")
+public class ChunkedUploadController {
+
+    @Resource
+    private ChunkedUploadStore uploadStore;
+
+    @Resource
+    private ExcelIOProperties properties;
+
+    @Resource
+    private ApplicationContext applicationContext;
+
+    private volatile Long maxFileSize;
+
+    @PostMapping
+    public ResponseEntity<UploadStatus> create(HttpServletRequest request) throws IOException {
+        UploadStatus status = uploadStore.create(ChunkedUploadStore.ownerOf(request));
+        URI location = URI.create(request.getContextPath() + properties.getUploadPath() + "/" + status.getUploadId());
+        return ResponseEntity.created(location).body(status);
+    }
+
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<UploadStatus> append(@PathVariable String uploadId,
+                                               @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+                                               HttpServletRequest request) throws IOException {
+        String owner = ChunkedUploadStore.ownerOf(request);
+        if (uploadStore.status(uploadId, owner).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        UploadStatus status;
+        try {
+            status = uploadStore.append(uploadId, owner, contentRange, request.getInputStream(), maxFileSize());
+        } catch (ExcelFileSizeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        } catch (ExcelParseException e) {
+            Optional<UploadStatus> current = uploadStore.status(uploadId, owner);
+            return current.isPresent()
+                    ? respond(HttpStatus.CONFLICT, current.get())
+                    : ResponseEntity.badRequest().build();
+        }
+        return respond(status.isComplete() ? HttpStatus.OK : HttpStatus.ACCEPTED, status);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadStatus> status(@PathVariable String uploadId, HttpServletRequest request) {
+        return uploadStore.status(uploadId, ChunkedUploadStore.ownerOf(request))
+                .map(status -> respond(HttpStatus.OK, status))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable String uploadId, HttpServletRequest request) {
+        return uploadStore.abort(uploadId, ChunkedUploadStore.ownerOf(request))
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 上传时还不知道文件将导入哪个接口，取所有 @ExcelImport 接口中最宽松的大小上限：
+     * 全局配置或任一接口为 0（不限制）时不限制，否则取全局配置与各接口 maxFileSize 的最大值；
+     * 导入时再按目标接口的上限检查
+     */
+    long maxFileSize() {
+        Long limit = maxFileSize;
+        if (limit == null) {
+            limit = properties.getMaxFileSize();
+            RequestMappingHandlerMapping mapping = applicationContext.getBean("requestMappingHandlerMapping",
+                    RequestMappingHandlerMapping.class);
+            for (HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+                for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+                    ExcelImport annotation = parameter.getParameterAnnotation(ExcelImport.class);
+                    if (annotation != null && annotation.maxFileSize() >= 0 && limit > 0) {
+                        limit = annotation.maxFileSize() == 0 ? 0 : Math.max(limit, annotation.maxFileSize());
+                    }
+                }
+            }
+            maxFileSize = limit;
+        }
+        return limit;
+    }
+
+    /**
+     * 通过 Range 响应头告知已接收的范围
+     */
+    private ResponseEntity<UploadStatus> respond(HttpStatus httpStatus, UploadStatus status) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(httpStatus);
+        if (status.getReceived() > 0) {
+            builder.header(HttpHeaders.RANGE, "bytes=0-" + (status.getReceived() - 1));
+        }
+        return builder.body(status);
+    }
+}
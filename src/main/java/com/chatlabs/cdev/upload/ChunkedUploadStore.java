@@ -0,0 +1,296 @@
+package com.chatlabs.cdev.upload;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
+import com.chatlabs.cdev.exception.ExcelParseException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.Principal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 分片上传存储
+ * 上传由服务端创建，上传ID随机生成，所有者记录在 {uploadId}.owner 文件中，只有所有者可以访问该上传；
+ * 每个上传在存储目录中对应一个 {uploadId}.part 文件，分片按 Content-Range 顺序追加；
+ * 重传已接收的部分会被跳过，连接中断时已写入的字节保留，客户端查询已接收字节数后续传。
+ * 文件总大小只保存在内存中，服务重启后由下一个分片的 Content-Range 重新确定
+ *
+ * @author DD
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "chatlabs.excel.io", name = "chunked-upload-enabled", havingValue = "true")
+public class ChunkedUploadStore implements InitializingBean {
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String OWNER_SUFFIX = ".owner";
+    private static final Pattern UPLOAD_ID = Pattern.compile("[A-Za-z0-9]{1,64}");
+
+    private final ExcelIOProperties properties;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private Path directory;
+
+    public ChunkedUploadStore(ExcelIOProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        String configured = properties.getUploadDir();
+        directory = StringUtils.hasText(configured)
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "excel-uploads");
+        Files.createDirectories(directory);
+        cleanExpired();
+        log.info("分片上传存储: {}", directory);
+    }
+
+    /**
+     * 创建上传，上传ID由服务端随机生成并记录所有者
+     *
+     * @param owner 所有者，见 {@link #ownerOf(HttpServletRequest)}
+     * @return 新上传的状态
+     */
+    public UploadStatus create(String owner) throws IOException {
+        cleanExpired();
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Files.writeString(ownerFile(uploadId), owner);
+        Files.createFile(partFile(uploadId));
+        uploads.put(uploadId, new Upload(owner));
+        log.debug("创建上传: {}", uploadId);
+        return new UploadStatus(uploadId, 0, -1);
+    }
+
+    /**
+     * 追加一个分片
+     *
+     * @param uploadId 上传ID
+     * @param owner 所有者
+     * @param contentRange 分片的 Content-Range
+     * @param body 分片内容
+     * @param maxFileSize 文件大小上限（字节），0 表示不限制
+     * @return 追加后的状态
+     * @throws ExcelFileSizeException 文件总大小超出限制
+     * @throws ExcelParseException 上传不存在、不属于该所有者、分片不连续或总大小不一致
+     */
+    public UploadStatus append(String uploadId, String owner, String contentRange, InputStream body,
+                               long maxFileSize) throws IOException {
+        ContentRange range = ContentRange.parse(contentRange);
+        if (maxFileSize > 0 && range.total() > maxFileSize) {
+            throw new ExcelFileSizeException(maxFileSize);
+        }
+        Upload upload = find(uploadId, owner)
+                .orElseThrow(() -> new ExcelParseException("上传不存在: " + uploadId));
+        synchronized (upload) {
+            if (upload.total < 0) {
+                upload.total = range.total();
+            } else if (upload.total != range.total()) {
+                throw new ExcelParseException("文件总大小与已上传的分片不一致: " + range.total() + " != " + upload.total);
+            }
+            Path file = partFile(uploadId);
+            long received = size(file);
+            if (range.start() > received) {
+                throw new ExcelParseException("分片不连续: 已接收" + received + "字节, 分片起始于" + range.start());
+            }
+            if (range.end() >= received) {
+                // 重传时跳过已接收的部分
+                body.skipNBytes(received - range.start());
+                try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    copy(body, out, range.end() - received + 1);
+                }
+            }
+            UploadStatus status = new UploadStatus(uploadId, size(file), upload.total);
+            log.debug("接收分片: {}, {}/{}", uploadId, status.getReceived(), status.getTotal());
+            return status;
+        }
+    }
+
+    /**
+     * 查询上传状态
+     *
+     * @param uploadId 上传ID
+     * @param owner 所有者
+     * @return 状态，上传不存在或不属于该所有者时为空
+     */
+    public Optional<UploadStatus> status(String uploadId, String owner) {
+        return find(uploadId, owner)
+                .map(upload -> new UploadStatus(uploadId, size(partFile(uploadId)), upload.total));
+    }
+
+    /**
+     * 打开已完成的上传文件，关闭输入流时删除文件
+     *
+     * @param uploadId 上传ID
+     * @param owner 所有者
+     * @return 文件输入流
+     * @throws ExcelParseException 上传不存在、不属于该所有者或未完成
+     */
+    public InputStream open(String uploadId, String owner) throws IOException {
+        Upload upload = find(uploadId, owner)
+                .orElseThrow(() -> new ExcelParseException("上传不存在: " + uploadId));
+        synchronized (upload) {
+            UploadStatus status = new UploadStatus(uploadId, size(partFile(uploadId)), upload.total);
+            if (!status.isComplete()) {
+                throw new ExcelParseException("上传未完成: " + uploadId + ", 已接收" + status.getReceived()
+                        + "/" + status.getTotal() + "字节");
+            }
+            InputStream in = Files.newInputStream(partFile(uploadId), StandardOpenOption.DELETE_ON_CLOSE);
+            uploads.remove(uploadId);
+            deleteQuietly(ownerFile(uploadId));
+            return in;
+        }
+    }
+
+    /**
+     * 放弃上传并删除已接收的数据
+     *
+     * @return 上传是否存在且属于该所有者
+     */
+    public boolean abort(String uploadId, String owner) {
+        Optional<Upload> upload = find(uploadId, owner);
+        if (upload.isEmpty()) {
+            return false;
+        }
+        uploads.remove(uploadId);
+        deleteQuietly(partFile(uploadId));
+        deleteQuietly(ownerFile(uploadId));
+        return true;
+    }
+
+    /**
+     * 请求方标识：已登录时为用户名，否则为会话ID（没有会话时创建），
+     * 上传只能由创建它的请求方续传、查询、放弃和导入
+     *
+     * @param request HTTP请求
+     * @return 所有者
+     */
+    public static String ownerOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null
+                ? "user:" + principal.getName()
+                : "session:" + request.getSession().getId();
+    }
+
+    /**
+     * 删除超过保留时间未再收到分片的上传
+     */
+    public void cleanExpired() {
+        FileTime deadline = FileTime.from(Instant.now().minus(properties.getUploadRetentionHours(), ChronoUnit.HOURS));
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(PART_SUFFIX))
+                    .filter(file -> lastModified(file).compareTo(deadline) < 0)
+                    .forEach(file -> {
+                        String name = file.getFileName().toString();
+                        String uploadId = name.substring(0, name.length() - PART_SUFFIX.length());
+                        uploads.remove(uploadId);
+                        deleteQuietly(file);
+                        deleteQuietly(ownerFile(uploadId));
+                        log.debug("删除过期上传: {}", file);
+                    });
+        } catch (IOException e) {
+            log.warn("清理过期上传失败: {}", directory, e);
+        }
+    }
+
+    private Path partFile(String uploadId) {
+        return directory.resolve(uploadId + PART_SUFFIX);
+    }
+
+    private Path ownerFile(String uploadId) {
+        return directory.resolve(uploadId + OWNER_SUFFIX);
+    }
+
+    /**
+     * 查找属于该所有者的上传，服务重启后从所有者文件恢复，总大小由下一个分片重新确定
+     */
+    private Optional<Upload> find(String uploadId, String owner) {
+        if (uploadId == null || owner == null || !UPLOAD_ID.matcher(uploadId).matches()) {
+            return Optional.empty();
+        }
+        Upload upload = uploads.computeIfAbsent(uploadId, this::load);
+        return upload != null && upload.owner.equals(owner) ? Optional.of(upload) : Optional.empty();
+    }
+
+    private Upload load(String uploadId) {
+        Path ownerFile = ownerFile(uploadId);
+        if (!Files.exists(partFile(uploadId)) || !Files.exists(ownerFile)) {
+            return null;
+        }
+        try {
+            return new Upload(Files.readString(ownerFile));
+        } catch (IOException e) {
+            log.warn("读取上传所有者失败: {}", ownerFile, e);
+            return null;
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long remaining = limit;
+        int read;
+        while (remaining > 0 && (read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new ExcelParseException("读取上传文件失败: " + file, e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.from(Instant.now());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 上传的内存状态，同时作为追加分片的锁
+     */
+    private static class Upload {
+
+        private final String owner;
+        private long total = -1;
+
+        Upload(String owner) {
+            this.owner = owner;
+        }
+    }
+}
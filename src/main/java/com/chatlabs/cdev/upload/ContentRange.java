@@ -0,0 +1,37 @@
+package com.chatlabs.cdev.upload;
+
+import com.chatlabs.cdev.exception.ExcelParseException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分片的 Content-Range：bytes start-end/total，end 包含在内
+ *
+ * @author DD
+ */
+record ContentRange(long start, long end, long total) {
+
+    private static final Pattern PATTERN = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+)");
+
+    static ContentRange parse(String header) {
+        Matcher matcher = header != null ? PATTERN.matcher(header.trim()) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new ExcelParseException("Content-Range格式错误: " + header);
+        }
+        try {
+            ContentRange range = new ContentRange(Long.parseLong(matcher.group(1)),
+                    Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+            if (range.start > range.end || range.end >= range.total) {
+                throw new ExcelParseException("Content-Range超出范围: " + header);
+            }
+            return range;
+        } catch (NumberFormatException e) {
+            throw new ExcelParseException("Content-Range格式错误: " + header, e);
+        }
+    }
+
+    long length() {
+        return end - start + 1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.chatlabs.cdev.upload;
+
+import lombok.Getter;
+
+/**
+ * 分片上传状态
+ *
+ * @author DD
+ */
+@Getter
+public class UploadStatus {
+
+    /** 上传ID */
+    private final String uploadId;
+
+    /** 已连续接收的字节数，续传时从该位置开始 */
+    private final long received;
+
+    /** 文件总字节数，服务重启后尚未收到新分片时为 -1 */
+    private final long total;
+
+    public UploadStatus(String uploadId, long received, long total) {
+        this.uploadId = uploadId;
+        this.received = received;
+        this.total = total;
+    }
+
+    /**
+     * 是否已接收全部字节
+     */
+    public boolean isComplete() {
+        return total >= 0 && received == total;
+    }
+}
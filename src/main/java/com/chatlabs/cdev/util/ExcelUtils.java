@@ -1,13 +1,21 @@
 package com.chatlabs.cdev.util;
 
 import com.alibaba.excel.EasyExcel;
-import com.alibaba.excel.write.style.column.LongestMatchColumnWidthStyleStrategy;
+import com.alibaba.excel.write.builder.ExcelWriterBuilder;
+import com.alibaba.excel.write.handler.WriteHandler;
+import com.chatlabs.cdev.config.ExcelIOProperties;
 import com.chatlabs.cdev.exception.ExcelReadException;
 import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.processor.ColumnWidthMode;
+import com.chatlabs.cdev.processor.ExcelSheet;
+import com.chatlabs.cdev.processor.ParallelXlsxWriter;
+import com.chatlabs.cdev.reader.DefaultExcelReader;
 
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Excel 工具类
@@ -31,11 +39,70 @@ public class ExcelUtils {
      */
     public static void write(OutputStream outputStream, Class<?> dataClass, 
                            List<?> data, String sheetName) {
+        write(outputStream, dataClass, data, sheetName, new ExcelIOProperties());
+    }
+    
+    /**
+     * 写入 Excel 到输出流（指定配置）
+     * 
+     * @param outputStream 输出流
+     * @param dataClass 数据类型
+     * @param data 数据列表
+     * @param sheetName Sheet 名称
+     * @param properties 配置，用于列宽策略
+     */
+    public static void write(OutputStream outputStream, Class<?> dataClass,
+                           List<?> data, String sheetName, ExcelIOProperties properties) {
+        try {
+            ExcelWriterBuilder builder = EasyExcel.write(outputStream, dataClass);
+            WriteHandler columnWidth = ColumnWidthMode.DEFAULT.resolve(properties.getColumnWidthMode(), ColumnWidthMode.LONGEST)
+                    .writeHandler(properties.getColumnWidthSampleRows());
+            if (columnWidth != null) {
+                builder.registerWriteHandler(columnWidth);
+            }
+            builder.sheet(sheetName).doWrite(data);
+        } catch (Exception e) {
+            throw new ExcelWriteException("写入 Excel 失败", e);
+        }
+    }
+    
+    /**
+     * 写入多 Sheet Excel 到输出流
+     * 各 Sheet 在当前线程依次生成，超过单 Sheet 行数上限的数据自动拆分
+     * 
+     * @param outputStream 输出流
+     * @param sheets Sheet 列表
+     */
+    public static void writeSheets(OutputStream outputStream, List<ExcelSheet> sheets) {
+        writeSheets(outputStream, sheets, new ExcelIOProperties());
+    }
+    
+    /**
+     * 写入多 Sheet Excel 到输出流（指定配置）
+     * 
+     * @param outputStream 输出流
+     * @param sheets Sheet 列表
+     * @param properties 配置，用于日期格式与列宽策略
+     */
+    public static void writeSheets(OutputStream outputStream, List<ExcelSheet> sheets, ExcelIOProperties properties) {
+        writeSheets(outputStream, sheets, properties, Runnable::run);
+    }
+    
+    /**
+     * 写入多 Sheet Excel 到输出流，各 Sheet 由指定线程池并行生成
+     * 
+     * @param outputStream 输出流
+     * @param sheets Sheet 列表
+     * @param properties 配置，用于日期格式与列宽策略
+     * @param executor 生成 Sheet 的线程池，如注入的 excelSheetExecutor
+     */
+    public static void writeSheets(OutputStream outputStream, List<ExcelSheet> sheets, ExcelIOProperties properties,
+                                   Executor executor) {
         try {
-            EasyExcel.write(outputStream, dataClass)
-                    .registerWriteHandler(new LongestMatchColumnWidthStyleStrategy())
-                    .sheet(sheetName)
-                    .doWrite(data);
+            new ParallelXlsxWriter(properties,
+                    ColumnWidthMode.DEFAULT.resolve(properties.getColumnWidthMode(), ColumnWidthMode.LONGEST), executor).write(sheets, outputStream);
+        } catch (ExcelWriteException e) {
+            throw e;
         } catch (Exception e) {
             throw new ExcelWriteException("写入 Excel 失败", e);
         }
@@ -79,5 +146,33 @@ public class ExcelUtils {
             throw new ExcelReadException("读取 Excel 失败: Sheet " + sheetNo, e);
         }
     }
+    
+    /**
+     * 从输入流读取多个 Sheet，输入只缓存一次，各 Sheet 在当前线程依次解析（使用默认配置）
+     * 
+     * @param inputStream 输入流
+     * @param dataClass sheetClasses 未指定类型时使用的数据类型
+     * @param sheetClasses Sheet 名称到数据类型的映射，为空时读取全部 Sheet
+     * @return Sheet 名称到数据列表的映射
+     */
+    public static Map<String, List<?>> readSheets(InputStream inputStream, Class<?> dataClass,
+                                                  Map<String, Class<?>> sheetClasses) {
+        return readSheets(inputStream, dataClass, sheetClasses, new ExcelIOProperties(), null);
+    }
+    
+    /**
+     * 从输入流读取多个 Sheet，输入只缓存一次，各 Sheet 由指定线程池并行解析
+     * 
+     * @param inputStream 输入流
+     * @param dataClass sheetClasses 未指定类型时使用的数据类型
+     * @param sheetClasses Sheet 名称到数据类型的映射，为空时读取全部 Sheet
+     * @param properties 配置，用于日期格式与共享字符串缓存策略
+     * @param executor 解析 Sheet 的线程池，如注入的 excelSheetExecutor；为 null 时在当前线程依次解析
+     * @return Sheet 名称到数据列表的映射
+     */
+    public static Map<String, List<?>> readSheets(InputStream inputStream, Class<?> dataClass,
+                                                  Map<String, Class<?>> sheetClasses,
+                                                  ExcelIOProperties properties, Executor executor) {
+        return new DefaultExcelReader(properties, executor).readSheets(inputStream, dataClass, sheetClasses);
+    }
 }
-
@@ -0,0 +1,64 @@
+package com.chatlabs.cdev.validation;
+
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.metadata.ExcelColumn;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Bean Validation 行校验器
+ * @ExcelImport(validate = true) 时使用，约束违反按字段映射到列表头，错误代码为约束注解名；
+ * 仅在 Bean Validation 存在时生效
+ * 
+ * @author DD
+ */
+@Component
+@ConditionalOnClass(name = "jakarta.validation.Validator")
+public class BeanValidationRowValidator implements RowValidator<Object> {
+    
+    private final ObjectProvider<Validator> validatorProvider;
+    private volatile Validator validator;
+    
+    public BeanValidationRowValidator(ObjectProvider<Validator> validatorProvider) {
+        this.validatorProvider = validatorProvider;
+    }
+    
+    @Override
+    public void validate(Object row, RowErrors errors) {
+        for (ConstraintViolation<Object> violation : validator().validate(row)) {
+            errors.reject(column(row.getClass(), violation.getPropertyPath()),
+                    violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName(),
+                    violation.getMessage());
+        }
+    }
+    
+    private static String column(Class<?> dataClass, Path path) {
+        Iterator<Path.Node> nodes = path.iterator();
+        String property = nodes.hasNext() ? nodes.next().getName() : null;
+        if (property == null) {
+            return null;
+        }
+        for (ExcelColumn column : ExcelClassMetadata.of(dataClass).getColumns()) {
+            if (column.getField().getName().equals(property)) {
+                return column.getHeader();
+            }
+        }
+        return property;
+    }
+    
+    private Validator validator() {
+        Validator current = validator;
+        if (current == null) {
+            current = validatorProvider.getIfUnique(() -> Validation.buildDefaultValidatorFactory().getValidator());
+            validator = current;
+        }
+        return current;
+    }
+}
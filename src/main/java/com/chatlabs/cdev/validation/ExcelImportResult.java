@@ -0,0 +1,38 @@
+package com.chatlabs.cdev.validation;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 带校验的导入结果
+ * 以此类型声明 @ExcelImport 参数时，校验失败不抛出异常，由 Controller 自行处理错误报告
+ *
+ * @author DD
+ */
+@Getter
+public class ExcelImportResult<T> {
+
+    /** 通过校验的行 */
+    private final List<T> rows;
+
+    /** 校验错误，最多 maxErrors 条 */
+    private final List<ImportError> errors;
+
+    /** 已解析的行数，含未通过校验的行 */
+    private final long totalRows;
+
+    /** 是否因错误数达到上限而提前停止解析 */
+    private final boolean truncated;
+
+    public ExcelImportResult(List<T> rows, List<ImportError> errors, long totalRows, boolean truncated) {
+        this.rows = rows;
+        this.errors = errors;
+        this.totalRows = totalRows;
+        this.truncated = truncated;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
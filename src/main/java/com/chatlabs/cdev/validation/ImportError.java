@@ -0,0 +1,42 @@
+package com.chatlabs.cdev.validation;
+
+import lombok.Getter;
+
+/**
+ * 导入校验错误
+ * 定位到 Sheet、行、列，code 为错误类型（转换失败为 TYPE_MISMATCH，Bean Validation 为约束注解名）
+ *
+ * @author DD
+ */
+@Getter
+public class ImportError {
+
+    /** Sheet 名称，无法确定时为 null */
+    private final String sheetName;
+
+    /** Excel 行号，从 1 开始 */
+    private final int row;
+
+    /** 列表头，行级错误为 null */
+    private final String column;
+
+    /** 错误代码 */
+    private final String code;
+
+    /** 错误信息 */
+    private final String message;
+
+    public ImportError(String sheetName, int row, String column, String code, String message) {
+        this.sheetName = sheetName;
+        this.row = row;
+        this.column = column;
+        this.code = code;
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return (sheetName != null ? sheetName + "!" : "") + "第" + row + "行"
+                + (column != null ? "[" + column + "]" : "") + " " + code + ": " + message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.chatlabs.cdev.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 当前行的校验错误
+ * 由 {@link RowValidation} 为每行创建，校验器通过 reject 记录错误，行号与 Sheet 由读取器填充
+ *
+ * @author DD
+ */
+public final class RowErrors {
+
+    private final String sheetName;
+    private final int row;
+    private final List<ImportError> errors = new ArrayList<>(2);
+
+    RowErrors(String sheetName, int row) {
+        this.sheetName = sheetName;
+        this.row = row;
+    }
+
+    /**
+     * 记录列错误
+     *
+     * @param column 列表头
+     * @param code 错误代码
+     * @param message 错误信息
+     */
+    public void reject(String column, String code, String message) {
+        errors.add(new ImportError(sheetName, row, column, code, message));
+    }
+
+    /**
+     * 记录行级错误
+     *
+     * @param code 错误代码
+     * @param message 错误信息
+     */
+    public void reject(String code, String message) {
+        reject(null, code, message);
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    List<ImportError> getErrors() {
+        return errors;
+    }
+}
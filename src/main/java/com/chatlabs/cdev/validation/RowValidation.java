@@ -0,0 +1,88 @@
+package com.chatlabs.cdev.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一次导入的逐行校验
+ * 读取器每解析一行调用 {@link #begin} 获取错误记录（转换失败写入其中），绑定完成后调用 {@link #complete}
+ * 执行校验器；错误数达到 maxErrors 后 {@link #isExhausted} 返回 true，读取器据此停止解析
+ *
+ * @author DD
+ */
+public final class RowValidation<T> {
+
+    private final List<RowValidator<? super T>> validators;
+    private final int maxErrors;
+    private final List<ImportError> errors = new ArrayList<>();
+    private RowErrors current;
+    private long totalRows;
+
+    /**
+     * @param validators 校验器
+     * @param maxErrors 错误数上限，达到后停止解析；0 表示不限制
+     */
+    public RowValidation(List<? extends RowValidator<? super T>> validators, int maxErrors) {
+        this.validators = List.copyOf(validators);
+        this.maxErrors = Math.max(0, maxErrors);
+    }
+
+    /**
+     * 开始校验一行
+     *
+     * @param sheetName Sheet 名称
+     * @param row Excel 行号，从 1 开始
+     * @return 当前行的错误记录
+     */
+    public RowErrors begin(String sheetName, int row) {
+        current = new RowErrors(sheetName, row);
+        return current;
+    }
+
+    /**
+     * 对绑定完成的行执行校验器，存在转换错误的行不再校验
+     *
+     * @param row 行数据
+     * @return 该行是否通过校验
+     */
+    public boolean complete(T row) {
+        totalRows++;
+        RowErrors rowErrors = current;
+        current = null;
+        if (!rowErrors.hasErrors()) {
+            for (RowValidator<? super T> validator : validators) {
+                validator.validate(row, rowErrors);
+            }
+        }
+        if (!rowErrors.hasErrors()) {
+            return true;
+        }
+        for (ImportError error : rowErrors.getErrors()) {
+            if (isExhausted()) {
+                break;
+            }
+            errors.add(error);
+        }
+        return false;
+    }
+
+    /**
+     * 错误数是否已达到上限
+     */
+    public boolean isExhausted() {
+        return maxErrors > 0 && errors.size() >= maxErrors;
+    }
+
+    /**
+     * 生成导入结果
+     *
+     * @param rows 通过校验的行
+     */
+    public <R extends T> ExcelImportResult<R> result(List<R> rows) {
+        return new ExcelImportResult<>(rows, errors, totalRows, isExhausted());
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+}
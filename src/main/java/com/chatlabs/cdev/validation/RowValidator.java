@@ -0,0 +1,19 @@
+package com.chatlabs.cdev.validation;
+
+/**
+ * 导入行校验器
+ * 在 @ExcelImport(validators) 中指定（需注册为 Spring Bean），在解析过程中逐行执行，
+ * 校验失败通过 {@link RowErrors#reject} 记录而不是抛出异常，失败的行不会交给 Controller
+ * 
+ * @author DD
+ */
+public interface RowValidator<T> {
+    
+    /**
+     * 校验一行数据
+     * 
+     * @param row 行数据
+     * @param errors 当前行的错误记录
+     */
+    void validate(T row, RowErrors errors);
+}
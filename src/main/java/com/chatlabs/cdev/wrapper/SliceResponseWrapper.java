@@ -0,0 +1,34 @@
+package com.chatlabs.cdev.wrapper;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Data 分页结果包装器
+ * 导出时将 Page/Slice 解封装为当前页内容，仅在 Spring Data 存在时生效
+ * 
+ * @author DD
+ */
+@Component
+@ConditionalOnClass(name = "org.springframework.data.domain.Slice")
+public class SliceResponseWrapper implements ResponseWrapper {
+    
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return Slice.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    public Object unwrap(Object result) {
+        if (result instanceof Slice<?> slice) {
+            return slice.getContent();
+        }
+        return result;
+    }
+    
+    @Override
+    public Object wrap(Object data) {
+        return data;
+    }
+}
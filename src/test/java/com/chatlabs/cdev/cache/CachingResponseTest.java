@@ -0,0 +1,52 @@
+package com.chatlabs.cdev.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CachingResponse 单元测试
+ */
+@DisplayName("CachingResponse 单元测试")
+class CachingResponseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("开始写出响应体时才设置校验头，同时写入缓存文件")
+    void testValidatorsOnWrite() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Path file = directory.resolve("part");
+        try (CachingResponse caching = new CachingResponse(response, file)) {
+            caching.setValidators("\"etag\"", 1_700_000_000_000L);
+            assertNull(response.getHeader(HttpHeaders.ETAG));
+
+            caching.getOutputStream().write(new byte[]{1, 2, 3}, 0, 3);
+        }
+
+        assertEquals("\"etag\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1_700_000_000_000L, response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(file));
+        assertArrayEquals(new byte[]{1, 2, 3}, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("未写出响应体时不设置校验头")
+    void testNoValidatorsWithoutWrite() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try (CachingResponse caching = new CachingResponse(response, directory.resolve("part"))) {
+            caching.setValidators("\"etag\"", 1_700_000_000_000L);
+        }
+
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+}
@@ -0,0 +1,191 @@
+package com.chatlabs.cdev.cache;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportCache 单元测试
+ */
+@DisplayName("ExportCache 单元测试")
+class ExportCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private ExcelIOProperties properties;
+    private ExportCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ExcelIOProperties();
+        properties.setExportCacheDir(directory.toString());
+        cache = new ExportCache(properties);
+        cache.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("缓存键与查询参数顺序无关，参数值不同则不同")
+    void testKey() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(new ReportController(), "report");
+        MockHttpServletRequest first = request("/report/export");
+        first.addParameter("b", "2");
+        first.addParameter("a", "1");
+        MockHttpServletRequest second = request("/report/export");
+        second.addParameter("a", "1");
+        second.addParameter("b", "2");
+        MockHttpServletRequest third = request("/report/export");
+        third.addParameter("a", "1");
+        third.addParameter("b", "3");
+
+        assertEquals(key(handlerMethod, first), key(handlerMethod, second));
+        assertNotEquals(key(handlerMethod, first), key(handlerMethod, third));
+        assertNotEquals(key(handlerMethod, first), key(handlerMethod, request("/other/export")));
+    }
+
+    @Test
+    @DisplayName("同一路径下请求头解析出的参数或登录用户不同时缓存键不同")
+    void testKeyPerArgumentsAndPrincipal() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(new ReportController(), "report");
+        MockHttpServletRequest request = request("/report/export");
+
+        String tenantA = cache.key(handlerMethod, request, new Object[]{"tenant-a", Set.of(2, 1)}).orElseThrow();
+        assertEquals(tenantA, cache.key(handlerMethod, request, new Object[]{"tenant-a", Set.of(1, 2)}).orElseThrow());
+        assertNotEquals(tenantA, cache.key(handlerMethod, request, new Object[]{"tenant-b", Set.of(1, 2)}).orElseThrow());
+        // 拼接后相同的参数不产生相同的键
+        assertNotEquals(cache.key(handlerMethod, request, new Object[]{"ab", "c"}),
+                cache.key(handlerMethod, request, new Object[]{"a", "bc"}));
+
+        MockHttpServletRequest alice = request("/report/export");
+        alice.setUserPrincipal(() -> "alice");
+        MockHttpServletRequest bob = request("/report/export");
+        bob.setUserPrincipal(() -> "bob");
+        Object[] arguments = {"tenant-a", Set.of(1, 2)};
+        assertNotEquals(tenantA, cache.key(handlerMethod, alice, arguments).orElseThrow());
+        assertNotEquals(cache.key(handlerMethod, alice, arguments), cache.key(handlerMethod, bob, arguments));
+    }
+
+    @Test
+    @DisplayName("存在无法规范化的参数时不生成缓存键")
+    void testKeyWithUnsupportedArgument() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(new ReportController(), "report");
+        MockHttpServletRequest request = request("/report/export");
+
+        assertTrue(cache.key(handlerMethod, request, new Object[]{request}).isEmpty());
+        assertTrue(cache.key(handlerMethod, request, new Object[]{List.of(new Object())}).isEmpty());
+        assertTrue(cache.key(handlerMethod, request,
+                new Object[]{new Query("a", Map.of("k", List.of(1)), Optional.empty()), null}).isPresent());
+    }
+
+    @Test
+    @DisplayName("写入后命中缓存并回放响应头")
+    void testPutAndWrite() throws Exception {
+        ExportCacheEntry entry = put("k1", 3, 60);
+
+        assertSame(entry, cache.find("k1").orElseThrow());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write(entry, response);
+        assertArrayEquals(new byte[3], response.getContentAsByteArray());
+        assertEquals("text/csv", response.getContentType());
+        assertEquals("attachment; filename=\"k1.csv\"", response.getHeader("Content-Disposition"));
+        assertEquals(entry.getEtag(), response.getHeader("ETag"));
+        assertEquals(3, response.getContentLengthLong());
+    }
+
+    @Test
+    @DisplayName("过期条目不再命中且文件被删除")
+    void testExpired() throws Exception {
+        ExportCacheEntry entry = put("k1", 3, 0);
+
+        assertTrue(cache.find("k1").isEmpty());
+        assertFalse(Files.exists(entry.getFile()));
+        assertEquals(0, cache.getTotalSize());
+    }
+
+    @Test
+    @DisplayName("超过总大小上限时淘汰最久未访问的条目")
+    void testLruEviction() throws Exception {
+        properties.setExportCacheMaxSize(10);
+        ExportCacheEntry first = put("k1", 4, 60);
+        put("k2", 4, 60);
+        // 访问 k1 后 k2 成为最久未访问
+        cache.find("k1");
+        put("k3", 4, 60);
+
+        assertTrue(cache.find("k1").isPresent());
+        assertTrue(cache.find("k2").isEmpty());
+        assertTrue(cache.find("k3").isPresent());
+        assertEquals(8, cache.getTotalSize());
+        assertTrue(Files.exists(first.getFile()));
+    }
+
+    @Test
+    @DisplayName("超过上限的单个结果不缓存，重复写入替换旧结果")
+    void testOversizedAndReplace() throws Exception {
+        properties.setExportCacheMaxSize(10);
+        Path part = cache.createPart("big");
+        Files.write(part, new byte[11]);
+        assertTrue(cache.put("big", part, 1000, 60, null, null).isEmpty());
+        assertFalse(Files.exists(part));
+
+        ExportCacheEntry old = put("k1", 2, 60);
+        Path newPart = cache.createPart("k1");
+        Files.write(newPart, new byte[5]);
+        ExportCacheEntry replaced = cache.put("k1", newPart, old.getLastModified() + 1000, 60, null, null).orElseThrow();
+
+        assertEquals(1, cache.size());
+        assertEquals(5, cache.getTotalSize());
+        assertFalse(Files.exists(old.getFile()));
+        assertNotEquals(old.getEtag(), replaced.getEtag());
+    }
+
+    @Test
+    @DisplayName("启动时清空遗留文件")
+    void testCleanOnStart() throws Exception {
+        ExportCacheEntry entry = put("k1", 3, 60);
+
+        ExportCache restarted = new ExportCache(properties);
+        restarted.afterPropertiesSet();
+
+        assertFalse(Files.exists(entry.getFile()));
+        assertTrue(restarted.find("k1").isEmpty());
+    }
+
+    private ExportCacheEntry put(String key, int size, long ttlSeconds) throws Exception {
+        Path part = cache.createPart(key);
+        Files.write(part, new byte[size]);
+        return cache.put(key, part, System.currentTimeMillis(), ttlSeconds, "text/csv",
+                "attachment; filename=\"" + key + ".csv\"").orElseThrow();
+    }
+
+    private String key(HandlerMethod handlerMethod, MockHttpServletRequest request) {
+        return cache.key(handlerMethod, request, new Object[0]).orElseThrow();
+    }
+
+    private MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    record Query(String name, Map<String, List<Integer>> filters, Optional<String> sort) {
+    }
+
+    static class ReportController {
+
+        public void report() {
+        }
+    }
+}
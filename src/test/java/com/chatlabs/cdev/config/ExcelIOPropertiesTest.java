@@ -1,5 +1,7 @@
 package com.chatlabs.cdev.config;
 
+import com.chatlabs.cdev.processor.ColumnWidthMode;
+import com.chatlabs.cdev.reader.ReadCacheMode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -24,6 +26,37 @@ class ExcelIOPropertiesTest {
         assertEquals(2, properties.getAsyncCorePoolSize());
         assertEquals(5, properties.getAsyncMaxPoolSize());
         assertEquals(100, properties.getAsyncQueueCapacity());
+        assertEquals(16, properties.getImportParseThreads());
+        assertEquals(5000, properties.getExportBatchSize());
+        assertFalse(properties.isStreamingWrite());
+        assertEquals(1000, properties.getFlushIntervalRows());
+        assertEquals(256 * 1024, properties.getFlushIntervalBytes());
+        assertFalse(properties.isCsvBom());
+        assertTrue(properties.isCsvEscapeFormula());
+        assertEquals(0, properties.getSheetParallelism());
+        assertEquals(ColumnWidthMode.DEFAULT, properties.getColumnWidthMode());
+        assertEquals(100, properties.getColumnWidthSampleRows());
+        assertNull(properties.getExportCacheDir());
+        assertEquals(512L * 1024 * 1024, properties.getExportCacheMaxSize());
+        assertEquals(1000, properties.getImportQueueCapacity());
+        assertEquals(1000, properties.getImportBatchSize());
+        assertEquals(100, properties.getImportMaxErrors());
+        assertEquals(0, properties.getImportSpillThreshold());
+        assertNull(properties.getImportSpillDir());
+        assertEquals(ReadCacheMode.AUTO, properties.getImportReadCache());
+        assertEquals(5L * 1024 * 1024, properties.getImportReadCacheHeapLimit());
+        assertEquals(1024L * 1024 * 1024, properties.getImportReadCacheMappedLimit());
+        assertTrue(properties.isPreloadMetadata());
+        assertNull(properties.getJobStoreDir());
+        assertEquals(24, properties.getJobRetentionHours());
+        assertEquals("/excel/jobs", properties.getJobPath());
+        assertFalse(properties.isExportJobEnabled());
+        assertNull(properties.getImportJobDir());
+        assertEquals("/excel/import-jobs", properties.getImportJobPath());
+        assertNull(properties.getUploadDir());
+        assertEquals(24, properties.getUploadRetentionHours());
+        assertEquals("/excel/uploads", properties.getUploadPath());
+        assertFalse(properties.isStreamingMultipart());
     }
 
     @Test
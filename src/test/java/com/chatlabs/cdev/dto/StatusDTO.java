@@ -0,0 +1,46 @@
+package com.chatlabs.cdev.dto;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.converters.Converter;
+import com.alibaba.excel.converters.WriteConverterContext;
+import com.alibaba.excel.enums.CellDataTypeEnum;
+import com.alibaba.excel.metadata.data.WriteCellData;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 测试用 DTO，状态列使用自定义转换器
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusDTO {
+    
+    @ExcelProperty("名称")
+    private String name;
+    
+    @ExcelProperty(value = "状态", converter = StatusConverter.class)
+    private Integer status;
+    
+    /**
+     * 1 导出为"启用"，其余为"停用"
+     */
+    public static class StatusConverter implements Converter<Integer> {
+        
+        @Override
+        public Class<?> supportJavaTypeKey() {
+            return Integer.class;
+        }
+        
+        @Override
+        public CellDataTypeEnum supportExcelTypeKey() {
+            return CellDataTypeEnum.STRING;
+        }
+        
+        @Override
+        public WriteCellData<?> convertToExcelData(WriteConverterContext<Integer> context) {
+            return new WriteCellData<>(Integer.valueOf(1).equals(context.getValue()) ? "启用" : "停用");
+        }
+    }
+}
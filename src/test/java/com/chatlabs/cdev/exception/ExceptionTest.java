@@ -2,6 +2,8 @@ package com.chatlabs.cdev.exception;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -86,4 +88,15 @@ class ExceptionTest {
         assertEquals("解析错误", e.getMessage());
         assertEquals(cause, e.getCause());
     }
+
+    @Test
+    @DisplayName("ExcelJobRejectedException继承ExcelIOException并响应503")
+    void testExcelJobRejectedException() {
+        RuntimeException cause = new RuntimeException("原因");
+        ExcelJobRejectedException e = new ExcelJobRejectedException("任务过多", cause);
+        assertInstanceOf(ExcelIOException.class, e);
+        assertEquals(cause, e.getCause());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                ExcelJobRejectedException.class.getAnnotation(ResponseStatus.class).value());
+    }
 }
@@ -5,8 +5,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Base64;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -89,6 +91,99 @@ class Base64InputStreamExtractorTest {
         assertArrayEquals(originalContent, result.readAllBytes());
     }
 
+    @Test
+    @DisplayName("extract - 跳过其他字段及嵌套结构定位目标字段")
+    void testExtractAfterOtherFields() throws Exception {
+        byte[] originalContent = "test excel content".getBytes();
+        String base64Content = Base64.getEncoder().encodeToString(originalContent);
+        String jsonBody = "{\"meta\": {\"file\": \"nested\", \"tags\": [\"a\", {\"b\": 1}]},"
+                + " \"name\": \"users.xlsx\", \"file\": \"" + base64Content + "\", \"after\": true}";
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/json");
+        request.setContent(jsonBody.getBytes());
+
+        InputStream result = extractor.extract(request, "file");
+
+        assertNotNull(result);
+        assertArrayEquals(originalContent, result.readAllBytes());
+    }
+
+    @Test
+    @DisplayName("extract - 处理转义斜杠及MIME换行")
+    void testExtractEscapedContent() throws Exception {
+        byte[] originalContent = new byte[300];
+        for (int i = 0; i < originalContent.length; i++) {
+            originalContent[i] = (byte) i;
+        }
+        String base64Content = Base64.getMimeEncoder().encodeToString(originalContent)
+                .replace("/", "\\/")
+                .replace("\r\n", "\\r\\n");
+        String jsonBody = "{\"file\": \"" + base64Content + "\"}";
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/json");
+        request.setContent(jsonBody.getBytes());
+
+        InputStream result = extractor.extract(request, "file");
+
+        assertNotNull(result);
+        assertArrayEquals(originalContent, result.readAllBytes());
+    }
+
+    @Test
+    @DisplayName("extract - 大文件跨越解析器缓冲区边界")
+    void testExtractLargeContent() throws Exception {
+        byte[] originalContent = new byte[1024 * 1024];
+        new Random(42).nextBytes(originalContent);
+        String jsonBody = "{\"file\": \"data:application/vnd.ms-excel;base64,"
+                + Base64.getEncoder().encodeToString(originalContent) + "\"}";
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/json");
+        request.setContent(jsonBody.getBytes());
+
+        InputStream result = extractor.extract(request, "file");
+
+        assertNotNull(result);
+        assertArrayEquals(originalContent, result.readAllBytes());
+    }
+
+    @Test
+    @DisplayName("extract - 字段值未结束时读取抛出异常")
+    void testExtractTruncatedContent() throws Exception {
+        String base64Content = Base64.getEncoder().encodeToString("test excel content".getBytes());
+        String jsonBody = "{\"file\": \"" + base64Content;
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/json");
+        request.setContent(jsonBody.getBytes());
+
+        InputStream result = extractor.extract(request, "file");
+
+        assertNotNull(result);
+        assertThrows(IOException.class, result::readAllBytes);
+    }
+
+    @Test
+    @DisplayName("extract - 包含非法字符时读取抛出异常，不跳过非法字符")
+    void testExtractInvalidCharacters() throws Exception {
+        String base64Content = Base64.getEncoder().encodeToString("test excel content".getBytes());
+        for (String invalid : new String[] {
+                base64Content.substring(0, 8) + "*" + base64Content.substring(8),
+                base64Content.substring(0, 8) + " " + base64Content.substring(8),
+                base64Content.substring(0, 8) + "\\u00e9" + base64Content.substring(8)}) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setContentType("application/json");
+            request.setContent(("{\"file\": \"" + invalid + "\"}").getBytes());
+
+            InputStream result = extractor.extract(request, "file");
+
+            assertNotNull(result);
+            assertThrows(IOException.class, result::readAllBytes, invalid);
+        }
+    }
+
     @Test
     @DisplayName("extract - 字段不存在返回null")
     void testExtractFieldNotFound() throws Exception {
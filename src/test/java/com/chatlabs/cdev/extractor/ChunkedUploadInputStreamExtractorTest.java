@@ -0,0 +1,122 @@
+package com.chatlabs.cdev.extractor;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
+import com.chatlabs.cdev.exception.ExcelParseException;
+import com.chatlabs.cdev.upload.ChunkedUploadStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChunkedUploadInputStreamExtractor 单元测试
+ */
+@DisplayName("ChunkedUploadInputStreamExtractor 单元测试")
+class ChunkedUploadInputStreamExtractorTest {
+
+    @TempDir
+    Path directory;
+
+    private ExcelIOProperties properties;
+    private ChunkedUploadStore store;
+    private ChunkedUploadInputStreamExtractor extractor;
+    private String uploadId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ExcelIOProperties();
+        properties.setUploadDir(directory.toString());
+        store = new ChunkedUploadStore(properties);
+        store.afterPropertiesSet();
+        extractor = new ChunkedUploadInputStreamExtractor(store, properties);
+        uploadId = store.create("user:alice").getUploadId();
+    }
+
+    @Test
+    @DisplayName("supports - 有Upload-Id请求头返回true")
+    void testSupports() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertFalse(extractor.supports(request, "file"));
+
+        request.addHeader("Upload-Id", "abc");
+        assertTrue(extractor.supports(request, "file"));
+    }
+
+    @Test
+    @DisplayName("extract - 最后一个分片随导入请求发送")
+    void testExtractWithLastChunk() throws Exception {
+        store.append(uploadId, "user:alice", "bytes 0-4/11",
+                new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), 0);
+
+        MockHttpServletRequest request = request("alice");
+        request.addHeader("Content-Range", "bytes 5-10/11");
+        request.setContent(" world".getBytes(StandardCharsets.UTF_8));
+
+        try (InputStream in = extractor.extract(request, "file")) {
+            assertEquals("hello world", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("extract - 上传未完成抛出异常")
+    void testExtractIncomplete() throws Exception {
+        store.append(uploadId, "user:alice", "bytes 0-4/11",
+                new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), 0);
+
+        MockHttpServletRequest request = request("alice");
+
+        assertThrows(ExcelParseException.class, () -> extractor.extract(request, "file"));
+    }
+
+    @Test
+    @DisplayName("extract - 不能导入其他用户的上传")
+    void testExtractOtherOwner() throws Exception {
+        store.append(uploadId, "user:alice", "bytes 0-4/5",
+                new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), 0);
+
+        assertThrows(ExcelParseException.class, () -> extractor.extract(request("bob"), "file"));
+        try (InputStream in = extractor.extract(request("alice"), "file")) {
+            assertEquals("hello", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("extract - 最后一个分片按导入接口的大小上限检查，0 表示不限制")
+    void testExtractMaxFileSize() throws Exception {
+        properties.setMaxFileSize(5);
+        store.append(uploadId, "user:alice", "bytes 0-4/11",
+                new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), 0);
+
+        MockHttpServletRequest request = request("alice");
+        request.addHeader("Content-Range", "bytes 5-10/11");
+        request.setContent(" world".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(ExcelFileSizeException.class, () -> extractor.extract(request, "file"));
+        assertThrows(ExcelFileSizeException.class, () -> extractor.extract(request, "file", 10));
+        try (InputStream in = extractor.extract(request, "file", 0)) {
+            assertEquals("hello world", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private MockHttpServletRequest request(String user) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setUserPrincipal(() -> user);
+        request.addHeader("Upload-Id", uploadId);
+        return request;
+    }
+
+    @Test
+    @DisplayName("getOrder - 优先于其他提取器")
+    void testGetOrder() {
+        assertEquals(50, extractor.getOrder());
+    }
+}
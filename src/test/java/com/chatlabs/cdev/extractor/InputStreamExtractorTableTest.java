@@ -0,0 +1,121 @@
+package com.chatlabs.cdev.extractor;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.upload.ChunkedUploadStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * InputStreamExtractorTable 单元测试
+ */
+@DisplayName("InputStreamExtractorTable 单元测试")
+class InputStreamExtractorTableTest {
+
+    private ChunkedUploadInputStreamExtractor chunked;
+    private MultipartInputStreamExtractor multipart;
+    private Base64InputStreamExtractor base64;
+    private RawBodyInputStreamExtractor raw;
+    private InputStreamExtractorTable table;
+
+    @BeforeEach
+    void setUp() {
+        chunked = new ChunkedUploadInputStreamExtractor(mock(ChunkedUploadStore.class), new ExcelIOProperties());
+        multipart = new MultipartInputStreamExtractor();
+        base64 = new Base64InputStreamExtractor();
+        raw = new RawBodyInputStreamExtractor();
+        table = new InputStreamExtractorTable(List.of(chunked, multipart, base64, raw));
+    }
+
+    @Test
+    @DisplayName("select - 按内容类型选中提取器，忽略参数及大小写")
+    void testSelectByContentType() {
+        assertSame(base64, table.select(request("application/json"), "file"));
+        assertSame(base64, table.select(request("Application/JSON; charset=UTF-8"), "file"));
+        assertSame(raw, table.select(request("application/octet-stream"), "file"));
+        assertSame(raw, table.select(request("application/vnd.ms-excel"), "file"));
+        assertSame(raw, table.select(
+                request("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"), "file"));
+    }
+
+    @Test
+    @DisplayName("select - Multipart请求选中Multipart提取器")
+    void testSelectMultipart() {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        assertSame(multipart, table.select(request, "file"));
+
+        // 未经 MultipartResolver 包装的请求按内容类型选中
+        assertSame(multipart, table.select(request("multipart/form-data; boundary=abc"), "file"));
+    }
+
+    @Test
+    @DisplayName("select - 无匹配内容类型返回null")
+    void testSelectNoMatch() {
+        assertNull(table.select(request("text/plain"), "file"));
+        assertNull(table.select(new MockHttpServletRequest(), "file"));
+    }
+
+    @Test
+    @DisplayName("select - 未声明内容类型的提取器按优先级通过supports判断")
+    void testSelectConditional() {
+        MockHttpServletRequest request = request("application/octet-stream");
+        request.addHeader(ChunkedUploadInputStreamExtractor.UPLOAD_ID_HEADER, "upload-1");
+        assertSame(chunked, table.select(request, "file"));
+
+        // 优先级低于命中项的条件提取器不再判断
+        ProbeExtractor probe = new ProbeExtractor();
+        InputStreamExtractorTable withProbe = new InputStreamExtractorTable(List.of(raw, probe));
+        assertSame(raw, withProbe.select(request("application/octet-stream"), "file"));
+        assertEquals(0, probe.probes.get());
+        assertSame(probe, withProbe.select(request("text/plain"), "file"));
+        assertEquals(1, probe.probes.get());
+    }
+
+    @Test
+    @DisplayName("select - 只由指定提取器构建时不选中其他提取器")
+    void testSelectSubset() {
+        InputStreamExtractorTable subset = new InputStreamExtractorTable(List.of(raw));
+        assertNull(subset.select(request("application/json"), "file"));
+        assertSame(raw, subset.select(request("application/octet-stream"), "file"));
+    }
+
+    @Test
+    @DisplayName("select - 多个提取器声明同一内容类型时选中优先级高的")
+    void testSelectPriority() {
+        RawBodyInputStreamExtractor first = new RawBodyInputStreamExtractor();
+        InputStreamExtractorTable duplicated = new InputStreamExtractorTable(List.of(first, raw));
+        assertSame(first, duplicated.select(request("application/octet-stream"), "file"));
+    }
+
+    private MockHttpServletRequest request(String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType(contentType);
+        return request;
+    }
+
+    static class ProbeExtractor implements InputStreamExtractor {
+
+        private final AtomicInteger probes = new AtomicInteger();
+
+        @Override
+        public boolean supports(HttpServletRequest request, String fieldName) {
+            probes.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public InputStream extract(HttpServletRequest request, String fieldName) {
+            return InputStream.nullInputStream();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.chatlabs.cdev.extractor;
+
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LimitedInputStream 单元测试
+ */
+@DisplayName("LimitedInputStream 单元测试")
+class LimitedInputStreamTest {
+
+    @Test
+    @DisplayName("未超出限制 - 完整读取")
+    void testWithinLimit() throws Exception {
+        byte[] content = new byte[100];
+        LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(content), 100);
+
+        assertArrayEquals(content, in.readAllBytes());
+        assertEquals(100, in.getCount());
+    }
+
+    @Test
+    @DisplayName("超出限制 - 读取到上限后多出的字节即抛出")
+    void testExceedLimit() {
+        CountingInputStream source = new CountingInputStream(new byte[10_000]);
+        LimitedInputStream in = new LimitedInputStream(source, 100);
+
+        ExcelFileSizeException e = assertThrows(ExcelFileSizeException.class, in::readAllBytes);
+        assertEquals(100, e.getLimit());
+        // 底层流只多读取 1 个字节
+        assertEquals(101, source.position);
+    }
+
+    @Test
+    @DisplayName("超出限制 - 逐字节读取")
+    void testExceedLimitSingleByte() throws Exception {
+        LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(new byte[3]), 2);
+
+        assertEquals(0, in.read());
+        assertEquals(0, in.read());
+        assertThrows(ExcelFileSizeException.class, in::read);
+    }
+
+    @Test
+    @DisplayName("超出限制 - skip 同样计数")
+    void testExceedLimitBySkip() {
+        LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(new byte[1000]), 100);
+
+        assertThrows(ExcelFileSizeException.class, () -> in.skip(500));
+    }
+
+    @Test
+    @DisplayName("wrap - 限制不大于0时返回原输入流")
+    void testWrapWithoutLimit() {
+        InputStream source = new ByteArrayInputStream(new byte[1]);
+
+        assertSame(source, LimitedInputStream.wrap(source, 0));
+        assertNull(LimitedInputStream.wrap(null, 100));
+        assertInstanceOf(LimitedInputStream.class, LimitedInputStream.wrap(source, 100));
+    }
+
+    private static class CountingInputStream extends ByteArrayInputStream {
+
+        private int position;
+
+        CountingInputStream(byte[] content) {
+            super(content);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int n = super.read(b, off, len);
+            position += Math.max(n, 0);
+            return n;
+        }
+    }
+}
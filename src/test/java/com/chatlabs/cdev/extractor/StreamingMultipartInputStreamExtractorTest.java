@@ -0,0 +1,242 @@
+package com.chatlabs.cdev.extractor;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.web.multipart.support.StandardMultipartHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StreamingMultipartInputStreamExtractor 单元测试
+ */
+@DisplayName("StreamingMultipartInputStreamExtractor 单元测试")
+class StreamingMultipartInputStreamExtractorTest {
+
+    private static final String BOUNDARY = "----ExcelBoundary7MA4YWxk";
+
+    private ExcelIOProperties properties;
+    private StreamingMultipartInputStreamExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExcelIOProperties();
+        extractor = new StreamingMultipartInputStreamExtractor(properties);
+    }
+
+    @Test
+    @DisplayName("supports - 按multipart内容类型判断")
+    void testSupports() {
+        assertTrue(extractor.supports(request("multipart/form-data; boundary=abc", new byte[0]), "file"));
+        assertFalse(extractor.supports(request("application/json", new byte[0]), "file"));
+        assertFalse(extractor.supports(new MockHttpServletRequest(), "file"));
+    }
+
+    @Test
+    @DisplayName("getOrder - 开启流式解析时优先于MultipartInputStreamExtractor")
+    void testOrder() {
+        int multipartOrder = new MultipartInputStreamExtractor().getOrder();
+        assertTrue(extractor.getOrder() > multipartOrder);
+        properties.setStreamingMultipart(true);
+        assertTrue(extractor.getOrder() < multipartOrder);
+    }
+
+    @Test
+    @DisplayName("extract - 跳过其他字段，读取目标文件内容")
+    void testExtractField() throws Exception {
+        byte[] content = binary(100_000);
+        byte[] body = body(BOUNDARY,
+                part("name", null, "导入任务".getBytes(StandardCharsets.UTF_8)),
+                part("other", "other.csv", "a,b\r\n--not-a-boundary\r\n".getBytes(StandardCharsets.UTF_8)),
+                part("file", "users.xlsx", content));
+
+        InputStream result = extractor.extract(request(contentType(BOUNDARY), body), "file");
+
+        assertNotNull(result);
+        assertArrayEquals(content, result.readAllBytes());
+    }
+
+    @Test
+    @DisplayName("extract - 请求体分成小块到达时按边界正确切分")
+    void testExtractSlowBody() throws Exception {
+        byte[] content = ("姓名,年龄\r\n张三,20\r\n\r\n--" + BOUNDARY.substring(0, 10) + "\r\n李四,30\r\n")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] body = body(BOUNDARY, part("file", "users.csv", content), part("tail", null, "x".getBytes()));
+        MockHttpServletRequest request = request(contentType(BOUNDARY), body);
+
+        InputStream part = new MultipartStreamParser(new TrickleInputStream(new ByteArrayInputStream(body)), BOUNDARY)
+                .seek("file");
+        assertArrayEquals(content, part.readAllBytes());
+        assertArrayEquals(content, extractor.extract(request, "file").readAllBytes());
+    }
+
+    @Test
+    @DisplayName("extract - boundary带引号及前导内容")
+    void testExtractQuotedBoundaryWithPreamble() throws Exception {
+        byte[] content = "a,b\r\n1,2\r\n".getBytes(StandardCharsets.UTF_8);
+        byte[] multipart = body(BOUNDARY, part("file", "data.csv", content));
+        byte[] preamble = "preamble\r\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[preamble.length + multipart.length];
+        System.arraycopy(preamble, 0, body, 0, preamble.length);
+        System.arraycopy(multipart, 0, body, preamble.length, multipart.length);
+
+        InputStream result = extractor.extract(
+                request("multipart/form-data; boundary=\"" + BOUNDARY + "\"", body), "file");
+
+        assertArrayEquals(content, result.readAllBytes());
+    }
+
+    @Test
+    @DisplayName("extract - 字段不存在或为空返回null")
+    void testExtractMissingOrEmpty() throws Exception {
+        byte[] body = body(BOUNDARY, part("other", "a.csv", "x".getBytes()), part("file", "empty.csv", new byte[0]));
+
+        assertNull(extractor.extract(request(contentType(BOUNDARY), body), "missing"));
+        assertNull(extractor.extract(request(contentType(BOUNDARY), body), "file"));
+        assertNull(extractor.extract(request("multipart/form-data", body), "file"));
+    }
+
+    @Test
+    @DisplayName("extract - 逐字节读取与按块读取结果一致")
+    void testExtractSingleByteReads() throws Exception {
+        byte[] content = binary(5000);
+        byte[] body = body(BOUNDARY, part("file", "users.xlsx", content), part("tail", null, "x".getBytes()));
+
+        InputStream part = new MultipartStreamParser(new ByteArrayInputStream(body), BOUNDARY).seek("file");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = part.read()) != -1) {
+            out.write(b);
+        }
+
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    @Test
+    @DisplayName("close - 只跳过当前部分的剩余内容，不关闭请求体")
+    void testCloseDrainsPart() throws Exception {
+        byte[] tail = "after".getBytes(StandardCharsets.UTF_8);
+        byte[] body = body(BOUNDARY, part("file", "users.xlsx", binary(50_000)), part("tail", null, tail));
+        boolean[] closed = new boolean[1];
+        InputStream requestBody = new FilterInputStream(new ByteArrayInputStream(body)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        MultipartStreamParser parser = new MultipartStreamParser(requestBody, BOUNDARY);
+
+        InputStream part = parser.seek("file");
+        part.read(new byte[100]);
+        part.close();
+
+        assertFalse(closed[0]);
+        assertEquals(-1, part.read());
+        assertArrayEquals(tail, parser.seek("tail").readAllBytes());
+    }
+
+    @Test
+    @DisplayName("extract - 请求体不完整时读取失败")
+    void testExtractTruncated() throws Exception {
+        byte[] body = body(BOUNDARY, part("file", "users.xlsx", binary(4096)));
+        byte[] truncated = new byte[body.length - BOUNDARY.length() - 10];
+        System.arraycopy(body, 0, truncated, 0, truncated.length);
+
+        InputStream result = extractor.extract(request(contentType(BOUNDARY), truncated), "file");
+
+        assertNotNull(result);
+        assertThrows(EOFException.class, result::readAllBytes);
+    }
+
+    @Test
+    @DisplayName("extract - 请求已解析时读取已解析的文件")
+    void testExtractResolvedRequest() throws Exception {
+        byte[] content = "test content".getBytes();
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx", null, content));
+
+        assertArrayEquals(content, extractor.extract(request, "file").readAllBytes());
+        assertNull(extractor.extract(request, "missing"));
+    }
+
+    @Test
+    @DisplayName("extract - 延迟解析的请求直接读取请求体")
+    void testExtractLazyRequest() throws Exception {
+        byte[] content = binary(2048);
+        MockHttpServletRequest raw = request(contentType(BOUNDARY), body(BOUNDARY, part("file", "a.xlsx", content)));
+        StandardMultipartHttpServletRequest request = new StandardMultipartHttpServletRequest(raw, true);
+
+        assertArrayEquals(content, extractor.extract(request, "file").readAllBytes());
+        assertFalse(request.isResolved());
+    }
+
+    private static MockHttpServletRequest request(String contentType, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/import");
+        request.setContentType(contentType);
+        request.setContent(body);
+        return request;
+    }
+
+    private static String contentType(String boundary) {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    private static byte[] part(String name, String filename, byte[] content) {
+        String headers = "Content-Disposition: form-data; name=\"" + name + "\""
+                + (filename != null ? "; filename=\"" + filename + "\"\r\nContent-Type: application/octet-stream" : "")
+                + "\r\n\r\n";
+        byte[] head = headers.getBytes(StandardCharsets.UTF_8);
+        byte[] part = new byte[head.length + content.length];
+        System.arraycopy(head, 0, part, 0, head.length);
+        System.arraycopy(content, 0, part, head.length, content.length);
+        return part;
+    }
+
+    private static byte[] body(String boundary, byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(("--" + boundary + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(part);
+            out.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        out.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    private static byte[] binary(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * 每次只返回 1~7 个字节，模拟逐步到达的请求体
+     */
+    private static class TrickleInputStream extends FilterInputStream {
+
+        private int next;
+
+        TrickleInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            next = next % 7 + 1;
+            return super.read(b, off, Math.min(len, next));
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.chatlabs.cdev.handler;
 
+import com.alibaba.excel.EasyExcel;
 import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.cache.ExportCache;
 import com.chatlabs.cdev.dto.TestUserDTO;
 import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.page.ExportPageProvider;
+import com.chatlabs.cdev.page.ExportPageRequest;
+import com.chatlabs.cdev.page.PagingMode;
 import com.chatlabs.cdev.processor.DefaultExportProcessor;
+import com.chatlabs.cdev.processor.ExportDataProcessor;
+import com.chatlabs.cdev.processor.ExportFormat;
 import com.chatlabs.cdev.wrapper.DefaultResponseWrapper;
+import com.chatlabs.cdev.wrapper.ResponseWrapper;
+import com.chatlabs.cdev.wrapper.SliceResponseWrapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,17 +23,39 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.RequestParamMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
+import java.io.ByteArrayInputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -65,7 +98,7 @@ class ExcelExportHandlerTest {
         HandlerMethod handlerMethod = new HandlerMethod(controller, method);
 
         assertThrows(ExcelIOException.class, 
-                () -> handler.handleExport(handlerMethod, new Object[]{}, request, response));
+                () -> handler.handleExport(handlerMethod, controller.noAnnotation(), request, response));
     }
 
     @Test
@@ -78,15 +111,168 @@ class ExcelExportHandlerTest {
         DefaultExportProcessor processor = new DefaultExportProcessor();
         when(applicationContext.getBean(DefaultExportProcessor.class)).thenReturn(processor);
 
-        handler.handleExport(handlerMethod, new Object[]{}, request, response);
+        handler.handleExport(handlerMethod, controller.exportNull(), request, response);
 
         // 应该正常处理，导出空数据
         assertTrue(response.getContentType().startsWith("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
     }
 
+    @Test
+    @DisplayName("处理导出请求 - Stream返回值流式写入并关闭")
+    void testHandleExportWithStream() throws Exception {
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("exportStream");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+
+        DefaultExportProcessor processor = new DefaultExportProcessor();
+        when(applicationContext.getBean(DefaultExportProcessor.class)).thenReturn(processor);
+
+        handler.handleExport(handlerMethod, controller.exportStream(), request, response);
+
+        assertTrue(controller.streamClosed.get());
+        assertTrue(response.getContentAsByteArray().length > 0);
+    }
+
+    @Test
+    @DisplayName("处理导出请求 - 不支持的返回类型抛出异常")
+    void testHandleExportWithUnsupportedType() throws Exception {
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("exportString");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+        when(applicationContext.getBean(DefaultExportProcessor.class)).thenReturn(new DefaultExportProcessor());
+
+        assertThrows(ExcelIOException.class,
+                () -> handler.handleExport(handlerMethod, controller.exportString(), request, response));
+    }
+
+    @Test
+    @DisplayName("处理导出请求 - 自定义处理器不支持CSV时直接失败")
+    void testHandleExportCustomProcessorUnsupportedFormat() throws Exception {
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("exportCustomCsv");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+        when(applicationContext.getBean(XlsxOnlyProcessor.class)).thenReturn(new XlsxOnlyProcessor());
+
+        assertThrows(ExcelWriteException.class,
+                () -> handler.handleExport(handlerMethod, controller.exportCustomCsv(), request, response));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("处理导出请求 - 分页提供者逐页获取并解封装Page")
+    void testHandleExportWithPageProvider() throws Exception {
+        Field wrappersField = ExcelExportHandler.class.getDeclaredField("responseWrappers");
+        wrappersField.setAccessible(true);
+        wrappersField.set(handler, List.of(new DefaultResponseWrapper(), new SliceResponseWrapper()));
+
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("exportPaged");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+
+        TestPageProvider provider = new TestPageProvider();
+        when(applicationContext.getBean(DefaultExportProcessor.class)).thenReturn(new DefaultExportProcessor());
+        when(applicationContext.getBean(TestPageProvider.class)).thenReturn(provider);
+
+        handler.handleExport(handlerMethod, null, request, response);
+
+        // 25条数据，每页10条，共3页，游标为上一页最后一行id
+        assertEquals(3, provider.requests.size());
+        assertEquals(10L, provider.requests.get(1).getCursor());
+        assertEquals(20L, provider.requests.get(2).getCursor());
+        List<TestUserDTO> exported = EasyExcel.read(new ByteArrayInputStream(response.getContentAsByteArray()))
+                .head(TestUserDTO.class).sheet().doReadSync();
+        assertEquals(25, exported.size());
+    }
+
+    @Test
+    @DisplayName("处理导出请求 - 多个包装器匹配时只使用优先级最高的")
+    void testHandleExportUnwrapFirstMatch() throws Exception {
+        Field wrappersField = ExcelExportHandler.class.getDeclaredField("responseWrappers");
+        wrappersField.setAccessible(true);
+        wrappersField.set(handler, List.of(new HolderWrapper(2, List.of()), new HolderWrapper(1, null)));
+
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("exportHolder");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+        when(applicationContext.getBean(DefaultExportProcessor.class)).thenReturn(new DefaultExportProcessor());
+
+        handler.handleExport(handlerMethod, controller.exportHolder(), request, response);
+
+        List<TestUserDTO> exported = EasyExcel.read(new ByteArrayInputStream(response.getContentAsByteArray()))
+                .head(TestUserDTO.class).sheet().doReadSync();
+        assertEquals(2, exported.size());
+    }
+
+    @Test
+    @DisplayName("处理导出请求 - 分页结果外层包装解封装后再取出Page内容")
+    void testHandleExportWithWrappedPage() throws Exception {
+        Field wrappersField = ExcelExportHandler.class.getDeclaredField("responseWrappers");
+        wrappersField.setAccessible(true);
+        wrappersField.set(handler, List.of(new HolderWrapper(1, null), new SliceResponseWrapper()));
+
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("exportHolderPaged");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+
+        HolderPageProvider provider = new HolderPageProvider();
+        when(applicationContext.getBean(DefaultExportProcessor.class)).thenReturn(new DefaultExportProcessor());
+        when(applicationContext.getBean(HolderPageProvider.class)).thenReturn(provider);
+
+        handler.handleExport(handlerMethod, null, request, response);
+
+        assertEquals(3, provider.requests.size());
+        List<TestUserDTO> exported = EasyExcel.read(new ByteArrayInputStream(response.getContentAsByteArray()))
+                .head(TestUserDTO.class).sheet().doReadSync();
+        assertEquals(25, exported.size());
+    }
+
+    @Test
+    @DisplayName("检查异步返回值 - Stream及Iterator被拒绝并关闭，List通过")
+    void testCheckDetached() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<TestUserDTO> stream = Stream.<TestUserDTO>empty().onClose(() -> closed.set(true));
+
+        assertThrows(ExcelIOException.class, () -> handler.checkDetached(stream));
+        assertTrue(closed.get());
+        assertThrows(ExcelIOException.class, () -> handler.checkDetached(List.of().iterator()));
+        handler.checkDetached(List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25)));
+        handler.checkDetached(null);
+    }
+
     // 测试用Controller
+    @Test
+    @DisplayName("查找缓存时解析的参数供方法调用复用，参数解析器按处理方法只创建一次")
+    void testServeCachedResolvesArgumentsOnce() throws Exception {
+        ExportCache exportCache = mock(ExportCache.class);
+        ReflectionTestUtils.setField(handler, "exportCache", exportCache);
+        RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter();
+        adapter.setArgumentResolvers(List.of(new RequestParamMethodArgumentResolver(true)));
+        when(applicationContext.getBean(RequestMappingHandlerAdapter.class)).thenReturn(adapter);
+        HandlerMethod handlerMethod = new HandlerMethod(new TestController(),
+                TestController.class.getMethod("exportCached", String.class));
+        when(exportCache.key(eq(handlerMethod), eq(request), any())).thenReturn(Optional.of("key"));
+        when(exportCache.find("key")).thenReturn(Optional.empty());
+        request.setMethod("GET");
+        request.setParameter("dept", "研发");
+
+        assertTrue(!handler.serveCached(handlerMethod, request, response));
+        assertTrue(!handler.serveCached(handlerMethod, request, response));
+        verify(applicationContext, times(1)).getBean(RequestMappingHandlerAdapter.class);
+
+        // 调用方法时直接取已解析的参数，不再交给其余解析器
+        HandlerMethodArgumentResolver delegate = mock(HandlerMethodArgumentResolver.class);
+        when(delegate.supportsParameter(any())).thenReturn(true);
+        ResolvedExportArgumentResolver resolver = new ResolvedExportArgumentResolver(delegate);
+        assertTrue(resolver.supportsParameter(handlerMethod.getMethodParameters()[0]));
+        assertEquals("研发", resolver.resolveArgument(handlerMethod.getMethodParameters()[0],
+                new ModelAndViewContainer(), new ServletWebRequest(request, response), null));
+        verify(delegate, never()).resolveArgument(any(), any(), any(), any());
+    }
+
     public static class TestController {
 
+        final AtomicBoolean streamClosed = new AtomicBoolean();
+
         @ExcelExport(fileName = "测试", dataClass = TestUserDTO.class)
         public List<TestUserDTO> exportUsers() {
             return Arrays.asList(
@@ -100,8 +286,119 @@ class ExcelExportHandlerTest {
             return null;
         }
 
+        @ExcelExport(fileName = "流式", dataClass = TestUserDTO.class)
+        public Stream<TestUserDTO> exportStream() {
+            return IntStream.rangeClosed(1, 100)
+                    .mapToObj(i -> new TestUserDTO((long) i, "user" + i, "user" + i + "@test.com", 20))
+                    .onClose(() -> streamClosed.set(true));
+        }
+
+        @ExcelExport(fileName = "错误类型", dataClass = TestUserDTO.class)
+        public String exportString() {
+            return "invalid";
+        }
+
+        @ExcelExport(fileName = "分页", dataClass = TestUserDTO.class, reuseMethod = false,
+                pagingMode = PagingMode.KEYSET, pageSize = 10, pageProvider = TestPageProvider.class)
+        public List<TestUserDTO> exportPaged() {
+            return List.of();
+        }
+
+        @ExcelExport(fileName = "包装", dataClass = TestUserDTO.class)
+        public Holder exportHolder() {
+            return new Holder(exportUsers());
+        }
+
+        @ExcelExport(fileName = "包装分页", dataClass = TestUserDTO.class, reuseMethod = false,
+                pagingMode = PagingMode.KEYSET, pageSize = 10, pageProvider = HolderPageProvider.class)
+        public Holder exportHolderPaged() {
+            return new Holder(List.of());
+        }
+
+        @ExcelExport(fileName = "自定义", dataClass = TestUserDTO.class, format = ExportFormat.CSV,
+                processor = XlsxOnlyProcessor.class)
+        public List<TestUserDTO> exportCustomCsv() {
+            return exportUsers();
+        }
+
+        @ExcelExport(fileName = "缓存", dataClass = TestUserDTO.class, cacheSeconds = 60)
+        public List<TestUserDTO> exportCached(@RequestParam String dept) {
+            return exportUsers();
+        }
+
         public List<TestUserDTO> noAnnotation() {
             return List.of();
         }
     }
+
+    // 测试用自定义处理器，未覆盖 configure
+    public static class XlsxOnlyProcessor implements ExportDataProcessor {
+
+        @Override
+        public void process(List<?> data, Class<?> dataClass, String fileName, String sheetName,
+                            HttpServletResponse response) {
+            throw new IllegalStateException("不应被调用");
+        }
+    }
+
+    // 测试用分页提供者，共25条数据
+    public static class TestPageProvider implements ExportPageProvider {
+
+        final List<ExportPageRequest> requests = new ArrayList<>();
+
+        @Override
+        public Object fetchPage(ExportPageRequest pageRequest) {
+            requests.add(pageRequest);
+            long start = pageRequest.getCursor() == null ? 1 : pageRequest.getCursor(Long.class) + 1;
+            List<TestUserDTO> rows = LongStream.range(start, Math.min(start + pageRequest.getPageSize(), 26))
+                    .mapToObj(i -> new TestUserDTO(i, "user" + i, "user" + i + "@test.com", 20))
+                    .toList();
+            return new PageImpl<>(rows);
+        }
+    }
+
+    // 测试用分页提供者，每页结果再包装一层
+    public static class HolderPageProvider extends TestPageProvider {
+
+        @Override
+        public Object fetchPage(ExportPageRequest pageRequest) {
+            return new Holder(super.fetchPage(pageRequest));
+        }
+    }
+
+    // 测试用响应包装类型
+    public record Holder(Object data) {
+    }
+
+    // 解封装 Holder 的包装器，content 为 null 时返回包装的数据，否则返回 content
+    static class HolderWrapper implements ResponseWrapper {
+
+        private final int order;
+        private final Object content;
+
+        HolderWrapper(int order, Object content) {
+            this.order = order;
+            this.content = content;
+        }
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return Holder.class.isAssignableFrom(clazz);
+        }
+
+        @Override
+        public Object unwrap(Object result) {
+            return content != null ? content : ((Holder) result).data();
+        }
+
+        @Override
+        public Object wrap(Object data) {
+            return new Holder(data);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package com.chatlabs.cdev.handler;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.job.ExportJob;
+import com.chatlabs.cdev.job.ExportJobManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ExcelExportReturnValueHandler 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExcelExportReturnValueHandler 单元测试")
+class ExcelExportReturnValueHandlerTest {
+
+    @Mock
+    private ExcelExportHandler exportHandler;
+
+    @Mock
+    private ExportJobManager jobManager;
+
+    @Mock
+    private HandlerMethodReturnValueHandler delegate;
+
+    private ExcelExportReturnValueHandler returnValueHandler;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod handlerMethod;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        returnValueHandler = new ExcelExportReturnValueHandler(exportHandler, jobManager, delegate);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        Method method = TestController.class.getMethod("exportUsers");
+        handlerMethod = new HandlerMethod(new TestController(), method);
+    }
+
+    @Test
+    @DisplayName("supportsReturnType - 仅支持ExcelExport方法")
+    void testSupportsReturnType() throws Exception {
+        assertTrue(returnValueHandler.supportsReturnType(handlerMethod.getReturnType()));
+
+        Method method = TestController.class.getMethod("noAnnotation");
+        assertFalse(returnValueHandler.supportsReturnType(new MethodParameter(method, -1)));
+    }
+
+    @Test
+    @DisplayName("导出请求 - 使用返回值导出且不再渲染响应体")
+    void testHandleExportRequest() throws Exception {
+        request.setAttribute("_excel_export_flag", true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod);
+        List<TestUserDTO> returnValue = List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25));
+        ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+
+        returnValueHandler.handleReturnValue(returnValue, handlerMethod.getReturnType(), mavContainer,
+                new ServletWebRequest(request, response));
+
+        assertTrue(mavContainer.isRequestHandled());
+        verify(exportHandler).handleExport(handlerMethod, returnValue, request, response);
+        verify(delegate, never()).handleReturnValue(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("普通请求 - 交给原有处理器")
+    void testHandleNormalRequest() throws Exception {
+        List<TestUserDTO> returnValue = List.of();
+        ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+
+        returnValueHandler.handleReturnValue(returnValue, handlerMethod.getReturnType(), mavContainer, webRequest);
+
+        verify(delegate).handleReturnValue(eq(returnValue), any(), eq(mavContainer), eq(webRequest));
+        verify(exportHandler, never()).handleExport(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("异步导出请求 - 提交任务并返回任务信息")
+    void testHandleAsyncExportRequest() throws Exception {
+        Method method = TestController.class.getMethod("exportUsersAsync");
+        HandlerMethod asyncMethod = new HandlerMethod(new TestController(), method);
+        request.setAttribute("_excel_export_flag", true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, asyncMethod);
+        List<TestUserDTO> returnValue = List.of();
+        ExportJob job = new ExportJob();
+        when(jobManager.submit(asyncMethod, returnValue, request)).thenReturn(job);
+        ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+
+        returnValueHandler.handleReturnValue(returnValue, asyncMethod.getReturnType(), mavContainer,
+                new ServletWebRequest(request, response));
+
+        assertTrue(mavContainer.isRequestHandled());
+        verify(jobManager).writeSubmitted(job, request, response);
+        verify(exportHandler, never()).handleExport(any(), any(), any(), any());
+    }
+
+    // 测试用Controller
+    public static class TestController {
+
+        @ExcelExport(fileName = "测试", dataClass = TestUserDTO.class)
+        public List<TestUserDTO> exportUsers() {
+            return List.of();
+        }
+
+        @ExcelExport(fileName = "测试", dataClass = TestUserDTO.class, async = true)
+        public List<TestUserDTO> exportUsersAsync() {
+            return List.of();
+        }
+
+        public List<TestUserDTO> noAnnotation() {
+            return List.of();
+        }
+    }
+}
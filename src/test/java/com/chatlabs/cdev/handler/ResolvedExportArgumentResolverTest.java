@@ -0,0 +1,81 @@
+package com.chatlabs.cdev.handler;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.dto.TestUserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+
+/**
+ * ResolvedExportArgumentResolver 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResolvedExportArgumentResolver 单元测试")
+class ResolvedExportArgumentResolverTest {
+
+    @Mock
+    private HandlerMethodArgumentResolver delegate;
+
+    private ResolvedExportArgumentResolver resolver;
+    private MockHttpServletRequest request;
+    private MethodParameter cached;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver = new ResolvedExportArgumentResolver(delegate);
+        request = new MockHttpServletRequest();
+        cached = new MethodParameter(TestController.class.getMethod("exportCached", String.class), 0);
+    }
+
+    @Test
+    @DisplayName("只处理声明了cacheSeconds的导出方法参数")
+    void testSupportsParameter() throws Exception {
+        MethodParameter uncached = new MethodParameter(TestController.class.getMethod("export", String.class), 0);
+
+        assertFalse(resolver.supportsParameter(uncached));
+    }
+
+    @Test
+    @DisplayName("没有已解析的参数或方法不同时交给其余解析器")
+    void testDelegate() throws Exception {
+        ServletWebRequest webRequest = new ServletWebRequest(request);
+        ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+        when(delegate.resolveArgument(cached, mavContainer, webRequest, null)).thenReturn("resolved");
+
+        assertEquals("resolved", resolver.resolveArgument(cached, mavContainer, webRequest, null));
+
+        ResolvedExportArgumentResolver.store(request, TestController.class.getMethod("export", String.class),
+                new Object[]{"other"});
+        assertEquals("resolved", resolver.resolveArgument(cached, mavContainer, webRequest, null));
+
+        ResolvedExportArgumentResolver.store(request, cached.getMethod(), new Object[]{"stored"});
+        assertEquals("stored", resolver.resolveArgument(cached, mavContainer, webRequest, null));
+    }
+
+    static class TestController {
+
+        @ExcelExport(fileName = "缓存", dataClass = TestUserDTO.class, cacheSeconds = 60)
+        public List<TestUserDTO> exportCached(String dept) {
+            return List.of();
+        }
+
+        @ExcelExport(fileName = "导出", dataClass = TestUserDTO.class)
+        public List<TestUserDTO> export(String dept) {
+            return List.of();
+        }
+    }
+}
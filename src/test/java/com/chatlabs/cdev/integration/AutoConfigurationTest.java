@@ -2,10 +2,16 @@ package com.chatlabs.cdev.integration;
 
 import com.chatlabs.cdev.ExcelIOApplication;
 import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.config.ExcelMetadataPreloader;
+import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.extractor.ChunkedUploadInputStreamExtractor;
+import com.chatlabs.cdev.job.ExportJobController;
 import com.chatlabs.cdev.handler.ExcelExportHandler;
 import com.chatlabs.cdev.interceptor.ExcelExportInterceptor;
 import com.chatlabs.cdev.processor.DefaultExportProcessor;
 import com.chatlabs.cdev.reader.DefaultExcelReader;
+import com.chatlabs.cdev.upload.ChunkedUploadController;
+import com.chatlabs.cdev.upload.ChunkedUploadStore;
 import com.chatlabs.cdev.wrapper.DefaultResponseWrapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -70,6 +76,13 @@ class AutoConfigurationTest {
         assertNotNull(interceptor);
     }
 
+    @Test
+    @DisplayName("启动时预加载导入导出数据类的元数据")
+    void testMetadataPreloaded() {
+        ExcelMetadataPreloader preloader = applicationContext.getBean(ExcelMetadataPreloader.class);
+        assertTrue(preloader.getDataClasses().contains(UserDTO.class));
+    }
+
     @Test
     @DisplayName("配置属性默认值正确")
     void testDefaultProperties() {
@@ -78,4 +91,18 @@ class AutoConfigurationTest {
         assertEquals("export", properties.getDefaultFileName());
         assertEquals("Sheet1", properties.getDefaultSheetName());
     }
+
+    @Test
+    @DisplayName("分片上传默认关闭")
+    void testChunkedUploadDisabledByDefault() {
+        assertTrue(applicationContext.getBeansOfType(ChunkedUploadController.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(ChunkedUploadStore.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(ChunkedUploadInputStreamExtractor.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("异步导出任务接口默认关闭")
+    void testExportJobControllerDisabledByDefault() {
+        assertTrue(applicationContext.getBeansOfType(ExportJobController.class).isEmpty());
+    }
 }
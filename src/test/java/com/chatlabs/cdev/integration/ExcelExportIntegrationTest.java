@@ -1,7 +1,9 @@
 package com.chatlabs.cdev.integration;
 
+import com.alibaba.excel.EasyExcel;
 import com.chatlabs.cdev.ExcelIOApplication;
 import com.chatlabs.cdev.example.dto.UserDTO;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -17,7 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Excel导出集成测试
  */
-@SpringBootTest(classes = ExcelIOApplication.class)
+@SpringBootTest(classes = ExcelIOApplication.class, properties = "chatlabs.excel.io.export-job-enabled=true")
 @AutoConfigureMockMvc
 @DisplayName("Excel导出集成测试")
 class ExcelExportIntegrationTest {
@@ -77,6 +85,97 @@ class ExcelExportIntegrationTest {
                 .andExpect(content().contentType("application/json"));
     }
 
+    @Test
+    @DisplayName("异步导出提交任务后可查询进度并下载")
+    void testAsyncExportJob() throws Exception {
+        Principal alice = () -> "alice";
+        MvcResult submitted = mockMvc.perform(get("/example/users/async/export").principal(alice))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn();
+        String statusUrl = submitted.getResponse().getHeader("Location");
+
+        String status = "";
+        for (int i = 0; i < 100 && !"COMPLETED".equals(status); i++) {
+            Thread.sleep(50);
+            MvcResult polled = mockMvc.perform(get(statusUrl).principal(alice))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            status = JsonPath.read(polled.getResponse().getContentAsString(), "$.status");
+        }
+        assertEquals("COMPLETED", status);
+        mockMvc.perform(get(statusUrl).principal(alice)).andExpect(jsonPath("$.processedRows").value(100));
+
+        byte[] content = mockMvc.perform(get(statusUrl + "/download").principal(alice))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString(".xlsx")))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<UserDTO> users = EasyExcel.read(new ByteArrayInputStream(content))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertEquals(100, users.size());
+
+        mockMvc.perform(get("/excel/jobs/unknown").principal(alice)).andExpect(status().isNotFound());
+
+        // 其他用户及匿名请求无法查询和下载
+        Principal bob = () -> "bob";
+        mockMvc.perform(get(statusUrl).principal(bob)).andExpect(status().isNotFound());
+        mockMvc.perform(get(statusUrl + "/download").principal(bob)).andExpect(status().isNotFound());
+        mockMvc.perform(get(statusUrl)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("CSV导出")
+    void testCsvExport() throws Exception {
+        MvcResult result = mockMvc.perform(get("/example/users/csv/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString(".csv")))
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentType().startsWith("text/csv"));
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(11, lines.length);
+        assertEquals("用户ID,用户名,邮箱,年龄,创建时间", lines[0]);
+        assertTrue(lines[1].startsWith("1,csv_user1,csv1@example.com,21,"));
+    }
+
+    @Test
+    @DisplayName("分页接口按参数返回单页")
+    void testPagedEndpointReturnsSinglePage() throws Exception {
+        mockMvc.perform(get("/example/users/paged").param("size", "10").param("cursor", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].id").value(51));
+    }
+
+    @Test
+    @DisplayName("导出响应只包含Excel内容")
+    void testExportResponseContainsOnlyExcel() throws Exception {
+        MvcResult result = mockMvc.perform(get("/example/users/wrapped/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // xlsx 为 zip 格式，响应体前不应混入 JSON
+        byte[] content = result.getResponse().getContentAsByteArray();
+        assertEquals('P', content[0]);
+        assertEquals('K', content[1]);
+        List<UserDTO> users = EasyExcel.read(new ByteArrayInputStream(content))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertEquals(8, users.size());
+    }
+
+    @Test
+    @DisplayName("分页导出逐页获取全部数据")
+    void testPagedExport() throws Exception {
+        MvcResult result = mockMvc.perform(get("/example/users/paged/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<UserDTO> users = EasyExcel.read(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertEquals(55, users.size());
+        assertEquals(55L, users.get(54).getId());
+    }
+
     @Test
     @DisplayName("导出文件名包含中文")
     void testChineseFileName() throws Exception {
@@ -89,4 +188,58 @@ class ExcelExportIntegrationTest {
         assertTrue(disposition.contains("attachment"));
         assertTrue(disposition.contains(".xlsx"));
     }
+
+    @Test
+    @DisplayName("缓存导出结果并支持ETag/304")
+    void testCachedExport() throws Exception {
+        MvcResult first = mockMvc.perform(get("/example/users/report/export").param("dept", "cache"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        byte[] content = first.getResponse().getContentAsByteArray();
+        assertTrue(content.length > 0);
+
+        // 命中缓存：相同的实体标签与文件内容
+        MvcResult second = mockMvc.perform(get("/example/users/report/export").param("dept", "cache"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andReturn();
+        assertArrayEquals(content, second.getResponse().getContentAsByteArray());
+        assertTrue(second.getResponse().getContentType().contains("spreadsheetml.sheet"));
+
+        mockMvc.perform(get("/example/users/report/export").param("dept", "cache").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // 参数不同时重新生成
+        MvcResult other = mockMvc.perform(get("/example/users/report/export").param("dept", "other"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, other.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("请求头或登录用户不同的导出不共享缓存")
+    void testCachedExportPerHeaderAndPrincipal() throws Exception {
+        String etag = mockMvc.perform(get("/example/users/report/export").param("dept", "tenant")
+                        .header("X-Tenant", "a"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        MvcResult otherTenant = mockMvc.perform(get("/example/users/report/export").param("dept", "tenant")
+                        .header("X-Tenant", "b").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, otherTenant.getResponse().getHeader("ETag"));
+        List<UserDTO> rows = EasyExcel.read(new ByteArrayInputStream(otherTenant.getResponse().getContentAsByteArray()))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertTrue(rows.get(0).getUsername().startsWith("b_"));
+
+        MvcResult otherUser = mockMvc.perform(get("/example/users/report/export").param("dept", "tenant")
+                        .header("X-Tenant", "a").principal(() -> "alice").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, otherUser.getResponse().getHeader("ETag"));
+    }
 }
@@ -1,28 +1,45 @@
 package com.chatlabs.cdev.integration;
 
 import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
 import com.chatlabs.cdev.ExcelIOApplication;
 import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.exception.ExcelParseException;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Excel导入集成测试
  */
-@SpringBootTest(classes = ExcelIOApplication.class)
+@SpringBootTest(classes = ExcelIOApplication.class, properties = "chatlabs.excel.io.chunked-upload-enabled=true")
 @AutoConfigureMockMvc
 @DisplayName("Excel导入集成测试")
 class ExcelImportIntegrationTest {
@@ -83,6 +100,182 @@ class ExcelImportIntegrationTest {
                 .andExpect(content().string("成功导入 100 条用户数据"));
     }
 
+    @Test
+    @DisplayName("流式导入Excel文件")
+    void testImportStream() throws Exception {
+        byte[] excelContent = createExcelContent(createTestUsers(3000));
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "stream.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                excelContent
+        );
+
+        mockMvc.perform(multipart("/example/users/import/stream").file(file))
+                .andExpect(status().isOk())
+                .andExpect(content().string("成功导入 3000 条用户数据"));
+    }
+
+    @Test
+    @DisplayName("分批导入Excel文件")
+    void testImportBatches() throws Exception {
+        byte[] excelContent = createExcelContent(createTestUsers(1200));
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "batch.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                excelContent
+        );
+
+        mockMvc.perform(multipart("/example/users/import/batch").file(file))
+                .andExpect(status().isOk())
+                .andExpect(content().string("成功导入 1200 条用户数据，共 3 批"));
+    }
+
+    @Test
+    @DisplayName("异步导入提交任务后可查询进度")
+    void testImportAsync() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "async.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                createExcelContent(createTestUsers(1200))
+        );
+
+        MvcResult submitted = mockMvc.perform(multipart("/example/users/import/async").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, startsWith("/excel/import-jobs/")))
+                .andReturn();
+        String statusUrl = submitted.getResponse().getHeader(HttpHeaders.LOCATION);
+
+        String status = "";
+        for (int i = 0; i < 100 && !"COMPLETED".equals(status); i++) {
+            Thread.sleep(50);
+            MvcResult polled = mockMvc.perform(get(statusUrl))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            status = JsonPath.read(polled.getResponse().getContentAsString(), "$.status");
+        }
+        assertEquals("COMPLETED", status);
+        mockMvc.perform(get(statusUrl))
+                .andExpect(jsonPath("$.processedRows").value(1200))
+                .andExpect(jsonPath("$.batches").value(3));
+
+        mockMvc.perform(get("/excel/import-jobs/unknown")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("多Sheet导入Excel文件")
+    void testImportSheets() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ExcelWriter writer = EasyExcel.write(outputStream, UserDTO.class).build()) {
+            writer.write(createTestUsers(3), EasyExcel.writerSheet(0, "一月").build());
+            writer.write(createTestUsers(5), EasyExcel.writerSheet(1, "二月").build());
+        }
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "sheets.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                outputStream.toByteArray()
+        );
+
+        mockMvc.perform(multipart("/example/users/import/sheets").file(file))
+                .andExpect(status().isOk())
+                .andExpect(content().string("成功导入 2 个Sheet（一月: 3, 二月: 5）"));
+    }
+
+    @Test
+    @DisplayName("带校验导入Excel文件")
+    void testImportValidated() throws Exception {
+        List<UserDTO> users = createTestUsers(10);
+        users.get(2).setEmail("invalid");
+        users.get(5).setAge(200);
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "validated.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                createExcelContent(users)
+        );
+
+        mockMvc.perform(multipart("/example/users/import/validated").file(file))
+                .andExpect(status().isOk())
+                .andExpect(content().string("成功导入 8 条用户数据，2 处错误"));
+    }
+
+    @Test
+    @DisplayName("分片上传后导入，最后一个分片随导入请求发送")
+    void testImportChunkedUpload() throws Exception {
+        byte[] content = createExcelContent(createTestUsers(20));
+        int half = content.length / 2;
+        MockHttpSession session = new MockHttpSession();
+
+        MvcResult created = mockMvc.perform(post("/excel/uploads").session(session))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, startsWith("/excel/uploads/")))
+                .andExpect(jsonPath("$.received").value(0))
+                .andReturn();
+        String uploadId = JsonPath.read(created.getResponse().getContentAsString(), "$.uploadId");
+
+        mockMvc.perform(put("/excel/uploads/" + uploadId).session(session)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes 0-" + (half - 1) + "/" + content.length)
+                        .content(Arrays.copyOfRange(content, 0, half)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.RANGE, "bytes=0-" + (half - 1)))
+                .andExpect(jsonPath("$.received").value(half))
+                .andExpect(jsonPath("$.complete").value(false));
+
+        // 不连续的分片被拒绝，返回已接收的范围
+        mockMvc.perform(put("/excel/uploads/" + uploadId).session(session)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + (half + 1) + "-" + (content.length - 1) + "/" + content.length)
+                        .content(Arrays.copyOfRange(content, half + 1, content.length)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.received").value(half));
+
+        // 其他会话看不到该上传，也不能导入
+        MockHttpSession other = new MockHttpSession();
+        mockMvc.perform(get("/excel/uploads/" + uploadId).session(other))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/excel/uploads/" + uploadId).session(other))
+                .andExpect(status().isNotFound());
+        ServletException rejected = assertThrows(ServletException.class,
+                () -> mockMvc.perform(post("/example/users/import").session(other)
+                        .header("Upload-Id", uploadId)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + half + "-" + (content.length - 1) + "/" + content.length)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(Arrays.copyOfRange(content, half, content.length))));
+        assertInstanceOf(ExcelParseException.class, rejected.getRootCause());
+
+        mockMvc.perform(post("/example/users/import").session(session)
+                        .header("Upload-Id", uploadId)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + half + "-" + (content.length - 1) + "/" + content.length)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(Arrays.copyOfRange(content, half, content.length)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("成功导入 20 条用户数据"));
+
+        mockMvc.perform(get("/excel/uploads/" + uploadId).session(session))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("分片上传超出大小上限返回 413")
+    void testChunkedUploadTooLarge() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        MvcResult created = mockMvc.perform(post("/excel/uploads").session(session))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String uploadId = JsonPath.read(created.getResponse().getContentAsString(), "$.uploadId");
+
+        mockMvc.perform(put("/excel/uploads/" + uploadId).session(session)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes 0-9/" + Long.MAX_VALUE)
+                        .content(new byte[10]))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
     private List<UserDTO> createTestUsers(int count) {
         List<UserDTO> users = new ArrayList<>();
         for (int i = 1; i <= count; i++) {
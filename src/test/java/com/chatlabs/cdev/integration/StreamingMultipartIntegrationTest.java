@@ -0,0 +1,94 @@
+package com.chatlabs.cdev.integration;
+
+import com.alibaba.excel.EasyExcel;
+import com.chatlabs.cdev.ExcelIOApplication;
+import com.chatlabs.cdev.example.dto.UserDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 流式 multipart 导入集成测试
+ */
+@SpringBootTest(classes = ExcelIOApplication.class, properties = {
+        "spring.servlet.multipart.resolve-lazily=true",
+        "chatlabs.excel.io.streaming-multipart=true"
+})
+@AutoConfigureMockMvc
+@DisplayName("流式multipart导入集成测试")
+class StreamingMultipartIntegrationTest {
+
+    private static final String BOUNDARY = "----ExcelBoundaryIntegration";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("流式导入xlsx文件")
+    void testImportXlsx() throws Exception {
+        ByteArrayOutputStream excel = new ByteArrayOutputStream();
+        EasyExcel.write(excel, UserDTO.class).sheet("Sheet1").doWrite(createTestUsers(500));
+
+        mockMvc.perform(post("/example/users/import")
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody("users.xlsx", excel.toByteArray())))
+                .andExpect(status().isOk())
+                .andExpect(content().string("成功导入 500 条用户数据"));
+    }
+
+    @Test
+    @DisplayName("流式导入CSV文件")
+    void testImportCsv() throws Exception {
+        StringBuilder csv = new StringBuilder("用户ID,用户名,邮箱,年龄\r\n");
+        for (int i = 1; i <= 200; i++) {
+            csv.append(i).append(",user").append(i).append(",user").append(i).append("@test.com,")
+                    .append(20 + i % 50).append("\r\n");
+        }
+
+        mockMvc.perform(post("/example/users/import")
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody("users.csv", csv.toString().getBytes(StandardCharsets.UTF_8))))
+                .andExpect(status().isOk())
+                .andExpect(content().string("成功导入 200 条用户数据"));
+    }
+
+    private byte[] multipartBody(String filename, byte[] content) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"remark\"\r\n\r\n"
+                + "导入\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private List<UserDTO> createTestUsers(int count) {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@test.com");
+            user.setAge(20 + i % 50);
+            user.setCreateTime(LocalDateTime.now());
+            users.add(user);
+        }
+        return users;
+    }
+}
@@ -18,6 +18,9 @@ import java.lang.reflect.Method;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * ExcelExportInterceptor 单元测试
@@ -107,6 +110,35 @@ class ExcelExportInterceptorTest {
         assertEquals(true, request.getAttribute("_excel_export_flag"));
     }
 
+    @Test
+    @DisplayName("preHandle - 不复用方法时直接导出并跳过方法调用")
+    void testPreHandleWithoutReuseMethod() throws Exception {
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("noReuse");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+
+        request.setRequestURI("/users/noreuse/export");
+
+        boolean result = interceptor.preHandle(request, response, handlerMethod);
+        assertFalse(result);
+        verify(exportHandler).handleExport(handlerMethod, null, request, response);
+    }
+
+    @Test
+    @DisplayName("preHandle - 命中导出缓存时跳过方法调用")
+    void testPreHandleServedFromCache() throws Exception {
+        TestController controller = new TestController();
+        Method method = TestController.class.getMethod("noReuse");
+        HandlerMethod handlerMethod = new HandlerMethod(controller, method);
+        when(exportHandler.serveCached(handlerMethod, request, response)).thenReturn(true);
+
+        request.setRequestURI("/users/noreuse/export");
+
+        boolean result = interceptor.preHandle(request, response, handlerMethod);
+        assertFalse(result);
+        verify(exportHandler, never()).handleExport(handlerMethod, null, request, response);
+    }
+
     // 测试用Controller
     public static class TestController {
 
@@ -120,6 +152,11 @@ class ExcelExportInterceptorTest {
             return List.of();
         }
 
+        @ExcelExport(fileName = "不复用", dataClass = TestUserDTO.class, reuseMethod = false)
+        public List<TestUserDTO> noReuse() {
+            return List.of();
+        }
+
         public List<TestUserDTO> noAnnotation() {
             return List.of();
         }
@@ -0,0 +1,186 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import com.chatlabs.cdev.exception.ExcelJobRejectedException;
+import com.chatlabs.cdev.handler.ExcelExportHandler;
+import com.chatlabs.cdev.page.PagingMode;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ExportJobManager 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportJobManager 单元测试")
+class ExportJobManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ExcelExportHandler exportHandler;
+
+    private ExportJobStore store;
+    private ExportJobManager manager;
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        properties.setJobStoreDir(directory.toString());
+        properties.setExportJobEnabled(true);
+        store = new ExportJobStore(properties);
+        store.afterPropertiesSet();
+        // 同步执行，便于断言结果
+        manager = new ExportJobManager(exportHandler, store, Runnable::run, properties);
+    }
+
+    @Test
+    @DisplayName("提交任务 - 导出写入任务文件并记录响应头和进度")
+    void testSubmit() throws Exception {
+        HandlerMethod handlerMethod = handlerMethod("exportUsers");
+        List<TestUserDTO> data = List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25));
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(3);
+            LongConsumer progress = invocation.getArgument(4);
+            response.setContentType("text/csv");
+            response.setHeader("Content-Disposition", "attachment; filename=\"users.csv\"");
+            response.getOutputStream().write("id\n1\n".getBytes());
+            progress.accept(1);
+            return null;
+        }).when(exportHandler).handleExport(eq(handlerMethod), eq(data), isNull(), any(), any());
+
+        ExportJob job = manager.submit(handlerMethod, data, request);
+
+        assertEquals(ExportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getProcessedRows());
+        assertEquals("text/csv", job.getContentType());
+        assertEquals("attachment; filename=\"users.csv\"", job.getContentDisposition());
+        assertEquals("id\n1\n", Files.readString(store.dataFile(job)));
+        assertEquals("session:" + request.getSession().getId(), job.getOwner());
+    }
+
+    @Test
+    @DisplayName("提交任务 - 未开启异步导出时拒绝")
+    void testSubmitDisabled() throws Exception {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        ExportJobManager disabled = new ExportJobManager(exportHandler, store, Runnable::run, properties);
+
+        assertThrows(ExcelIOException.class,
+                () -> disabled.submit(handlerMethod("exportUsers"), List.of(), request));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("提交任务 - 导出异常时任务失败")
+    void testSubmitFailed() throws Exception {
+        HandlerMethod handlerMethod = handlerMethod("exportUsers");
+        doThrow(new ExcelIOException("数据错误"))
+                .when(exportHandler).handleExport(any(), any(), any(), any(), any());
+
+        ExportJob job = manager.submit(handlerMethod, List.of(), request);
+
+        assertEquals(ExportJobStatus.FAILED, job.getStatus());
+        assertEquals("数据错误", job.getErrorMessage());
+        assertFalse(Files.exists(store.partFile(job)));
+    }
+
+    @Test
+    @DisplayName("提交任务 - 由Controller方法分页时拒绝异步")
+    void testSubmitPagingWithoutProvider() throws Exception {
+        HandlerMethod handlerMethod = handlerMethod("exportPaged");
+
+        assertThrows(ExcelIOException.class, () -> manager.submit(handlerMethod, List.of(), request));
+    }
+
+    @Test
+    @DisplayName("提交任务 - 惰性返回值被拒绝")
+    void testSubmitLazyReturnValue() throws Exception {
+        HandlerMethod handlerMethod = handlerMethod("exportUsers");
+        Stream<TestUserDTO> data = Stream.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25));
+        doThrow(new ExcelIOException("惰性返回值")).when(exportHandler).checkDetached(data);
+
+        assertThrows(ExcelIOException.class, () -> manager.submit(handlerMethod, data, request));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("提交任务 - 线程池已满时拒绝并标记任务失败")
+    void testSubmitRejected() throws Exception {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        properties.setExportJobEnabled(true);
+        ExportJobManager rejecting = new ExportJobManager(exportHandler, store, task -> {
+            throw new RejectedExecutionException("full");
+        }, properties);
+
+        assertThrows(ExcelJobRejectedException.class,
+                () -> rejecting.submit(handlerMethod("exportUsers"), List.of(), request));
+        verify(exportHandler, never()).handleExport(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("返回任务信息")
+    void testWriteSubmitted() throws Exception {
+        ExportJob job = store.create("用户", "user:alice");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/app");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        manager.writeSubmitted(job, request, response);
+
+        assertEquals(202, response.getStatus());
+        assertEquals("/app/excel/jobs/" + job.getJobId(), response.getHeader("Location"));
+        assertTrue(response.getContentAsString().contains("\"jobId\":\"" + job.getJobId() + "\""));
+        assertTrue(response.getContentAsString().contains("/download"));
+    }
+
+    private HandlerMethod handlerMethod(String name) throws Exception {
+        return new HandlerMethod(new TestController(), TestController.class.getMethod(name));
+    }
+
+    // 测试用Controller
+    public static class TestController {
+
+        @ExcelExport(fileName = "用户", dataClass = TestUserDTO.class, async = true)
+        public List<TestUserDTO> exportUsers() {
+            return List.of();
+        }
+
+        @ExcelExport(fileName = "用户", dataClass = TestUserDTO.class, async = true, pagingMode = PagingMode.OFFSET)
+        public List<TestUserDTO> exportPaged() {
+            return List.of();
+        }
+    }
+}
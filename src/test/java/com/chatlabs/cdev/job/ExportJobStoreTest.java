@@ -0,0 +1,112 @@
+package com.chatlabs.cdev.job;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportJobStore 单元测试
+ */
+@DisplayName("ExportJobStore 单元测试")
+class ExportJobStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ExcelIOProperties properties;
+    private ExportJobStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ExcelIOProperties();
+        properties.setJobStoreDir(directory.toString());
+        store = newStore();
+    }
+
+    @Test
+    @DisplayName("完成任务后结果文件可用")
+    void testComplete() throws Exception {
+        ExportJob job = store.create("用户", "user:alice");
+        assertEquals(ExportJobStatus.PENDING, job.getStatus());
+
+        store.start(job);
+        Files.write(store.partFile(job), new byte[]{1, 2, 3});
+        store.complete(job);
+
+        assertEquals(ExportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getFileSize());
+        assertTrue(Files.exists(store.dataFile(job)));
+        assertFalse(Files.exists(store.partFile(job)));
+        assertSame(job, store.find(job.getJobId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("重启后恢复已完成任务，中断的任务标记为失败")
+    void testRecover() throws Exception {
+        ExportJob completed = store.create("完成", "user:alice");
+        store.start(completed);
+        Files.write(store.partFile(completed), new byte[]{1});
+        store.complete(completed);
+
+        ExportJob running = store.create("执行中", "user:alice");
+        store.start(running);
+        Files.write(store.partFile(running), new byte[]{1});
+
+        ExportJobStore restarted = newStore();
+
+        ExportJob recovered = restarted.find(completed.getJobId()).orElseThrow();
+        assertEquals(ExportJobStatus.COMPLETED, recovered.getStatus());
+        assertEquals("完成", recovered.getFileName());
+        assertEquals("user:alice", recovered.getOwner());
+        ExportJob interrupted = restarted.find(running.getJobId()).orElseThrow();
+        assertEquals(ExportJobStatus.FAILED, interrupted.getStatus());
+        assertNotNull(interrupted.getErrorMessage());
+        assertFalse(Files.exists(restarted.partFile(interrupted)));
+    }
+
+    @Test
+    @DisplayName("清理超过保留时间的任务")
+    void testCleanExpired() throws Exception {
+        ExportJob job = store.create("过期", "user:alice");
+        store.fail(job, "失败");
+        job.setFinishTime(LocalDateTime.now().minusHours(properties.getJobRetentionHours() + 1));
+
+        store.cleanExpired();
+
+        assertTrue(store.find(job.getJobId()).isEmpty());
+        assertTrue(newStore().find(job.getJobId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("只有提交方可以查询任务，所有者不随任务状态保存")
+    void testFindByOwner() throws Exception {
+        ExportJob job = store.create("用户", "user:alice");
+
+        assertSame(job, store.find(job.getJobId(), "user:alice").orElseThrow());
+        assertTrue(store.find(job.getJobId(), "user:bob").isEmpty());
+        assertTrue(store.find(job.getJobId(), null).isEmpty());
+        assertFalse(Files.readString(directory.resolve(job.getJobId() + ".json")).contains("alice"));
+        assertTrue(newStore().find(job.getJobId(), "user:alice").isPresent());
+    }
+
+    @Test
+    @DisplayName("查询不存在的任务")
+    void testFindUnknown() {
+        assertTrue(store.find("unknown").isEmpty());
+        assertTrue(store.find(null).isEmpty());
+    }
+
+    private ExportJobStore newStore() throws Exception {
+        ExportJobStore jobStore = new ExportJobStore(properties);
+        jobStore.afterPropertiesSet();
+        return jobStore;
+    }
+}
@@ -0,0 +1,160 @@
+package com.chatlabs.cdev.job;
+
+import com.alibaba.excel.EasyExcel;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.exception.ExcelJobRejectedException;
+import com.chatlabs.cdev.reader.DefaultExcelReader;
+import com.chatlabs.cdev.reader.RowBatchHandler;
+import com.chatlabs.cdev.validation.ImportError;
+import com.chatlabs.cdev.validation.RowValidation;
+import com.chatlabs.cdev.validation.RowValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ImportJobManager 单元测试
+ */
+@DisplayName("ImportJobManager 单元测试")
+class ImportJobManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private ExcelIOProperties properties;
+    private ImportJobStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ExcelIOProperties();
+        properties.setImportJobDir(directory.toString());
+        store = new ImportJobStore(properties);
+        store.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("提交任务 - 按批交给处理器并记录进度")
+    void testSubmit() throws Exception {
+        List<Integer> sizes = new ArrayList<>();
+        RowBatchHandler<Object> handler = batch -> sizes.add(batch.size());
+        // 同步执行，便于断言结果
+        ImportJobManager manager = new ImportJobManager(store, Runnable::run, properties);
+
+        ImportJob job = manager.submit(new DefaultExcelReader(), excel(5), TestUserDTO.class, handler, 2);
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(3, job.getBatches());
+        assertEquals("TestUserDTO", job.getDataClass());
+        assertEquals(List.of(2, 2, 1), sizes);
+        assertNotNull(job.getFinishTime());
+        assertEquals(job, store.find(job.getJobId()).orElseThrow());
+        assertFalse(Files.exists(store.uploadFile(job)));
+    }
+
+    @Test
+    @DisplayName("提交任务 - 执行前上传内容已暂存")
+    void testSubmitSpoolsUpload() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        ImportJobManager manager = new ImportJobManager(store, queued::add, properties);
+
+        ImportJob job = manager.submit(new DefaultExcelReader(), excel(1), TestUserDTO.class, batch -> { }, 10);
+
+        assertEquals(ImportJobStatus.PENDING, job.getStatus());
+        assertTrue(Files.size(store.uploadFile(job)) > 0);
+        queued.forEach(Runnable::run);
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getProcessedRows());
+    }
+
+    @Test
+    @DisplayName("逐行校验 - 只处理通过校验的行，错误随任务返回")
+    void testSubmitWithValidation() throws Exception {
+        List<Object> handled = new ArrayList<>();
+        RowBatchHandler<Object> handler = handled::addAll;
+        RowValidator<Object> evenIdRejected = (row, errors) -> {
+            if (((TestUserDTO) row).getId() % 2 == 0) {
+                errors.reject("ID", "EVEN_ID", "ID不能为偶数");
+            }
+        };
+        ImportJobManager manager = new ImportJobManager(store, Runnable::run, properties);
+
+        ImportJob job = manager.submit(new DefaultExcelReader(), excel(5), TestUserDTO.class, handler, 2,
+                new RowValidation<>(List.of(evenIdRejected), 0));
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessedRows());
+        assertEquals(3, handled.size());
+        assertEquals(List.of(3, 5), job.getErrors().stream().map(ImportError::getRow).toList());
+        assertEquals("EVEN_ID", job.getErrors().get(0).getCode());
+        assertFalse(job.isTruncated());
+    }
+
+    @Test
+    @DisplayName("逐行校验 - 错误数达到上限时停止解析")
+    void testSubmitWithValidationTruncated() throws Exception {
+        RowValidator<Object> allRejected = (row, errors) -> errors.reject("INVALID", "无效");
+        ImportJobManager manager = new ImportJobManager(store, Runnable::run, properties);
+
+        ImportJob job = manager.submit(new DefaultExcelReader(), excel(5), TestUserDTO.class, batch -> { }, 2,
+                new RowValidation<>(List.of(allRejected), 2));
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(0, job.getProcessedRows());
+        assertEquals(2, job.getErrors().size());
+        assertTrue(job.isTruncated());
+    }
+
+    @Test
+    @DisplayName("处理失败 - 任务标记为失败并记录原因")
+    void testHandlerFailure() throws Exception {
+        RowBatchHandler<Object> handler = batch -> {
+            throw new IllegalStateException("db down");
+        };
+        ImportJobManager manager = new ImportJobManager(store, Runnable::run, properties);
+
+        ImportJob job = manager.submit(new DefaultExcelReader(), excel(3), TestUserDTO.class, handler, 2);
+
+        assertEquals(ImportJobStatus.FAILED, job.getStatus());
+        assertEquals(0, job.getProcessedRows());
+        assertTrue(job.getErrorMessage().contains("第1批"));
+        assertTrue(job.getErrorMessage().contains("db down"));
+        assertFalse(Files.exists(store.uploadFile(job)));
+    }
+
+    @Test
+    @DisplayName("线程池已满 - 拒绝提交并删除暂存文件")
+    void testRejected() throws Exception {
+        ImportJobManager manager = new ImportJobManager(store, task -> {
+            throw new RejectedExecutionException("full");
+        }, properties);
+
+        assertThrows(ExcelJobRejectedException.class,
+                () -> manager.submit(new DefaultExcelReader(), excel(1), TestUserDTO.class, batch -> { }, 10));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private ByteArrayInputStream excel(int rows) {
+        List<TestUserDTO> data = new ArrayList<>();
+        for (long i = 1; i <= rows; i++) {
+            data.add(new TestUserDTO(i, "user" + i, "user" + i + "@test.com", 20));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.write(out, TestUserDTO.class).sheet("Sheet1").doWrite(data);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
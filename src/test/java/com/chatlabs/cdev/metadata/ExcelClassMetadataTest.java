@@ -0,0 +1,187 @@
+package com.chatlabs.cdev.metadata;
+
+import com.alibaba.excel.annotation.ExcelIgnore;
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.alibaba.excel.annotation.write.style.HeadStyle;
+import com.chatlabs.cdev.dto.StatusDTO;
+import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExcelClassMetadata 单元测试
+ */
+@DisplayName("ExcelClassMetadata 单元测试")
+class ExcelClassMetadataTest {
+
+    @Test
+    @DisplayName("按声明顺序解析表头")
+    void testHeadersInDeclarationOrder() {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(TestUserDTO.class);
+
+        assertEquals(List.of("ID", "姓名", "邮箱", "年龄"), metadata.getHeaders());
+        assertSame(metadata, ExcelClassMetadata.of(TestUserDTO.class));
+    }
+
+    @Test
+    @DisplayName("index固定列序号、order次之、子类字段先于父类、忽略字段及格式注解")
+    void testIndexIgnoreAndFormat() {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(OrderedDTO.class);
+
+        assertEquals(List.of("编号", "日期", "名称", "base"), metadata.getHeaders());
+        ExcelColumn dateColumn = metadata.getColumns().get(1);
+        assertEquals("yyyy/MM/dd", dateColumn.getDateFormat());
+        assertEquals(1, dateColumn.getIndex());
+        assertEquals("yyyy/MM/dd", dateColumn.getContentProperty().getDateTimeFormatProperty().getFormat());
+        assertSame(dateColumn.getField(), dateColumn.getContentProperty().getField());
+        assertNull(dateColumn.getContentProperty().getConverter());
+
+        OrderedDTO row = new OrderedDTO();
+        row.code = "A1";
+        assertEquals("A1", metadata.getColumns().get(0).getValue(row));
+    }
+
+    @Test
+    @DisplayName("显式index之间保留空列")
+    void testIndexGap() {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(GapDTO.class);
+
+        assertEquals(List.of(0, 1, 4), metadata.getColumns().stream().map(ExcelColumn::getIndex).toList());
+        assertEquals(5, metadata.getColumnCount());
+        assertTrue(metadata.getColumns().get(2).isForceIndex());
+        assertFalse(metadata.getColumns().get(0).isForceIndex());
+    }
+
+    @Test
+    @DisplayName("重复index抛出异常")
+    void testDuplicateIndex() {
+        assertThrows(ExcelIOException.class, () -> ExcelClassMetadata.of(DuplicateIndexDTO.class));
+    }
+
+    @Test
+    @DisplayName("预编译构造器与读写器")
+    void testCompiledAccessors() {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(TestUserDTO.class);
+
+        Object row = metadata.newInstance();
+        assertInstanceOf(TestUserDTO.class, row);
+        ExcelColumn id = metadata.getColumns().get(0);
+        ExcelColumn name = metadata.getColumns().get(1);
+        id.setValue(row, 7L);
+        name.setValue(row, "张三");
+        assertEquals(7L, ((TestUserDTO) row).getId());
+        assertEquals("张三", name.getValue(row));
+
+        // 无 getter/setter 的字段及基本类型字段
+        ExcelClassMetadata gap = ExcelClassMetadata.of(GapDTO.class);
+        GapDTO dto = (GapDTO) gap.newInstance();
+        ExcelColumn count = gap.getColumns().get(1);
+        count.setValue(dto, 3);
+        count.setValue(dto, null);
+        assertEquals(3, dto.count);
+        assertEquals(3, count.getValue(dto));
+    }
+
+    @Test
+    @DisplayName("缺少无参构造器时创建实例失败")
+    void testMissingConstructor() {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(NoDefaultConstructorDTO.class);
+
+        assertThrows(ExcelIOException.class, metadata::newInstance);
+        assertEquals(1, metadata.getHeadRowNumber());
+    }
+
+    @Test
+    @DisplayName("多级表头取最大层级作为表头行数")
+    void testHeadRowNumber() {
+        ExcelClassMetadata metadata = ExcelClassMetadata.of(MultiHeadDTO.class);
+
+        assertEquals(2, metadata.getHeadRowNumber());
+        assertEquals(List.of("姓名", "年龄"), metadata.getHeaders());
+    }
+
+    @Test
+    @DisplayName("自定义转换器、样式注解或多级表头需由EasyExcel写入")
+    void testEasyExcelRequired() {
+        assertFalse(ExcelClassMetadata.of(TestUserDTO.class).isEasyExcelRequired());
+        assertFalse(ExcelClassMetadata.of(GapDTO.class).isEasyExcelRequired());
+        assertTrue(ExcelClassMetadata.of(StatusDTO.class).isEasyExcelRequired());
+        assertTrue(ExcelClassMetadata.of(MultiHeadDTO.class).isEasyExcelRequired());
+        assertTrue(ExcelClassMetadata.of(StyledDTO.class).isEasyExcelRequired());
+    }
+
+    @ColumnWidth(20)
+    static class GapDTO {
+
+        @ExcelProperty("名称")
+        String name;
+
+        @ExcelProperty("数量")
+        int count;
+
+        @ExcelProperty(value = "备注", index = 4)
+        String remark;
+    }
+
+    static class DuplicateIndexDTO {
+
+        @ExcelProperty(index = 1)
+        String a;
+
+        @ExcelProperty(index = 1)
+        String b;
+    }
+
+    static class NoDefaultConstructorDTO {
+
+        String value;
+
+        NoDefaultConstructorDTO(String value) {
+            this.value = value;
+        }
+    }
+
+    static class MultiHeadDTO {
+
+        @ExcelProperty({"基本信息", "姓名"})
+        String name;
+
+        @ExcelProperty("年龄")
+        Integer age;
+    }
+
+    static class StyledDTO {
+
+        @HeadStyle(fillForegroundColor = 10)
+        @ExcelProperty("名称")
+        String name;
+    }
+
+    static class BaseDTO {
+        String base;
+    }
+
+    static class OrderedDTO extends BaseDTO {
+
+        @ExcelProperty("名称")
+        String name;
+
+        @ExcelIgnore
+        String secret;
+
+        @ExcelProperty(value = "编号", index = 0)
+        String code;
+
+        @ExcelProperty(value = "日期", order = 1)
+        @DateTimeFormat("yyyy/MM/dd")
+        LocalDate date;
+    }
+}
@@ -0,0 +1,173 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import com.alibaba.excel.converters.Converter;
+import com.alibaba.excel.metadata.GlobalConfiguration;
+import com.alibaba.excel.metadata.data.WriteCellData;
+import com.alibaba.excel.metadata.property.ExcelContentProperty;
+import com.chatlabs.cdev.dto.StatusDTO;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CsvWriter 单元测试
+ */
+@DisplayName("CsvWriter 单元测试")
+class CsvWriterTest {
+
+    @Test
+    @DisplayName("表头、格式化与引号转义")
+    void testWriteCsv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, ExportFormat.CSV, ExcelClassMetadata.of(Row.class), "yyyy-MM-dd HH:mm:ss");
+        writer.writeHeader();
+        writer.writeRow(new Row("张三", new BigDecimal("1E+3"), LocalDate.of(2024, 1, 2), 0.5));
+        writer.writeRow(new Row("a,\"b\"\nc", null, null, null));
+        writer.flush();
+
+        assertEquals("名称,金额,日期,比例\r\n"
+                + "张三,1000,2024/01/02,50%\r\n"
+                + "\"a,\"\"b\"\"\nc\",,,\r\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(2, writer.getTotalRows());
+    }
+
+    @Test
+    @DisplayName("TSV只对制表符加引号")
+    void testWriteTsv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, ExportFormat.TSV, ExcelClassMetadata.of(Row.class), "yyyy-MM-dd HH:mm:ss");
+        writer.writeRow(new Row("a,b", null, null, null));
+        writer.writeRow(new Row("a\tb", null, null, null));
+        writer.flush();
+
+        assertEquals("a,b\t\t\t\r\n\"a\tb\"\t\t\t\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("超过缓冲区的数据及代理对字符完整编码")
+    void testLargeOutput() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, ExportFormat.CSV, ExcelClassMetadata.of(Row.class), "yyyy-MM-dd HH:mm:ss");
+        writer.writeBom();
+        StringBuilder expected = new StringBuilder("﻿");
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String name = "名称😀" + i;
+            rows.add(new Row(name, null, null, null));
+            expected.append(name).append(",,,\r\n");
+        }
+        writer.writeRows(rows);
+        writer.flush();
+
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("写入前经自定义转换器转换")
+    void testConverter() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, ExportFormat.CSV, ExcelClassMetadata.of(StatusDTO.class), "yyyy-MM-dd");
+        writer.writeHeader();
+        writer.writeRows(List.of(new StatusDTO("a", 1), new StatusDTO("b", 0), new StatusDTO("c", null)));
+        writer.flush();
+
+        assertEquals("名称,状态\r\na,启用\r\nb,停用\r\nc,\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("只实现旧版接口的转换器")
+    void testLegacyConverter() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, ExportFormat.CSV, ExcelClassMetadata.of(LegacyRow.class), "yyyy-MM-dd");
+        writer.writeRow(new LegacyRow(3));
+        writer.flush();
+
+        assertEquals("30\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("以公式字符开头的文本加'前缀，数值不受影响")
+    void testEscapeFormula() {
+        List<Row> rows = List.of(
+                new Row("=HYPERLINK(\"http://x\")", new BigDecimal("-5"), null, null),
+                new Row("+1", null, null, null),
+                new Row("-2", null, null, null),
+                new Row("@SUM(A1)", null, null, null),
+                new Row("a=b", null, null, null));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out, ExportFormat.CSV, ExcelClassMetadata.of(Row.class), "yyyy-MM-dd");
+        writer.writeRows(rows);
+        writer.flush();
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\",-5,,\r\n"
+                + "'+1,,,\r\n"
+                + "'-2,,,\r\n"
+                + "'@SUM(A1),,,\r\n"
+                + "a=b,,,\r\n", out.toString(StandardCharsets.UTF_8));
+
+        // 关闭后原样输出
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        CsvWriter rawWriter = new CsvWriter(raw, ExportFormat.CSV, ExcelClassMetadata.of(Row.class), "yyyy-MM-dd", false);
+        rawWriter.writeRow(rows.get(1));
+        rawWriter.flush();
+        assertEquals("+1,,,\r\n", raw.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("不支持XLSX格式")
+    void testRejectXlsx() {
+        assertThrows(ExcelWriteException.class, () -> new CsvWriter(new ByteArrayOutputStream(), ExportFormat.XLSX,
+                ExcelClassMetadata.of(Row.class), "yyyy-MM-dd"));
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Row {
+
+        @ExcelProperty("名称")
+        private String name;
+
+        @ExcelProperty("金额")
+        private BigDecimal amount;
+
+        @ExcelProperty("日期")
+        @DateTimeFormat("yyyy/MM/dd")
+        private LocalDate date;
+
+        @ExcelProperty("比例")
+        @NumberFormat("#%")
+        private Double ratio;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class LegacyRow {
+
+        @ExcelProperty(value = "数量", converter = TimesTenConverter.class)
+        private Integer count;
+    }
+
+    public static class TimesTenConverter implements Converter<Integer> {
+
+        @Override
+        public WriteCellData<?> convertToExcelData(Integer value, ExcelContentProperty contentProperty,
+                                                   GlobalConfiguration globalConfiguration) {
+            return new WriteCellData<>(BigDecimal.valueOf(value * 10L));
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.chatlabs.cdev.processor;
 
+import com.alibaba.excel.EasyExcel;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.dto.StatusDTO;
 import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.exception.ExcelWriteException;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,5 +78,202 @@ class DefaultExportProcessorTest {
         // 验证输出流有数据
         assertTrue(outputStream.size() > 0);
     }
+    
+    @Test
+    void testProcessStream() throws Exception {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        properties.setExportBatchSize(7);
+        processor = new DefaultExportProcessor(properties);
+        
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            users.add(user);
+        }
+        
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        org.mockito.Mockito.when(response.getOutputStream())
+                .thenReturn(new jakarta.servlet.ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+                    
+                    @Override
+                    public void setWriteListener(jakarta.servlet.WriteListener writeListener) {
+                    }
+                    
+                    @Override
+                    public void write(int b) {
+                        outputStream.write(b);
+                    }
+                });
+        
+        // 分批写入，每批7条
+        processor.processStream(users.iterator(), UserDTO.class, "test", "Sheet1", response);
+        
+        // 读回验证行数
+        List<UserDTO> result = EasyExcel.read(new ByteArrayInputStream(outputStream.toByteArray()))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertEquals(20, result.size());
+        assertEquals("user20", result.get(19).getUsername());
+    }
+    
+    @Test
+    void testProcessStreamingWrite() throws Exception {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        properties.setStreamingWrite(true);
+        properties.setFlushIntervalRows(10);
+        processor = new DefaultExportProcessor(properties);
+        
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            users.add(user);
+        }
+        
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        org.mockito.Mockito.when(response.getOutputStream())
+                .thenReturn(new jakarta.servlet.ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+                    
+                    @Override
+                    public void setWriteListener(jakarta.servlet.WriteListener writeListener) {
+                    }
+                    
+                    @Override
+                    public void write(int b) {
+                        outputStream.write(b);
+                    }
+                });
+        
+        processor.process(users, UserDTO.class, "test", "Sheet1", response);
+        
+        // 先提交响应头，再分块写出
+        org.mockito.Mockito.verify(response).flushBuffer();
+        List<UserDTO> result = EasyExcel.read(new ByteArrayInputStream(outputStream.toByteArray()))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertEquals(30, result.size());
+    }
+    
+    @Test
+    void testStreamingWriteFallsBackForConverter() throws Exception {
+        List<StatusDTO> rows = List.of(new StatusDTO("a", 1), new StatusDTO("b", 0));
+        
+        byte[] easyExcel = export(new ExcelIOProperties(), rows);
+        ExcelIOProperties streaming = new ExcelIOProperties();
+        streaming.setStreamingWrite(true);
+        byte[] streamed = export(streaming, rows);
+        
+        // 数据类使用了自定义转换器，启用流式写出时仍由 EasyExcel 写入，单元格与非流式导出一致
+        List<Map<Integer, String>> expected = EasyExcel.read(new ByteArrayInputStream(easyExcel)).sheet().doReadSync();
+        List<Map<Integer, String>> actual = EasyExcel.read(new ByteArrayInputStream(streamed)).sheet().doReadSync();
+        assertEquals(Map.of(0, "a", 1, "启用"), expected.get(0));
+        assertEquals(Map.of(0, "b", 1, "停用"), expected.get(1));
+        assertEquals(expected, actual);
+    }
+    
+    private byte[] export(ExcelIOProperties properties, List<?> rows) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        org.mockito.Mockito.when(response.getOutputStream())
+                .thenReturn(new jakarta.servlet.ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+                    
+                    @Override
+                    public void setWriteListener(jakarta.servlet.WriteListener writeListener) {
+                    }
+                    
+                    @Override
+                    public void write(int b) {
+                        outputStream.write(b);
+                    }
+                });
+        new DefaultExportProcessor(properties).process(rows, StatusDTO.class, "test", "Sheet1", response);
+        return outputStream.toByteArray();
+    }
+    
+    @Test
+    void testProcessSheets() throws Exception {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            users.add(user);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        org.mockito.Mockito.when(response.getOutputStream())
+                .thenReturn(new jakarta.servlet.ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+                    
+                    @Override
+                    public void setWriteListener(jakarta.servlet.WriteListener writeListener) {
+                    }
+                    
+                    @Override
+                    public void write(int b) {
+                        outputStream.write(b);
+                    }
+                });
+        
+        processor.processSheets(List.of(ExcelSheet.of("A", UserDTO.class, users),
+                ExcelSheet.of("B", UserDTO.class, users.subList(0, 1))), "test", response);
+        
+        org.mockito.Mockito.verify(response).setHeader("Content-Disposition", "attachment; filename=\"test.xlsx\"");
+        byte[] bytes = outputStream.toByteArray();
+        assertEquals(3, EasyExcel.read(new ByteArrayInputStream(bytes)).head(UserDTO.class).sheet(0).doReadSync().size());
+        assertEquals(1, EasyExcel.read(new ByteArrayInputStream(bytes)).head(UserDTO.class).sheet(1).doReadSync().size());
+    }
+    
+    @Test
+    void testWithColumnWidth() {
+        assertSame(processor, processor.withColumnWidth(ColumnWidthMode.DEFAULT));
+        DefaultExportProcessor declared = processor.withColumnWidth(ColumnWidthMode.DECLARED);
+        assertNotSame(processor, declared);
+        assertSame(declared, processor.withColumnWidth(ColumnWidthMode.DECLARED));
+        assertSame(declared, declared.withColumnWidth(ColumnWidthMode.DECLARED));
+        assertInstanceOf(CsvExportProcessor.class, declared.forFormat(ExportFormat.CSV));
+    }
+    
+    @Test
+    void testConfigure() {
+        assertSame(processor, processor.configure(ExportFormat.XLSX, ColumnWidthMode.DEFAULT));
+        assertSame(processor.withColumnWidth(ColumnWidthMode.LONGEST),
+                processor.configure(ExportFormat.XLSX, ColumnWidthMode.LONGEST));
+        ExportDataProcessor csv = processor.configure(ExportFormat.CSV, ColumnWidthMode.LONGEST);
+        assertInstanceOf(CsvExportProcessor.class, csv);
+        assertSame(csv, csv.configure(ExportFormat.CSV, ColumnWidthMode.DECLARED));
+        assertThrows(ExcelWriteException.class, () -> csv.configure(ExportFormat.TSV, ColumnWidthMode.DEFAULT));
+        
+        // 未覆盖 configure 的自定义处理器遇到不支持的设置直接失败
+        ExportDataProcessor custom = (data, dataClass, fileName, sheetName, response) -> { };
+        assertSame(custom, custom.configure(ExportFormat.XLSX, ColumnWidthMode.DEFAULT));
+        assertThrows(ExcelWriteException.class, () -> custom.configure(ExportFormat.CSV, ColumnWidthMode.DEFAULT));
+        assertThrows(ExcelWriteException.class, () -> custom.configure(ExportFormat.XLSX, ColumnWidthMode.DECLARED));
+    }
+    
+    @Test
+    void testColumnWidthResolve() {
+        assertEquals(ColumnWidthMode.DECLARED, ColumnWidthMode.DEFAULT.resolve(null, ColumnWidthMode.DECLARED));
+        assertEquals(ColumnWidthMode.LONGEST,
+                ColumnWidthMode.DEFAULT.resolve(ColumnWidthMode.DEFAULT, ColumnWidthMode.LONGEST));
+        assertEquals(ColumnWidthMode.SAMPLED,
+                ColumnWidthMode.DEFAULT.resolve(ColumnWidthMode.SAMPLED, ColumnWidthMode.DECLARED));
+        assertEquals(ColumnWidthMode.LONGEST,
+                ColumnWidthMode.LONGEST.resolve(ColumnWidthMode.SAMPLED, ColumnWidthMode.DECLARED));
+        // 默认配置下导出处理器不注册列宽处理器，与原有输出一致
+        assertNull(new ExcelIOProperties().getColumnWidthMode().resolve(null, ColumnWidthMode.DECLARED).writeHandler(100));
+    }
 }
-
@@ -0,0 +1,149 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.read.metadata.ReadSheet;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.dto.StatusDTO;
+import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelXlsxWriter 单元测试
+ */
+@DisplayName("ParallelXlsxWriter 单元测试")
+class ParallelXlsxWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("多Sheet并行写入后按顺序读取")
+    void testWriteSheets() {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        properties.setSheetParallelism(3);
+        List<ExcelSheet> sheets = List.of(
+                ExcelSheet.of("用户", UserDTO.class, createUsers(2000)),
+                ExcelSheet.of("测试", TestUserDTO.class, List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25))),
+                ExcelSheet.of("用户", UserDTO.class, List.of()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ParallelXlsxWriter(properties).write(sheets, out);
+
+        try (ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(out.toByteArray())).build()) {
+            List<ReadSheet> readSheets = reader.excelExecutor().sheetList();
+            assertEquals(List.of("用户", "测试", "用户_2"), readSheets.stream().map(ReadSheet::getSheetName).toList());
+        }
+        List<UserDTO> users = EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .head(UserDTO.class).sheet(0).doReadSync();
+        assertEquals(2000, users.size());
+        assertEquals(2000L, users.get(1999).getId());
+        List<TestUserDTO> tests = EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .head(TestUserDTO.class).sheet(1).doReadSync();
+        assertEquals("张三", tests.get(0).getName());
+        assertTrue(EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .head(UserDTO.class).sheet(2).doReadSync().isEmpty());
+    }
+
+    @Test
+    @DisplayName("各Sheet交给指定线程池生成")
+    void testWriteWithExecutor() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger tasks = new AtomicInteger();
+        try {
+            List<ExcelSheet> sheets = List.of(
+                    ExcelSheet.of("用户", UserDTO.class, createUsers(500)),
+                    ExcelSheet.of("用户", UserDTO.class, createUsers(300)));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new ParallelXlsxWriter(new ExcelIOProperties(), ColumnWidthMode.DEFAULT, task -> {
+                tasks.incrementAndGet();
+                pool.execute(task);
+            }).write(sheets, out);
+
+            assertEquals(2, tasks.get());
+            assertEquals(300, EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                    .head(UserDTO.class).sheet(1).doReadSync().size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("数据类使用自定义转换器时由EasyExcel写入并应用转换器")
+    void testWriteConverterColumn() {
+        AtomicInteger tasks = new AtomicInteger();
+        List<ExcelSheet> sheets = List.of(
+                ExcelSheet.of("状态", StatusDTO.class, List.of(new StatusDTO("a", 1), new StatusDTO("b", 0))),
+                ExcelSheet.of("用户", UserDTO.class, createUsers(3)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ParallelXlsxWriter(new ExcelIOProperties(), ColumnWidthMode.DEFAULT, task -> {
+            tasks.incrementAndGet();
+            task.run();
+        }).write(sheets, out);
+
+        assertEquals(0, tasks.get());
+        List<Map<Integer, String>> rows = EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .sheet(0).doReadSync();
+        assertEquals(Map.of(0, "a", 1, "启用"), rows.get(0));
+        assertEquals(Map.of(0, "b", 1, "停用"), rows.get(1));
+        assertEquals(3, EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .head(UserDTO.class).sheet(1).doReadSync().size());
+    }
+
+    @Test
+    @DisplayName("生成的zip结构完整")
+    void testZipStructure() throws Exception {
+        Path file = directory.resolve("users.xlsx");
+        try (var out = Files.newOutputStream(file)) {
+            new ParallelXlsxWriter(new ExcelIOProperties())
+                    .write(List.of(ExcelSheet.of("用户", UserDTO.class, createUsers(10))), out);
+        }
+
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            List<String> names = zip.stream().map(ZipEntry::getName).toList();
+            assertEquals(List.of("xl/worksheets/sheet1.xml", "xl/workbook.xml", "xl/_rels/workbook.xml.rels",
+                    "xl/styles.xml", "_rels/.rels", "[Content_Types].xml"), names);
+            String sheetXml = new String(zip.getInputStream(zip.getEntry("xl/worksheets/sheet1.xml")).readAllBytes());
+            assertTrue(sheetXml.endsWith("</sheetData></worksheet>"));
+        }
+    }
+
+    @Test
+    @DisplayName("空Sheet列表抛出异常")
+    void testEmptySheets() {
+        ParallelXlsxWriter writer = new ParallelXlsxWriter(new ExcelIOProperties());
+
+        assertThrows(ExcelWriteException.class, () -> writer.write(List.of(), new ByteArrayOutputStream()));
+    }
+
+    private List<UserDTO> createUsers(int count) {
+        List<UserDTO> users = new ArrayList<>();
+        LongStream.rangeClosed(1, count).forEach(i -> {
+            UserDTO user = new UserDTO();
+            user.setId(i);
+            user.setUsername("user" + i);
+            users.add(user);
+        });
+        return users;
+    }
+}
@@ -0,0 +1,152 @@
+package com.chatlabs.cdev.processor;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.dto.StatusDTO;
+import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StreamingXlsxWriter 单元测试
+ */
+@DisplayName("StreamingXlsxWriter 单元测试")
+class StreamingXlsxWriterTest {
+
+    @Test
+    @DisplayName("写入的文件可被EasyExcel读取")
+    void testWriteAndRead() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingXlsxWriter writer = new StreamingXlsxWriter(out, new ExcelIOProperties());
+        writer.startSheet("用户<数据>", ExcelClassMetadata.of(UserDTO.class));
+        writer.writeRows(createUsers(50));
+        writer.finish();
+
+        List<UserDTO> result = EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertEquals(50, result.size());
+        assertEquals("user1 & <co>", result.get(0).getUsername());
+        assertEquals(50L, result.get(49).getId());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5), result.get(0).getCreateTime());
+        assertNull(result.get(1).getEmail());
+    }
+
+    @Test
+    @DisplayName("数据类使用自定义转换器时直接失败")
+    void testRejectConverter() {
+        StreamingXlsxWriter writer = new StreamingXlsxWriter(new ByteArrayOutputStream(), new ExcelIOProperties());
+
+        assertThrows(ExcelWriteException.class,
+                () -> writer.startSheet("Sheet1", ExcelClassMetadata.of(StatusDTO.class)));
+    }
+
+    @Test
+    @DisplayName("按行数间隔刷出已压缩的数据")
+    void testFlushByRows() {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        properties.setFlushIntervalRows(100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingXlsxWriter writer = new StreamingXlsxWriter(out, properties);
+        writer.startSheet("Sheet1", ExcelClassMetadata.of(UserDTO.class));
+
+        List<UserDTO> users = createUsers(1000);
+        writer.writeRows(users.subList(0, 500));
+        int sizeAfterFirstBatch = out.size();
+        writer.writeRows(users.subList(500, 1000));
+        int sizeAfterSecondBatch = out.size();
+        writer.finish();
+
+        // 结束前已有数据发送，且随行数增长
+        assertTrue(sizeAfterFirstBatch > 0);
+        assertTrue(sizeAfterSecondBatch > sizeAfterFirstBatch);
+        List<UserDTO> result = EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertEquals(1000, result.size());
+    }
+
+    @Test
+    @DisplayName("空数据只写表头")
+    void testEmptySheet() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingXlsxWriter writer = new StreamingXlsxWriter(out, new ExcelIOProperties());
+        writer.startSheet("Sheet1", ExcelClassMetadata.of(UserDTO.class));
+        writer.finish();
+
+        List<UserDTO> result = EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))
+                .head(UserDTO.class).sheet().doReadSync();
+        assertTrue(result.isEmpty());
+        assertEquals(0, writer.getTotalRows());
+    }
+
+    @Test
+    @DisplayName("按第一批数据测量列宽，@ColumnWidth声明的列使用声明值")
+    void testColumnWidths() throws Exception {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        properties.setColumnWidthMode(ColumnWidthMode.SAMPLED);
+        properties.setColumnWidthSampleRows(10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingXlsxWriter writer = new StreamingXlsxWriter(out, properties);
+        writer.startSheet("Sheet1", ExcelClassMetadata.of(WidthDTO.class));
+        WidthDTO row = new WidthDTO();
+        row.name = "名称很长很长很长";
+        row.code = "A1";
+        writer.writeRows(List.of(row));
+        writer.finish();
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            XSSFSheet sheet = workbook.getSheetAt(0);
+            assertEquals((8 * 2 + 2) * 256, sheet.getColumnWidth(0));
+            assertEquals(30 * 256, sheet.getColumnWidth(1));
+        }
+
+        // DECLARED 只写入声明的列宽，未配置列宽策略时相同
+        out.reset();
+        writer = new StreamingXlsxWriter(out, new ExcelIOProperties());
+        writer.startSheet("Sheet1", ExcelClassMetadata.of(WidthDTO.class));
+        writer.writeRows(List.of(row));
+        writer.finish();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            XSSFSheet sheet = workbook.getSheetAt(0);
+            assertEquals(sheet.getDefaultColumnWidth() * 256, sheet.getColumnWidth(0));
+            assertEquals(30 * 256, sheet.getColumnWidth(1));
+        }
+    }
+
+    static class WidthDTO {
+
+        @ExcelProperty("名称")
+        String name;
+
+        @ExcelProperty("编号")
+        @ColumnWidth(30)
+        String code;
+    }
+
+    private List<UserDTO> createUsers(int count) {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername(i == 1 ? "user1 & <co>" : "user" + i);
+            user.setEmail(i % 2 == 0 ? null : "user" + i + "@test.com");
+            user.setAge(20 + i % 30);
+            user.setCreateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+            users.add(user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,116 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.exception.ExcelReadException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CsvParser 测试
+ *
+ * @author DD
+ */
+@DisplayName("CsvParser 测试")
+class CsvParserTest {
+
+    @Test
+    @DisplayName("引号字段：分隔符、换行与双写引号")
+    void testQuotedFields() throws IOException {
+        List<List<String>> records = parse(new CsvParser(new StringReader(
+                "a,\"b,1\",\"say \"\"hi\"\"\"\r\n\"line1\nline2\",,x\n"), ','));
+
+        assertEquals(List.of(
+                List.of("a", "b,1", "say \"hi\""),
+                List.of("line1\nline2", "", "x")), records);
+    }
+
+    @Test
+    @DisplayName("末行无换行、空行与记录序号")
+    void testLastLineAndBlankLines() throws IOException {
+        CsvParser parser = new CsvParser(new StringReader("h1,h2\n\n1,2"), ',');
+
+        assertEquals(List.of("h1", "h2"), parser.next());
+        assertEquals(List.of(""), parser.next());
+        assertEquals(List.of("1", "2"), parser.next());
+        assertEquals(3, parser.getRecordNumber());
+        assertNull(parser.next());
+    }
+
+    @Test
+    @DisplayName("字段跨越缓冲区边界")
+    void testFieldsAcrossBuffer() throws IOException {
+        String longValue = "x".repeat(40_000);
+        List<List<String>> records = parse(new CsvParser(new StringReader(
+                longValue + ",\"" + longValue + "\"\"\"\n"), ','));
+
+        assertEquals(List.of(List.of(longValue, longValue + "\"")), records);
+    }
+
+    @Test
+    @DisplayName("按BOM与内容识别编码，按首行识别分隔符")
+    void testOpen() throws IOException {
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] body = "名称\t数量\n苹果\t3\n".getBytes(StandardCharsets.UTF_8);
+        byte[] utf8 = new byte[bom.length + body.length];
+        System.arraycopy(bom, 0, utf8, 0, bom.length);
+        System.arraycopy(body, 0, utf8, bom.length, body.length);
+
+        CsvParser parser = CsvParser.open(new BufferedInputStream(new ByteArrayInputStream(utf8)));
+        assertEquals('\t', parser.getDelimiter());
+        assertEquals(List.of("名称", "数量"), parser.next());
+
+        byte[] gbk = "名称;数量\n苹果;3\n".getBytes(Charset.forName("GBK"));
+        parser = CsvParser.open(new BufferedInputStream(new ByteArrayInputStream(gbk)));
+        assertEquals(';', parser.getDelimiter());
+        assertEquals(List.of("名称", "数量"), parser.next());
+        assertEquals(List.of("苹果", "3"), parser.next());
+    }
+
+    @Test
+    @DisplayName("识别文件格式")
+    void testDetectFormat() throws IOException {
+        assertEquals(ImportFormat.XLSX, detect(new byte[]{0x50, 0x4B, 0x03, 0x04, 0x14, 0x00}));
+        assertEquals(ImportFormat.XLS, detect(new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+                (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1}));
+        assertEquals(ImportFormat.CSV, detect("id,name\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(ImportFormat.CSV, detect(new byte[0]));
+        assertEquals(ImportFormat.CSV, detect("编号,名称\n".getBytes(Charset.forName("GB18030"))));
+        assertEquals(ImportFormat.CSV, detect("\uFEFFid,name\n".getBytes(StandardCharsets.UTF_16LE)));
+        // 多字节字符截断在检查范围末尾时仍视为文本
+        assertEquals(ImportFormat.CSV, detect(("a".repeat(4095) + "中").getBytes(StandardCharsets.UTF_8)));
+
+        // 既不是 Excel 也不是文本的内容拒绝导入
+        assertThrows(ExcelReadException.class, () -> detect("%PDF-1.7\n%\u00E2\u00E3\u00CF\u00D3\n1 0 obj\u0000"
+                .getBytes(StandardCharsets.ISO_8859_1)));
+        assertThrows(ExcelReadException.class, () -> detect(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A,
+                '\n', 0x00, 0x00, 0x00, 0x0D, 'I', 'H', 'D', 'R'}));
+
+        // 识别后输入流回到起始位置
+        BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream("PK\3\4rest".getBytes(StandardCharsets.ISO_8859_1)));
+        ImportFormat.detect(in);
+        assertEquals('P', in.read());
+    }
+
+    private static ImportFormat detect(byte[] bytes) throws IOException {
+        return ImportFormat.detect(ImportFormat.markable(new ByteArrayInputStream(bytes)));
+    }
+
+    private static List<List<String>> parse(CsvParser parser) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = parser.next()) != null) {
+            records.add(new ArrayList<>(record));
+        }
+        return records;
+    }
+}
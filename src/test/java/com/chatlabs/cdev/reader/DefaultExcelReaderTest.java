@@ -1,15 +1,40 @@
 package com.chatlabs.cdev.reader;
 
 import com.alibaba.excel.EasyExcel;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.dto.TestUserDTO;
 import com.chatlabs.cdev.example.dto.UserDTO;
+import com.chatlabs.cdev.exception.ExcelReadException;
+import com.chatlabs.cdev.metadata.ExcelClassMetadata;
+import com.chatlabs.cdev.processor.CsvWriter;
+import com.chatlabs.cdev.processor.ExportFormat;
+import com.chatlabs.cdev.validation.ExcelImportResult;
+import com.chatlabs.cdev.validation.ImportError;
+import com.chatlabs.cdev.validation.RowValidation;
+import com.chatlabs.cdev.validation.RowValidator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -55,5 +80,319 @@ class DefaultExcelReaderTest {
         assertEquals(3, result.size());
         assertEquals("user1", result.get(0).getUsername());
     }
+    
+    @Test
+    void testReadByHeaderName() {
+        // 列顺序与数据类不同，声明了表头的列按名称匹配
+        List<List<String>> head = List.of(List.of("年龄"), List.of("用户名"), List.of("创建时间"), List.of("用户ID"));
+        List<List<Object>> rows = List.of(
+                List.of(30, "alice", "2024-01-02 03:04:05", 1L),
+                List.of(31, "bob", "2024-02-03 04:05:06", 2L));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        EasyExcel.write(outputStream).head(head).sheet("test").doWrite(rows);
+        
+        List<UserDTO> result = reader.read(new ByteArrayInputStream(outputStream.toByteArray()), UserDTO.class);
+        
+        assertEquals(2, result.size());
+        UserDTO first = result.get(0);
+        assertEquals(1L, first.getId());
+        assertEquals("alice", first.getUsername());
+        assertNull(first.getEmail());
+        assertEquals(30, first.getAge());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5), first.getCreateTime());
+        assertEquals("bob", result.get(1).getUsername());
+    }
+    
+    @Test
+    void testReadEmpty() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        EasyExcel.write(outputStream, UserDTO.class).sheet("test").doWrite(new ArrayList<>());
+        
+        List<UserDTO> result = reader.read(new ByteArrayInputStream(outputStream.toByteArray()), UserDTO.class);
+        
+        assertTrue(result.isEmpty());
+    }
+    
+    @Test
+    void testReadUnsupportedFormat() {
+        byte[] pdf = "%PDF-1.7\n%\u00E2\u00E3\u00CF\u00D3\n1 0 obj\u0000".getBytes(StandardCharsets.ISO_8859_1);
+        
+        ExcelReadException e = assertThrows(ExcelReadException.class,
+                () -> reader.read(new ByteArrayInputStream(pdf), UserDTO.class));
+        
+        assertEquals("不支持的文件格式", e.getCause().getMessage());
+    }
+    
+    @Test
+    void testReadWithRowHandler() {
+        List<String> names = new ArrayList<>();
+        
+        reader.read(new ByteArrayInputStream(createUsers(5)), UserDTO.class, user -> names.add(user.getUsername()));
+        
+        assertEquals(List.of("user1", "user2", "user3", "user4", "user5"), names);
+    }
+    
+    @Test
+    void testRowHandlerExceptionPropagated() {
+        IllegalStateException error = new IllegalStateException("stop");
+        List<UserDTO> handled = new ArrayList<>();
+        
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> reader.read(new ByteArrayInputStream(createUsers(5)), UserDTO.class, user -> {
+                    handled.add(user);
+                    if (handled.size() == 2) {
+                        throw error;
+                    }
+                }));
+        
+        // 回调异常原样抛出且中止后续解析
+        assertSame(error, thrown);
+        assertEquals(2, handled.size());
+    }
+    
+    @Test
+    void testReadAllSheets() {
+        Map<String, List<?>> result = reader.readSheets(new ByteArrayInputStream(createWorkbook()), UserDTO.class, Map.of());
+        
+        assertEquals(List.of("一月", "二月", "三月"), new ArrayList<>(result.keySet()));
+        assertEquals(3, result.get("一月").size());
+        assertEquals(2, result.get("三月").size());
+        assertEquals("jan1", ((UserDTO) result.get("一月").get(0)).getUsername());
+        assertEquals("mar2", ((UserDTO) result.get("三月").get(1)).getUsername());
+    }
+    
+    @Test
+    void testReadSheetsOnSharedExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicInteger submitted = new AtomicInteger();
+        ReflectionTestUtils.setField(reader, "sheetExecutor", (Executor) task -> {
+            submitted.incrementAndGet();
+            executor.execute(task);
+        });
+        try {
+            Map<String, List<?>> result = reader.readSheets(new ByteArrayInputStream(createWorkbook()), UserDTO.class,
+                    Map.of());
+            
+            assertEquals(3, submitted.get());
+            assertEquals(3, result.get("一月").size());
+            assertEquals("mar2", ((UserDTO) result.get("三月").get(1)).getUsername());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testReadSelectedSheets() {
+        Map<String, Class<?>> sheetClasses = new LinkedHashMap<>();
+        sheetClasses.put("三月", null);
+        sheetClasses.put("二月", TestUserDTO.class);
+        
+        Map<String, List<?>> result = reader.readSheets(new ByteArrayInputStream(createWorkbook()), UserDTO.class, sheetClasses);
+        
+        // 按工作簿顺序返回
+        assertEquals(List.of("二月", "三月"), new ArrayList<>(result.keySet()));
+        TestUserDTO feb = (TestUserDTO) result.get("二月").get(0);
+        assertEquals("张三", feb.getName());
+        assertEquals("zhangsan@test.com", feb.getEmail());
+        assertInstanceOf(UserDTO.class, result.get("三月").get(0));
+    }
+    
+    @Test
+    void testReadMissingSheet() {
+        ExcelReadException e = assertThrows(ExcelReadException.class,
+                () -> reader.readSheets(new ByteArrayInputStream(createWorkbook()), UserDTO.class,
+                        Map.of("十二月", UserDTO.class)));
+        
+        assertTrue(e.getMessage().contains("十二月"));
+    }
+    
+    @Test
+    void testReadWithValidation() {
+        // 第 3 行年龄无法转换，第 4 行用户名为空
+        List<List<String>> head = List.of(List.of("用户ID"), List.of("用户名"), List.of("年龄"));
+        List<List<Object>> rows = List.of(
+                List.of(1L, "alice", 30),
+                List.of(2L, "bob", "abc"),
+                List.of(3L, "", 31),
+                List.of(4L, "dave", 32));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        EasyExcel.write(outputStream).head(head).sheet("用户").doWrite(rows);
+        RowValidator<UserDTO> usernameRequired = (user, errors) -> {
+            if (user.getUsername() == null || user.getUsername().isBlank()) {
+                errors.reject("用户名", "NotBlank", "不能为空");
+            }
+        };
+        
+        ExcelImportResult<UserDTO> result = reader.read(new ByteArrayInputStream(outputStream.toByteArray()),
+                UserDTO.class, new RowValidation<>(List.of(usernameRequired), 0));
+        
+        assertEquals(4, result.getTotalRows());
+        assertEquals(List.of("alice", "dave"), result.getRows().stream().map(UserDTO::getUsername).toList());
+        assertEquals(2, result.getErrors().size());
+        ImportError mismatch = result.getErrors().get(0);
+        assertEquals("用户", mismatch.getSheetName());
+        assertEquals(3, mismatch.getRow());
+        assertEquals("年龄", mismatch.getColumn());
+        assertEquals("TYPE_MISMATCH", mismatch.getCode());
+        assertEquals(4, result.getErrors().get(1).getRow());
+        assertFalse(result.isTruncated());
+    }
+    
+    @Test
+    void testValidationStopsAtMaxErrors() {
+        RowValidator<UserDTO> rejectAll = (user, errors) -> errors.reject("INVALID", "无效");
+        
+        ExcelImportResult<UserDTO> result = reader.read(new ByteArrayInputStream(createUsers(50)), UserDTO.class,
+                new RowValidation<>(List.of(rejectAll), 5));
+        
+        // 达到上限后停止解析，不再读取后续行
+        assertTrue(result.isTruncated());
+        assertEquals(5, result.getErrors().size());
+        assertEquals(5, result.getTotalRows());
+        assertTrue(result.getRows().isEmpty());
+    }
+    
+    @Test
+    void testReadCsvExport() {
+        // 导出的 CSV（含 BOM）可直接导入，日期与数值按导出格式解析
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername("user, \"" + i + "\"");
+            user.setAge(20 + i);
+            user.setCreateTime(LocalDateTime.of(2024, 1, i, 8, 30, 0));
+            users.add(user);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(outputStream, ExportFormat.CSV, ExcelClassMetadata.of(UserDTO.class),
+                "yyyy-MM-dd HH:mm:ss");
+        writer.writeBom();
+        writer.writeHeader();
+        writer.writeRows(users);
+        writer.flush();
+        
+        List<UserDTO> result = reader.read(new ByteArrayInputStream(outputStream.toByteArray()), UserDTO.class);
+        
+        assertEquals(3, result.size());
+        assertEquals(users.get(1).getUsername(), result.get(1).getUsername());
+        assertEquals(22, result.get(1).getAge());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 8, 30, 0), result.get(1).getCreateTime());
+        assertNull(result.get(1).getEmail());
+    }
+    
+    @Test
+    void testReadCsvByHeaderName() {
+        String csv = "年龄\t用户名\t用户ID\n30\talice\t1\n\n 31 \t bob \t2\n";
+        
+        List<UserDTO> result = reader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UserDTO.class);
+        
+        assertEquals(2, result.size());
+        assertEquals("alice", result.get(0).getUsername());
+        assertEquals(31, result.get(1).getAge());
+        assertEquals("bob", result.get(1).getUsername());
+        assertEquals(2L, result.get(1).getId());
+    }
+    
+    @Test
+    void testReadCsvWithValidation() {
+        String csv = "用户ID,用户名,年龄\n1,alice,30\n2,bob,abc\n3,carol,31\n";
+        
+        ExcelImportResult<UserDTO> result = reader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                UserDTO.class, new RowValidation<>(List.of(), 0));
+        
+        assertEquals(2, result.getRows().size());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals("年龄", result.getErrors().get(0).getColumn());
+        assertEquals("TYPE_MISMATCH", result.getErrors().get(0).getCode());
+    }
+    
+    @Test
+    void testReadCsvConversionFailure() {
+        String csv = "用户ID,用户名,年龄\n1,alice,abc\n";
+        
+        ExcelReadException e = assertThrows(ExcelReadException.class,
+                () -> reader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UserDTO.class));
+        
+        assertTrue(e.getCause().getMessage().contains("第2行[年龄]"));
+    }
+    
+    @Test
+    void testReadSharedStringsWithEachCacheMode(@TempDir Path tempDir) throws Exception {
+        byte[] content = createSharedStringsWorkbook(500);
+        for (ReadCacheMode mode : ReadCacheMode.values()) {
+            ExcelIOProperties properties = new ExcelIOProperties();
+            properties.setImportReadCache(mode);
+            properties.setImportReadCacheHeapLimit(0);
+            properties.setImportSpillDir(tempDir.toString());
+            ReflectionTestUtils.setField(reader, "properties", properties);
+            
+            List<UserDTO> result = reader.read(new ByteArrayInputStream(content), UserDTO.class);
+            
+            assertEquals(500, result.size(), mode.name());
+            assertEquals("user1", result.get(0).getUsername(), mode.name());
+            assertEquals("user500", result.get(499).getUsername(), mode.name());
+            assertEquals("group" + (499 % 7), result.get(499).getEmail(), mode.name());
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertEquals(0, files.count(), mode.name());
+            }
+        }
+    }
+    
+    private static byte[] createWorkbook() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (com.alibaba.excel.ExcelWriter writer = EasyExcel.write(outputStream).build()) {
+            writer.write(users("jan", 3), EasyExcel.writerSheet(0, "一月").head(UserDTO.class).build());
+            writer.write(List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25)),
+                    EasyExcel.writerSheet(1, "二月").head(TestUserDTO.class).build());
+            writer.write(users("mar", 2), EasyExcel.writerSheet(2, "三月").head(UserDTO.class).build());
+        }
+        return outputStream.toByteArray();
+    }
+    
+    /**
+     * 使用 XSSFWorkbook 写出，字符串存放在 sharedStrings.xml 中
+     */
+    private static byte[] createSharedStringsWorkbook(int count) throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("test");
+            Row head = sheet.createRow(0);
+            head.createCell(0).setCellValue("用户ID");
+            head.createCell(1).setCellValue("用户名");
+            head.createCell(2).setCellValue("邮箱");
+            for (int i = 1; i <= count; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue("user" + i);
+                row.createCell(2).setCellValue("group" + ((i - 1) % 7));
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+    
+    private static List<UserDTO> users(String prefix, int count) {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername(prefix + i);
+            users.add(user);
+        }
+        return users;
+    }
+    
+    private static byte[] createUsers(int count) {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            UserDTO user = new UserDTO();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            users.add(user);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        EasyExcel.write(outputStream, UserDTO.class).sheet("test").doWrite(users);
+        return outputStream.toByteArray();
+    }
 }
-
@@ -0,0 +1,218 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.exception.ExcelJobRejectedException;
+import com.chatlabs.cdev.exception.ExcelReadException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExcelRowIterator 测试
+ *
+ * @author DD
+ */
+@DisplayName("ExcelRowIterator 测试")
+class ExcelRowIteratorTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("按解析顺序交付全部行")
+    void testIterateAll() {
+        ExcelRowIterator<String> rows = ExcelRowIterator.start(
+                new RowsReader(500, null), input(), String.class, 8, executor);
+
+        List<String> result = new ArrayList<>();
+        rows.forEachRemaining(result::add);
+
+        assertEquals(500, result.size());
+        assertEquals("row0", result.get(0));
+        assertEquals("row499", result.get(499));
+        assertFalse(rows.hasNext());
+    }
+
+    @Test
+    @DisplayName("队列满时解析线程等待，关闭后中止解析并关闭输入流")
+    void testBackpressureAndClose() throws Exception {
+        RowsReader reader = new RowsReader(10_000, null);
+        TrackingInputStream input = new TrackingInputStream();
+        ExcelRowIterator<String> rows = ExcelRowIterator.start(reader, input, String.class, 4, executor);
+
+        assertEquals("row0", rows.next());
+        Thread.sleep(200);
+        // 队列容量 4，加上已消费的一行及等待入队的一行
+        assertTrue(reader.produced.get() <= 6, "produced=" + reader.produced.get());
+
+        rows.close();
+        assertTrue(reader.finished.await(5, TimeUnit.SECONDS));
+        assertTrue(reader.produced.get() < 10_000);
+        assertTrue(input.awaitClosed());
+        assertFalse(rows.hasNext());
+    }
+
+    @Test
+    @DisplayName("解析失败在消费完已解析的行后抛出")
+    void testFailure() {
+        ExcelRowIterator<String> rows = ExcelRowIterator.start(
+                new RowsReader(3, new IllegalStateException("broken")), input(), String.class, 8, executor);
+
+        assertEquals("row0", rows.next());
+        assertEquals("row1", rows.next());
+        assertEquals("row2", rows.next());
+        ExcelReadException e = assertThrows(ExcelReadException.class, rows::hasNext);
+        assertEquals("broken", e.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("Stream 关闭即关闭迭代器")
+    void testStream() {
+        RowsReader reader = new RowsReader(10_000, null);
+        ExcelRowIterator<String> rows = ExcelRowIterator.start(reader, input(), String.class, 4, executor);
+
+        List<String> first;
+        try (Stream<String> stream = rows.stream()) {
+            first = stream.limit(3).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of("row0", "row1", "row2"), first);
+        assertFalse(rows.hasNext());
+    }
+
+    @Test
+    @DisplayName("按批交付，最后一批不足批大小")
+    void testBatches() {
+        ExcelRowIterator<List<String>> batches = ExcelRowIterator.startBatches(
+                new RowsReader(25, null), input(), String.class, 10, 2, executor);
+
+        List<Integer> sizes = new ArrayList<>();
+        List<String> last = null;
+        while (batches.hasNext()) {
+            last = batches.next();
+            sizes.add(last.size());
+        }
+
+        assertEquals(List.of(10, 10, 5), sizes);
+        assertEquals("row20", last.get(0));
+    }
+
+    @Test
+    @DisplayName("仅实现列表读取的读取器使用默认行回调")
+    void testListOnlyReader() {
+        ExcelReader reader = new ExcelReader() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> read(InputStream inputStream, Class<T> dataClass) {
+                return (List<T>) List.of("a", "b");
+            }
+        };
+
+        List<String> result = new ArrayList<>();
+        ExcelRowIterator.start(reader, input(), String.class, 1, executor).forEachRemaining(result::add);
+
+        assertEquals(List.of("a", "b"), result);
+    }
+
+    @Test
+    @DisplayName("解析线程池已满时拒绝导入并关闭输入流")
+    void testRejected() throws Exception {
+        TrackingInputStream input = new TrackingInputStream();
+        Executor full = task -> {
+            throw new RejectedExecutionException("full");
+        };
+
+        assertThrows(ExcelJobRejectedException.class,
+                () -> ExcelRowIterator.start(new RowsReader(1, null), input, String.class, 4, full));
+        assertTrue(input.awaitClosed());
+    }
+
+    private static InputStream input() {
+        return new ByteArrayInputStream(new byte[0]);
+    }
+
+    /**
+     * 逐行回调的读取器，可在全部行之后抛出异常
+     */
+    private static class RowsReader implements ExcelReader {
+
+        private final int count;
+        private final RuntimeException failure;
+        private final AtomicInteger produced = new AtomicInteger();
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        RowsReader(int count, RuntimeException failure) {
+            this.count = count;
+            this.failure = failure;
+        }
+
+        @Override
+        public <T> List<T> read(InputStream inputStream, Class<T> dataClass) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> void read(InputStream inputStream, Class<T> dataClass, Consumer<? super T> rowHandler) {
+            try {
+                IntStream.range(0, count).forEach(i -> {
+                    produced.incrementAndGet();
+                    rowHandler.accept(dataClass.cast("row" + i));
+                });
+                if (failure != null) {
+                    throw failure;
+                }
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        TrackingInputStream() {
+            super(new byte[0]);
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+
+        boolean awaitClosed() throws InterruptedException {
+            for (int i = 0; i < 50 && !closed.get(); i++) {
+                Thread.sleep(20);
+            }
+            return closed.get();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.chatlabs.cdev.reader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MappedReadCache 测试
+ *
+ * @author DD
+ */
+@DisplayName("MappedReadCache 测试")
+class MappedReadCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("按序号读取共享字符串")
+    void testPutAndGet() throws IOException {
+        MappedReadCache cache = new MappedReadCache(tempDir, 64);
+        cache.init(null);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i % 10 == 0 ? "" : "字符串-" + i);
+        }
+        cache.put(null);
+        cache.put("x".repeat(300));
+        cache.putFinished();
+
+        assertEquals("", cache.get(0));
+        assertEquals("字符串-1", cache.get(1));
+        assertEquals("字符串-999", cache.get(999));
+        assertNull(cache.get(1000));
+        assertEquals("x".repeat(300), cache.get(1001));
+        assertEquals("字符串-501", cache.get(501));
+        assertNull(cache.get(1002));
+        assertNull(cache.get(null));
+        assertEquals(1, countFiles());
+
+        cache.destroy();
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("没有共享字符串时不创建文件")
+    void testEmpty() throws IOException {
+        MappedReadCache cache = new MappedReadCache(tempDir);
+        cache.putFinished();
+
+        assertNull(cache.get(0));
+        cache.destroy();
+        assertEquals(0, countFiles());
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.chatlabs.cdev.reader;
+
+import com.alibaba.excel.cache.Ehcache;
+import com.alibaba.excel.cache.MapCache;
+import com.alibaba.excel.cache.ReadCache;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SharedStringsCacheSelector 测试
+ *
+ * @author DD
+ */
+@DisplayName("SharedStringsCacheSelector 测试")
+class SharedStringsCacheSelectorTest {
+
+    @Test
+    @DisplayName("AUTO 按共享字符串表大小选择")
+    void testAutoSelect() {
+        SharedStringsCacheSelector selector = new SharedStringsCacheSelector(ReadCacheMode.AUTO, 100, 1000, null);
+
+        assertEquals(ReadCacheMode.HEAP, selector.select(0));
+        assertEquals(ReadCacheMode.HEAP, selector.select(100));
+        assertEquals(ReadCacheMode.MAPPED, selector.select(101));
+        assertEquals(ReadCacheMode.MAPPED, selector.select(1000));
+        assertEquals(ReadCacheMode.DISK, selector.select(1001));
+        assertEquals(ReadCacheMode.MAPPED, selector.select(-1));
+    }
+
+    @Test
+    @DisplayName("指定策略时不考虑大小")
+    void testFixedMode() {
+        SharedStringsCacheSelector selector = new SharedStringsCacheSelector(ReadCacheMode.HEAP, 100, 1000, null);
+
+        assertEquals(ReadCacheMode.HEAP, selector.select(-1));
+        assertEquals(ReadCacheMode.HEAP, selector.select(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("按策略创建缓存")
+    void testReadCache() {
+        ExcelIOProperties properties = new ExcelIOProperties();
+        SharedStringsCacheSelector selector = SharedStringsCacheSelector.of(properties);
+        PackagePart part = mock(PackagePart.class);
+
+        when(part.getSize()).thenReturn(1024L);
+        assertInstanceOf(MapCache.class, selector.readCache(part));
+
+        when(part.getSize()).thenReturn(properties.getImportReadCacheHeapLimit() + 1);
+        ReadCache mapped = selector.readCache(part);
+        assertInstanceOf(MappedReadCache.class, mapped);
+        mapped.destroy();
+
+        when(part.getSize()).thenReturn(properties.getImportReadCacheMappedLimit() + 1);
+        assertInstanceOf(Ehcache.class, selector.readCache(part));
+    }
+}
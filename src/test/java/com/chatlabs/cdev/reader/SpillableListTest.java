@@ -0,0 +1,185 @@
+package com.chatlabs.cdev.reader;
+
+import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.exception.ExcelIOException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SpillableList 测试
+ *
+ * @author DD
+ */
+@DisplayName("SpillableList 测试")
+class SpillableListTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("超过阈值的行溢写到文件，随机访问与迭代结果一致")
+    void testSpill() {
+        try (SpillableList<TestUserDTO> list = new SpillableList<>(TestUserDTO.class, 10, tempDir)) {
+            for (int i = 0; i < 1000; i++) {
+                list.add(new TestUserDTO((long) i, "用户" + i, i % 3 == 0 ? null : "u" + i + "@test.com", i % 100));
+            }
+
+            assertEquals(1000, list.size());
+            assertTrue(list.isSpilled());
+            assertEquals(990, list.getSpilledRows());
+            assertEquals(1, countFiles());
+
+            assertEquals(new TestUserDTO(5L, "用户5", "u5@test.com", 5), list.get(5));
+            assertEquals(new TestUserDTO(999L, "用户999", null, 99), list.get(999));
+            assertEquals(new TestUserDTO(500L, "用户500", "u500@test.com", 0), list.get(500));
+
+            int index = 0;
+            for (TestUserDTO row : list) {
+                assertEquals(index, row.getId());
+                index++;
+            }
+            assertEquals(1000, index);
+            assertThrows(IndexOutOfBoundsException.class, () -> list.get(1000));
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("跨多个映射区域读取")
+    void testSegments() {
+        try (SpillableList<TestUserDTO> list = new SpillableList<>(TestUserDTO.class, 0, tempDir, 256)) {
+            assertFalse(list.isSpilled());
+        }
+        try (SpillableList<TestUserDTO> list = new SpillableList<>(TestUserDTO.class, 1, tempDir, 256)) {
+            for (int i = 0; i < 200; i++) {
+                list.add(new TestUserDTO((long) i, "name" + i, "e" + i, i));
+            }
+            for (int i = 199; i >= 0; i--) {
+                assertEquals(i, list.get(i).getId());
+            }
+            assertEquals(199, list.stream().filter(row -> row.getId() > 0).count());
+        }
+    }
+
+    @Test
+    @DisplayName("读取后继续追加")
+    void testAppendAfterRead() {
+        try (SpillableList<TestUserDTO> list = new SpillableList<>(TestUserDTO.class, 2, tempDir, 128)) {
+            for (int i = 0; i < 5; i++) {
+                list.add(new TestUserDTO((long) i, "n" + i, null, i));
+            }
+            assertEquals(4L, list.get(4).getId());
+
+            for (int i = 5; i < 50; i++) {
+                list.add(new TestUserDTO((long) i, "n" + i, null, i));
+            }
+            assertEquals(4L, list.get(4).getId());
+            assertEquals(49L, list.get(49).getId());
+            assertEquals(new ArrayList<>(list), List.copyOf(list));
+        }
+    }
+
+    @Test
+    @DisplayName("迭代过程中追加抛出ConcurrentModificationException")
+    void testConcurrentModification() {
+        try (SpillableList<TestUserDTO> list = new SpillableList<>(TestUserDTO.class, 1, tempDir)) {
+            list.add(new TestUserDTO(1L, "a", null, 1));
+            list.add(new TestUserDTO(2L, "b", null, 2));
+            Iterator<TestUserDTO> iterator = list.iterator();
+            iterator.next();
+            list.add(new TestUserDTO(3L, "c", null, 3));
+
+            assertThrows(ConcurrentModificationException.class, iterator::next);
+        }
+    }
+
+    @Test
+    @DisplayName("常用类型编码往返")
+    void testTypes() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_000_000);
+        TypedRow row = new TypedRow(true, 3.5d, new BigDecimal("12345.6789"), time, LocalDate.of(2024, 1, 31),
+                new Date(1_700_000_000_000L), 7, new ArrayList<>(List.of("a", "b")));
+        try (SpillableList<TypedRow> list = new SpillableList<>(TypedRow.class, 1, tempDir)) {
+            list.add(new TypedRow());
+            list.add(row);
+
+            assertTrue(list.isSpilled());
+            assertEquals(row, list.get(1));
+            assertEquals(new TypedRow(), list.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("存在无法编码的列时不溢写")
+    void testUnsupportedColumn() {
+        try (SpillableList<OpaqueRow> list = new SpillableList<>(OpaqueRow.class, 1, tempDir)) {
+            Object payload = new Object();
+            list.add(new OpaqueRow("a", payload));
+            list.add(new OpaqueRow("b", payload));
+
+            assertFalse(list.isSpilled());
+            assertSame(payload, list.get(1).getPayload());
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("关闭后不能再访问")
+    void testClosed() {
+        SpillableList<TestUserDTO> list = new SpillableList<>(TestUserDTO.class, 1, tempDir);
+        list.add(new TestUserDTO(1L, "a", null, 1));
+        list.close();
+
+        assertThrows(ExcelIOException.class, () -> list.get(0));
+        assertThrows(ExcelIOException.class, () -> list.add(new TestUserDTO()));
+    }
+
+    private long countFiles() {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TypedRow {
+        private boolean active;
+        private Double score;
+        private BigDecimal amount;
+        private LocalDateTime createdAt;
+        private LocalDate birthday;
+        private Date updatedAt;
+        private int level;
+        private ArrayList<String> tags;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OpaqueRow {
+        private String name;
+        private Object payload;
+    }
+}
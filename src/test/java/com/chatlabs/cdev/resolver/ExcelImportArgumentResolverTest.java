@@ -4,27 +4,59 @@ import com.alibaba.excel.EasyExcel;
 import com.chatlabs.cdev.annotation.ExcelImport;
 import com.chatlabs.cdev.config.ExcelIOProperties;
 import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
+import com.chatlabs.cdev.exception.ExcelIOException;
 import com.chatlabs.cdev.exception.ExcelParseException;
+import com.chatlabs.cdev.exception.ExcelReadException;
+import com.chatlabs.cdev.exception.ExcelValidationException;
 import com.chatlabs.cdev.extractor.InputStreamExtractor;
 import com.chatlabs.cdev.extractor.MultipartInputStreamExtractor;
+import com.chatlabs.cdev.extractor.RawBodyInputStreamExtractor;
+import com.chatlabs.cdev.extractor.StreamingMultipartInputStreamExtractor;
+import com.chatlabs.cdev.job.ImportJob;
+import com.chatlabs.cdev.job.ImportJobManager;
+import com.chatlabs.cdev.job.ImportJobStatus;
+import com.chatlabs.cdev.job.ImportJobStore;
+import com.chatlabs.cdev.reader.BatchImportResult;
 import com.chatlabs.cdev.reader.DefaultExcelReader;
+import com.chatlabs.cdev.reader.RowBatchHandler;
+import com.chatlabs.cdev.reader.SpillableList;
+import com.chatlabs.cdev.validation.RowErrors;
+import com.chatlabs.cdev.validation.RowValidator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.mock.web.MockMultipartHttpServletRequest;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,14 +75,21 @@ class ExcelImportArgumentResolverTest {
 
     private ExcelIOProperties properties;
     private MultipartInputStreamExtractor multipartExtractor;
+    private ExecutorService parseExecutor;
 
     @BeforeEach
     void setUp() {
         properties = new ExcelIOProperties();
         multipartExtractor = new MultipartInputStreamExtractor();
+        parseExecutor = Executors.newCachedThreadPool();
         resolver = new ExcelImportArgumentResolver(applicationContext, properties);
     }
 
+    @AfterEach
+    void tearDown() {
+        parseExecutor.shutdownNow();
+    }
+
     @Test
     @DisplayName("supportsParameter - 有ExcelImport注解返回true")
     void testSupportsParameterWithAnnotation() throws Exception {
@@ -165,12 +204,364 @@ class ExcelImportArgumentResolverTest {
         Method method = TestController.class.getMethod("importUsers", List.class);
         MethodParameter parameter = new MethodParameter(method, 0);
 
-        // Mock extractors - 自动选择模式
+        // 声明了长度的请求在提取前即被拒绝
+        assertThrows(ExcelParseException.class,
+                () -> resolver.resolveArgument(parameter, null, webRequest, null));
+    }
+
+    @Test
+    @DisplayName("resolveArgument - Stream参数边解析边消费，请求结束时关闭")
+    void testResolveArgumentStream() throws Exception {
+        List<TestUserDTO> testData = List.of(
+                new TestUserDTO(1L, "张三", "zhangsan@test.com", 25),
+                new TestUserDTO(2L, "李四", "lisi@test.com", 30)
+        );
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", createExcelContent(testData)));
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        Method method = TestController.class.getMethod("importStream", Stream.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
         when(applicationContext.getBeansOfType(InputStreamExtractor.class))
                 .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean("excelParseExecutor", Executor.class)).thenReturn(parseExecutor);
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
 
-        assertThrows(ExcelParseException.class,
-                () -> resolver.resolveArgument(parameter, null, webRequest, null));
+        try {
+            Object result = resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+
+            assertInstanceOf(Stream.class, result);
+            Iterator<?> rows = ((Stream<?>) result).iterator();
+            assertEquals("张三", ((TestUserDTO) rows.next()).getName());
+
+            // 请求结束后未消费的行被丢弃
+            attributes.requestCompleted();
+            assertFalse(rows.hasNext());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 超过溢写阈值的行存放在临时文件，请求结束时删除")
+    void testResolveArgumentSpill() throws Exception {
+        properties.setImportSpillThreshold(1);
+        List<TestUserDTO> testData = List.of(
+                new TestUserDTO(1L, "张三", "zhangsan@test.com", 25),
+                new TestUserDTO(2L, "李四", "lisi@test.com", 30),
+                new TestUserDTO(3L, "王五", "wangwu@test.com", 35)
+        );
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", createExcelContent(testData)));
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        Method method = TestController.class.getMethod("importUsers", List.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+
+        try {
+            Object result = resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+
+            SpillableList<?> rows = assertInstanceOf(SpillableList.class, result);
+            assertEquals(2, rows.getSpilledRows());
+            assertEquals(testData, new ArrayList<>(rows));
+
+            attributes.requestCompleted();
+            assertThrows(ExcelIOException.class, () -> rows.get(2));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("resolveArgument - Iterator参数")
+    void testResolveArgumentIterator() throws Exception {
+        List<TestUserDTO> testData = List.of(
+                new TestUserDTO(1L, "张三", "zhangsan@test.com", 25),
+                new TestUserDTO(2L, "李四", "lisi@test.com", 30)
+        );
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", createExcelContent(testData)));
+
+        Method method = TestController.class.getMethod("importIterator", Iterator.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean("excelParseExecutor", Executor.class)).thenReturn(parseExecutor);
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+
+        Object result = resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+
+        assertInstanceOf(Iterator.class, result);
+        List<String> names = new ArrayList<>();
+        ((Iterator<?>) result).forEachRemaining(row -> names.add(((TestUserDTO) row).getName()));
+        assertEquals(List.of("张三", "李四"), names);
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 解析计划按参数缓存，Bean只查找一次")
+    void testResolveArgumentPlanCached() throws Exception {
+        byte[] excelContent = createExcelContent(List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25)));
+        Method method = TestController.class.getMethod("importUsers", List.class);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+
+        for (int i = 0; i < 3; i++) {
+            MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+            request.addFile(new MockMultipartFile("file", "test.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", excelContent));
+            Object result = resolver.resolveArgument(new MethodParameter(method, 0), null,
+                    new ServletWebRequest(request), null);
+            assertEquals(1, assertInstanceOf(List.class, result).size());
+        }
+
+        verify(applicationContext, times(1)).getBeansOfType(InputStreamExtractor.class);
+        verify(applicationContext, times(1)).getBean(DefaultExcelReader.class);
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 未声明长度的请求读取超出限制时中止")
+    void testResolveArgumentFileTooLargeWithoutContentLength() throws Exception {
+        properties.setMaxFileSize(100);
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType("application/octet-stream");
+        request.setContent(createExcelContent(List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25))));
+
+        Method method = TestController.class.getMethod("importUsers", List.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("rawBodyExtractor", new RawBodyInputStreamExtractor()));
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+
+        ExcelFileSizeException e = assertThrows(ExcelFileSizeException.class,
+                () -> resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+        assertEquals(100, e.getLimit());
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 注解指定的大小限制覆盖全局配置")
+    void testResolveArgumentAnnotationSizeLimit() throws Exception {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                createExcelContent(List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25)))));
+
+        Method method = TestController.class.getMethod("importSmall", byte[].class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+
+        ExcelFileSizeException e = assertThrows(ExcelFileSizeException.class,
+                () -> resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+        assertEquals(1024, e.getLimit());
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 分批导入在请求线程中按批处理")
+    void testResolveArgumentBatches() throws Exception {
+        List<TestUserDTO> testData = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            testData.add(new TestUserDTO(i, "user" + i, "user" + i + "@test.com", 20));
+        }
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", createExcelContent(testData)));
+
+        RecordingBatchHandler handler = new RecordingBatchHandler();
+        Method method = TestController.class.getMethod("importBatches", BatchImportResult.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean("excelParseExecutor", Executor.class)).thenReturn(parseExecutor);
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+        when(applicationContext.getBean(RecordingBatchHandler.class)).thenReturn(handler);
+
+        Object result = resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+
+        BatchImportResult importResult = assertInstanceOf(BatchImportResult.class, result);
+        assertEquals(5, importResult.getRows());
+        assertEquals(3, importResult.getBatches());
+        assertEquals(List.of(2, 2, 1), handler.sizes);
+        assertEquals(Set.of(Thread.currentThread().getName()), handler.threads);
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 批处理失败中止导入")
+    void testResolveArgumentBatchFailure() throws Exception {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                createExcelContent(List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25)))));
+
+        RecordingBatchHandler handler = new RecordingBatchHandler();
+        handler.failure = new IllegalStateException("db down");
+        Method method = TestController.class.getMethod("importBatches", BatchImportResult.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean("excelParseExecutor", Executor.class)).thenReturn(parseExecutor);
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+        when(applicationContext.getBean(RecordingBatchHandler.class)).thenReturn(handler);
+
+        ExcelReadException e = assertThrows(ExcelReadException.class,
+                () -> resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+        assertSame(handler.failure, e.getCause());
+    }
+
+    @Test
+    @DisplayName("resolveArgument - MultipartFile参数不经提取器读取请求体")
+    void testResolveArgumentMultipartFileSkipsExtractor() throws Exception {
+        properties.setStreamingMultipart(true);
+        StreamingMultipartInputStreamExtractor streamingExtractor =
+                spy(new StreamingMultipartInputStreamExtractor(properties));
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", "a,b\n1,2\n".getBytes());
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(file);
+
+        Method method = TestController.class.getMethod("importFile", MultipartFile.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("streamingMultipartExtractor", streamingExtractor));
+
+        assertSame(file, resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+        verify(streamingExtractor, never()).extract(any(), any());
+        verify(streamingExtractor, never()).extract(any(), any(), anyLong());
+
+        MockMultipartHttpServletRequest large = new MockMultipartHttpServletRequest();
+        large.addFile(new MockMultipartFile("file", "large.csv", "text/csv", new byte[2048]));
+        assertThrows(ExcelFileSizeException.class,
+                () -> resolver.resolveArgument(parameter, null, new ServletWebRequest(large), null));
+        assertThrows(ExcelParseException.class, () -> resolver.resolveArgument(parameter, null,
+                new ServletWebRequest(new MockMultipartHttpServletRequest()), null));
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 异步导入返回任务并以202响应")
+    void testResolveArgumentAsync(@TempDir Path directory) throws Exception {
+        List<TestUserDTO> testData = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            testData.add(new TestUserDTO(i, "user" + i, "user" + i + "@test.com", 20));
+        }
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", createExcelContent(testData)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        properties.setImportJobDir(directory.toString());
+        ImportJobStore store = new ImportJobStore(properties);
+        store.afterPropertiesSet();
+        // 同步执行，便于断言结果
+        ImportJobManager manager = new ImportJobManager(store, Runnable::run, properties);
+        RecordingBatchHandler handler = new RecordingBatchHandler();
+        Method method = TestController.class.getMethod("importAsync", ImportJob.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+        when(applicationContext.getBean(RecordingBatchHandler.class)).thenReturn(handler);
+        when(applicationContext.getBean(ImportJobManager.class)).thenReturn(manager);
+
+        Object result = resolver.resolveArgument(parameter, null, new ServletWebRequest(request, response), null);
+
+        ImportJob job = assertInstanceOf(ImportJob.class, result);
+        assertEquals(202, response.getStatus());
+        assertEquals("/excel/import-jobs/" + job.getJobId(), response.getHeader("Location"));
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(3, job.getBatches());
+        assertEquals(List.of(2, 2, 1), handler.sizes);
+        assertFalse(Files.exists(store.uploadFile(job)));
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 异步导入逐行校验，错误记入任务")
+    void testResolveArgumentAsyncValidated(@TempDir Path directory) throws Exception {
+        List<TestUserDTO> testData = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            testData.add(new TestUserDTO(i, "user" + i, "user" + i + "@test.com", i == 2 ? -1 : 20));
+        }
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", createExcelContent(testData)));
+
+        properties.setImportJobDir(directory.toString());
+        ImportJobStore store = new ImportJobStore(properties);
+        store.afterPropertiesSet();
+        ImportJobManager manager = new ImportJobManager(store, Runnable::run, properties);
+        RecordingBatchHandler handler = new RecordingBatchHandler();
+        Method method = TestController.class.getMethod("importAsyncValidated", ImportJob.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+        when(applicationContext.getBean(RecordingBatchHandler.class)).thenReturn(handler);
+        when(applicationContext.getBean(ImportJobManager.class)).thenReturn(manager);
+        when(applicationContext.getBean(AgeValidator.class)).thenReturn(new AgeValidator());
+
+        ImportJob job = assertInstanceOf(ImportJob.class,
+                resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getProcessedRows());
+        assertEquals(List.of(2, 2), handler.sizes);
+        assertEquals(1, job.getErrors().size());
+        assertEquals(3, job.getErrors().get(0).getRow());
+        assertEquals("年龄", job.getErrors().get(0).getColumn());
+    }
+
+    @Test
+    @DisplayName("resolveArgument - 异步导入未指定batchHandler时抛出异常")
+    void testResolveArgumentAsyncWithoutBatchHandler() throws Exception {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                createExcelContent(List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25)))));
+
+        Method method = TestController.class.getMethod("importAsyncWithoutHandler", ImportJob.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+
+        assertThrows(ExcelIOException.class,
+                () -> resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+    }
+
+    @Test
+    @DisplayName("resolveArgument - List参数校验失败时抛出ExcelValidationException")
+    void testResolveArgumentValidationFailure() throws Exception {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "test.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                createExcelContent(List.of(
+                        new TestUserDTO(1L, "张三", "zhangsan@test.com", 25),
+                        new TestUserDTO(2L, "李四", "lisi@test.com", -1)))));
+
+        Method method = TestController.class.getMethod("importValidated", List.class);
+        MethodParameter parameter = new MethodParameter(method, 0);
+        when(applicationContext.getBeansOfType(InputStreamExtractor.class))
+                .thenReturn(Map.of("multipartExtractor", multipartExtractor));
+        when(applicationContext.getBean(DefaultExcelReader.class)).thenReturn(new DefaultExcelReader());
+        when(applicationContext.getBean(AgeValidator.class)).thenReturn(new AgeValidator());
+
+        ExcelValidationException e = assertThrows(ExcelValidationException.class,
+                () -> resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+        assertEquals(1, e.getErrors().size());
+        assertEquals(3, e.getErrors().get(0).getRow());
+        assertEquals("年龄", e.getErrors().get(0).getColumn());
     }
 
     private byte[] createExcelContent(List<TestUserDTO> data) {
@@ -190,5 +581,62 @@ class ExcelImportArgumentResolverTest {
 
         public void noAnnotation(List<TestUserDTO> users) {
         }
+
+        public void importFile(@ExcelImport(dataClass = TestUserDTO.class, maxFileSize = 1024) MultipartFile file) {
+        }
+
+        public void importSmall(@ExcelImport(dataClass = TestUserDTO.class, maxFileSize = 1024) byte[] content) {
+        }
+
+        public void importStream(@ExcelImport(dataClass = TestUserDTO.class) Stream<TestUserDTO> users) {
+        }
+
+        public void importIterator(@ExcelImport(dataClass = TestUserDTO.class) Iterator<TestUserDTO> users) {
+        }
+
+        public void importValidated(@ExcelImport(dataClass = TestUserDTO.class,
+                validators = AgeValidator.class) List<TestUserDTO> users) {
+        }
+
+        public void importBatches(@ExcelImport(dataClass = TestUserDTO.class,
+                batchHandler = RecordingBatchHandler.class, batchSize = 2) BatchImportResult result) {
+        }
+
+        public void importAsync(@ExcelImport(dataClass = TestUserDTO.class,
+                batchHandler = RecordingBatchHandler.class, batchSize = 2, async = true) ImportJob job) {
+        }
+
+        public void importAsyncValidated(@ExcelImport(dataClass = TestUserDTO.class, validators = AgeValidator.class,
+                batchHandler = RecordingBatchHandler.class, batchSize = 2, async = true) ImportJob job) {
+        }
+
+        public void importAsyncWithoutHandler(@ExcelImport(dataClass = TestUserDTO.class, async = true) ImportJob job) {
+        }
+    }
+
+    static class AgeValidator implements RowValidator<TestUserDTO> {
+
+        @Override
+        public void validate(TestUserDTO row, RowErrors errors) {
+            if (row.getAge() != null && row.getAge() < 0) {
+                errors.reject("年龄", "Min", "不能小于0");
+            }
+        }
+    }
+
+    static class RecordingBatchHandler implements RowBatchHandler<TestUserDTO> {
+
+        private final List<Integer> sizes = new ArrayList<>();
+        private final Set<String> threads = new HashSet<>();
+        private RuntimeException failure;
+
+        @Override
+        public void handle(List<TestUserDTO> batch) {
+            if (failure != null) {
+                throw failure;
+            }
+            sizes.add(batch.size());
+            threads.add(Thread.currentThread().getName());
+        }
     }
 }
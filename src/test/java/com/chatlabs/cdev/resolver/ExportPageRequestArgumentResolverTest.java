@@ -0,0 +1,98 @@
+package com.chatlabs.cdev.resolver;
+
+import com.chatlabs.cdev.annotation.ExcelExport;
+import com.chatlabs.cdev.dto.TestUserDTO;
+import com.chatlabs.cdev.page.ExportPageRequest;
+import com.chatlabs.cdev.page.PagingMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportPageRequestArgumentResolver 单元测试
+ */
+@DisplayName("ExportPageRequestArgumentResolver 单元测试")
+class ExportPageRequestArgumentResolverTest {
+
+    private ExportPageRequestArgumentResolver resolver;
+    private MockHttpServletRequest request;
+    private MethodParameter parameter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver = new ExportPageRequestArgumentResolver();
+        request = new MockHttpServletRequest();
+        Method method = TestController.class.getMethod("paged", ExportPageRequest.class);
+        parameter = new MethodParameter(method, 0);
+    }
+
+    @Test
+    @DisplayName("supportsParameter - 仅支持ExportPageRequest")
+    void testSupportsParameter() throws Exception {
+        assertTrue(resolver.supportsParameter(parameter));
+        Method method = TestController.class.getMethod("other", String.class);
+        assertFalse(resolver.supportsParameter(new MethodParameter(method, 0)));
+    }
+
+    @Test
+    @DisplayName("普通请求 - 从参数解析页码与游标")
+    void testResolveFromParameters() {
+        request.setParameter("page", "2");
+        request.setParameter("size", "15");
+        request.setParameter("cursor", "100");
+
+        ExportPageRequest pageRequest = (ExportPageRequest) resolver.resolveArgument(
+                parameter, null, new ServletWebRequest(request), null);
+
+        assertEquals(2, pageRequest.getPageNo());
+        assertEquals(15, pageRequest.getPageSize());
+        assertEquals(30, pageRequest.getOffset());
+        assertEquals(100L, pageRequest.getCursor(Long.class));
+    }
+
+    @Test
+    @DisplayName("普通请求 - 无参数使用注解页大小")
+    void testResolveDefaults() {
+        request.setParameter("page", "abc");
+
+        ExportPageRequest pageRequest = (ExportPageRequest) resolver.resolveArgument(
+                parameter, null, new ServletWebRequest(request), null);
+
+        assertTrue(pageRequest.isFirst());
+        assertEquals(50, pageRequest.getPageSize());
+        assertNull(pageRequest.getCursor());
+    }
+
+    @Test
+    @DisplayName("导出请求 - 忽略参数返回第一页")
+    void testResolveForExport() {
+        request.setAttribute("_excel_export_flag", true);
+        request.setParameter("page", "3");
+
+        ExportPageRequest pageRequest = (ExportPageRequest) resolver.resolveArgument(
+                parameter, null, new ServletWebRequest(request), null);
+
+        assertTrue(pageRequest.isFirst());
+        assertEquals(50, pageRequest.getPageSize());
+    }
+
+    // 测试用Controller
+    public static class TestController {
+
+        @ExcelExport(dataClass = TestUserDTO.class, pagingMode = PagingMode.OFFSET, pageSize = 50)
+        public List<TestUserDTO> paged(ExportPageRequest pageRequest) {
+            return List.of();
+        }
+
+        public void other(String value) {
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.chatlabs.cdev.upload;
+
+import com.chatlabs.cdev.annotation.ExcelImport;
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * ChunkedUploadController 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChunkedUploadController 单元测试")
+class ChunkedUploadControllerTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private ExcelIOProperties properties;
+    private ChunkedUploadController controller;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExcelIOProperties();
+        controller = new ChunkedUploadController();
+        ReflectionTestUtils.setField(controller, "properties", properties);
+        ReflectionTestUtils.setField(controller, "applicationContext", applicationContext);
+        when(applicationContext.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class))
+                .thenReturn(handlerMapping);
+    }
+
+    @Test
+    @DisplayName("maxFileSize - 取全局配置与各导入接口上限中的最大值")
+    void testMaxFileSizeLargestLimit() throws Exception {
+        properties.setMaxFileSize(100);
+        mapHandlers("importDefault", "importLarge");
+
+        assertEquals(500, controller.maxFileSize());
+    }
+
+    @Test
+    @DisplayName("maxFileSize - 任一导入接口不限制时不限制")
+    void testMaxFileSizeUnlimitedImport() throws Exception {
+        properties.setMaxFileSize(100);
+        mapHandlers("importLarge", "importUnlimited");
+
+        assertEquals(0, controller.maxFileSize());
+    }
+
+    @Test
+    @DisplayName("maxFileSize - 全局配置为 0 时不限制")
+    void testMaxFileSizeUnlimitedGlobal() throws Exception {
+        properties.setMaxFileSize(0);
+        mapHandlers("importDefault", "importLarge");
+
+        assertEquals(0, controller.maxFileSize());
+    }
+
+    private void mapHandlers(String... methodNames) throws NoSuchMethodException {
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = new LinkedHashMap<>();
+        for (String methodName : methodNames) {
+            HandlerMethod handlerMethod = new HandlerMethod(new ImportController(),
+                    ImportController.class.getMethod(methodName, InputStream.class));
+            handlerMethods.put(RequestMappingInfo.paths("/" + methodName).build(), handlerMethod);
+        }
+        when(handlerMapping.getHandlerMethods()).thenReturn(handlerMethods);
+    }
+
+    static class ImportController {
+
+        public void importDefault(@ExcelImport(dataClass = Object.class) InputStream in) {
+        }
+
+        public void importLarge(@ExcelImport(dataClass = Object.class, maxFileSize = 500) InputStream in) {
+        }
+
+        public void importUnlimited(@ExcelImport(dataClass = Object.class, maxFileSize = 0) InputStream in) {
+        }
+    }
+}
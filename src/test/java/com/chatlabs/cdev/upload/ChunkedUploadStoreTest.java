@@ -0,0 +1,222 @@
+package com.chatlabs.cdev.upload;
+
+import com.chatlabs.cdev.config.ExcelIOProperties;
+import com.chatlabs.cdev.exception.ExcelFileSizeException;
+import com.chatlabs.cdev.exception.ExcelParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChunkedUploadStore 单元测试
+ */
+@DisplayName("ChunkedUploadStore 单元测试")
+class ChunkedUploadStoreTest {
+
+    private static final String OWNER = "user:alice";
+    private static final String OTHER = "user:bob";
+
+    @TempDir
+    Path directory;
+
+    private ExcelIOProperties properties;
+    private ChunkedUploadStore store;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ExcelIOProperties();
+        properties.setUploadDir(directory.toString());
+        store = new ChunkedUploadStore(properties);
+        store.afterPropertiesSet();
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+    }
+
+    @Test
+    @DisplayName("创建上传时由服务端生成上传ID")
+    void testCreate() throws Exception {
+        UploadStatus first = store.create(OWNER);
+        UploadStatus second = store.create(OWNER);
+
+        assertNotEquals(first.getUploadId(), second.getUploadId());
+        assertTrue(first.getUploadId().matches("[0-9a-f]{32}"));
+        assertEquals(0, first.getReceived());
+        assertEquals(-1, first.getTotal());
+        assertEquals(0, store.status(first.getUploadId(), OWNER).orElseThrow().getReceived());
+    }
+
+    @Test
+    @DisplayName("按顺序追加分片后读取完整文件，读取结束删除文件")
+    void testAppendAndOpen() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+        UploadStatus status = append(uploadId, 0, 399);
+        assertEquals(400, status.getReceived());
+        assertEquals(1000, status.getTotal());
+        assertFalse(status.isComplete());
+
+        status = append(uploadId, 400, 999);
+        assertTrue(status.isComplete());
+
+        try (InputStream in = store.open(uploadId, OWNER)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertFalse(Files.exists(directory.resolve(uploadId + ".part")));
+        assertFalse(Files.exists(directory.resolve(uploadId + ".owner")));
+        assertTrue(store.status(uploadId, OWNER).isEmpty());
+    }
+
+    @Test
+    @DisplayName("重传已接收的分片被跳过，重叠部分只追加新数据")
+    void testRetry() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+        append(uploadId, 0, 499);
+        assertEquals(500, append(uploadId, 0, 499).getReceived());
+        assertEquals(700, append(uploadId, 300, 699).getReceived());
+        assertTrue(append(uploadId, 700, 999).isComplete());
+
+        try (InputStream in = store.open(uploadId, OWNER)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("连接中断时保留已接收的字节")
+    void testInterruptedChunk() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+        InputStream truncated = new ByteArrayInputStream(Arrays.copyOfRange(content, 0, 250));
+        UploadStatus status = store.append(uploadId, OWNER, "bytes 0-499/1000", truncated, 0);
+
+        assertEquals(250, status.getReceived());
+        assertEquals(250, store.status(uploadId, OWNER).orElseThrow().getReceived());
+        assertTrue(append(uploadId, 250, 999).isComplete());
+    }
+
+    @Test
+    @DisplayName("分片不连续、总大小不一致或上传不存在时拒绝")
+    void testRejected() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+        append(uploadId, 0, 99);
+
+        assertThrows(ExcelParseException.class, () -> append(uploadId, 200, 299));
+        assertThrows(ExcelParseException.class,
+                () -> store.append(uploadId, OWNER, "bytes 100-199/2000", new ByteArrayInputStream(new byte[100]), 0));
+        assertThrows(ExcelParseException.class,
+                () -> store.append(uploadId, OWNER, "bytes 0-99", InputStream.nullInputStream(), 0));
+        assertThrows(ExcelParseException.class,
+                () -> store.append("u4", OWNER, "bytes 0-99/1000", InputStream.nullInputStream(), 0));
+        assertThrows(ExcelParseException.class,
+                () -> store.append("../" + uploadId, OWNER, "bytes 0-99/1000", InputStream.nullInputStream(), 0));
+        assertEquals(100, store.status(uploadId, OWNER).orElseThrow().getReceived());
+    }
+
+    @Test
+    @DisplayName("大小上限为正数时拒绝超出的文件，为 0 时不限制")
+    void testMaxFileSize() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+
+        assertThrows(ExcelFileSizeException.class,
+                () -> store.append(uploadId, OWNER, "bytes 0-99/1000", new ByteArrayInputStream(new byte[100]), 999));
+        assertEquals(0, store.status(uploadId, OWNER).orElseThrow().getReceived());
+        assertEquals(100, store.append(uploadId, OWNER, "bytes 0-99/1000",
+                new ByteArrayInputStream(new byte[100]), 1000).getReceived());
+        assertEquals(200, store.append(uploadId, OWNER, "bytes 100-199/1000",
+                new ByteArrayInputStream(new byte[100]), 0).getReceived());
+    }
+
+    @Test
+    @DisplayName("其他请求方不能续传、查询、读取或放弃上传")
+    void testOtherOwner() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+        append(uploadId, 0, 999);
+
+        assertThrows(ExcelParseException.class, () -> store.append(uploadId, OTHER, "bytes 0-99/1000",
+                new ByteArrayInputStream(new byte[100]), 0));
+        assertTrue(store.status(uploadId, OTHER).isEmpty());
+        assertThrows(ExcelParseException.class, () -> store.open(uploadId, OTHER));
+        assertFalse(store.abort(uploadId, OTHER));
+
+        try (InputStream in = store.open(uploadId, OWNER)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("未完成的上传不能读取")
+    void testOpenIncomplete() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+        append(uploadId, 0, 99);
+
+        assertThrows(ExcelParseException.class, () -> store.open(uploadId, OWNER));
+        assertThrows(ExcelParseException.class, () -> store.open("missing", OWNER));
+    }
+
+    @Test
+    @DisplayName("服务重启后保留所有者，由下一个分片确定总大小")
+    void testRecover() throws Exception {
+        String uploadId = store.create(OWNER).getUploadId();
+        append(uploadId, 0, 599);
+        store = new ChunkedUploadStore(properties);
+        store.afterPropertiesSet();
+
+        assertTrue(store.status(uploadId, OTHER).isEmpty());
+        UploadStatus status = store.status(uploadId, OWNER).orElseThrow();
+        assertEquals(600, status.getReceived());
+        assertEquals(-1, status.getTotal());
+        assertTrue(append(uploadId, 600, 999).isComplete());
+    }
+
+    @Test
+    @DisplayName("放弃上传及清理过期上传")
+    void testAbortAndExpire() throws Exception {
+        String aborted = store.create(OWNER).getUploadId();
+        append(aborted, 0, 99);
+        assertTrue(store.abort(aborted, OWNER));
+        assertFalse(store.abort(aborted, OWNER));
+        assertFalse(Files.exists(directory.resolve(aborted + ".part")));
+        assertFalse(Files.exists(directory.resolve(aborted + ".owner")));
+
+        String expired = store.create(OWNER).getUploadId();
+        append(expired, 0, 99);
+        Files.setLastModifiedTime(directory.resolve(expired + ".part"),
+                FileTime.from(Instant.now().minus(properties.getUploadRetentionHours() + 1, ChronoUnit.HOURS)));
+        store.cleanExpired();
+        assertTrue(store.status(expired, OWNER).isEmpty());
+        assertFalse(Files.exists(directory.resolve(expired + ".owner")));
+    }
+
+    @Test
+    @DisplayName("ownerOf - 已登录时为用户名，否则为会话ID")
+    void testOwnerOf() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setUserPrincipal(() -> "alice");
+        assertEquals("user:alice", ChunkedUploadStore.ownerOf(request));
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+        MockHttpSession session = new MockHttpSession();
+        anonymous.setSession(session);
+        assertEquals("session:" + session.getId(), ChunkedUploadStore.ownerOf(anonymous));
+    }
+
+    private UploadStatus append(String uploadId, int start, int end) throws IOException {
+        return store.append(uploadId, OWNER, "bytes " + start + "-" + end + "/" + content.length,
+                new ByteArrayInputStream(Arrays.copyOfRange(content, start, end + 1)), 0);
+    }
+}
@@ -1,16 +1,26 @@
 package com.chatlabs.cdev.util;
 
+import com.chatlabs.cdev.config.ExcelIOProperties;
 import com.chatlabs.cdev.dto.TestUserDTO;
 import com.chatlabs.cdev.exception.ExcelReadException;
 import com.chatlabs.cdev.exception.ExcelWriteException;
+import com.chatlabs.cdev.processor.ColumnWidthMode;
+import com.chatlabs.cdev.processor.ExcelSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -43,6 +53,94 @@ class ExcelUtilsTest {
         assertEquals(30, result.get(1).getAge());
     }
 
+    @Test
+    @DisplayName("抽样列宽只测量前N行，全量列宽测量全部行，默认保持全量测量")
+    void testColumnWidthSampling() throws Exception {
+        List<TestUserDTO> data = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            data.add(new TestUserDTO((long) i, "n" + i, "e" + i, i));
+        }
+        data.add(new TestUserDTO(99L, "n", "a-very-long-email-address-beyond-the-sample@test.com", 1));
+
+        ExcelIOProperties properties = new ExcelIOProperties();
+        ByteArrayOutputStream byDefault = new ByteArrayOutputStream();
+        ExcelUtils.write(byDefault, TestUserDTO.class, data, "Sheet1", properties);
+
+        properties.setColumnWidthMode(ColumnWidthMode.SAMPLED);
+        properties.setColumnWidthSampleRows(5);
+        ByteArrayOutputStream sampled = new ByteArrayOutputStream();
+        ExcelUtils.write(sampled, TestUserDTO.class, data, "Sheet1", properties);
+
+        properties.setColumnWidthMode(ColumnWidthMode.LONGEST);
+        ByteArrayOutputStream longest = new ByteArrayOutputStream();
+        ExcelUtils.write(longest, TestUserDTO.class, data, "Sheet1", properties);
+
+        int sampledWidth = emailColumnWidth(sampled.toByteArray());
+        int longestWidth = emailColumnWidth(longest.toByteArray());
+        assertTrue(sampledWidth > 0);
+        assertTrue(longestWidth > sampledWidth * 2);
+        assertEquals(longestWidth, emailColumnWidth(byDefault.toByteArray()));
+    }
+
+    private int emailColumnWidth(byte[] bytes) throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            return workbook.getSheetAt(0).getColumnWidth(2);
+        }
+    }
+
+    @Test
+    @DisplayName("写入多Sheet并读取")
+    void testWriteSheets() {
+        List<TestUserDTO> first = List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25));
+        List<TestUserDTO> second = List.of(
+                new TestUserDTO(2L, "李四", "lisi@test.com", 30),
+                new TestUserDTO(3L, "王五", "wangwu@test.com", 35));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeSheets(outputStream, List.of(
+                ExcelSheet.of("一组", TestUserDTO.class, first),
+                ExcelSheet.of("二组", TestUserDTO.class, second)));
+
+        byte[] bytes = outputStream.toByteArray();
+        assertEquals("张三", ExcelUtils.read(new ByteArrayInputStream(bytes), TestUserDTO.class, 0).get(0).getName());
+        List<TestUserDTO> result = ExcelUtils.read(new ByteArrayInputStream(bytes), TestUserDTO.class, 1);
+        assertEquals(2, result.size());
+        assertEquals(35, result.get(1).getAge());
+    }
+
+    @Test
+    @DisplayName("读取多Sheet：默认在当前线程依次解析，指定线程池时各Sheet交给线程池并行解析")
+    void testReadSheets() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeSheets(outputStream, List.of(
+                ExcelSheet.of("一组", TestUserDTO.class, List.of(new TestUserDTO(1L, "张三", "zhangsan@test.com", 25))),
+                ExcelSheet.of("二组", TestUserDTO.class, List.of(
+                        new TestUserDTO(2L, "李四", "lisi@test.com", 30),
+                        new TestUserDTO(3L, "王五", "wangwu@test.com", 35)))));
+        byte[] bytes = outputStream.toByteArray();
+
+        Map<String, List<?>> sequential = ExcelUtils.readSheets(new ByteArrayInputStream(bytes), TestUserDTO.class, Map.of());
+        assertEquals(List.of("一组", "二组"), new ArrayList<>(sequential.keySet()));
+        assertEquals(2, sequential.get("二组").size());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger submitted = new AtomicInteger();
+        Executor executor = task -> {
+            submitted.incrementAndGet();
+            pool.execute(task);
+        };
+        try {
+            Map<String, List<?>> parallel = ExcelUtils.readSheets(new ByteArrayInputStream(bytes), TestUserDTO.class,
+                    Map.of(), new ExcelIOProperties(), executor);
+
+            assertEquals(2, submitted.get());
+            assertEquals("张三", ((TestUserDTO) parallel.get("一组").get(0)).getName());
+            assertEquals(35, ((TestUserDTO) parallel.get("二组").get(1)).getAge());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     @Test
     @DisplayName("读取指定Sheet")
     void testReadSpecificSheet() {
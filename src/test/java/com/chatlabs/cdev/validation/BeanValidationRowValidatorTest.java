@@ -0,0 +1,58 @@
+package com.chatlabs.cdev.validation;
+
+import com.chatlabs.cdev.example.dto.UserDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BeanValidationRowValidator 测试
+ *
+ * @author DD
+ */
+@DisplayName("BeanValidationRowValidator 测试")
+class BeanValidationRowValidatorTest {
+
+    private final BeanValidationRowValidator validator = new BeanValidationRowValidator(
+            new StaticListableBeanFactory().getBeanProvider(jakarta.validation.Validator.class));
+
+    @Test
+    @DisplayName("约束违反映射到列表头，错误代码为约束注解名")
+    void testViolations() {
+        UserDTO user = new UserDTO();
+        user.setUsername(" ");
+        user.setEmail("not-an-email");
+        user.setAge(20);
+        RowValidation<Object> validation = new RowValidation<>(List.of(validator), 0);
+
+        validation.begin("Sheet1", 5);
+        assertFalse(validation.complete(user));
+
+        List<ImportError> errors = validation.getErrors().stream()
+                .sorted(Comparator.comparing(ImportError::getColumn))
+                .toList();
+        assertEquals(2, errors.size());
+        assertEquals("用户名", errors.get(0).getColumn());
+        assertEquals("NotBlank", errors.get(0).getCode());
+        assertEquals("邮箱", errors.get(1).getColumn());
+        assertEquals("Email", errors.get(1).getCode());
+        assertEquals(5, errors.get(1).getRow());
+    }
+
+    @Test
+    @DisplayName("有效数据通过校验")
+    void testValid() {
+        UserDTO user = new UserDTO();
+        user.setUsername("alice");
+        user.setAge(30);
+        RowValidation<Object> validation = new RowValidation<>(List.of(validator), 0);
+
+        validation.begin(null, 2);
+        assertTrue(validation.complete(user));
+    }
+}
@@ -0,0 +1,76 @@
+package com.chatlabs.cdev.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RowValidation 测试
+ *
+ * @author DD
+ */
+@DisplayName("RowValidation 测试")
+class RowValidationTest {
+
+    private final RowValidator<String> notEmpty = (row, errors) -> {
+        if (row.isEmpty()) {
+            errors.reject("名称", "NotEmpty", "不能为空");
+        }
+    };
+
+    @Test
+    @DisplayName("通过校验的行返回true，失败的行记入错误")
+    void testComplete() {
+        RowValidation<String> validation = new RowValidation<>(List.of(notEmpty), 0);
+
+        validation.begin("Sheet1", 2);
+        assertTrue(validation.complete("a"));
+        validation.begin("Sheet1", 3);
+        assertFalse(validation.complete(""));
+
+        ExcelImportResult<String> result = validation.result(List.of("a"));
+        assertEquals(2, result.getTotalRows());
+        assertFalse(result.isTruncated());
+        ImportError error = result.getErrors().get(0);
+        assertEquals("Sheet1", error.getSheetName());
+        assertEquals(3, error.getRow());
+        assertEquals("名称", error.getColumn());
+        assertEquals("NotEmpty", error.getCode());
+        assertEquals("Sheet1!第3行[名称] NotEmpty: 不能为空", error.toString());
+    }
+
+    @Test
+    @DisplayName("已有转换错误的行不再执行校验器")
+    void testSkipValidatorsAfterConversionError() {
+        RowValidation<String> validation = new RowValidation<>(List.of(notEmpty), 0);
+
+        validation.begin(null, 2).reject("年龄", "TYPE_MISMATCH", "无法转换为Integer");
+        assertFalse(validation.complete(""));
+
+        assertEquals(1, validation.getErrors().size());
+        assertEquals("TYPE_MISMATCH", validation.getErrors().get(0).getCode());
+    }
+
+    @Test
+    @DisplayName("错误数达到上限后不再记录")
+    void testMaxErrors() {
+        RowValidator<String> twoErrors = (row, errors) -> {
+            errors.reject("a", "A", "a");
+            errors.reject("b", "B", "b");
+        };
+        RowValidation<String> validation = new RowValidation<>(List.of(twoErrors), 3);
+
+        validation.begin(null, 2);
+        validation.complete("x");
+        assertFalse(validation.isExhausted());
+        validation.begin(null, 3);
+        validation.complete("y");
+
+        assertTrue(validation.isExhausted());
+        assertEquals(3, validation.getErrors().size());
+        assertTrue(validation.result(List.of()).isTruncated());
+    }
+}